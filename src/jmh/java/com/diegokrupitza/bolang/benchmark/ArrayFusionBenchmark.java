@@ -0,0 +1,71 @@
+package com.diegokrupitza.bolang.benchmark;
+
+import com.diegokrupitza.bolang.vm.VirtualMachineException;
+import com.diegokrupitza.bolang.vm.types.AbstractElementType;
+import com.diegokrupitza.bolang.vm.types.ArrayElement;
+import com.diegokrupitza.bolang.vm.types.IntegerElement;
+import com.diegokrupitza.bolang.vm.types.UnboxedValue;
+import com.diegokrupitza.bolang.vm.utils.Infixes;
+import com.diegokrupitza.bolang.vm.utils.UnboxedInfixes;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares <code>a * 2 + b - c</code> on arrays of doubles one operation after another, which creates an array for
+ * every operator, with the fused evaluation of the tree walker that calculates every item in one pass.
+ * <p>
+ * Run it with <code>mvn -Pbenchmark test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=org.openjdk.jmh.Main -Dexec.args=ArrayFusion</code>
+ *
+ * @author Diego Krupitza
+ * @version 1.0
+ * @date 18.10.26
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ArrayFusionBenchmark {
+
+    @Param({"100000", "1000000"})
+    private int size;
+
+    private final AbstractElementType<?> two = new IntegerElement(2);
+
+    private ArrayElement a;
+    private ArrayElement b;
+    private ArrayElement c;
+
+    private final UnboxedValue left = new UnboxedValue();
+    private final UnboxedValue right = new UnboxedValue();
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        a = new ArrayElement(random.doubles(size).toArray());
+        b = new ArrayElement(random.doubles(size).toArray());
+        c = new ArrayElement(random.doubles(size).toArray());
+    }
+
+    @Benchmark
+    public AbstractElementType<?> oneAfterAnother() throws VirtualMachineException {
+        AbstractElementType<?> product = Infixes.performMultiplication(a, two);
+        AbstractElementType<?> sum = Infixes.performAddition(product, b);
+        return Infixes.performSubtraction(sum, c);
+    }
+
+    @Benchmark
+    public AbstractElementType<?> fused() throws VirtualMachineException {
+        left.setElement(a);
+        right.setElement(two);
+        UnboxedInfixes.performMultiplication(left, right);
+        right.setElement(b);
+        UnboxedInfixes.performAddition(left, right);
+        right.setElement(c);
+        UnboxedInfixes.performSubtraction(left, right);
+        return left.box();
+    }
+}
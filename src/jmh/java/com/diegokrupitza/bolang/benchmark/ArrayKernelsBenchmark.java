@@ -0,0 +1,94 @@
+package com.diegokrupitza.bolang.benchmark;
+
+import com.diegokrupitza.bolang.vm.VirtualMachineException;
+import com.diegokrupitza.bolang.vm.types.AbstractElementType;
+import com.diegokrupitza.bolang.vm.types.ArrayElement;
+import com.diegokrupitza.bolang.vm.types.DoubleElement;
+import com.diegokrupitza.bolang.vm.types.StringElement;
+import com.diegokrupitza.bolang.vm.utils.ArrayKernels;
+import com.diegokrupitza.bolang.vm.utils.ArrayKernels.Operation;
+import com.diegokrupitza.bolang.vm.utils.Infixes;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the element-wise multiplication of two arrays of doubles element by element, which is how arrays of
+ * elements are calculated, with the scalar kernels and the kernels in use.
+ * <p>
+ * The kernels in use are the vector ones if the <code>vector</code> profile is active and the JVM has the incubator
+ * module: <code>MAVEN_OPTS="--add-modules jdk.incubator.vector" mvn -Pbenchmark,vector test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=org.openjdk.jmh.Main "-Dexec.args=ArrayKernels -jvmArgsAppend --add-modules=jdk.incubator.vector"</code>
+ *
+ * @author Diego Krupitza
+ * @version 1.0
+ * @date 18.10.26
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ArrayKernelsBenchmark {
+
+    @Param({"16", "1024", "65536"})
+    private int size;
+
+    private double[] left;
+    private double[] right;
+    private double[] result;
+
+    private ArrayElement genericLeft;
+    private ArrayElement genericRight;
+
+    private final ArrayKernels scalar = ArrayKernels.scalar();
+    private final ArrayKernels kernels = ArrayKernels.getInstance();
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        left = random.doubles(size).toArray();
+        right = random.doubles(size).toArray();
+        result = new double[size];
+
+        genericLeft = generic(left);
+        genericRight = generic(right);
+    }
+
+    /**
+     * An array that is stored as elements, a string switches the storage and removing it keeps it that way
+     */
+    private static ArrayElement generic(double[] values) {
+        ArrayElement array = new ArrayElement();
+        array.add(new StringElement(""));
+        for (double value : values) {
+            array.add(new DoubleElement(value));
+        }
+        array.getValue().remove(0);
+        return array;
+    }
+
+    /**
+     * Every item is multiplied as element and the result collected in a new array
+     */
+    @Benchmark
+    public AbstractElementType<?> elementByElement() throws VirtualMachineException {
+        return Infixes.performMultiplication(genericLeft, genericRight);
+    }
+
+    @Benchmark
+    public double[] scalarKernel() {
+        scalar.apply(Operation.MULTIPLICATION, left, right, result, 0, size);
+        return result;
+    }
+
+    /**
+     * The kernels {@link ArrayKernels#getInstance()} serves
+     */
+    @Benchmark
+    public double[] kernel() {
+        kernels.apply(Operation.MULTIPLICATION, left, right, result, 0, size);
+        return result;
+    }
+}
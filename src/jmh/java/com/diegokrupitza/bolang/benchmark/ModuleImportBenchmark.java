@@ -0,0 +1,121 @@
+package com.diegokrupitza.bolang.benchmark;
+
+import com.diegokrupitza.bolang.BoService;
+import com.diegokrupitza.bolang.project.BoProject;
+import com.diegokrupitza.bolang.syntaxtree.nodes.BoNode;
+import com.diegokrupitza.bolang.syntaxtree.nodes.FunctionNode;
+import com.diegokrupitza.bolang.vm.ModuleCache;
+import com.diegokrupitza.bolang.vm.ModulesImporter;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Imports the modules of a generated project with 200 modules, where every module imports and calls the next ones.
+ * <code>sequential</code> reads and parses one module after another the way the importer used to, <code>parallel</code>
+ * is the importer that parses the modules concurrently. Both start without any parsed module, <code>cached</code>
+ * shows a later import of the same modules.
+ * <p>
+ * Run it with <code>mvn -Pbenchmark test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=org.openjdk.jmh.Main -Dexec.args=ModuleImport</code>
+ *
+ * @author Diego Krupitza
+ * @version 1.0
+ * @date 18.10.26
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ModuleImportBenchmark {
+
+    private static final int MODULES = 200;
+
+    /**
+     * the number of functions in every module, so parsing a module takes about as long as in a real project
+     */
+    private static final int FUNCTIONS = 20;
+
+    private Path projectBase;
+    private BoProject boProject;
+    private BoNode head;
+
+    @Setup
+    public void setup() throws Exception {
+        projectBase = Files.createTempDirectory("bo-modules");
+        generateProject(projectBase);
+        boProject = new BoProject(projectBase);
+        head = BoService.parseContent(Files.readString(boProject.getMainPath()));
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        try (var files = Files.walk(projectBase)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    private static void generateProject(Path base) throws IOException {
+        for (int i = 0; i < MODULES; i++) {
+            int next = (i + 1) % MODULES;
+            int afterNext = (i + 2) % MODULES;
+
+            StringBuilder module = new StringBuilder();
+            module.append("module module").append(i).append(";\n")
+                    .append("import module").append(next).append(";\n")
+                    .append("import module").append(afterNext).append(";\n");
+            for (int f = 0; f < FUNCTIONS; f++) {
+                module.append("function calc").append(f).append("(a, b) {\n")
+                        .append("    var x := ((a * ").append(f).append(") + b) - [1, 2, 3];\n")
+                        .append("    if (a > b) { return module").append(next).append(".calc").append(f).append("(b, a); }\n")
+                        .append("    return module").append(afterNext).append(".calc").append(f).append("(x, \"s\" ++ a);\n")
+                        .append("}\n");
+            }
+            Files.writeString(base.resolve("Module" + i + ".bo"), module);
+        }
+
+        String moduleEntries = IntStream.range(0, MODULES)
+                .mapToObj(i -> "\"module" + i + "\": \"Module" + i + ".bo\"")
+                .collect(Collectors.joining(", "));
+        Files.writeString(base.resolve("BoProject.json"), "{ \"name\": \"Generated\", \"main\": \"Main.bo\", " +
+                "\"modules\": { " + moduleEntries + " }, \"params\": {} }");
+        Files.writeString(base.resolve("Main.bo"), "import module0; return module0.calc0(1, 2);");
+    }
+
+    @Benchmark
+    public Map<String, List<FunctionNode>> sequential() throws Exception {
+        ModuleCache moduleCache = new ModuleCache();
+        Map<String, List<FunctionNode>> modules = new HashMap<>();
+        Deque<String> toImport = new ArrayDeque<>(head.getUsedModules());
+
+        while (!toImport.isEmpty()) {
+            String name = toImport.poll();
+            if (modules.containsKey(name)) {
+                continue;
+            }
+
+            ModuleCache.ParsedModule module = moduleCache.get(name, boProject.getModulePath(name));
+            modules.put(name, module.getFunctions());
+            toImport.addAll(module.getUsedModules());
+        }
+        return modules;
+    }
+
+    @Benchmark
+    public Map<String, List<FunctionNode>> parallel() throws Exception {
+        ModuleCache.SHARED.clear();
+        return ModulesImporter.importModules(boProject, head);
+    }
+
+    @Benchmark
+    public Map<String, List<FunctionNode>> cached() throws Exception {
+        return ModulesImporter.importModules(boProject, head);
+    }
+}
@@ -0,0 +1,95 @@
+package com.diegokrupitza.bolang.benchmark;
+
+import com.diegokrupitza.bolang.BoService;
+import com.diegokrupitza.bolang.vm.AbstractVirtualMachine;
+import com.diegokrupitza.bolang.vm.ExecutionEngine;
+import com.diegokrupitza.bolang.vm.VirtualMachineException;
+import com.diegokrupitza.bolang.vm.types.*;
+import com.diegokrupitza.bolang.vm.utils.Infixes;
+import com.diegokrupitza.bolang.vm.utils.UnboxedInfixes;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the boxed evaluation of arithmetic, where every step creates a new element, with the unboxed evaluation
+ * that only creates the element of the final result.
+ * <p>
+ * Run it with <code>mvn -Pbenchmark test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=org.openjdk.jmh.Main -Dexec.args=UnboxedArithmetic</code>
+ *
+ * @author Diego Krupitza
+ * @version 1.0
+ * @date 18.10.26
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class UnboxedArithmeticBenchmark {
+
+    private static final String PROGRAM = "function poly(x) { " +
+            "return ((((x * x) * 3) + (x * 7)) - 11) / 2; " +
+            "} " +
+            "var sum := 0.0; " +
+            "var i := 0; " +
+            "if(this.poly(1) < this.poly(2)) { sum := sum + this.poly(3); } " +
+            "return ((sum * 2.5) + (i - 4)) >= 10;";
+
+    private final AbstractElementType<?> a = new IntegerElement(17);
+    private final AbstractElementType<?> b = new IntegerElement(5);
+    private final AbstractElementType<?> c = new DoubleElement(2.5);
+
+    private final UnboxedValue left = new UnboxedValue();
+    private final UnboxedValue right = new UnboxedValue();
+    private final UnboxedValue other = new UnboxedValue();
+
+    private AbstractVirtualMachine treeWalker;
+
+    @Setup
+    public void setup() throws Exception {
+        treeWalker = ExecutionEngine.TREE_WALKER.create(BoService.parseContent(PROGRAM));
+    }
+
+    /**
+     * <code>((a * b) + (a - b)) * c &lt; a</code> the way the evaluator worked before, one element per step
+     */
+    @Benchmark
+    public AbstractElementType<?> boxed() throws VirtualMachineException {
+        AbstractElementType<?> product = Infixes.performMultiplication(a, b);
+        AbstractElementType<?> difference = Infixes.performSubtraction(a, b);
+        AbstractElementType<?> sum = Infixes.performAddition(product, difference);
+        return Infixes.performLess(Infixes.performMultiplication(sum, c), a);
+    }
+
+    /**
+     * The same expression evaluated in registers, only the final boolean is boxed
+     */
+    @Benchmark
+    public AbstractElementType<?> unboxed() throws VirtualMachineException {
+        left.setElement(a);
+        right.setElement(b);
+        UnboxedInfixes.performMultiplication(left, right);
+
+        right.setElement(a);
+        other.setElement(b);
+        UnboxedInfixes.performSubtraction(right, other);
+
+        UnboxedInfixes.performAddition(left, right);
+        right.setElement(c);
+        UnboxedInfixes.performMultiplication(left, right);
+        right.setElement(a);
+        UnboxedInfixes.performLess(left, right);
+        return left.box();
+    }
+
+    /**
+     * A whole program in the tree walker, which evaluates all arithmetic unboxed
+     */
+    @Benchmark
+    public AbstractElementType<?> treeWalkerProgram() throws VirtualMachineException {
+        return treeWalker.run(Map.of());
+    }
+}
@@ -3,6 +3,7 @@ package com.diegokrupitza.bolang;
 import com.diegokrupitza.bolang.project.BoProject;
 import com.diegokrupitza.bolang.project.BoProjectValidator;
 import com.diegokrupitza.bolang.util.CmdUtilities;
+import com.diegokrupitza.bolang.vm.ExecutionEngine;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.apache.commons.cli.*;
 
@@ -46,6 +47,12 @@ public class BoLang {
         options.addOption("h", "help", false, "Prints this help information");
         options.addOption("v", "version", false, "Display the current BoLang version");
         options.addOption("p", "params", true, "Allows you to provide params in a JSON format to the program");
+        options.addOption("e", "engine", true, "The engine that executes the program: `tree` (default), `bytecode`, `specializing` or `register`");
+        options.addOption(null, "eager-logic", false, "Always evaluate both sides of `&&` and `||` like older versions of BoLang did");
+        options.addOption(null, "parallelism", true, "The number of threads element-wise operations on large arrays are split across, `1` runs them sequentially");
+        options.addOption(null, "parallel-threshold", true, "The number of array items from which on element-wise operations run in parallel");
+        options.addOption(null, "lazy-modules", false, "Only load a module once one of its functions gets called instead of before the program runs");
+        options.addOption(null, "cache", false, "Store the parsed program in `.bocache` next to the code, so later runs skip parsing it");
 
         CommandLineParser parser = new DefaultParser();
 
@@ -55,7 +62,21 @@ public class BoLang {
 
             // generate new boService based on options etc
             BoService.Builder boServiceBuilder = BoService.builder()
-                    .functions(cmd.hasOption('f'));
+                    .functions(cmd.hasOption('f'))
+                    .eagerLogic(cmd.hasOption("eager-logic"))
+                    .lazyModules(cmd.hasOption("lazy-modules"));
+
+            if (cmd.hasOption('e')) {
+                boServiceBuilder = boServiceBuilder.engine(ExecutionEngine.fromName(cmd.getOptionValue('e')));
+            }
+
+            if (cmd.hasOption("parallelism")) {
+                boServiceBuilder = boServiceBuilder.parallelism(parseNumberOption(cmd, "parallelism"));
+            }
+
+            if (cmd.hasOption("parallel-threshold")) {
+                boServiceBuilder = boServiceBuilder.parallelThreshold(parseNumberOption(cmd, "parallel-threshold"));
+            }
 
             if (cmd.hasOption('h')) {
                 hf.printHelp(BO_LANG_NAME, options, true);
@@ -76,6 +97,13 @@ public class BoLang {
             String fileName = boLangFiles.get(0);
             Path boLangCodeFile = Paths.get(fileName);
 
+            if (cmd.hasOption("cache")) {
+                // the parsed programs are stored next to the code or in the project
+                Path codeDirectory = Files.isDirectory(boLangCodeFile) ? boLangCodeFile : boLangCodeFile.toAbsolutePath().getParent();
+                String version = BoLangProperties.getProperty("version", "unknown");
+                boServiceBuilder = boServiceBuilder.diskCache(new ProgramDiskCache(codeDirectory.resolve(ProgramDiskCache.DIRECTORY_NAME), version));
+            }
+
             if (Files.isDirectory(boLangCodeFile)) {
                 // we are dealing with a BoLang project
                 BoProject boProject = new BoProject(boLangCodeFile);
@@ -126,4 +154,13 @@ public class BoLang {
             }
         }
     }
+
+    private static int parseNumberOption(CommandLine cmd, String option) throws ParseException {
+        String value = cmd.getOptionValue(option);
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new ParseException(String.format("The option `%s` has to be a number, not `%s`", option, value));
+        }
+    }
 }
@@ -2,19 +2,24 @@ package com.diegokrupitza.bolang;
 
 import com.diegokrupitza.bolang.project.BoProject;
 import com.diegokrupitza.bolang.syntaxtree.BuildAstVisitor;
+import com.diegokrupitza.bolang.syntaxtree.ConstantFolder;
+import com.diegokrupitza.bolang.syntaxtree.LastUseAnalysis;
 import com.diegokrupitza.bolang.syntaxtree.nodes.BoNode;
 import com.diegokrupitza.bolang.syntaxtree.nodes.FunctionNode;
+import com.diegokrupitza.bolang.vm.AbstractVirtualMachine;
+import com.diegokrupitza.bolang.vm.ExecutionEngine;
 import com.diegokrupitza.bolang.vm.ModulesImporter;
-import com.diegokrupitza.bolang.vm.VirtualMachine;
 import com.diegokrupitza.bolang.vm.VirtualMachineException;
+import com.diegokrupitza.bolang.vm.VirtualMachineSettings;
 import com.diegokrupitza.bolang.vm.types.AbstractElementType;
 import com.diegokrupitza.pdfgenerator.BoLexer;
 import com.diegokrupitza.pdfgenerator.BoParser;
+import lombok.Getter;
 import org.antlr.v4.runtime.CharStreams;
 import org.antlr.v4.runtime.CommonTokenStream;
 
+import java.util.Collections;
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 
 /**
@@ -27,19 +32,42 @@ public class BoService {
     private final boolean functionsAllowed;
     private final BoProject boProject;
     private final Map<String, String> externalParams;
+    private final ExecutionEngine engine;
+    private final VirtualMachineSettings settings;
+
+    /**
+     * the programs this service already parsed, they are only valid for the project and the mode of this service
+     */
+    @Getter
+    private final ProgramCache programCache;
+
+    /**
+     * keeps the parsed programs across starts of BoLang, <code>null</code> if every start parses the code
+     */
+    private final ProgramDiskCache diskCache;
+
+    /**
+     * <code>true</code> if modules are only loaded once one of their functions gets called
+     */
+    private final boolean lazyModules;
 
     public BoService(Builder builder) {
         this.functionsAllowed = builder.functionsAllowed;
         this.boProject = builder.project;
         this.externalParams = builder.params;
+        this.engine = builder.engine;
+        this.settings = builder.settings.build();
+        this.programCache = new ProgramCache(builder.programCacheSize);
+        this.diskCache = builder.diskCache;
+        this.lazyModules = builder.lazyModules;
     }
 
     public static BoService.Builder builder() {
         return new BoService.Builder();
     }
 
-    private static VirtualMachine getVirtualMachine(BoNode head) throws VirtualMachineException {
-        return new VirtualMachine(head);
+    private AbstractVirtualMachine getVirtualMachine(BoNode head) throws VirtualMachineException {
+        return this.engine.create(head, this.settings);
     }
 
     public static BoNode parseContent(String boLangFileContent) {
@@ -60,11 +88,49 @@ public class BoService {
 
         // AST generator
         BuildAstVisitor buildAstVisitor = new BuildAstVisitor();
-        return (BoNode) buildAstVisitor.visitBo(bo);
+        BoNode head = (BoNode) buildAstVisitor.visitBo(bo);
+
+        // evaluate everything that does not depend on the runtime once
+        return LastUseAnalysis.analyze(ConstantFolder.fold(head));
     }
 
     public void run(String boLangFileContent) throws VirtualMachineException {
-        BoNode head = parseContent(boLangFileContent);
+        AbstractElementType<?> returnVal = runCached(boLangFileContent, Map.of());
+
+        if (returnVal != null) {
+            System.out.println(returnVal.toString());
+        }
+    }
+
+    /**
+     * Runs the code with the given params. The code is only parsed the first time, later runs of the same code take the
+     * program from the {@link #getProgramCache()}. The modules are imported on every run, only the ones that changed
+     * since the last run are parsed again
+     *
+     * @param boLangFileContent the code to run
+     * @param params            the external params of this run, they override the params of the service
+     * @return the return value of the program or <code>null</code> if it did not return anything
+     * @throws VirtualMachineException in case any error happens while loading or running the program
+     */
+    public AbstractElementType<?> runCached(String boLangFileContent, Map<String, String> params) throws VirtualMachineException {
+        ProgramCache.CachedProgram program = this.programCache.get(boLangFileContent, this::load);
+
+        AbstractVirtualMachine virtualMachine = getVirtualMachine(program.getHead());
+        if (this.lazyModules) {
+            virtualMachine.addLazyModules(program.getLazyModules());
+        } else {
+            // import possible modules
+            // extracting the modules and their functions
+            virtualMachine.addExternalModules(ModulesImporter.importModules(this.boProject, program.getHead()));
+        }
+
+        Map<String, String> runParams = new HashMap<>(this.externalParams);
+        runParams.putAll(params);
+        return virtualMachine.run(runParams);
+    }
+
+    private ProgramCache.CachedProgram load(String boLangFileContent) throws VirtualMachineException {
+        BoNode head = this.diskCache == null ? parseContent(boLangFileContent) : this.diskCache.load(boLangFileContent);
 
         if (!this.functionsAllowed && containsFunctions(head)) {
             throw new VirtualMachineException("You are currently in `non function` mode! " +
@@ -78,18 +144,13 @@ public class BoService {
                     "If you want to change that please use the flag `-f`");
         }
 
-        VirtualMachine virtualMachine = getVirtualMachine(head);
-
-        // import possible modules
-        // extracting the modules and their functions
-        HashMap<String, List<FunctionNode>> moduleFunctionMap = ModulesImporter.importModules(this.boProject, head);
-        virtualMachine.addExternalModules(moduleFunctionMap);
-
-        AbstractElementType<?> returnVal = virtualMachine.run(this.externalParams);
-
-        if (returnVal != null) {
-            System.out.println(returnVal.toString());
+        if (this.lazyModules) {
+            // the modules are parsed once they are used
+            return new ProgramCache.CachedProgram(boLangFileContent, head,
+                    Collections.unmodifiableMap(ModulesImporter.importModulesLazily(this.boProject, head)));
         }
+
+        return new ProgramCache.CachedProgram(boLangFileContent, head);
     }
 
     private boolean containsFunctions(BoNode head) {
@@ -103,6 +164,11 @@ public class BoService {
         private final Map<String, String> params = new HashMap<>();
         private boolean functionsAllowed = false;
         private BoProject project;
+        private ExecutionEngine engine = ExecutionEngine.TREE_WALKER;
+        private final VirtualMachineSettings.Builder settings = VirtualMachineSettings.builder();
+        private int programCacheSize = 64;
+        private ProgramDiskCache diskCache;
+        private boolean lazyModules = false;
 
         public Builder functions(boolean allowed) {
             this.functionsAllowed = allowed;
@@ -128,5 +194,52 @@ public class BoService {
             this.params.putAll(params);
             return this;
         }
+
+        public Builder engine(ExecutionEngine engine) {
+            this.engine = engine;
+            return this;
+        }
+
+        public Builder eagerLogic(boolean eagerLogic) {
+            this.settings.eagerLogic(eagerLogic);
+            return this;
+        }
+
+        public Builder memoSize(int memoSize) {
+            this.settings.memoSize(memoSize);
+            return this;
+        }
+
+        public Builder parallelism(int parallelism) {
+            this.settings.parallelism(parallelism);
+            return this;
+        }
+
+        public Builder parallelThreshold(int parallelThreshold) {
+            this.settings.parallelThreshold(parallelThreshold);
+            return this;
+        }
+
+        /**
+         * @param programCacheSize the number of parsed programs the service remembers, <code>0</code> parses the code
+         *                         of every run
+         */
+        public Builder programCacheSize(int programCacheSize) {
+            if (programCacheSize < 0) {
+                throw new IllegalArgumentException("The size of the program cache cannot be negative!");
+            }
+            this.programCacheSize = programCacheSize;
+            return this;
+        }
+
+        public Builder diskCache(ProgramDiskCache diskCache) {
+            this.diskCache = diskCache;
+            return this;
+        }
+
+        public Builder lazyModules(boolean lazyModules) {
+            this.lazyModules = lazyModules;
+            return this;
+        }
     }
 }
@@ -0,0 +1,157 @@
+package com.diegokrupitza.bolang;
+
+import com.diegokrupitza.bolang.syntaxtree.nodes.BoNode;
+import com.diegokrupitza.bolang.vm.VirtualMachineException;
+import com.diegokrupitza.bolang.vm.functions.FunctionTable;
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Remembers parsed programs, so running the same code again skips lexing, parsing and building the AST. The functions
+ * of the modules a program imports are not part of it, they are taken from the
+ * {@link com.diegokrupitza.bolang.vm.ModuleCache} on every run, so changed modules are picked up. The programs are identified by the SHA-256 hash of their
+ * code. The cache holds at most <code>maxSize</code> programs, when it is full the program that was used least
+ * recently is dropped.
+ * <p>
+ * The cache can be used by multiple threads at once. A program is parsed outside of the lock, so two threads that
+ * miss the same code at the same time both parse it and the later one wins.
+ *
+ * @author Diego Krupitza
+ * @version 1.0
+ * @date 18.10.26
+ */
+public class ProgramCache {
+
+    private final int maxSize;
+
+    private final Map<String, CachedProgram> entries;
+
+    /**
+     * the number of programs that were taken from the cache
+     */
+    private final AtomicLong hits = new AtomicLong();
+
+    /**
+     * the number of programs that had to be parsed
+     */
+    private final AtomicLong misses = new AtomicLong();
+
+    public ProgramCache(int maxSize) {
+        if (maxSize < 0) {
+            throw new IllegalArgumentException("The size of the program cache cannot be negative!");
+        }
+        this.maxSize = maxSize;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedProgram> eldest) {
+                return size() > ProgramCache.this.maxSize;
+            }
+        };
+    }
+
+    /**
+     * Gets the parsed program of the code, it is loaded if it is not in the cache
+     *
+     * @param code   the code of the program
+     * @param loader parses the program in case it is not in the cache
+     * @return the parsed program
+     * @throws VirtualMachineException in case the program cannot be loaded, failed programs are not remembered
+     */
+    public CachedProgram get(String code, Loader loader) throws VirtualMachineException {
+        String key = hashOf(code);
+
+        synchronized (entries) {
+            CachedProgram program = entries.get(key);
+            // the code is compared as well, two different programs must never be mixed up
+            if (program != null && program.getCode().equals(code)) {
+                hits.incrementAndGet();
+                return program;
+            }
+        }
+
+        misses.incrementAndGet();
+        CachedProgram program = loader.load(code);
+
+        if (maxSize > 0) {
+            synchronized (entries) {
+                entries.put(key, program);
+            }
+        }
+        return program;
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    public void clear() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    /**
+     * @param code the code of a program
+     * @return the SHA-256 hash of the code in hex
+     */
+    static String hashOf(String code) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(code.getBytes(StandardCharsets.UTF_8));
+            StringBuilder hex = new StringBuilder(hash.length * 2);
+            for (byte b : hash) {
+                hex.append(Character.forDigit((b >> 4) & 0xF, 16));
+                hex.append(Character.forDigit(b & 0xF, 16));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            // every java platform has to support SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * A parsed and validated program. It is shared by every run of the code and must not be changed
+     */
+    @Getter
+    public static class CachedProgram {
+
+        private final String code;
+        private final BoNode head;
+
+        /**
+         * the modules that are only loaded once they are used
+         */
+        private final Map<String, FunctionTable.ModuleStub> lazyModules;
+
+        public CachedProgram(String code, BoNode head) {
+            this(code, head, Map.of());
+        }
+
+        public CachedProgram(String code, BoNode head, Map<String, FunctionTable.ModuleStub> lazyModules) {
+            this.code = code;
+            this.head = head;
+            this.lazyModules = lazyModules;
+        }
+    }
+
+    @FunctionalInterface
+    public interface Loader {
+        CachedProgram load(String code) throws VirtualMachineException;
+    }
+}
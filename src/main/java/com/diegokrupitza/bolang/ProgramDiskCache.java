@@ -0,0 +1,171 @@
+package com.diegokrupitza.bolang;
+
+import com.diegokrupitza.bolang.syntaxtree.ProgramSerializer;
+import com.diegokrupitza.bolang.syntaxtree.nodes.BoNode;
+import lombok.Getter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+
+/**
+ * Keeps parsed programs in a directory, so the next start of BoLang with the same code does not have to parse it
+ * again. Every program is stored in a file named after the hash of its code, see {@link ProgramSerializer} for the
+ * format of the program itself. The file starts with a header that holds the version of BoLang and of the format, the
+ * hash of the code and a checksum of the program.
+ * <p>
+ * A file of another version, of other code or with a wrong checksum is ignored and replaced by the newly parsed
+ * program. Files are mapped into memory to read them, and written to a temporary file that is moved in place, so
+ * a concurrent run never reads a half written file. Any problem with the directory only means the program gets
+ * parsed.
+ *
+ * @author Diego Krupitza
+ * @version 1.0
+ * @date 18.10.26
+ */
+public class ProgramDiskCache {
+
+    /**
+     * the name of the directory the programs are stored in, next to the code or in the project
+     */
+    public static final String DIRECTORY_NAME = ".bocache";
+
+    private static final String FILE_EXTENSION = ".boc";
+
+    /**
+     * the start of every file, <code>BOC1</code>
+     */
+    private static final int MAGIC = 0x424F4331;
+
+    @Getter
+    private final Path directory;
+
+    private final String boLangVersion;
+
+    public ProgramDiskCache(Path directory, String boLangVersion) {
+        this.directory = directory;
+        this.boLangVersion = boLangVersion;
+    }
+
+    /**
+     * Reads the program from the cache or parses it if the cache does not have a valid one
+     *
+     * @param code the code of the program
+     * @return the parsed program
+     */
+    public BoNode load(String code) {
+        String hash = ProgramCache.hashOf(code);
+        Path file = fileOf(hash);
+
+        BoNode cached = read(file, hash);
+        if (cached != null) {
+            return cached;
+        }
+
+        BoNode head = BoService.parseContent(code);
+        write(file, hash, head);
+        return head;
+    }
+
+    Path fileOf(String hash) {
+        return directory.resolve(hash + FILE_EXTENSION);
+    }
+
+    /**
+     * @return the program stored in the file or <code>null</code> if there is no valid one
+     */
+    private BoNode read(Path file, String hash) {
+        if (!Files.isRegularFile(file)) {
+            return null;
+        }
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+
+            if (buffer.getInt() != MAGIC
+                    || buffer.getInt() != ProgramSerializer.FORMAT_VERSION
+                    || !boLangVersion.equals(readString(buffer))
+                    || !hash.equals(readString(buffer))) {
+                return null;
+            }
+
+            long checksum = buffer.getLong();
+            ByteBuffer program = buffer.slice();
+
+            CRC32 crc = new CRC32();
+            crc.update(program.duplicate());
+            if (crc.getValue() != checksum) {
+                return null;
+            }
+
+            return ProgramSerializer.read(program);
+        } catch (IOException | RuntimeException e) {
+            // a damaged file is the same as no file
+            return null;
+        }
+    }
+
+    private void write(Path file, String hash, BoNode head) {
+        Path temporary = null;
+        try {
+            ByteArrayOutputStream program = new ByteArrayOutputStream();
+            ProgramSerializer.write(head, program);
+            byte[] programBytes = program.toByteArray();
+
+            CRC32 crc = new CRC32();
+            crc.update(programBytes);
+
+            ByteArrayOutputStream content = new ByteArrayOutputStream(programBytes.length + 128);
+            DataOutputStream out = new DataOutputStream(content);
+            out.writeInt(MAGIC);
+            out.writeInt(ProgramSerializer.FORMAT_VERSION);
+            writeString(boLangVersion, out);
+            writeString(hash, out);
+            out.writeLong(crc.getValue());
+            out.write(programBytes);
+            out.flush();
+
+            Files.createDirectories(directory);
+            temporary = Files.createTempFile(directory, hash, ".tmp");
+            Files.write(temporary, content.toByteArray());
+            Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            temporary = null;
+        } catch (IOException | RuntimeException e) {
+            // the program is parsed again next time
+        } finally {
+            if (temporary != null) {
+                try {
+                    Files.deleteIfExists(temporary);
+                } catch (IOException e) {
+                    // nothing left to do
+                }
+            }
+        }
+    }
+
+    private static void writeString(String value, DataOutputStream out) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(ByteBuffer in) {
+        int length = in.getInt();
+        if (length < 0 || length > in.remaining()) {
+            throw new IllegalArgumentException("The string is longer than the file!");
+        }
+
+        byte[] bytes = new byte[length];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
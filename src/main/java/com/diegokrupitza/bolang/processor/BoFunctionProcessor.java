@@ -0,0 +1,227 @@
+package com.diegokrupitza.bolang.processor;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.*;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import javax.tools.JavaFileObject;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * Generates the registry of all predefined functions of BoLang at compile time. Every class that is annotated with
+ * <code>@BoFunction</code> ends up in the generated <code>BoFunctionRegistry</code>, so the runtime does not have to
+ * scan the class path to find them. Annotated static methods are registered as <code>MethodFunction</code>, which
+ * binds them once with their typed params.
+ * <p>
+ * The processor only knows the names of the annotation and the interface, so it can be compiled before the rest of
+ * BoLang.
+ *
+ * @author Diego Krupitza
+ * @version 1.0
+ * @date 18.10.26
+ */
+@SupportedAnnotationTypes(BoFunctionProcessor.BO_FUNCTION)
+public class BoFunctionProcessor extends AbstractProcessor {
+
+    static final String BO_FUNCTION = "com.diegokrupitza.bolang.vm.functions.BoFunction";
+
+    private static final String FUNCTION = "com.diegokrupitza.bolang.vm.functions.Function";
+    private static final String REGISTRY_PACKAGE = "com.diegokrupitza.bolang.vm.functions";
+    private static final String REGISTRY_NAME = "BoFunctionRegistry";
+
+    /**
+     * the types static methods can use for their params and return value, see <code>MethodFunction</code>
+     */
+    private static final Set<String> SUPPORTED_TYPES = new LinkedHashSet<>(List.of(
+            "int", "double", "java.lang.String", "boolean", "int[]", "double[]", "java.lang.String[]", "boolean[]"));
+
+    private boolean generated = false;
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        TypeElement boFunction = processingEnv.getElementUtils().getTypeElement(BO_FUNCTION);
+        if (generated || boFunction == null) {
+            return false;
+        }
+
+        Set<? extends Element> annotatedElements = roundEnv.getElementsAnnotatedWith(boFunction);
+        if (annotatedElements.isEmpty()) {
+            return false;
+        }
+
+        // module name -> function name -> the function
+        Map<String, Map<String, FunctionEntry>> functions = new TreeMap<>();
+        for (Element element : annotatedElements) {
+            FunctionEntry entry = toEntry(element, boFunction);
+            if (entry == null) {
+                continue;
+            }
+
+            Map<String, FunctionEntry> functionsOfModule = functions.computeIfAbsent(entry.module, item -> new TreeMap<>());
+            if (functionsOfModule.containsKey(entry.name)) {
+                error(element, String.format("The function with the name %s in module %s has multiple definitions", entry.name, entry.module));
+                continue;
+            }
+            functionsOfModule.put(entry.name, entry);
+        }
+
+        writeRegistry(functions, annotatedElements);
+        generated = true;
+        return true;
+    }
+
+    private FunctionEntry toEntry(Element element, TypeElement boFunction) {
+        if (element.getKind() == ElementKind.METHOD) {
+            return toMethodEntry((ExecutableElement) element, boFunction);
+        }
+
+        if (element.getKind() != ElementKind.CLASS || element.getModifiers().contains(Modifier.ABSTRACT)) {
+            error(element, "Only classes that can be created and static methods can be annotated with @BoFunction");
+            return null;
+        }
+
+        TypeElement typeElement = (TypeElement) element;
+        TypeMirror functionType = processingEnv.getTypeUtils().erasure(processingEnv.getElementUtils().getTypeElement(FUNCTION).asType());
+        if (!processingEnv.getTypeUtils().isAssignable(typeElement.asType(), functionType)) {
+            error(element, String.format("The class %s annotated with @BoFunction has to implement %s", typeElement.getQualifiedName(), FUNCTION));
+            return null;
+        }
+
+        boolean hasPublicConstructor = ElementFilter.constructorsIn(typeElement.getEnclosedElements()).stream()
+                .anyMatch(item -> item.getModifiers().contains(Modifier.PUBLIC) && item.getParameters().isEmpty());
+        if (!typeElement.getModifiers().contains(Modifier.PUBLIC) || !hasPublicConstructor) {
+            error(element, String.format("The class %s annotated with @BoFunction has to be public and have a public constructor without params", typeElement.getQualifiedName()));
+            return null;
+        }
+
+        return toEntry(element, boFunction, values -> String.format("new %s()", typeElement.getQualifiedName()));
+    }
+
+    private FunctionEntry toMethodEntry(ExecutableElement method, TypeElement boFunction) {
+        TypeElement owner = (TypeElement) method.getEnclosingElement();
+        String methodName = owner.getQualifiedName() + "." + method.getSimpleName();
+        if (!method.getModifiers().containsAll(Set.of(Modifier.PUBLIC, Modifier.STATIC)) || !owner.getModifiers().contains(Modifier.PUBLIC)) {
+            error(method, String.format("The method %s annotated with @BoFunction has to be public and static and declared in a public class", methodName));
+            return null;
+        }
+
+        String returnType = method.getReturnType().toString();
+        if (!SUPPORTED_TYPES.contains(returnType) && !"void".equals(returnType)) {
+            error(method, String.format("The return type %s of the method %s is not supported. Supported are %s and void", returnType, methodName, SUPPORTED_TYPES));
+            return null;
+        }
+
+        // the return type followed by the types of the params
+        List<String> types = new ArrayList<>();
+        types.add(returnType + ".class");
+        for (VariableElement param : method.getParameters()) {
+            String paramType = param.asType().toString();
+            if (!SUPPORTED_TYPES.contains(paramType)) {
+                error(param, String.format("The parameter type %s of the method %s is not supported. Supported are %s", paramType, methodName, SUPPORTED_TYPES));
+                return null;
+            }
+            types.add(paramType + ".class");
+        }
+
+        return toEntry(method, boFunction, values -> String.format("new MethodFunction(%s, %s.class, %s, %s)",
+                constant((String) values.get("name")), owner.getQualifiedName(), constant(method.getSimpleName().toString()),
+                String.join(", ", types)));
+    }
+
+    private FunctionEntry toEntry(Element element, TypeElement boFunction, Function<Map<String, Object>, String> factory) {
+        AnnotationMirror annotation = element.getAnnotationMirrors().stream()
+                .filter(item -> item.getAnnotationType().asElement().equals(boFunction))
+                .findFirst()
+                .orElseThrow();
+
+        Map<String, Object> values = new HashMap<>();
+        processingEnv.getElementUtils().getElementValuesWithDefaults(annotation)
+                .forEach((key, value) -> values.put(key.getSimpleName().toString(), value.getValue()));
+
+        return new FunctionEntry(
+                (String) values.get("module"),
+                (String) values.get("name"),
+                (String) values.get("description"),
+                (Boolean) values.get("pure"),
+                factory.apply(values));
+    }
+
+    private void writeRegistry(Map<String, Map<String, FunctionEntry>> functions, Set<? extends Element> originatingElements) {
+        try {
+            JavaFileObject sourceFile = processingEnv.getFiler()
+                    .createSourceFile(REGISTRY_PACKAGE + "." + REGISTRY_NAME, originatingElements.toArray(new Element[0]));
+
+            try (Writer writer = sourceFile.openWriter(); PrintWriter out = new PrintWriter(writer)) {
+                out.println("package " + REGISTRY_PACKAGE + ";");
+                out.println();
+                out.println("import java.util.List;");
+                out.println();
+                out.println("/**");
+                out.println(" * All predefined functions of BoLang. Generated from the classes annotated with {@link BoFunction}.");
+                out.println(" */");
+                out.println("@javax.annotation.processing.Generated(\"" + BoFunctionProcessor.class.getName() + "\")");
+                out.println("final class " + REGISTRY_NAME + " {");
+                out.println();
+                out.println("    private " + REGISTRY_NAME + "() {");
+                out.println("    }");
+                out.println();
+                out.println("    static List<FunctionDescriptor> getFunctions() {");
+                out.println("        return List.of(");
+
+                List<String> descriptors = new ArrayList<>();
+                functions.values().forEach(functionsOfModule -> functionsOfModule.values().forEach(entry ->
+                        descriptors.add(String.format("                new FunctionDescriptor(%s, %s, %s, %s, %s)",
+                                constant(entry.module), constant(entry.name), constant(entry.description), entry.pure, entry.factory))));
+                out.println(String.join(",\n", descriptors));
+
+                out.println("        );");
+                out.println("    }");
+                out.println("}");
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private String constant(String value) {
+        return processingEnv.getElementUtils().getConstantExpression(value);
+    }
+
+    private void error(Element element, String message) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, message, element);
+    }
+
+    private static class FunctionEntry {
+
+        private final String module;
+        private final String name;
+        private final String description;
+        private final boolean pure;
+        /**
+         * the expression that creates the function
+         */
+        private final String factory;
+
+        private FunctionEntry(String module, String name, String description, boolean pure, String factory) {
+            this.module = module;
+            this.name = name;
+            this.description = description;
+            this.pure = pure;
+            this.factory = factory;
+        }
+    }
+}
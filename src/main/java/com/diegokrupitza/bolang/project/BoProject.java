@@ -11,6 +11,7 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * @author Diego Krupitza
@@ -54,6 +55,13 @@ public class BoProject {
         return this.projectPojo.getParams();
     }
 
+    /**
+     * @return the names of all modules the project defines
+     */
+    public Set<String> getModuleNames() {
+        return this.projectPojo.getModules().keySet();
+    }
+
     public Path getMainPath() {
         return projectBase.resolve(projectPojo.getMain()).normalize();
     }
@@ -3,8 +3,10 @@ package com.diegokrupitza.bolang.symboltable;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 
 /**
  * @author Diego Krupitza
@@ -18,8 +20,30 @@ public class BoSymbolTable {
     private List<String> sym = new LinkedList<>();
     private BoSymbolTable parent = null;
 
-    public void add(String idName) {
+    /**
+     * the frame slot of every symbol of this scope
+     */
+    private Map<String, Integer> slots = new HashMap<>();
+
+    /**
+     * the number of slots used in the frame, only maintained by the scope without parent since all sub scopes
+     * share the frame with it
+     */
+    private int frameSize = 0;
+
+    /**
+     * Adds a symbol to the scope and assigns it the next free slot of the frame
+     *
+     * @param idName the name of the symbol
+     * @return the slot of the symbol
+     */
+    public int add(String idName) {
         this.sym.add(idName);
+
+        BoSymbolTable frameScope = getFrameScope();
+        int slot = frameScope.frameSize++;
+        this.slots.put(idName, slot);
+        return slot;
     }
 
     /**
@@ -47,6 +71,41 @@ public class BoSymbolTable {
     }
 
     public void add(List<String> idNames) {
-        this.sym.addAll(idNames);
+        idNames.forEach(this::add);
+    }
+
+    /**
+     * Gets the slot of a symbol that is in scope
+     *
+     * @param name the name of the symbol
+     * @return the slot of the symbol or <code>-1</code> if the symbol is not in scope
+     */
+    public int slotOf(String name) {
+        if (this.slots.containsKey(name)) {
+            return this.slots.get(name);
+        }
+
+        if (this.parent != null) {
+            return this.parent.slotOf(name);
+        }
+
+        return -1;
+    }
+
+    /**
+     * Gets the number of slots a frame for this scope and all its sub scopes needs
+     *
+     * @return the size of the frame
+     */
+    public int getFrameSize() {
+        return getFrameScope().frameSize;
+    }
+
+    private BoSymbolTable getFrameScope() {
+        BoSymbolTable frameScope = this;
+        while (frameScope.parent != null) {
+            frameScope = frameScope.parent;
+        }
+        return frameScope;
     }
 }
@@ -43,7 +43,9 @@ public class BuildAstVisitor extends BoBaseVisitor<ExpressionNode> {
                 .map(this::visit)
                 .collect(Collectors.toList());
 
-        return new BoNode(processesStats, usedModules);
+        BoNode boNode = new BoNode(processesStats, usedModules);
+        boNode.setFrameSize(this.symbolTable.getFrameSize());
+        return boNode;
     }
 
     @Override
@@ -128,7 +130,9 @@ public class BuildAstVisitor extends BoBaseVisitor<ExpressionNode> {
             throw new BuildAstException(String.format("Variable %s not in scope", id));
         }
 
-        return new IdNode(id);
+        IdNode idNode = new IdNode(id);
+        idNode.setSlot(this.symbolTable.slotOf(id));
+        return idNode;
     }
 
     @Override
@@ -228,9 +232,11 @@ public class BuildAstVisitor extends BoBaseVisitor<ExpressionNode> {
         }
 
         // add the new var to the scope
-        this.symbolTable.add(idName);
+        int slot = this.symbolTable.add(idName);
 
-        return new DefineVariableNode(idName, expressionNode);
+        DefineVariableNode defineVariableNode = new DefineVariableNode(idName, expressionNode);
+        defineVariableNode.setSlot(slot);
+        return defineVariableNode;
     }
 
     @Override
@@ -244,7 +250,9 @@ public class BuildAstVisitor extends BoBaseVisitor<ExpressionNode> {
             throw new BuildAstException(String.format("Variable %s not in scope", idName));
         }
 
-        return new AssignVariableNode(idName, expressionNode);
+        AssignVariableNode assignVariableNode = new AssignVariableNode(idName, expressionNode);
+        assignVariableNode.setSlot(this.symbolTable.slotOf(idName));
+        return assignVariableNode;
     }
 
     @Override
@@ -272,7 +280,9 @@ public class BuildAstVisitor extends BoBaseVisitor<ExpressionNode> {
             throw new BuildAstException(String.format("Variable %s not in scope", idName));
         }
 
-        return new AccessIndexNode(idName, expresionForIndex);
+        AccessIndexNode accessIndexNode = new AccessIndexNode(idName, expresionForIndex);
+        accessIndexNode.setSlot(this.symbolTable.slotOf(idName));
+        return accessIndexNode;
     }
 
     @Override
@@ -373,11 +383,11 @@ public class BuildAstVisitor extends BoBaseVisitor<ExpressionNode> {
             throw new BuildAstException(String.format("The name of the parameters in the function `%s` have to be unique!", funcName));
         }
 
-        // create new context for the if stat
+        // a function has its own frame, the variables of the caller are not visible inside of it
         BoSymbolTable oldSymbol = this.symbolTable;
-        this.symbolTable = this.symbolTable.createScope();
+        this.symbolTable = new BoSymbolTable();
 
-        // adding the param to the function scope
+        // adding the param to the function scope, they get the first slots of the frame
         this.symbolTable.add(paramIdentifiers);
 
         BoParser.ScopecontContext functionBodyStat = ctx.funcStats;
@@ -385,8 +395,10 @@ public class BuildAstVisitor extends BoBaseVisitor<ExpressionNode> {
                 .map(this::visit)
                 .collect(Collectors.toList());
 
+        int frameSize = this.symbolTable.getFrameSize();
+
         this.symbolTable = oldSymbol;
-        return new FunctionNode(funcName, paramIdentifiers, functionBody);
+        return new FunctionNode(funcName, paramIdentifiers, functionBody, frameSize);
     }
 
 
@@ -0,0 +1,283 @@
+package com.diegokrupitza.bolang.syntaxtree;
+
+import com.diegokrupitza.bolang.syntaxtree.nodes.*;
+import com.diegokrupitza.bolang.syntaxtree.nodes.data.*;
+import com.diegokrupitza.bolang.syntaxtree.nodes.infix.*;
+import com.diegokrupitza.bolang.syntaxtree.nodes.stat.*;
+import com.diegokrupitza.bolang.syntaxtree.nodes.unary.NegateNode;
+import com.diegokrupitza.bolang.vm.VirtualMachineException;
+import com.diegokrupitza.bolang.vm.types.*;
+import com.diegokrupitza.bolang.vm.utils.Arrays;
+import com.diegokrupitza.bolang.vm.utils.Indexes;
+import com.diegokrupitza.bolang.vm.utils.Infixes;
+import com.diegokrupitza.bolang.vm.utils.Unarys;
+
+import java.util.*;
+
+/**
+ * Optimization pass that runs over the AST after it was built. It folds infix and negation operations whose operands
+ * are literals into a single literal and replaces the reads of variables that are defined with a literal and never
+ * reassigned by that literal. Variables that hold an array literal are only read by index at compile time, every
+ * other read keeps using the one array of the variable.
+ * <p>
+ * The operations are folded with the same code the virtual machine uses ({@link Infixes} and {@link Unarys}), so the
+ * result is exactly the same. An operation that fails is left untouched, so the error still happens at runtime and
+ * only when the code is reached.
+ *
+ * @author Diego Krupitza
+ * @version 1.0
+ * @date 18.10.26
+ */
+public class ConstantFolder {
+
+    private static final Map<Class<? extends InfixNode>, InfixOperation> INFIX_OPERATIONS = Map.ofEntries(
+            Map.entry(AdditionNode.class, Infixes::performAddition),
+            Map.entry(SubtractionNode.class, Infixes::performSubtraction),
+            Map.entry(MultiplicationNode.class, Infixes::performMultiplication),
+            Map.entry(DivisionNode.class, Infixes::performDivision),
+            Map.entry(StringConcatenationNode.class, Infixes::performStringConcatenation),
+            Map.entry(EqualsNode.class, Infixes::performEquals),
+            Map.entry(NotEqualsNode.class, Infixes::performNotEquals),
+            Map.entry(GreaterEqualNode.class, Infixes::performGreaterEqual),
+            Map.entry(GreaterNode.class, Infixes::performGreater),
+            Map.entry(LessEqualNode.class, Infixes::performLessEqual),
+            Map.entry(LessNode.class, Infixes::performLess),
+            Map.entry(LogicAndNode.class, Infixes::performLogicAnd),
+            Map.entry(LogicOrNode.class, Infixes::performLogicOr)
+    );
+
+    /**
+     * the slots of the frame that are the target of at least one assignment
+     */
+    private final Set<Integer> assignedSlots = new HashSet<>();
+
+    /**
+     * the value of every slot that holds a constant
+     */
+    private final Map<Integer, AbstractElementType<?>> constants = new HashMap<>();
+
+    private ConstantFolder(List<ExpressionNode> frameStats) {
+        collectAssignedSlots(frameStats);
+    }
+
+    /**
+     * Folds the constants of the program and all functions defined in it
+     *
+     * @param head the program to optimize
+     * @return the same program head with the optimized statements
+     */
+    public static BoNode fold(BoNode head) {
+        head.setStats(foldFrame(head.getStats()));
+        return head;
+    }
+
+    private static List<ExpressionNode> foldFrame(List<ExpressionNode> stats) {
+        return new ConstantFolder(stats).foldBlock(stats);
+    }
+
+    private void collectAssignedSlots(List<ExpressionNode> stats) {
+        if (stats == null) {
+            return;
+        }
+        for (ExpressionNode stat : stats) {
+            if (stat instanceof AssignVariableNode) {
+                assignedSlots.add(((AssignVariableNode) stat).getSlot());
+            } else if (stat instanceof IfElseNode) {
+                collectAssignedSlots(((IfElseNode) stat).getIfSection());
+                collectAssignedSlots(((IfElseNode) stat).getElseSection());
+            } else if (stat instanceof IfNode) {
+                collectAssignedSlots(((IfNode) stat).getIfSection());
+            }
+            // functions have their own frame
+        }
+    }
+
+    private List<ExpressionNode> foldBlock(List<ExpressionNode> stats) {
+        if (stats == null) {
+            return null;
+        }
+
+        List<ExpressionNode> folded = new ArrayList<>(stats.size());
+        for (ExpressionNode stat : stats) {
+            folded.add(foldStat(stat));
+        }
+        return folded;
+    }
+
+    private ExpressionNode foldStat(ExpressionNode stat) {
+        if (stat instanceof DefineVariableNode) {
+            DefineVariableNode defineVariableNode = (DefineVariableNode) stat;
+            defineVariableNode.setExpr(foldExpression(defineVariableNode.getExpr()));
+
+            int slot = defineVariableNode.getSlot();
+            AbstractElementType<?> value = toElement(defineVariableNode.getExpr());
+            if (slot >= 0 && value != null && !assignedSlots.contains(slot)) {
+                constants.put(slot, value);
+            }
+        } else if (stat instanceof AssignVariableNode) {
+            AssignVariableNode assignVariableNode = (AssignVariableNode) stat;
+            assignVariableNode.setExpr(foldExpression(assignVariableNode.getExpr()));
+        } else if (stat instanceof IfElseNode) {
+            IfElseNode ifElseNode = (IfElseNode) stat;
+            ifElseNode.setCondition(foldExpression(ifElseNode.getCondition()));
+            ifElseNode.setIfSection(foldBlock(ifElseNode.getIfSection()));
+            ifElseNode.setElseSection(foldBlock(ifElseNode.getElseSection()));
+        } else if (stat instanceof IfNode) {
+            IfNode ifNode = (IfNode) stat;
+            ifNode.setCondition(foldExpression(ifNode.getCondition()));
+            ifNode.setIfSection(foldBlock(ifNode.getIfSection()));
+        } else if (stat instanceof ReturnNode) {
+            ReturnNode returnNode = (ReturnNode) stat;
+            returnNode.setRet(foldExpression(returnNode.getRet()));
+        } else if (stat instanceof FunctionNode) {
+            FunctionNode functionNode = (FunctionNode) stat;
+            functionNode.setBody(foldFrame(functionNode.getBody()));
+        } else if (stat instanceof ModuleNode) {
+            for (FunctionNode functionNode : ((ModuleNode) stat).getFunctions()) {
+                functionNode.setBody(foldFrame(functionNode.getBody()));
+            }
+        } else if (!(stat instanceof ImportNode)) {
+            return foldExpression(stat);
+        }
+        return stat;
+    }
+
+    private ExpressionNode foldExpression(ExpressionNode expr) {
+        if (expr instanceof InfixNode && INFIX_OPERATIONS.containsKey(expr.getClass())) {
+            InfixNode infixNode = (InfixNode) expr;
+            infixNode.setLeft(foldExpression(infixNode.getLeft()));
+            infixNode.setRight(foldExpression(infixNode.getRight()));
+
+            AbstractElementType<?> left = toElement(infixNode.getLeft());
+            AbstractElementType<?> right = toElement(infixNode.getRight());
+            if (left == null || right == null) {
+                return infixNode;
+            }
+
+            try {
+                return Objects.requireNonNullElse(toNode(INFIX_OPERATIONS.get(expr.getClass()).perform(left, right)), infixNode);
+            } catch (VirtualMachineException | RuntimeException e) {
+                // the error has to happen at runtime
+                return infixNode;
+            }
+        } else if (expr instanceof NegateNode) {
+            NegateNode negateNode = (NegateNode) expr;
+            negateNode.setInner(foldExpression(negateNode.getInner()));
+
+            AbstractElementType<?> inner = toElement(negateNode.getInner());
+            if (inner == null) {
+                return negateNode;
+            }
+
+            try {
+                return Objects.requireNonNullElse(toNode(Unarys.performNegation(inner)), negateNode);
+            } catch (VirtualMachineException | RuntimeException e) {
+                return negateNode;
+            }
+        } else if (expr instanceof AccessIndexNode) {
+            AccessIndexNode accessIndexNode = (AccessIndexNode) expr;
+            accessIndexNode.setIndex(foldExpression(accessIndexNode.getIndex()));
+
+            AbstractElementType<?> target = constants.get(accessIndexNode.getSlot());
+            AbstractElementType<?> index = toElement(accessIndexNode.getIndex());
+            if (target == null || index == null) {
+                return accessIndexNode;
+            }
+
+            try {
+                Indexes.checkIndexable(target);
+                return Objects.requireNonNullElse(toNode(Indexes.performIndexAccess(target, index)), accessIndexNode);
+            } catch (VirtualMachineException | RuntimeException e) {
+                return accessIndexNode;
+            }
+        } else if (expr instanceof IdNode) {
+            AbstractElementType<?> value = constants.get(((IdNode) expr).getSlot());
+            if (value != null && !(value instanceof ArrayElement)) {
+                // every read gets its own literal, arrays stay reads of their one instance instead of being copied
+                return toNode(value);
+            }
+        } else if (expr instanceof ArrayNode) {
+            ArrayNode arrayNode = (ArrayNode) expr;
+            arrayNode.setContent(foldExpressions(arrayNode.getContent()));
+        } else if (expr instanceof CallFunctionNode) {
+            CallFunctionNode callFunctionNode = (CallFunctionNode) expr;
+            callFunctionNode.setParams(foldExpressions(callFunctionNode.getParams()));
+        }
+        return expr;
+    }
+
+    private List<ExpressionNode> foldExpressions(List<ExpressionNode> exprs) {
+        if (exprs == null) {
+            return null;
+        }
+
+        List<ExpressionNode> folded = new ArrayList<>(exprs.size());
+        for (ExpressionNode expr : exprs) {
+            folded.add(foldExpression(expr));
+        }
+        return folded;
+    }
+
+    /**
+     * Creates the value of a literal the same way the virtual machine does
+     *
+     * @param node the node to convert
+     * @return the value or <code>null</code> if the node is not a literal
+     */
+    private static AbstractElementType<?> toElement(ExpressionNode node) {
+        if (node instanceof IntegerNode) {
+            return new IntegerElement(((IntegerNode) node).getValue());
+        } else if (node instanceof DoubleNode) {
+            return new DoubleElement(((DoubleNode) node).getValue());
+        } else if (node instanceof StringNode) {
+            return new StringElement(((StringNode) node).getValue());
+        } else if (node instanceof BooleanNode) {
+            return new BooleanElement(((BooleanNode) node).getValue());
+        } else if (node instanceof ArrayNode && ((ArrayNode) node).getContent() != null) {
+            ArrayElement array = Arrays.emptyArray();
+            for (ExpressionNode item : ((ArrayNode) node).getContent()) {
+                AbstractElementType<?> element = toElement(item);
+                if (element == null) {
+                    return null;
+                }
+                array.add(element);
+            }
+            return array;
+        }
+        return null;
+    }
+
+    /**
+     * Creates the literal that evaluates to the given value
+     *
+     * @param value the value
+     * @return the literal or <code>null</code> if there is no literal for the value
+     */
+    private static ExpressionNode toNode(AbstractElementType<?> value) {
+        if (value instanceof IntegerElement) {
+            return new IntegerNode(((IntegerElement) value).getValue());
+        } else if (value instanceof DoubleElement) {
+            return new DoubleNode(((DoubleElement) value).getValue());
+        } else if (value instanceof StringElement) {
+            return new StringNode(((StringElement) value).getValue());
+        } else if (value instanceof BooleanElement) {
+            return new BooleanNode(((BooleanElement) value).getValue());
+        } else if (value instanceof ArrayElement) {
+            List<ExpressionNode> content = new ArrayList<>();
+            for (AbstractElementType<?> item : ((ArrayElement) value).getValue()) {
+                ExpressionNode node = toNode(item);
+                if (node == null) {
+                    return null;
+                }
+                content.add(node);
+            }
+            return new ArrayNode(content);
+        }
+        return null;
+    }
+
+    @FunctionalInterface
+    private interface InfixOperation {
+        AbstractElementType<?> perform(AbstractElementType<?> left, AbstractElementType<?> right) throws VirtualMachineException;
+    }
+}
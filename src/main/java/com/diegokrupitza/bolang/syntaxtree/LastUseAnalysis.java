@@ -0,0 +1,172 @@
+package com.diegokrupitza.bolang.syntaxtree;
+
+import com.diegokrupitza.bolang.syntaxtree.nodes.*;
+import com.diegokrupitza.bolang.syntaxtree.nodes.data.ArrayNode;
+import com.diegokrupitza.bolang.syntaxtree.nodes.data.IdNode;
+import com.diegokrupitza.bolang.syntaxtree.nodes.infix.InfixNode;
+import com.diegokrupitza.bolang.syntaxtree.nodes.stat.*;
+import com.diegokrupitza.bolang.syntaxtree.nodes.unary.NegateNode;
+
+import java.util.*;
+
+/**
+ * Analysis pass that runs over the AST after it was built and folded. It marks every read of a variable after which
+ * the variable is not read anymore, neither later in the same statement nor by any statement that may run after it,
+ * see {@link IdNode#isLastUse()}. The value of such a variable is dead after the read, so the virtual machine may reuse
+ * its storage for the result of the operation that reads it.
+ * <p>
+ * BoLang has no loops, so the statements of a frame run from top to bottom and the analysis walks them once backwards
+ * while collecting the slots that are still read later. Reads within one statement only count as last use when the
+ * variable is read only once in the statement, since the value may still be held by an operand that is evaluated
+ * earlier.
+ *
+ * @author Diego Krupitza
+ * @version 1.0
+ * @date 18.10.26
+ */
+public class LastUseAnalysis {
+
+    /**
+     * the slots that are read by a statement that runs later
+     */
+    private Set<Integer> live = new HashSet<>();
+
+    /**
+     * how often every slot is read by the statement that is analyzed right now
+     */
+    private final Map<Integer, Integer> readsInStat = new HashMap<>();
+
+    private LastUseAnalysis() {
+    }
+
+    /**
+     * Marks the last reads of the variables of the program and all functions defined in it
+     *
+     * @param head the program to analyze
+     * @return the same program head
+     */
+    public static BoNode analyze(BoNode head) {
+        analyzeFrame(head.getStats());
+        return head;
+    }
+
+    private static void analyzeFrame(List<ExpressionNode> stats) {
+        new LastUseAnalysis().analyzeBlock(stats);
+    }
+
+    private void analyzeBlock(List<ExpressionNode> stats) {
+        if (stats == null) {
+            return;
+        }
+
+        for (int i = stats.size() - 1; i >= 0; i--) {
+            analyzeStat(stats.get(i));
+        }
+    }
+
+    private void analyzeStat(ExpressionNode stat) {
+        if (stat instanceof DefineVariableNode) {
+            DefineVariableNode defineVariableNode = (DefineVariableNode) stat;
+
+            // the old value is overwritten, so it is not read anymore after the expression
+            live.remove(defineVariableNode.getSlot());
+            analyzeStatExpression(defineVariableNode.getExpr());
+        } else if (stat instanceof AssignVariableNode) {
+            AssignVariableNode assignVariableNode = (AssignVariableNode) stat;
+
+            live.remove(assignVariableNode.getSlot());
+            analyzeStatExpression(assignVariableNode.getExpr());
+        } else if (stat instanceof IfElseNode) {
+            IfElseNode ifElseNode = (IfElseNode) stat;
+
+            Set<Integer> after = live;
+            live = new HashSet<>(after);
+            analyzeBlock(ifElseNode.getIfSection());
+            Set<Integer> ifLive = live;
+
+            live = new HashSet<>(after);
+            analyzeBlock(ifElseNode.getElseSection());
+            live.addAll(ifLive);
+
+            analyzeStatExpression(ifElseNode.getCondition());
+        } else if (stat instanceof IfNode) {
+            IfNode ifNode = (IfNode) stat;
+
+            Set<Integer> after = live;
+            live = new HashSet<>(after);
+            analyzeBlock(ifNode.getIfSection());
+            live.addAll(after);
+
+            analyzeStatExpression(ifNode.getCondition());
+        } else if (stat instanceof ReturnNode) {
+            // nothing after a return is executed
+            live = new HashSet<>();
+            analyzeStatExpression(((ReturnNode) stat).getRet());
+        } else if (stat instanceof FunctionNode) {
+            // functions have their own frame
+            analyzeFrame(((FunctionNode) stat).getBody());
+        } else if (stat instanceof ModuleNode) {
+            for (FunctionNode functionNode : ((ModuleNode) stat).getFunctions()) {
+                analyzeFrame(functionNode.getBody());
+            }
+        } else if (!(stat instanceof ImportNode)) {
+            analyzeStatExpression(stat);
+        }
+    }
+
+    private void analyzeStatExpression(ExpressionNode expr) {
+        readsInStat.clear();
+        countReads(expr);
+        analyzeExpression(expr);
+    }
+
+    private void countReads(ExpressionNode expr) {
+        if (expr instanceof IdNode) {
+            readsInStat.merge(((IdNode) expr).getSlot(), 1, Integer::sum);
+        } else if (expr instanceof AccessIndexNode) {
+            readsInStat.merge(((AccessIndexNode) expr).getSlot(), 1, Integer::sum);
+            countReads(((AccessIndexNode) expr).getIndex());
+        } else if (expr instanceof InfixNode) {
+            countReads(((InfixNode) expr).getLeft());
+            countReads(((InfixNode) expr).getRight());
+        } else if (expr instanceof NegateNode) {
+            countReads(((NegateNode) expr).getInner());
+        } else if (expr instanceof ArrayNode && ((ArrayNode) expr).getContent() != null) {
+            ((ArrayNode) expr).getContent().forEach(this::countReads);
+        } else if (expr instanceof CallFunctionNode && ((CallFunctionNode) expr).getParams() != null) {
+            ((CallFunctionNode) expr).getParams().forEach(this::countReads);
+        }
+    }
+
+    /**
+     * Walks the expression backwards, the operands are evaluated from left to right
+     */
+    private void analyzeExpression(ExpressionNode expr) {
+        if (expr instanceof IdNode) {
+            IdNode idNode = (IdNode) expr;
+            int slot = idNode.getSlot();
+            idNode.setLastUse(slot >= 0 && !live.contains(slot) && readsInStat.get(slot) == 1);
+            live.add(slot);
+        } else if (expr instanceof AccessIndexNode) {
+            // the variable is read before the index is evaluated
+            AccessIndexNode accessIndexNode = (AccessIndexNode) expr;
+            analyzeExpression(accessIndexNode.getIndex());
+            live.add(accessIndexNode.getSlot());
+        } else if (expr instanceof InfixNode) {
+            analyzeExpression(((InfixNode) expr).getRight());
+            analyzeExpression(((InfixNode) expr).getLeft());
+        } else if (expr instanceof NegateNode) {
+            analyzeExpression(((NegateNode) expr).getInner());
+        } else if (expr instanceof ArrayNode && ((ArrayNode) expr).getContent() != null) {
+            analyzeExpressions(((ArrayNode) expr).getContent());
+        } else if (expr instanceof CallFunctionNode && ((CallFunctionNode) expr).getParams() != null) {
+            analyzeExpressions(((CallFunctionNode) expr).getParams());
+        }
+    }
+
+    private void analyzeExpressions(List<ExpressionNode> exprs) {
+        for (int i = exprs.size() - 1; i >= 0; i--) {
+            analyzeExpression(exprs.get(i));
+        }
+    }
+}
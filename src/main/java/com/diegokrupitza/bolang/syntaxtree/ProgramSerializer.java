@@ -0,0 +1,442 @@
+package com.diegokrupitza.bolang.syntaxtree;
+
+import com.diegokrupitza.bolang.syntaxtree.nodes.*;
+import com.diegokrupitza.bolang.syntaxtree.nodes.data.*;
+import com.diegokrupitza.bolang.syntaxtree.nodes.infix.*;
+import com.diegokrupitza.bolang.syntaxtree.nodes.stat.*;
+import com.diegokrupitza.bolang.syntaxtree.nodes.unary.NegateNode;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * Writes a parsed program into a compact binary form and reads it back, so the program does not have to be lexed,
+ * parsed and folded again. Every node is written as a tag followed by its fields, the slots and the analysis results
+ * are part of it. Lists and strings are prefixed by their length, <code>-1</code> stands for <code>null</code>.
+ * <p>
+ * The format changes together with the nodes, {@link #FORMAT_VERSION} has to be increased whenever it does.
+ *
+ * @author Diego Krupitza
+ * @version 1.0
+ * @date 18.10.26
+ */
+public class ProgramSerializer {
+
+    public static final int FORMAT_VERSION = 1;
+
+    private static final byte PROGRAM = 1;
+    private static final byte FUNCTION = 2;
+    private static final byte MODULE = 3;
+    private static final byte IMPORT = 4;
+    private static final byte CALL_FUNCTION = 5;
+    private static final byte ACCESS_INDEX = 6;
+    private static final byte DEFINE_VARIABLE = 7;
+    private static final byte ASSIGN_VARIABLE = 8;
+    private static final byte IF_ELSE = 9;
+    private static final byte IF = 10;
+    private static final byte RETURN = 11;
+    private static final byte NEGATE = 12;
+    private static final byte ID = 13;
+    private static final byte INTEGER = 14;
+    private static final byte DOUBLE = 15;
+    private static final byte STRING = 16;
+    private static final byte BOOLEAN = 17;
+    private static final byte ARRAY = 18;
+    private static final byte EXTERNAL_PARAM = 19;
+    private static final byte ADDITION = 20;
+    private static final byte SUBTRACTION = 21;
+    private static final byte MULTIPLICATION = 22;
+    private static final byte DIVISION = 23;
+    private static final byte STRING_CONCATENATION = 24;
+    private static final byte EQUALS = 25;
+    private static final byte NOT_EQUALS = 26;
+    private static final byte GREATER_EQUAL = 27;
+    private static final byte GREATER = 28;
+    private static final byte LESS_EQUAL = 29;
+    private static final byte LESS = 30;
+    private static final byte LOGIC_AND = 31;
+    private static final byte LOGIC_OR = 32;
+
+    private ProgramSerializer() {
+    }
+
+    /**
+     * Writes the program to the stream
+     *
+     * @param head the program to write
+     * @param out  the stream, it is not closed
+     * @throws IOException in case the stream cannot be written
+     */
+    public static void write(BoNode head, OutputStream out) throws IOException {
+        DataOutputStream data = new DataOutputStream(out);
+        writeNode(head, data);
+        data.flush();
+    }
+
+    /**
+     * Reads a program that was written by {@link #write(BoNode, OutputStream)}
+     *
+     * @param in the buffer positioned at the start of the program
+     * @return the program
+     * @throws IOException in case the buffer does not hold a valid program
+     */
+    public static BoNode read(ByteBuffer in) throws IOException {
+        try {
+            ExpressionNode node = readNode(in);
+            if (!(node instanceof BoNode)) {
+                throw new IOException("The data does not start with a program!");
+            }
+            return (BoNode) node;
+        } catch (BufferUnderflowException | IllegalArgumentException e) {
+            throw new IOException("The program is cut off or damaged!", e);
+        }
+    }
+
+    private static void writeNode(ExpressionNode node, DataOutputStream out) throws IOException {
+        if (node == null) {
+            out.writeByte(0);
+        } else if (node instanceof BoNode) {
+            BoNode boNode = (BoNode) node;
+            out.writeByte(PROGRAM);
+            writeNodes(boNode.getStats(), out);
+            writeStrings(boNode.getUsedModules() == null ? null : new ArrayList<>(boNode.getUsedModules()), out);
+            out.writeInt(boNode.getFrameSize());
+        } else if (node instanceof FunctionNode) {
+            FunctionNode functionNode = (FunctionNode) node;
+            out.writeByte(FUNCTION);
+            writeString(functionNode.getName(), out);
+            writeStrings(functionNode.getParamNames(), out);
+            writeNodes(functionNode.getBody(), out);
+            out.writeInt(functionNode.getFrameSize());
+        } else if (node instanceof ModuleNode) {
+            ModuleNode moduleNode = (ModuleNode) node;
+            out.writeByte(MODULE);
+            writeString(moduleNode.getName(), out);
+            writeNodes(moduleNode.getImports(), out);
+            writeNodes(moduleNode.getFunctions(), out);
+        } else if (node instanceof ImportNode) {
+            out.writeByte(IMPORT);
+            writeString(((ImportNode) node).getModuleName(), out);
+        } else if (node instanceof CallFunctionNode) {
+            CallFunctionNode callFunctionNode = (CallFunctionNode) node;
+            out.writeByte(CALL_FUNCTION);
+            writeString(callFunctionNode.getName(), out);
+            writeString(callFunctionNode.getModule(), out);
+            writeNodes(callFunctionNode.getParams(), out);
+        } else if (node instanceof AccessIndexNode) {
+            AccessIndexNode accessIndexNode = (AccessIndexNode) node;
+            out.writeByte(ACCESS_INDEX);
+            writeString(accessIndexNode.getIdentifierName(), out);
+            writeNode(accessIndexNode.getIndex(), out);
+            out.writeInt(accessIndexNode.getSlot());
+        } else if (node instanceof DefineVariableNode) {
+            DefineVariableNode defineVariableNode = (DefineVariableNode) node;
+            out.writeByte(DEFINE_VARIABLE);
+            writeString(defineVariableNode.getIdentifierName(), out);
+            writeNode(defineVariableNode.getExpr(), out);
+            out.writeInt(defineVariableNode.getSlot());
+        } else if (node instanceof AssignVariableNode) {
+            AssignVariableNode assignVariableNode = (AssignVariableNode) node;
+            out.writeByte(ASSIGN_VARIABLE);
+            writeString(assignVariableNode.getIdentifierName(), out);
+            writeNode(assignVariableNode.getExpr(), out);
+            out.writeInt(assignVariableNode.getSlot());
+        } else if (node instanceof IfElseNode) {
+            IfElseNode ifElseNode = (IfElseNode) node;
+            out.writeByte(IF_ELSE);
+            writeNode(ifElseNode.getCondition(), out);
+            writeNodes(ifElseNode.getIfSection(), out);
+            writeNodes(ifElseNode.getElseSection(), out);
+        } else if (node instanceof IfNode) {
+            IfNode ifNode = (IfNode) node;
+            out.writeByte(IF);
+            writeNode(ifNode.getCondition(), out);
+            writeNodes(ifNode.getIfSection(), out);
+        } else if (node instanceof ReturnNode) {
+            out.writeByte(RETURN);
+            writeNode(((ReturnNode) node).getRet(), out);
+        } else if (node instanceof NegateNode) {
+            out.writeByte(NEGATE);
+            writeNode(((NegateNode) node).getInner(), out);
+        } else if (node instanceof IdNode) {
+            IdNode idNode = (IdNode) node;
+            out.writeByte(ID);
+            writeString(idNode.getName(), out);
+            out.writeInt(idNode.getSlot());
+            out.writeBoolean(idNode.isLastUse());
+        } else if (node instanceof IntegerNode) {
+            out.writeByte(INTEGER);
+            out.writeInt(((IntegerNode) node).getValue());
+        } else if (node instanceof DoubleNode) {
+            out.writeByte(DOUBLE);
+            out.writeDouble(((DoubleNode) node).getValue());
+        } else if (node instanceof StringNode) {
+            out.writeByte(STRING);
+            writeString(((StringNode) node).getValue(), out);
+        } else if (node instanceof BooleanNode) {
+            out.writeByte(BOOLEAN);
+            out.writeBoolean(((BooleanNode) node).getValue());
+        } else if (node instanceof ArrayNode) {
+            out.writeByte(ARRAY);
+            writeNodes(((ArrayNode) node).getContent(), out);
+        } else if (node instanceof ExternalParamNode) {
+            out.writeByte(EXTERNAL_PARAM);
+            writeString(((ExternalParamNode) node).getName(), out);
+        } else if (node instanceof InfixNode) {
+            InfixNode infixNode = (InfixNode) node;
+            out.writeByte(infixTagOf(infixNode));
+            writeNode(infixNode.getLeft(), out);
+            writeNode(infixNode.getRight(), out);
+        } else {
+            throw new IOException(String.format("The node %s cannot be written!", node.getClass().getSimpleName()));
+        }
+    }
+
+    private static byte infixTagOf(InfixNode node) throws IOException {
+        if (node instanceof AdditionNode) {
+            return ADDITION;
+        } else if (node instanceof SubtractionNode) {
+            return SUBTRACTION;
+        } else if (node instanceof MultiplicationNode) {
+            return MULTIPLICATION;
+        } else if (node instanceof DivisionNode) {
+            return DIVISION;
+        } else if (node instanceof StringConcatenationNode) {
+            return STRING_CONCATENATION;
+        } else if (node instanceof EqualsNode) {
+            return EQUALS;
+        } else if (node instanceof NotEqualsNode) {
+            return NOT_EQUALS;
+        } else if (node instanceof GreaterEqualNode) {
+            return GREATER_EQUAL;
+        } else if (node instanceof GreaterNode) {
+            return GREATER;
+        } else if (node instanceof LessEqualNode) {
+            return LESS_EQUAL;
+        } else if (node instanceof LessNode) {
+            return LESS;
+        } else if (node instanceof LogicAndNode) {
+            return LOGIC_AND;
+        } else if (node instanceof LogicOrNode) {
+            return LOGIC_OR;
+        }
+        throw new IOException(String.format("The node %s cannot be written!", node.getClass().getSimpleName()));
+    }
+
+    private static void writeNodes(List<? extends ExpressionNode> nodes, DataOutputStream out) throws IOException {
+        if (nodes == null) {
+            out.writeInt(-1);
+            return;
+        }
+
+        out.writeInt(nodes.size());
+        for (ExpressionNode node : nodes) {
+            writeNode(node, out);
+        }
+    }
+
+    private static void writeStrings(List<String> values, DataOutputStream out) throws IOException {
+        if (values == null) {
+            out.writeInt(-1);
+            return;
+        }
+
+        out.writeInt(values.size());
+        for (String value : values) {
+            writeString(value, out);
+        }
+    }
+
+    private static void writeString(String value, DataOutputStream out) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static ExpressionNode readNode(ByteBuffer in) throws IOException {
+        byte tag = in.get();
+        switch (tag) {
+            case 0:
+                return null;
+            case PROGRAM: {
+                List<ExpressionNode> stats = readNodes(in, ExpressionNode.class);
+                List<String> usedModules = readStrings(in);
+                BoNode boNode = new BoNode(stats, usedModules == null ? null : new HashSet<>(usedModules));
+                boNode.setFrameSize(in.getInt());
+                return boNode;
+            }
+            case FUNCTION: {
+                String name = readString(in);
+                List<String> paramNames = readStrings(in);
+                List<ExpressionNode> body = readNodes(in, ExpressionNode.class);
+                return new FunctionNode(name, paramNames, body, in.getInt());
+            }
+            case MODULE: {
+                String name = readString(in);
+                List<ImportNode> imports = readNodes(in, ImportNode.class);
+                return new ModuleNode(name, imports, readNodes(in, FunctionNode.class));
+            }
+            case IMPORT:
+                return new ImportNode(readString(in));
+            case CALL_FUNCTION: {
+                String name = readString(in);
+                String module = readString(in);
+                return new CallFunctionNode(name, module, readNodes(in, ExpressionNode.class));
+            }
+            case ACCESS_INDEX: {
+                AccessIndexNode accessIndexNode = new AccessIndexNode(readString(in), readNode(in));
+                accessIndexNode.setSlot(in.getInt());
+                return accessIndexNode;
+            }
+            case DEFINE_VARIABLE: {
+                DefineVariableNode defineVariableNode = new DefineVariableNode(readString(in), readNode(in));
+                defineVariableNode.setSlot(in.getInt());
+                return defineVariableNode;
+            }
+            case ASSIGN_VARIABLE: {
+                AssignVariableNode assignVariableNode = new AssignVariableNode(readString(in), readNode(in));
+                assignVariableNode.setSlot(in.getInt());
+                return assignVariableNode;
+            }
+            case IF_ELSE: {
+                ExpressionNode condition = readNode(in);
+                List<ExpressionNode> ifSection = readNodes(in, ExpressionNode.class);
+                return new IfElseNode(condition, ifSection, readNodes(in, ExpressionNode.class));
+            }
+            case IF: {
+                ExpressionNode condition = readNode(in);
+                return new IfNode(condition, readNodes(in, ExpressionNode.class));
+            }
+            case RETURN:
+                return new ReturnNode(readNode(in));
+            case NEGATE:
+                return new NegateNode(readNode(in));
+            case ID: {
+                IdNode idNode = new IdNode(readString(in));
+                idNode.setSlot(in.getInt());
+                idNode.setLastUse(in.get() != 0);
+                return idNode;
+            }
+            case INTEGER:
+                return new IntegerNode(in.getInt());
+            case DOUBLE:
+                return new DoubleNode(in.getDouble());
+            case STRING:
+                return new StringNode(readString(in));
+            case BOOLEAN:
+                return new BooleanNode(in.get() != 0);
+            case ARRAY:
+                return new ArrayNode(readNodes(in, ExpressionNode.class));
+            case EXTERNAL_PARAM:
+                return new ExternalParamNode(readString(in));
+            default:
+                return readInfixNode(tag, in);
+        }
+    }
+
+    private static InfixNode readInfixNode(byte tag, ByteBuffer in) throws IOException {
+        InfixNode node;
+        switch (tag) {
+            case ADDITION:
+                node = new AdditionNode();
+                break;
+            case SUBTRACTION:
+                node = new SubtractionNode();
+                break;
+            case MULTIPLICATION:
+                node = new MultiplicationNode();
+                break;
+            case DIVISION:
+                node = new DivisionNode();
+                break;
+            case STRING_CONCATENATION:
+                node = new StringConcatenationNode();
+                break;
+            case EQUALS:
+                node = new EqualsNode();
+                break;
+            case NOT_EQUALS:
+                node = new NotEqualsNode();
+                break;
+            case GREATER_EQUAL:
+                node = new GreaterEqualNode();
+                break;
+            case GREATER:
+                node = new GreaterNode();
+                break;
+            case LESS_EQUAL:
+                node = new LessEqualNode();
+                break;
+            case LESS:
+                node = new LessNode();
+                break;
+            case LOGIC_AND:
+                node = new LogicAndNode();
+                break;
+            case LOGIC_OR:
+                node = new LogicOrNode();
+                break;
+            default:
+                throw new IOException(String.format("Unknown node tag %d!", tag));
+        }
+
+        node.setLeft(readNode(in));
+        node.setRight(readNode(in));
+        return node;
+    }
+
+    private static <T extends ExpressionNode> List<T> readNodes(ByteBuffer in, Class<T> type) throws IOException {
+        int size = in.getInt();
+        if (size < 0) {
+            return null;
+        }
+
+        List<T> nodes = new ArrayList<>(Math.min(size, in.remaining()));
+        for (int i = 0; i < size; i++) {
+            ExpressionNode node = readNode(in);
+            if (node != null && !type.isInstance(node)) {
+                throw new IOException(String.format("Expected a %s but found a %s!", type.getSimpleName(), node.getClass().getSimpleName()));
+            }
+            nodes.add(type.cast(node));
+        }
+        return nodes;
+    }
+
+    private static List<String> readStrings(ByteBuffer in) {
+        int size = in.getInt();
+        if (size < 0) {
+            return null;
+        }
+
+        List<String> values = new ArrayList<>(Math.min(size, in.remaining()));
+        for (int i = 0; i < size; i++) {
+            values.add(readString(in));
+        }
+        return values;
+    }
+
+    private static String readString(ByteBuffer in) {
+        int length = in.getInt();
+        if (length < 0) {
+            return null;
+        }
+
+        if (length > in.remaining()) {
+            throw new BufferUnderflowException();
+        }
+
+        byte[] bytes = new byte[length];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -1,8 +1,9 @@
 package com.diegokrupitza.bolang.syntaxtree.nodes;
 
-import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 
 /**
  * @author Diego Krupitza
@@ -11,11 +12,22 @@ import lombok.NoArgsConstructor;
  */
 @Data
 @NoArgsConstructor
-@AllArgsConstructor
 public class AccessIndexNode extends ExpressionNode {
 
     private String identifierName;
 
     private ExpressionNode index;
 
+    /**
+     * the frame slot of the accessed variable
+     */
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private int slot = -1;
+
+    public AccessIndexNode(String identifierName, ExpressionNode index) {
+        this.identifierName = identifierName;
+        this.index = index;
+    }
+
 }
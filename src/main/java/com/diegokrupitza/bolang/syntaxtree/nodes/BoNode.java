@@ -1,6 +1,8 @@
 package com.diegokrupitza.bolang.syntaxtree.nodes;
 
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
 
 import java.util.List;
 import java.util.Set;
@@ -16,6 +18,13 @@ public class BoNode extends ExpressionNode {
     private List<ExpressionNode> stats;
     private Set<String> usedModules;
 
+    /**
+     * the number of slots the frame of the program needs
+     */
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private int frameSize;
+
     public BoNode() {
     }
 
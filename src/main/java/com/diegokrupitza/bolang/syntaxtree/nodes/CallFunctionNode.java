@@ -1,8 +1,13 @@
 package com.diegokrupitza.bolang.syntaxtree.nodes;
 
-import lombok.AllArgsConstructor;
+import com.diegokrupitza.bolang.vm.functions.CallSite;
+import lombok.AccessLevel;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
 import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
 
 import java.util.List;
 
@@ -12,7 +17,6 @@ import java.util.List;
  * @date 08.07.21
  */
 @Data
-@AllArgsConstructor
 @NoArgsConstructor
 public class CallFunctionNode extends ExpressionNode {
 
@@ -22,4 +26,27 @@ public class CallFunctionNode extends ExpressionNode {
 
     private List<ExpressionNode> params;
 
+    /**
+     * remembers the function this call resolved to, created on the first call
+     */
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private CallSite callSite;
+
+    public CallFunctionNode(String name, String module, List<ExpressionNode> params) {
+        this.name = name;
+        this.module = module;
+        this.params = params;
+    }
+
+    public CallSite getCallSite() {
+        CallSite site = this.callSite;
+        if (site == null) {
+            site = new CallSite(module, name, params == null ? 0 : params.size());
+            this.callSite = site;
+        }
+        return site;
+    }
 }
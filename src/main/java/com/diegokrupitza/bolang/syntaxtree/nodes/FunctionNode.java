@@ -1,8 +1,8 @@
 package com.diegokrupitza.bolang.syntaxtree.nodes;
 
-import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 
 import java.util.List;
 import java.util.Objects;
@@ -13,7 +13,6 @@ import java.util.Objects;
  * @date 28.07.21
  */
 @Data
-@AllArgsConstructor
 @NoArgsConstructor
 public class FunctionNode extends ExpressionNode {
 
@@ -23,6 +22,23 @@ public class FunctionNode extends ExpressionNode {
 
     private List<ExpressionNode> body;
 
+    /**
+     * the number of slots a frame of this function needs, the params are in the first slots
+     */
+    @ToString.Exclude
+    private int frameSize;
+
+    public FunctionNode(String name, List<String> paramNames, List<ExpressionNode> body) {
+        this(name, paramNames, body, paramNames.size());
+    }
+
+    public FunctionNode(String name, List<String> paramNames, List<ExpressionNode> body, int frameSize) {
+        this.name = name;
+        this.paramNames = paramNames;
+        this.body = body;
+        this.frameSize = frameSize;
+    }
+
     @Override
     public boolean equals(Object o) {
         // functions are equals when they have the same name and params
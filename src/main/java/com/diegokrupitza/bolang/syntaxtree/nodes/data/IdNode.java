@@ -1,8 +1,9 @@
 package com.diegokrupitza.bolang.syntaxtree.nodes.data;
 
-import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 
 /**
  * @author Diego Krupitza
@@ -10,10 +11,28 @@ import lombok.NoArgsConstructor;
  * @date 08.07.21
  */
 @Data
-@AllArgsConstructor
 @NoArgsConstructor
 public class IdNode extends DataNode {
 
     private String name;
 
+    /**
+     * the frame slot of the variable that is read, resolved while building the AST
+     */
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private int slot = -1;
+
+    /**
+     * the variable is not read anymore after this read and not a second time in the same statement, set by the
+     * {@link com.diegokrupitza.bolang.syntaxtree.LastUseAnalysis}
+     */
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private boolean lastUse = false;
+
+    public IdNode(String name) {
+        this.name = name;
+    }
+
 }
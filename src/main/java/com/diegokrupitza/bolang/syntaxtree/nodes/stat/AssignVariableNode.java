@@ -1,9 +1,10 @@
 package com.diegokrupitza.bolang.syntaxtree.nodes.stat;
 
 import com.diegokrupitza.bolang.syntaxtree.nodes.ExpressionNode;
-import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 
 /**
  * @author Diego Krupitza
@@ -11,7 +12,6 @@ import lombok.NoArgsConstructor;
  * @date 08.07.21
  */
 @Data
-@AllArgsConstructor
 @NoArgsConstructor
 public class AssignVariableNode extends ExpressionNode {
 
@@ -19,4 +19,16 @@ public class AssignVariableNode extends ExpressionNode {
 
     private ExpressionNode expr;
 
+    /**
+     * the frame slot of the variable that gets the new value
+     */
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private int slot = -1;
+
+    public AssignVariableNode(String identifierName, ExpressionNode expr) {
+        this.identifierName = identifierName;
+        this.expr = expr;
+    }
+
 }
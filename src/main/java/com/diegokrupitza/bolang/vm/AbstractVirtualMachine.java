@@ -0,0 +1,149 @@
+package com.diegokrupitza.bolang.vm;
+
+import com.diegokrupitza.bolang.syntaxtree.nodes.BoNode;
+import com.diegokrupitza.bolang.syntaxtree.nodes.FunctionNode;
+import com.diegokrupitza.bolang.vm.functions.FunctionTable;
+import com.diegokrupitza.bolang.vm.functions.MemoTable;
+import com.diegokrupitza.bolang.vm.functions.PurityAnalysis;
+import com.diegokrupitza.bolang.vm.functions.exceptions.FunctionTableException;
+import com.diegokrupitza.bolang.vm.types.AbstractElementType;
+import com.diegokrupitza.bolang.vm.utils.ParallelArrays;
+import org.apache.commons.collections4.CollectionUtils;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+/**
+ * The state every execution engine of BoLang shares, independent of how the program is executed in the end.
+ * This is the program head, the function table with the self defined and imported functions and the
+ * external params the program was started with.
+ *
+ * @author Diego Krupitza
+ * @version 1.0
+ * @date 18.10.26
+ */
+public abstract class AbstractVirtualMachine {
+
+    private final BoNode programHead;
+    private final VirtualMachineSettings settings;
+
+    private final FunctionTable functionTable = new FunctionTable();
+    private Map<String, String> externalParams = new HashMap<>();
+
+    private PurityAnalysis purityAnalysis = new PurityAnalysis(functionTable);
+    private MemoTable memoTable;
+
+    protected AbstractVirtualMachine(BoNode programHead, VirtualMachineSettings settings) throws VirtualMachineException {
+        this.programHead = programHead;
+        this.settings = settings;
+        this.memoTable = new MemoTable(settings.getMemoSize());
+        buildFunctionTable();
+    }
+
+    public void addExternalModules(Map<String, List<FunctionNode>> modules) {
+        functionTable.add(modules);
+        // the new functions can change which functions are pure
+        purityAnalysis = new PurityAnalysis(functionTable);
+    }
+
+    /**
+     * Adds modules that are only loaded once one of their functions gets called
+     *
+     * @param stubs the mapping of module names and the stubs that load them
+     */
+    public void addLazyModules(Map<String, FunctionTable.ModuleStub> stubs) {
+        functionTable.addStubs(stubs);
+        purityAnalysis = new PurityAnalysis(functionTable);
+    }
+
+    private void buildFunctionTable() throws FunctionTableException {
+        assert this.programHead != null : "Program head should never be null at this stage!";
+
+        // self defined functions
+        List<FunctionNode> selfDefinedFunctions = this.programHead.getStats().stream()
+                .filter(item -> item instanceof FunctionNode)
+                .map(item -> ((FunctionNode) item))
+                .collect(Collectors.toList());
+
+        if (CollectionUtils.isEmpty(selfDefinedFunctions)) {
+            // no functions defined means we do not have to build a custom function tabel
+            return;
+        }
+
+        this.functionTable.add(Map.of("this", selfDefinedFunctions));
+    }
+
+    /**
+     * Runs the program that was previously given to the constructor
+     *
+     * @param externalParams the external params that are given to the program
+     * @return the return value of the program
+     * @throws VirtualMachineException in case any error happens during runtime
+     */
+    public AbstractElementType<?> run(Map<String, String> externalParams) throws VirtualMachineException {
+        // only update if there are external vars
+        if (Objects.nonNull(externalParams)) {
+            this.externalParams = externalParams;
+        }
+        this.memoTable = new MemoTable(settings.getMemoSize());
+
+        // the array operations are static, they find the parallelism of this run through the thread
+        ParallelArrays previous = ParallelArrays.enter(settings);
+        try {
+            return execute();
+        } finally {
+            ParallelArrays.exit(previous);
+        }
+    }
+
+    /**
+     * Executes the program head with the engine specific strategy
+     *
+     * @return the return value of the program or <code>null</code> if the program did not return anything
+     * @throws VirtualMachineException in case any error happens during runtime
+     */
+    protected abstract AbstractElementType<?> execute() throws VirtualMachineException;
+
+    protected BoNode getProgramHead() {
+        return programHead;
+    }
+
+    public VirtualMachineSettings getSettings() {
+        return settings;
+    }
+
+    protected FunctionTable getFunctionTable() {
+        return functionTable;
+    }
+
+    protected Map<String, String> getExternalParams() {
+        return externalParams;
+    }
+
+    /**
+     * The return values of the pure functions the last run remembered
+     *
+     * @return the memo table of the last run
+     */
+    public MemoTable getMemoTable() {
+        return memoTable;
+    }
+
+    /**
+     * Creates the key the return value of a call is remembered with in the memo table
+     *
+     * @param module       the module the function was called with
+     * @param functionNode the called self defined or imported function
+     * @param params       the evaluated params of the call
+     * @return the key or <code>null</code> if memoization is turned off or the function is not pure
+     */
+    protected List<Object> memoKeyOf(String module, FunctionNode functionNode, List<AbstractElementType<?>> params) {
+        if (settings.getMemoSize() == 0 || !purityAnalysis.isPure(functionNode)) {
+            return null;
+        }
+        return MemoTable.keyOf(module, functionNode.getName(), params);
+    }
+}
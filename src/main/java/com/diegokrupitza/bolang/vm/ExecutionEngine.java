@@ -0,0 +1,87 @@
+package com.diegokrupitza.bolang.vm;
+
+import com.diegokrupitza.bolang.syntaxtree.nodes.BoNode;
+import com.diegokrupitza.bolang.vm.compiler.BytecodeVirtualMachine;
+import com.diegokrupitza.bolang.vm.register.RegisterVirtualMachine;
+import com.diegokrupitza.bolang.vm.specializing.SpecializingVirtualMachine;
+
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+/**
+ * All the engines that are able to execute a BoLang program.
+ * The <code>TREE_WALKER</code> is the reference engine, every other engine has to behave exactly the same.
+ *
+ * @author Diego Krupitza
+ * @version 1.0
+ * @date 18.10.26
+ */
+public enum ExecutionEngine {
+    TREE_WALKER("tree"),
+    BYTECODE("bytecode"),
+    SPECIALIZING("specializing"),
+    REGISTER("register");
+
+    private final String name;
+
+    ExecutionEngine(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Gets the engine that is identified by the given name
+     *
+     * @param name the name of the engine as it is used in the command line
+     * @return the engine with the given name
+     * @throws IllegalArgumentException in case there is no engine with that name
+     */
+    public static ExecutionEngine fromName(String name) {
+        return Arrays.stream(values())
+                .filter(item -> item.getName().equalsIgnoreCase(name))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException(String.format("The engine `%s` does not exist! Available engines are %s", name,
+                        Arrays.stream(values()).map(ExecutionEngine::getName).collect(Collectors.joining(", ")))));
+    }
+
+    /**
+     * Creates a new virtual machine of this engine for the given program with the default settings
+     *
+     * @param programHead the program to execute
+     * @return the virtual machine that executes the program
+     * @throws VirtualMachineException in case the program cannot be prepared for execution
+     */
+    public AbstractVirtualMachine create(BoNode programHead) throws VirtualMachineException {
+        return create(programHead, VirtualMachineSettings.DEFAULT);
+    }
+
+    /**
+     * Creates a new virtual machine of this engine for the given program
+     *
+     * @param programHead the program to execute
+     * @param settings    the settings the virtual machine has to respect
+     * @return the virtual machine that executes the program
+     * @throws VirtualMachineException in case the program cannot be prepared for execution
+     */
+    public AbstractVirtualMachine create(BoNode programHead, VirtualMachineSettings settings) throws VirtualMachineException {
+        switch (this) {
+            case BYTECODE:
+                return new BytecodeVirtualMachine(programHead, settings);
+            case SPECIALIZING:
+                return new SpecializingVirtualMachine(programHead, settings);
+            case REGISTER:
+                return new RegisterVirtualMachine(programHead, settings);
+            case TREE_WALKER:
+            default:
+                return new VirtualMachine(programHead, settings);
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public String toString() {
+        return this.name;
+    }
+}
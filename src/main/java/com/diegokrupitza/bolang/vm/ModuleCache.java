@@ -0,0 +1,218 @@
+package com.diegokrupitza.bolang.vm;
+
+import com.diegokrupitza.bolang.BoService;
+import com.diegokrupitza.bolang.syntaxtree.nodes.BoNode;
+import com.diegokrupitza.bolang.syntaxtree.nodes.FunctionNode;
+import com.diegokrupitza.bolang.syntaxtree.nodes.ModuleNode;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Remembers the parsed modules of the whole process, so every module file is only parsed again once it changed. The
+ * same module is used by every run and every project that imports it.
+ * <p>
+ * A module is identified by its real path and the name it is imported with. Its file is only read again if its size
+ * or modification time changed, or if it was changed shortly before it was parsed, since the modification time may
+ * not tell a change within the same tick apart. A file that was read again is only parsed if its SHA-256 hash is a
+ * different one.
+ * <p>
+ * The cache holds at most <code>maxSize</code> modules, when it is full the module that was used least recently is
+ * dropped, so modules that were deleted or renamed do not stay around forever. A module is parsed outside of the lock.
+ *
+ * @author Diego Krupitza
+ * @version 1.0
+ * @date 18.10.26
+ */
+public class ModuleCache {
+
+    /**
+     * the cache every import uses
+     */
+    public static final ModuleCache SHARED = new ModuleCache();
+
+    /**
+     * the number of modules a cache holds if no size is given
+     */
+    public static final int DEFAULT_MAX_SIZE = 1_024;
+
+    /**
+     * the time after a change of a file in which its modification time is not trusted, in milliseconds
+     */
+    private static final long MODIFICATION_TIME_PRECISION = 2_000;
+
+    private final int maxSize;
+
+    private final Map<Key, Entry> entries;
+
+    /**
+     * the number of modules that were taken from the cache
+     */
+    private final AtomicLong hits = new AtomicLong();
+
+    /**
+     * the number of modules that had to be parsed
+     */
+    private final AtomicLong misses = new AtomicLong();
+
+    public ModuleCache() {
+        this(DEFAULT_MAX_SIZE);
+    }
+
+    public ModuleCache(int maxSize) {
+        if (maxSize < 0) {
+            throw new IllegalArgumentException("The size of the module cache cannot be negative!");
+        }
+        this.maxSize = maxSize;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+                return size() > ModuleCache.this.maxSize;
+            }
+        };
+    }
+
+    /**
+     * Gets the parsed module of the file
+     *
+     * @param name the name the module is imported with, it replaces the <code>this</code> of the module
+     * @param path the path of the file of the module
+     * @return the parsed module
+     * @throws IOException in case the file cannot be read
+     */
+    public ParsedModule get(String name, Path path) throws IOException {
+        Path realPath = path.toRealPath();
+        Key key = new Key(name, realPath);
+        BasicFileAttributes attributes = Files.readAttributes(realPath, BasicFileAttributes.class);
+        long size = attributes.size();
+        long lastModified = attributes.lastModifiedTime().toMillis();
+
+        Entry entry;
+        synchronized (entries) {
+            entry = entries.get(key);
+        }
+        if (entry != null && entry.size == size && entry.lastModified == lastModified
+                && entry.checkedAt - lastModified > MODIFICATION_TIME_PRECISION) {
+            hits.incrementAndGet();
+            return entry.module;
+        }
+
+        long checkedAt = System.currentTimeMillis();
+        String content = Files.readString(realPath);
+        byte[] hash = hashOf(content);
+
+        if (entry != null && Arrays.equals(entry.hash, hash)) {
+            // only the time of the file changed
+            put(key, new Entry(size, lastModified, checkedAt, hash, entry.module));
+            hits.incrementAndGet();
+            return entry.module;
+        }
+
+        misses.incrementAndGet();
+        ParsedModule module = parse(name, content);
+        put(key, new Entry(size, lastModified, checkedAt, hash, module));
+        return module;
+    }
+
+    private void put(Key key, Entry entry) {
+        synchronized (entries) {
+            entries.put(key, entry);
+        }
+    }
+
+    private static ParsedModule parse(String name, String content) {
+        // we need to adjust the "this" of the module.
+        String moduleContent = content.replaceAll("this\\.", name + ".");
+
+        BoNode moduleBoNode = BoService.parseContent(moduleContent);
+
+        assert moduleBoNode.getStats().get(0) instanceof ModuleNode : "This should always be of type ModuleNode!";
+        ModuleNode moduleHead = (ModuleNode) moduleBoNode.getStats().get(0);
+
+        return new ParsedModule(List.copyOf(moduleHead.getFunctions()), Set.copyOf(moduleBoNode.getUsedModules()));
+    }
+
+    private static byte[] hashOf(String content) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(content.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException e) {
+            // every java platform has to support SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    public void clear() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    /**
+     * The functions of a parsed module and the modules it imports. It is shared by every program that imports the
+     * module and must not be changed
+     */
+    @Getter
+    public static class ParsedModule {
+
+        private final List<FunctionNode> functions;
+        private final Set<String> usedModules;
+
+        private ParsedModule(List<FunctionNode> functions, Set<String> usedModules) {
+            this.functions = functions;
+            this.usedModules = usedModules;
+        }
+    }
+
+    @EqualsAndHashCode
+    @AllArgsConstructor
+    private static class Key {
+
+        private final String name;
+        private final Path path;
+    }
+
+    private static class Entry {
+
+        private final long size;
+        private final long lastModified;
+        private final long checkedAt;
+        private final byte[] hash;
+        private final ParsedModule module;
+
+        private Entry(long size, long lastModified, long checkedAt, byte[] hash, ParsedModule module) {
+            this.size = size;
+            this.lastModified = lastModified;
+            this.checkedAt = checkedAt;
+            this.hash = hash;
+            this.module = module;
+        }
+    }
+}
@@ -1,22 +1,21 @@
 package com.diegokrupitza.bolang.vm;
 
-import com.diegokrupitza.bolang.BoService;
 import com.diegokrupitza.bolang.project.BoProject;
 import com.diegokrupitza.bolang.project.exceptions.BoProjectException;
 import com.diegokrupitza.bolang.syntaxtree.nodes.BoNode;
 import com.diegokrupitza.bolang.syntaxtree.nodes.FunctionNode;
 import com.diegokrupitza.bolang.syntaxtree.nodes.ImportNode;
-import com.diegokrupitza.bolang.syntaxtree.nodes.ModuleNode;
+import com.diegokrupitza.bolang.vm.functions.FunctionTable;
+import com.diegokrupitza.bolang.vm.functions.exceptions.FunctionTableException;
 import org.apache.commons.collections4.CollectionUtils;
 
 import java.io.FileNotFoundException;
 import java.io.IOException;
-import java.nio.file.Files;
 import java.nio.file.Path;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Set;
-import java.util.stream.Collectors;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * @author Diego Krupitza
@@ -32,7 +31,16 @@ public class ModulesImporter {
     }
 
     /**
-     * Imports all the used module of the project. Currently it does not check if the modules are really used or not
+     * the threads the module files are read and parsed with, reading files is worth a thread even on a single core
+     */
+    private static final ForkJoinPool IMPORT_POOL = new ForkJoinPool(Math.max(2, Runtime.getRuntime().availableProcessors()));
+
+    /**
+     * Imports all the used module of the project. Currently it does not check if the modules are really used or not.
+     * <p>
+     * The modules are independent of each other until they are linked, so every module file is read and parsed on
+     * its own thread as soon as an import of it is found. The imports of a module are followed once it is parsed,
+     * every module is only loaded once, so circular imports are not a problem.
      *
      * @param boProject the project of where the modules are located
      * @param head      the head of the program we want to import the modules for
@@ -42,82 +50,123 @@ public class ModulesImporter {
     public static HashMap<String, List<FunctionNode>> importModules(BoProject boProject, BoNode head) throws VirtualMachineException {
         HashMap<String, List<FunctionNode>> moduleFunctionMap = new HashMap<>();
 
-        if (!containsModuleImport(head)) {
+        if (!containsModuleImport(head) || CollectionUtils.isEmpty(head.getUsedModules())) {
             return moduleFunctionMap;
         }
 
+        // the modules that are loading or loaded, in the order their imports were found
+        Map<String, CompletableFuture<ModuleCache.ParsedModule>> loadingModules = new LinkedHashMap<>();
+        Deque<String> modulesToLink = new ArrayDeque<>();
+
+        // getting the names of the modules we want to import
+        for (String nameOfModule : head.getUsedModules()) {
+            startImport(boProject, nameOfModule, loadingModules, modulesToLink);
+        }
+
         try {
-            // import functions from other modules
-            Set<ImportNode> importModules = head.getStats().stream()
-                    .filter(item -> item instanceof ImportNode)
-                    .map(item -> ((ImportNode) item))
-                    .collect(Collectors.toUnmodifiableSet());
-
-            if (CollectionUtils.isEmpty(importModules)) {
-                // no imports
-                return moduleFunctionMap;
-            }
+            while (!modulesToLink.isEmpty()) {
+                String nameOfModule = modulesToLink.poll();
+                ModuleCache.ParsedModule module = awaitImport(loadingModules.get(nameOfModule));
 
-            // getting the names of the modules we want to import
-            Set<String> namesOfModuleToImport = head.getUsedModules();
+                // adding the current imported module to the map
+                moduleFunctionMap.put(nameOfModule, module.getFunctions());
 
-            // populating the map with the list of all implemented functions in a module
-            for (String nameOfModule : namesOfModuleToImport) {
-                moduleFunctionMap = performImportForModule(boProject, moduleFunctionMap, nameOfModule);
-            }
+                checkExternalModule(boProject, nameOfModule, module);
 
+                // getting the names of the modules we want to import
+                for (String nameOfModuleIteration : module.getUsedModules()) {
+                    startImport(boProject, nameOfModuleIteration, loadingModules, modulesToLink);
+                }
+            }
         } catch (FileNotFoundException e) {
             throw new VirtualMachineException("File not found: " + e.getMessage());
         } catch (BoProjectException | IOException e) {
             throw new VirtualMachineException(e.getMessage());
+        } finally {
+            // nobody waits for the modules that are still loading after an error
+            loadingModules.values().forEach(loading -> loading.cancel(false));
         }
 
         return moduleFunctionMap;
     }
 
-    private static HashMap<String, List<FunctionNode>> performImportForModule(BoProject boProject, HashMap<String, List<FunctionNode>> moduleFunctionMap, String nameOfModule) throws BoProjectException, IOException {
-        if (moduleFunctionMap.containsKey(nameOfModule)) {
-            // we already imported that certain module
-            return moduleFunctionMap;
-        }
-
-        Path modulePath = boProject.getModulePath(nameOfModule);
-
-        String moduleContent = Files.readString(modulePath);
-
-        // we need to adjust the "this" of the module.
-        moduleContent = moduleContent.replaceAll("this\\.", nameOfModule + ".");
-
-        BoNode moduleBoNode = BoService.parseContent(moduleContent);
-
-        assert moduleBoNode.getStats().get(0) instanceof ModuleNode : "This should always be of type ModuleNode!";
-        ModuleNode moduleHead = (ModuleNode) moduleBoNode.getStats().get(0);
+    /**
+     * Prepares the modules of the project to be loaded the first time one of their functions gets called, instead of
+     * loading all of them before the program runs. Every module the project defines gets a stub, since the modules a
+     * module imports are only known after it was parsed. Errors like a missing file show up at the first call.
+     *
+     * @param boProject the project of where the modules are located
+     * @param head      the head of the program we want to import the modules for
+     * @return a hashmap including the name of every module with the stub that loads it
+     */
+    public static HashMap<String, FunctionTable.ModuleStub> importModulesLazily(BoProject boProject, BoNode head) {
+        HashMap<String, FunctionTable.ModuleStub> moduleStubMap = new HashMap<>();
 
-        // functions in the given module
-        List<FunctionNode> functionsOfModule = moduleHead
-                .getFunctions();
+        if (boProject == null || !containsModuleImport(head)) {
+            return moduleStubMap;
+        }
 
-        // adding the current imported module to the map
-        moduleFunctionMap.put(nameOfModule, functionsOfModule);
+        for (String nameOfModule : boProject.getModuleNames()) {
+            moduleStubMap.put(nameOfModule, () -> loadModule(boProject, nameOfModule));
+        }
+        return moduleStubMap;
+    }
 
-        // getting the names of the modules we want to import
-        Set<String> namesOfModuleToImport = moduleBoNode.getUsedModules();
+    private static List<FunctionNode> loadModule(BoProject boProject, String nameOfModule) throws FunctionTableException {
+        try {
+            ModuleCache.ParsedModule module = ModuleCache.SHARED.get(nameOfModule, boProject.getModulePath(nameOfModule));
+            checkExternalModule(boProject, nameOfModule, module);
+            return module.getFunctions();
+        } catch (FileNotFoundException e) {
+            throw new FunctionTableException("File not found: " + e.getMessage());
+        } catch (BoProjectException | IOException e) {
+            throw new FunctionTableException(e.getMessage());
+        }
+    }
 
-        if (boProject.isExternalModule(nameOfModule) && CollectionUtils.isNotEmpty(namesOfModuleToImport)) {
+    private static void checkExternalModule(BoProject boProject, String nameOfModule, ModuleCache.ParsedModule module) throws BoProjectException {
+        if (CollectionUtils.isNotEmpty(module.getUsedModules()) && boProject.isExternalModule(nameOfModule)) {
             throw new BoProjectException("External dependencies are not allowed to have imports! Please properly export the module you want to use!");
         }
+    }
 
-        if (CollectionUtils.isNotEmpty(namesOfModuleToImport)) {
-            // we have imports to do!
-            // circular dependencies are not a problem since as soon as its once seen its get added before
-            // see few lines above
+    private static void startImport(BoProject boProject, String nameOfModule, Map<String, CompletableFuture<ModuleCache.ParsedModule>> loadingModules, Deque<String> modulesToLink) {
+        if (loadingModules.containsKey(nameOfModule)) {
+            // we already import that certain module
+            return;
+        }
 
-            for (String nameOfModuleIteration : namesOfModuleToImport) {
-                moduleFunctionMap = performImportForModule(boProject, moduleFunctionMap, nameOfModuleIteration);
+        CompletableFuture<ModuleCache.ParsedModule> loading = new CompletableFuture<>();
+        IMPORT_POOL.execute(() -> {
+            try {
+                // the module is only parsed again if its file changed since the last import
+                Path modulePath = boProject.getModulePath(nameOfModule);
+                loading.complete(ModuleCache.SHARED.get(nameOfModule, modulePath));
+            } catch (Throwable e) {
+                loading.completeExceptionally(e);
             }
-        }
+        });
 
-        return moduleFunctionMap;
+        loadingModules.put(nameOfModule, loading);
+        modulesToLink.add(nameOfModule);
+    }
+
+    private static ModuleCache.ParsedModule awaitImport(CompletableFuture<ModuleCache.ParsedModule> loading) throws BoProjectException, IOException, VirtualMachineException {
+        try {
+            return loading.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof BoProjectException) {
+                throw (BoProjectException) cause;
+            } else if (cause instanceof IOException) {
+                throw (IOException) cause;
+            } else if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new VirtualMachineException(cause.getMessage());
+        }
     }
 
 }
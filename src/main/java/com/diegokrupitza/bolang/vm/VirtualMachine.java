@@ -6,78 +6,69 @@ import com.diegokrupitza.bolang.syntaxtree.nodes.infix.*;
 import com.diegokrupitza.bolang.syntaxtree.nodes.stat.*;
 import com.diegokrupitza.bolang.syntaxtree.nodes.unary.NegateNode;
 import com.diegokrupitza.bolang.vm.functions.Function;
-import com.diegokrupitza.bolang.vm.functions.FunctionFactory;
-import com.diegokrupitza.bolang.vm.functions.FunctionTable;
 import com.diegokrupitza.bolang.vm.functions.exceptions.BoFunctionException;
-import com.diegokrupitza.bolang.vm.functions.exceptions.FunctionTableException;
 import com.diegokrupitza.bolang.vm.types.*;
 import com.diegokrupitza.bolang.vm.utils.Arrays;
 import com.diegokrupitza.bolang.vm.utils.*;
-import org.apache.commons.collections4.CollectionUtils;
 
 import java.util.*;
-import java.util.stream.Collectors;
 
 /**
+ * The reference engine of BoLang. It executes a program by walking the AST.
+ *
  * @author Diego Krupitza
  * @version 1.0
  * @date 09.07.21
  */
-public class VirtualMachine {
+public class VirtualMachine extends AbstractVirtualMachine {
 
-    private final BoNode programHead;
+    /**
+     * the variables of the code that is currently executed, indexed by the slots resolved while building the AST
+     */
+    private AbstractElementType<?>[] frame = new AbstractElementType<?>[0];
 
-    private final FunctionTable functionTable = new FunctionTable();
-    private Map<String, AbstractElementType<?>> variables = new HashMap<>();
-    private Map<String, String> externalParams = new HashMap<>();
+    /**
+     * marks the slots of {@link #frame} that hold an array no one else can see, since it was calculated by an
+     * arithmetic operation and the variable was not handed on yet. Such an array may take the result of the operation
+     * that reads the variable for the last time
+     */
+    private boolean[] owned = new boolean[0];
 
     private AbstractElementType<?> returnedVal = null;
 
-    public VirtualMachine(BoNode programHead) throws VirtualMachineException {
-        this.programHead = programHead;
-        buildFunctionTable();
-    }
-
-    public void addExternalModules(Map<String, List<FunctionNode>> modules) {
-        functionTable.add(modules);
-    }
-
-    private void buildFunctionTable() throws FunctionTableException {
-        assert this.programHead != null : "Program head should never be null at this stage!";
+    /**
+     * the function a return statement handed over as tail call, it gets executed once the frame of the caller is left
+     */
+    private FunctionNode tailCallFunction = null;
+    private List<AbstractElementType<?>> tailCallParams = null;
 
-        // self defined functions
-        List<FunctionNode> selfDefinedFunctions = this.programHead.getStats().stream()
-                .filter(item -> item instanceof FunctionNode)
-                .map(item -> ((FunctionNode) item))
-                .collect(Collectors.toList());
+    /**
+     * the registers the unboxed evaluation of expressions works with, used like a stack
+     */
+    private UnboxedValue[] registers = new UnboxedValue[16];
+    private int registerTop = 0;
 
-        if (CollectionUtils.isEmpty(selfDefinedFunctions)) {
-            // no functions defined means we do not have to build a custom function tabel
-            return;
-        }
+    public VirtualMachine(BoNode programHead) throws VirtualMachineException {
+        this(programHead, VirtualMachineSettings.DEFAULT);
+    }
 
-        this.functionTable.add(Map.of("this", selfDefinedFunctions));
+    public VirtualMachine(BoNode programHead, VirtualMachineSettings settings) throws VirtualMachineException {
+        super(programHead, settings);
     }
 
-    /**
-     * Runs the program that was previously given to the constructor
-     *
-     * @param externalParams the external params that are given to the program
-     * @return the return value of the program
-     * @throws VirtualMachineException in case any error happens during runtime
-     */
-    public AbstractElementType<?> run(Map<String, String> externalParams) throws VirtualMachineException {
-        // only update if there are external vars
-        if (Objects.nonNull(externalParams)) {
-            this.externalParams = externalParams;
-        }
+    @Override
+    protected AbstractElementType<?> execute() throws VirtualMachineException {
+        this.frame = new AbstractElementType<?>[getProgramHead().getFrameSize()];
+        this.owned = new boolean[this.frame.length];
+        // the value of a previous run must not end this one
+        this.returnedVal = null;
+        this.registerTop = 0;
 
         // calling all the stats from the head node
-        List<ExpressionNode> stats = this.programHead.getStats();
-        if (processStats(stats)) {
-            return this.returnedVal;
-        }
-        return null;
+        List<ExpressionNode> stats = getProgramHead().getStats();
+        processStats(stats);
+        runTailCalls();
+        return this.returnedVal;
     }
 
     /**
@@ -90,7 +81,7 @@ public class VirtualMachine {
     private boolean processStats(List<ExpressionNode> stats) throws VirtualMachineException {
         for (ExpressionNode expressionNode : stats) {
             evalStat(expressionNode);
-            if (this.returnedVal != null) {
+            if (this.returnedVal != null || this.tailCallFunction != null) {
                 return true;
             }
         }
@@ -116,13 +107,14 @@ public class VirtualMachine {
                 throw new VirtualMachineException(String.format("You cannot assign a void to the variable %s", varName));
             }
 
-            this.variables.put(varName, value);
+            this.frame[defineVariableNode.getSlot()] = value;
+            this.owned[defineVariableNode.getSlot()] = isOwnable(defineVariableNode.getExpr(), value);
 
         } else if (currentNode instanceof AssignVariableNode) {
             AssignVariableNode assignVariableNode = (AssignVariableNode) currentNode;
 
             String varName = assignVariableNode.getIdentifierName();
-            if (!this.variables.containsKey(varName)) {
+            if (this.frame[assignVariableNode.getSlot()] == null) {
                 throw new VirtualMachineException(String.format("Variable with the name `%s` does not exist!", varName));
             }
 
@@ -133,7 +125,8 @@ public class VirtualMachine {
                 throw new VirtualMachineException(String.format("You cannot assign a void to the variable %s", varName));
             }
 
-            this.variables.put(varName, value);
+            this.frame[assignVariableNode.getSlot()] = value;
+            this.owned[assignVariableNode.getSlot()] = isOwnable(assignVariableNode.getExpr(), value);
 
         } else if (currentNode instanceof IfElseNode) {
             IfElseNode ifElseNode = (IfElseNode) currentNode;
@@ -180,6 +173,17 @@ public class VirtualMachine {
         } else if (currentNode instanceof ReturnNode) {
             ReturnNode returnNode = (ReturnNode) currentNode;
 
+            // returning the result of a self defined function means the frame of the current code is not needed
+            // anymore, so the call is executed after leaving it instead of nesting it
+            if (returnNode.getRet() instanceof CallFunctionNode && isSelfDefined((CallFunctionNode) returnNode.getRet())) {
+                CallFunctionNode callFunctionNode = (CallFunctionNode) returnNode.getRet();
+                List<AbstractElementType<?>> evaledParams = evalParams(callFunctionNode);
+
+                this.tailCallFunction = callFunctionNode.getCallSite().getFunction(getFunctionTable());
+                this.tailCallParams = evaledParams;
+                return;
+            }
+
             AbstractElementType<?> evaledExpr = evalExpression(returnNode.getRet());
 
             // voids cannot be assigned to variables
@@ -199,259 +203,13 @@ public class VirtualMachine {
     }
 
     private AbstractElementType<?> evalExpression(ExpressionNode expr) throws VirtualMachineException {
-        if (expr instanceof NegateNode) {
-            NegateNode negateNode = (NegateNode) expr;
-            AbstractElementType<?> evaluated = evalExpression(negateNode.getInner());
-
-            return Unarys.performNegation(evaluated);
-        } else if (expr instanceof AdditionNode) {
-            AdditionNode additionNode = (AdditionNode) expr;
-
-            // evaluating first the left part of the addition node since its a
-            // infix notation and we make a left-right depth search
-            ExpressionNode leftExpr = additionNode.getLeft();
-            AbstractElementType<?> leftElemInfo = evalExpression(leftExpr);
-
-            // now the right part
-            ExpressionNode rightExpr = additionNode.getRight();
-            AbstractElementType<?> rightElemInfo = evalExpression(rightExpr);
-
-            return Infixes.performAddition(leftElemInfo, rightElemInfo);
-        } else if (expr instanceof DivisionNode) {
-            DivisionNode divisionNode = (DivisionNode) expr;
-
-            // evaluating first the left part of the node since its a
-            // infix notation and we make a left-right depth search
-            ExpressionNode leftExpr = divisionNode.getLeft();
-            AbstractElementType<?> leftElemInfo = evalExpression(leftExpr);
-
-            // now the right part
-            ExpressionNode rightExpr = divisionNode.getRight();
-            AbstractElementType<?> rightElemInfo = evalExpression(rightExpr);
-
-            return Infixes.performDivision(leftElemInfo, rightElemInfo);
-        } else if (expr instanceof EqualsNode) {
-            EqualsNode equalsNode = (EqualsNode) expr;
-
-            // evaluating first the left part of the node since its a
-            // infix notation and we make a left-right depth search
-            ExpressionNode leftExpr = equalsNode.getLeft();
-            AbstractElementType<?> leftElemInfo = evalExpression(leftExpr);
-
-            // now the right part
-            ExpressionNode rightExpr = equalsNode.getRight();
-            AbstractElementType<?> rightElemInfo = evalExpression(rightExpr);
-
-            return (leftElemInfo.equals(rightElemInfo)) ? Booleans.TRUE : Booleans.FALSE;
-        } else if (expr instanceof NotEqualsNode) {
-            NotEqualsNode notEqualsNode = (NotEqualsNode) expr;
-
-            // evaluating first the left part of the node since its a
-            // infix notation and we make a left-right depth search
-            ExpressionNode leftExpr = notEqualsNode.getLeft();
-            AbstractElementType<?> leftElemInfo = evalExpression(leftExpr);
-
-            // now the right part
-            ExpressionNode rightExpr = notEqualsNode.getRight();
-            AbstractElementType<?> rightElemInfo = evalExpression(rightExpr);
-
-            return (!leftElemInfo.equals(rightElemInfo)) ? Booleans.TRUE : Booleans.FALSE;
-        } else if (expr instanceof GreaterEqualNode) {
-            GreaterEqualNode greaterEqualNode = (GreaterEqualNode) expr;
-
-            // evaluating first the left part of the node since its a
-            // infix notation and we make a left-right depth search
-            ExpressionNode leftExpr = greaterEqualNode.getLeft();
-            AbstractElementType<?> leftElemInfo = evalExpression(leftExpr);
-
-            // now the right part
-            ExpressionNode rightExpr = greaterEqualNode.getRight();
-            AbstractElementType<?> rightElemInfo = evalExpression(rightExpr);
-
-            if (Types.atLeastOneNotOfTypes(java.util.Arrays.asList(Type.INTEGER_NUMBER, Type.DOUBLE), leftElemInfo, rightElemInfo)) {
-                throw new VirtualMachineException(String.format("The `>=` operation only works with numbers or integers. You tried to use it on %s and %s", leftElemInfo.getType(), rightElemInfo.getType()));
-            }
-
-            if (leftElemInfo.getType() == Type.INTEGER_NUMBER) {
-                IntegerElement leftCasted = (IntegerElement) leftElemInfo;
-                if (rightElemInfo.getType() == Type.INTEGER_NUMBER) {
-                    IntegerElement rightCasted = (IntegerElement) rightElemInfo;
-                    return (leftCasted.compareTo(rightCasted.getValue()) >= 0) ? Booleans.TRUE : Booleans.FALSE;
-                } else {
-                    DoubleElement rightCasted = (DoubleElement) rightElemInfo;
-                    return (leftCasted.compareTo(rightCasted.getValue()) >= 0) ? Booleans.TRUE : Booleans.FALSE;
-                }
-            } else {
-                DoubleElement leftCasted = (DoubleElement) leftElemInfo;
-                if (rightElemInfo.getType() == Type.INTEGER_NUMBER) {
-                    IntegerElement rightCasted = (IntegerElement) rightElemInfo;
-                    return (leftCasted.compareTo(rightCasted.getValue()) >= 0) ? Booleans.TRUE : Booleans.FALSE;
-                } else {
-                    DoubleElement rightCasted = (DoubleElement) rightElemInfo;
-                    return (leftCasted.compareTo(rightCasted.getValue()) >= 0) ? Booleans.TRUE : Booleans.FALSE;
-                }
-            }
-        } else if (expr instanceof GreaterNode) {
-            GreaterNode greaterNode = (GreaterNode) expr;
-
-            // evaluating first the left part of the node since its a
-            // infix notation and we make a left-right depth search
-            ExpressionNode leftExpr = greaterNode.getLeft();
-            AbstractElementType<?> leftElemInfo = evalExpression(leftExpr);
-
-            // now the right part
-            ExpressionNode rightExpr = greaterNode.getRight();
-            AbstractElementType<?> rightElemInfo = evalExpression(rightExpr);
-
-            if (Types.atLeastOneNotOfTypes(java.util.Arrays.asList(Type.INTEGER_NUMBER, Type.DOUBLE), leftElemInfo, rightElemInfo)) {
-                throw new VirtualMachineException(String.format("The `>` operation only works with numbers or integers. You tried to use it on %s and %s", leftElemInfo.getType(), rightElemInfo.getType()));
-            }
-
-            if (leftElemInfo.getType() == Type.INTEGER_NUMBER) {
-                IntegerElement leftCasted = (IntegerElement) leftElemInfo;
-                if (rightElemInfo.getType() == Type.INTEGER_NUMBER) {
-                    IntegerElement rightCasted = (IntegerElement) rightElemInfo;
-                    return (leftCasted.compareTo(rightCasted.getValue()) >= 1) ? Booleans.TRUE : Booleans.FALSE;
-                } else {
-                    DoubleElement rightCasted = (DoubleElement) rightElemInfo;
-                    return (leftCasted.compareTo(rightCasted.getValue()) >= 1) ? Booleans.TRUE : Booleans.FALSE;
-                }
-            } else {
-                DoubleElement leftCasted = (DoubleElement) leftElemInfo;
-                if (rightElemInfo.getType() == Type.INTEGER_NUMBER) {
-                    IntegerElement rightCasted = (IntegerElement) rightElemInfo;
-                    return (leftCasted.compareTo(rightCasted.getValue()) >= 1) ? Booleans.TRUE : Booleans.FALSE;
-                } else {
-                    DoubleElement rightCasted = (DoubleElement) rightElemInfo;
-                    return (leftCasted.compareTo(rightCasted.getValue()) >= 1) ? Booleans.TRUE : Booleans.FALSE;
-                }
-            }
-        } else if (expr instanceof LessEqualNode) {
-            LessEqualNode lessEqualNode = (LessEqualNode) expr;
-
-            // evaluating first the left part of the node since its a
-            // infix notation and we make a left-right depth search
-            ExpressionNode leftExpr = lessEqualNode.getLeft();
-            AbstractElementType<?> leftElemInfo = evalExpression(leftExpr);
-
-            // now the right part
-            ExpressionNode rightExpr = lessEqualNode.getRight();
-            AbstractElementType<?> rightElemInfo = evalExpression(rightExpr);
-
-            if (Types.atLeastOneNotOfTypes(java.util.Arrays.asList(Type.INTEGER_NUMBER, Type.DOUBLE), leftElemInfo, rightElemInfo)) {
-                throw new VirtualMachineException(String.format("The `<=` operation only works with numbers or integers. You tried to use it on %s and %s", leftElemInfo.getType(), rightElemInfo.getType()));
-            }
-
-            if (leftElemInfo.getType() == Type.INTEGER_NUMBER) {
-                IntegerElement leftCasted = (IntegerElement) leftElemInfo;
-                if (rightElemInfo.getType() == Type.INTEGER_NUMBER) {
-                    IntegerElement rightCasted = (IntegerElement) rightElemInfo;
-                    return (leftCasted.compareTo(rightCasted.getValue()) <= 0) ? Booleans.TRUE : Booleans.FALSE;
-                } else {
-                    DoubleElement rightCasted = (DoubleElement) rightElemInfo;
-                    return (leftCasted.compareTo(rightCasted.getValue()) <= 0) ? Booleans.TRUE : Booleans.FALSE;
-                }
-            } else {
-                DoubleElement leftCasted = (DoubleElement) leftElemInfo;
-                if (rightElemInfo.getType() == Type.INTEGER_NUMBER) {
-                    IntegerElement rightCasted = (IntegerElement) rightElemInfo;
-                    return (leftCasted.compareTo(rightCasted.getValue()) <= 0) ? Booleans.TRUE : Booleans.FALSE;
-                } else {
-                    DoubleElement rightCasted = (DoubleElement) rightElemInfo;
-                    return (leftCasted.compareTo(rightCasted.getValue()) <= 0) ? Booleans.TRUE : Booleans.FALSE;
-                }
-            }
-        } else if (expr instanceof LessNode) {
-            LessNode lessNode = (LessNode) expr;
-
-            // evaluating first the left part of the node since its a
-            // infix notation and we make a left-right depth search
-            ExpressionNode leftExpr = lessNode.getLeft();
-            AbstractElementType<?> leftElemInfo = evalExpression(leftExpr);
-
-            // now the right part
-            ExpressionNode rightExpr = lessNode.getRight();
-            AbstractElementType<?> rightElemInfo = evalExpression(rightExpr);
-
-            if (Types.atLeastOneNotOfTypes(java.util.Arrays.asList(Type.INTEGER_NUMBER, Type.DOUBLE), leftElemInfo, rightElemInfo)) {
-                throw new VirtualMachineException(String.format("The `<` operation only works with numbers or integers. You tried to use it on %s and %s", leftElemInfo.getType(), rightElemInfo.getType()));
-            }
-
-            if (leftElemInfo.getType() == Type.INTEGER_NUMBER) {
-                IntegerElement leftCasted = (IntegerElement) leftElemInfo;
-                if (rightElemInfo.getType() == Type.INTEGER_NUMBER) {
-                    IntegerElement rightCasted = (IntegerElement) rightElemInfo;
-                    return (leftCasted.compareTo(rightCasted.getValue()) <= -1) ? Booleans.TRUE : Booleans.FALSE;
-                } else {
-                    DoubleElement rightCasted = (DoubleElement) rightElemInfo;
-                    return (leftCasted.compareTo(rightCasted.getValue()) <= -1) ? Booleans.TRUE : Booleans.FALSE;
-                }
-            } else {
-                DoubleElement leftCasted = (DoubleElement) leftElemInfo;
-                if (rightElemInfo.getType() == Type.INTEGER_NUMBER) {
-                    IntegerElement rightCasted = (IntegerElement) rightElemInfo;
-                    return (leftCasted.compareTo(rightCasted.getValue()) <= -1) ? Booleans.TRUE : Booleans.FALSE;
-                } else {
-                    DoubleElement rightCasted = (DoubleElement) rightElemInfo;
-                    return (leftCasted.compareTo(rightCasted.getValue()) <= -1) ? Booleans.TRUE : Booleans.FALSE;
-                }
-            }
-        } else if (expr instanceof LogicAndNode) {
-            LogicAndNode logicAndNode = (LogicAndNode) expr;
-
-            // evaluating first the left part of the node since its a
-            // infix notation and we make a left-right depth search
-            ExpressionNode leftExpr = logicAndNode.getLeft();
-            AbstractElementType<?> leftElemInfo = evalExpression(leftExpr);
-
-            // now the right part
-            ExpressionNode rightExpr = logicAndNode.getRight();
-            AbstractElementType<?> rightElemInfo = evalExpression(rightExpr);
-
-            // logic operators only work on booleans
-            if (Types.atLeastOneNotOfTypes(Collections.singletonList(Type.BOOLEAN), leftElemInfo, rightElemInfo)) {
-                throw new VirtualMachineException(String.format("The logic `and` operation only works with booleans! You want to perform the `and` operation on a %s and %s", leftElemInfo.getType(), rightElemInfo.getType()));
-            }
-
-            BooleanElement leftBoolean = (BooleanElement) leftElemInfo;
-            BooleanElement rightBoolean = (BooleanElement) rightElemInfo;
-
-            return (leftBoolean.getValue() && rightBoolean.getValue()) ? Booleans.TRUE : Booleans.FALSE;
-        } else if (expr instanceof LogicOrNode) {
-            LogicOrNode logicOrNode = (LogicOrNode) expr;
-
-            // evaluating first the left part of the node since its a
-            // infix notation and we make a left-right depth search
-            ExpressionNode leftExpr = logicOrNode.getLeft();
-            AbstractElementType<?> leftElemInfo = evalExpression(leftExpr);
-
-            // now the right part
-            ExpressionNode rightExpr = logicOrNode.getRight();
-            AbstractElementType<?> rightElemInfo = evalExpression(rightExpr);
-
-            // logic operators only work on booleans
-            if (Types.atLeastOneNotOfTypes(Collections.singletonList(Type.BOOLEAN), leftElemInfo, rightElemInfo)) {
-                throw new VirtualMachineException(String.format("The logic `or` operation only works with booleans! You want to perform the `or` operation on a %s and %s", leftElemInfo.getType(), rightElemInfo.getType()));
-            }
-
-            BooleanElement leftBoolean = (BooleanElement) leftElemInfo;
-            BooleanElement rightBoolean = (BooleanElement) rightElemInfo;
-
-            return (leftBoolean.getValue() || rightBoolean.getValue()) ? Booleans.TRUE : Booleans.FALSE;
-        } else if (expr instanceof MultiplicationNode) {
-            MultiplicationNode multiplicationNode = (MultiplicationNode) expr;
-
-            // evaluating first the left part of the node since its a
-            // infix notation and we make a left-right depth search
-            ExpressionNode leftExpr = multiplicationNode.getLeft();
-            AbstractElementType<?> leftElemInfo = evalExpression(leftExpr);
-
-            // now the right part
-            ExpressionNode rightExpr = multiplicationNode.getRight();
-            AbstractElementType<?> rightElemInfo = evalExpression(rightExpr);
-
-            return Infixes.performMultiplication(leftElemInfo, rightElemInfo);
-
+        if (isUnboxable(expr)) {
+            // the intermediate results stay unboxed, only the final result becomes an element
+            UnboxedValue result = pushRegister();
+            evalUnboxed(expr, result);
+            AbstractElementType<?> boxed = result.box();
+            this.registerTop--;
+            return boxed;
         } else if (expr instanceof StringConcatenationNode) {
             StringConcatenationNode concatenationNode = (StringConcatenationNode) expr;
 
@@ -466,103 +224,39 @@ public class VirtualMachine {
 
             return Infixes.performStringConcatenation(leftElemInfo, rightElemInfo);
 
-        } else if (expr instanceof SubtractionNode) {
-            SubtractionNode subtractionNode = (SubtractionNode) expr;
-
-            // evaluating first the left part of the node since its a
-            // infix notation and we make a left-right depth search
-            ExpressionNode leftExpr = subtractionNode.getLeft();
-            AbstractElementType<?> leftElemInfo = evalExpression(leftExpr);
-
-            // now the right part
-            ExpressionNode rightExpr = subtractionNode.getRight();
-            AbstractElementType<?> rightElemInfo = evalExpression(rightExpr);
-
-            return Infixes.performSubtraction(leftElemInfo, rightElemInfo);
-
         } else if (expr instanceof AccessIndexNode) {
             AccessIndexNode accessIndexNode = (AccessIndexNode) expr;
 
-            if (!this.variables.containsKey(accessIndexNode.getIdentifierName())) {
+            // current state of the variable we are accessing
+            AbstractElementType<?> identifierElemInfo = this.frame[accessIndexNode.getSlot()];
+            if (identifierElemInfo == null) {
                 throw new VirtualMachineException(String.format("The variable with the name %s does not exist!", accessIndexNode.getIdentifierName()));
             }
 
-            // current state of the variable we are accessing
-            AbstractElementType<?> identifierElemInfo = this.variables.get(accessIndexNode.getIdentifierName());
-
-            // check if state of var is an array or string since only those support index accesing
-            if (Types.atLeastOneNotOfTypes(java.util.Arrays.asList(Type.ARRAY, Type.STRING), identifierElemInfo)) {
-                throw new VirtualMachineException(String.format("You can not use index accessing on an element of type %s", identifierElemInfo.getType()));
-            }
+            Indexes.checkIndexable(identifierElemInfo);
 
             // the evaluated index
             AbstractElementType<?> indexElemInfo = evalExpression(accessIndexNode.getIndex());
 
-            // check whether the index is an Int or not
-            // only int can be used for index referencing
-            if (Types.atLeastOneNotOfTypes(Collections.singletonList(Type.INTEGER_NUMBER), indexElemInfo)) {
-                var indefiniteArticle = (Types.atLeastOneOfType(java.util.Arrays.asList(Type.INTEGER_NUMBER, Type.ARRAY), identifierElemInfo)) ? "an" : "a";
-                throw new VirtualMachineException(String.format("You can not use a %s to access an element of %s %s", indexElemInfo.getType(), indefiniteArticle, identifierElemInfo.getType()));
-            }
-
-            // index has to be int
-            IntegerElement castedIndexElem = (IntegerElement) indexElemInfo;
-
-            // accessing the element at given index
-            if (identifierElemInfo.getType() == Type.ARRAY) {
-                ArrayElement castedElemInfo = (ArrayElement) identifierElemInfo;
-                return castedElemInfo.get(castedIndexElem.getValue());
-            } else if (identifierElemInfo.getType() == Type.STRING) {
-                StringElement castedElemInfo = (StringElement) identifierElemInfo;
-                return castedElemInfo.get(castedIndexElem.getValue());
-            }
-
-            throw new VirtualMachineException("This should never happen!");
+            return Indexes.performIndexAccess(identifierElemInfo, indexElemInfo);
         } else if (expr instanceof CallFunctionNode) {
             CallFunctionNode callFunctionNode = (CallFunctionNode) expr;
 
             // evaluating the values of the params so we get the correct values for the params
-            List<AbstractElementType<?>> evaledParams = new ArrayList<>();
-            for (ExpressionNode param : callFunctionNode.getParams()) {
-                evaledParams.add(evalExpression(param));
-            }
+            List<AbstractElementType<?>> evaledParams = evalParams(callFunctionNode);
 
             // check if it is not a predefined function by the BoLang
-            if (!FunctionFactory.getAllPredefinedModules()
-                    .contains(callFunctionNode.getModule())) {
+            if (isSelfDefined(callFunctionNode)) {
                 // its not a predefined function aka we should have it in our functiontable
-                FunctionNode toCallFunctionNode = this.functionTable.get(callFunctionNode.getModule(), callFunctionNode.getName(), evaledParams.size());
-
-                // function calls have their own variable scope means we have to move current variable state outside
-                Map<String, AbstractElementType<?>> oldVars = this.variables;
-                this.variables = new HashMap<>();
-
-                // set the values for the params
-                assert evaledParams.size() == toCallFunctionNode.getParamNames().size() : "Evaled params do not match the count of the params. Means we call the function with too little params";
-                for (int i = 0; i < toCallFunctionNode.getParamNames().size(); i++) {
-                    String paramName = toCallFunctionNode.getParamNames().get(i);
-                    AbstractElementType<?> paramValue = evaledParams.get(i);
-
-                    // setting the value for the param
-                    this.variables.put(paramName, paramValue);
-                }
-
-                // evaluating the function call
-                processStats(toCallFunctionNode.getBody());
-
-                // reseting the variables to before scope
-                this.variables = oldVars;
-
-                // check if the function call produced a return value
-                // if so hand it further otherwise its a void
-                return Objects.requireNonNullElse(this.returnedVal, VoidElement.NO_VALUE);
+                FunctionNode toCallFunctionNode = callFunctionNode.getCallSite().getFunction(getFunctionTable());
+                return callFunction(callFunctionNode.getModule(), toCallFunctionNode, evaledParams);
             }
 
             // loading the function we want to use based on the function name
             // function names will be unique
-            Function function;
+            Function<?> function;
             try {
-                function = FunctionFactory.getFunction(callFunctionNode.getModule(), callFunctionNode.getName());
+                function = callFunctionNode.getCallSite().getPredefinedFunction();
             } catch (BoFunctionException e) {
                 throw new VirtualMachineException(e.getMessage());
             }
@@ -591,19 +285,23 @@ public class VirtualMachine {
             // all params are strings the coder needs to convert them into other formates by hand
             ExternalParamNode externalParamNode = (ExternalParamNode) expr;
 
-            if (!this.externalParams.containsKey(externalParamNode.getName())) {
+            if (!getExternalParams().containsKey(externalParamNode.getName())) {
                 throw new VirtualMachineException(String.format("The external parameter `%s` you want to access does not exist!", externalParamNode.getName()));
             }
 
-            String extParm = this.externalParams.get(externalParamNode.getName());
+            String extParm = getExternalParams().get(externalParamNode.getName());
             return new StringElement(extParm);
         } else if (expr instanceof IdNode) {
             IdNode idNode = (IdNode) expr;
-            if (!this.variables.containsKey(idNode.getName())) {
+
+            AbstractElementType<?> value = this.frame[idNode.getSlot()];
+            if (value == null) {
                 throw new VirtualMachineException(String.format("The variable with the name %s does not exist!", idNode.getName()));
             }
 
-            return this.variables.get(idNode.getName());
+            // the value may be kept by whoever reads it, so it must not be changed anymore
+            this.owned[idNode.getSlot()] = false;
+            return value;
         } else if (expr instanceof DoubleNode) {
             DoubleNode doubleNode = (DoubleNode) expr;
             return new DoubleElement(doubleNode.getValue());
@@ -620,4 +318,230 @@ public class VirtualMachine {
         throw new VirtualMachineException("Contact the Bo Language administrator. Please include the code you run to reach this error! Code: 2");
     }
 
+    /**
+     * Checks if the expression is an arithmetic, comparison or logic operation, which can be evaluated unboxed
+     */
+    private static boolean isUnboxable(ExpressionNode expr) {
+        return expr instanceof NegateNode
+                || expr instanceof AdditionNode
+                || expr instanceof SubtractionNode
+                || expr instanceof MultiplicationNode
+                || expr instanceof DivisionNode
+                || expr instanceof EqualsNode
+                || expr instanceof NotEqualsNode
+                || expr instanceof GreaterEqualNode
+                || expr instanceof GreaterNode
+                || expr instanceof LessEqualNode
+                || expr instanceof LessNode
+                || expr instanceof LogicAndNode
+                || expr instanceof LogicOrNode;
+    }
+
+    /**
+     * Checks if the value of the expression is an array that was just created by an arithmetic operation
+     */
+    private static boolean isOwnable(ExpressionNode expr, AbstractElementType<?> value) {
+        return value instanceof ArrayElement
+                && (expr instanceof NegateNode
+                || expr instanceof AdditionNode
+                || expr instanceof SubtractionNode
+                || expr instanceof MultiplicationNode
+                || expr instanceof DivisionNode);
+    }
+
+    /**
+     * Evaluates the expression into the given register. Integers, doubles and booleans stay unboxed while they flow
+     * through the operations, everything else is evaluated by {@link #evalExpression(ExpressionNode)}.
+     *
+     * @param expr   the expression to evaluate
+     * @param result the register that gets the value
+     * @throws VirtualMachineException in case something goes wrong during the evaluation
+     */
+    private void evalUnboxed(ExpressionNode expr, UnboxedValue result) throws VirtualMachineException {
+        if (expr instanceof IntegerNode) {
+            result.setInteger(((IntegerNode) expr).getValue());
+        } else if (expr instanceof DoubleNode) {
+            result.setDouble(((DoubleNode) expr).getValue());
+        } else if (expr instanceof BooleanNode) {
+            result.setBoolean(((BooleanNode) expr).getValue());
+        } else if (expr instanceof NegateNode) {
+            evalUnboxed(((NegateNode) expr).getInner(), result);
+            UnboxedInfixes.performNegation(result);
+        } else if (expr instanceof LogicAndNode || expr instanceof LogicOrNode) {
+            InfixNode infixNode = (InfixNode) expr;
+            boolean isAnd = expr instanceof LogicAndNode;
+
+            evalUnboxed(infixNode.getLeft(), result);
+
+            // a false on the left of an `and` or a true on the left of an `or` means the right part is not needed anymore
+            if (!getSettings().isEagerLogic() && result.isBoolean() && result.getBoolean() != isAnd) {
+                return;
+            }
+
+            UnboxedValue right = pushRegister();
+            evalUnboxed(infixNode.getRight(), right);
+            if (isAnd) {
+                UnboxedInfixes.performLogicAnd(result, right);
+            } else {
+                UnboxedInfixes.performLogicOr(result, right);
+            }
+            this.registerTop--;
+        } else if (isUnboxable(expr)) {
+            InfixNode infixNode = (InfixNode) expr;
+
+            // evaluating first the left part of the node since its a
+            // infix notation and we make a left-right depth search
+            evalUnboxed(infixNode.getLeft(), result);
+
+            // now the right part
+            UnboxedValue right = pushRegister();
+            evalUnboxed(infixNode.getRight(), right);
+
+            if (expr instanceof AdditionNode) {
+                UnboxedInfixes.performAddition(result, right);
+            } else if (expr instanceof SubtractionNode) {
+                UnboxedInfixes.performSubtraction(result, right);
+            } else if (expr instanceof MultiplicationNode) {
+                UnboxedInfixes.performMultiplication(result, right);
+            } else if (expr instanceof DivisionNode) {
+                UnboxedInfixes.performDivision(result, right);
+            } else if (expr instanceof EqualsNode) {
+                UnboxedInfixes.performEquals(result, right);
+            } else if (expr instanceof NotEqualsNode) {
+                UnboxedInfixes.performNotEquals(result, right);
+            } else if (expr instanceof GreaterEqualNode) {
+                UnboxedInfixes.performGreaterEqual(result, right);
+            } else if (expr instanceof GreaterNode) {
+                UnboxedInfixes.performGreater(result, right);
+            } else if (expr instanceof LessEqualNode) {
+                UnboxedInfixes.performLessEqual(result, right);
+            } else {
+                UnboxedInfixes.performLess(result, right);
+            }
+            this.registerTop--;
+        } else if (expr instanceof IdNode && ((IdNode) expr).isLastUse() && this.owned[((IdNode) expr).getSlot()]) {
+            // the variable is not read anymore, so the operation may write its result into the array
+            int slot = ((IdNode) expr).getSlot();
+            this.owned[slot] = false;
+            result.setConsumedElement(this.frame[slot]);
+        } else {
+            result.setElement(evalExpression(expr));
+        }
+    }
+
+    /**
+     * Reserves the next free register. Registers are released by decrementing {@link #registerTop}, an error on the way
+     * leaves them reserved until the next run.
+     *
+     * @return the register
+     */
+    private UnboxedValue pushRegister() {
+        if (this.registerTop == this.registers.length) {
+            this.registers = java.util.Arrays.copyOf(this.registers, this.registers.length * 2);
+        }
+
+        UnboxedValue register = this.registers[this.registerTop];
+        if (register == null) {
+            register = new UnboxedValue();
+            this.registers[this.registerTop] = register;
+        }
+        this.registerTop++;
+        return register;
+    }
+
+    private boolean isSelfDefined(CallFunctionNode callFunctionNode) {
+        return !callFunctionNode.getCallSite().isPredefined();
+    }
+
+    private List<AbstractElementType<?>> evalParams(CallFunctionNode callFunctionNode) throws VirtualMachineException {
+        List<AbstractElementType<?>> evaledParams = new ArrayList<>();
+        for (ExpressionNode param : callFunctionNode.getParams()) {
+            evaledParams.add(evalExpression(param));
+        }
+        return evaledParams;
+    }
+
+    /**
+     * Calls a self defined or imported function. The return values of pure functions are remembered
+     *
+     * @param module       the module the function was called with
+     * @param functionNode the function to call
+     * @param params       the evaluated params of the call
+     * @return the return value of the function or a void if it did not return anything
+     * @throws VirtualMachineException in case any error happens during runtime
+     */
+    private AbstractElementType<?> callFunction(String module, FunctionNode functionNode, List<AbstractElementType<?>> params) throws VirtualMachineException {
+        List<Object> memoKey = memoKeyOf(module, functionNode, params);
+        AbstractElementType<?> memoized = memoKey == null ? null : getMemoTable().get(memoKey);
+        if (memoized != null) {
+            return memoized;
+        }
+
+        // function calls have their own frame means we have to move current frame outside
+        AbstractElementType<?>[] oldFrame = this.frame;
+        boolean[] oldOwned = this.owned;
+        this.frame = new AbstractElementType<?>[functionNode.getFrameSize()];
+        this.owned = new boolean[this.frame.length];
+        bindParams(functionNode, params);
+
+        // evaluating the function call
+        processStats(functionNode.getBody());
+        runTailCalls();
+
+        // reseting the frame to before scope
+        this.frame = oldFrame;
+        this.owned = oldOwned;
+
+        // the return value belongs to this call only and must not end the statements of the caller
+        AbstractElementType<?> functionReturnVal = this.returnedVal;
+        this.returnedVal = null;
+
+        // check if the function call produced a return value
+        // if so hand it further otherwise its a void
+        functionReturnVal = Objects.requireNonNullElse(functionReturnVal, VoidElement.NO_VALUE);
+        if (memoKey != null) {
+            getMemoTable().put(memoKey, functionReturnVal);
+        }
+        return functionReturnVal;
+    }
+
+    /**
+     * Executes the pending tail calls one after another in the current frame, until a function returns a value
+     *
+     * @throws VirtualMachineException in case any error happens during runtime
+     */
+    private void runTailCalls() throws VirtualMachineException {
+        while (this.tailCallFunction != null) {
+            FunctionNode functionNode = this.tailCallFunction;
+            List<AbstractElementType<?>> params = this.tailCallParams;
+            this.tailCallFunction = null;
+            this.tailCallParams = null;
+
+            // the frame of the caller is reused if it is large enough
+            if (this.frame.length >= functionNode.getFrameSize()) {
+                java.util.Arrays.fill(this.frame, null);
+                java.util.Arrays.fill(this.owned, false);
+            } else {
+                this.frame = new AbstractElementType<?>[functionNode.getFrameSize()];
+                this.owned = new boolean[this.frame.length];
+            }
+            bindParams(functionNode, params);
+
+            processStats(functionNode.getBody());
+
+            // the call was the value of a return statement, so it has to produce a value
+            if (this.returnedVal == null && this.tailCallFunction == null) {
+                throw new VirtualMachineException("You cannot return a void");
+            }
+        }
+    }
+
+    private void bindParams(FunctionNode functionNode, List<AbstractElementType<?>> params) {
+        // set the values for the params, they occupy the first slots of the frame
+        assert params.size() == functionNode.getParamNames().size() : "Evaled params do not match the count of the params. Means we call the function with too little params";
+        for (int i = 0; i < params.size(); i++) {
+            this.frame[i] = params.get(i);
+        }
+    }
+
 }
@@ -0,0 +1,88 @@
+package com.diegokrupitza.bolang.vm;
+
+import lombok.Getter;
+
+/**
+ * Settings that change how a virtual machine executes a program. Every engine has to respect them.
+ *
+ * @author Diego Krupitza
+ * @version 1.0
+ * @date 18.10.26
+ */
+@Getter
+public class VirtualMachineSettings {
+
+    public static final VirtualMachineSettings DEFAULT = builder().build();
+
+    /**
+     * evaluate both operands of <code>&&</code> and <code>||</code> even if the left one already decides the result
+     */
+    private final boolean eagerLogic;
+
+    /**
+     * the maximal number of return values of pure functions that are remembered during a run, <code>0</code> turns the memoization off
+     */
+    private final int memoSize;
+
+    /**
+     * the number of threads element-wise operations on large arrays are split across, <code>1</code> runs them sequentially
+     */
+    private final int parallelism;
+
+    /**
+     * the number of items from which on an element-wise operation is split across the threads
+     */
+    private final int parallelThreshold;
+
+    private VirtualMachineSettings(Builder builder) {
+        this.eagerLogic = builder.eagerLogic;
+        this.memoSize = builder.memoSize;
+        this.parallelism = builder.parallelism;
+        this.parallelThreshold = builder.parallelThreshold;
+    }
+
+    public static VirtualMachineSettings.Builder builder() {
+        return new VirtualMachineSettings.Builder();
+    }
+
+    public static class Builder {
+
+        private boolean eagerLogic = false;
+        private int memoSize = 10_000;
+        private int parallelism = Runtime.getRuntime().availableProcessors();
+        private int parallelThreshold = 100_000;
+
+        public Builder eagerLogic(boolean eagerLogic) {
+            this.eagerLogic = eagerLogic;
+            return this;
+        }
+
+        public Builder memoSize(int memoSize) {
+            if (memoSize < 0) {
+                throw new IllegalArgumentException("The size of the memo table cannot be negative!");
+            }
+            this.memoSize = memoSize;
+            return this;
+        }
+
+        public Builder parallelism(int parallelism) {
+            if (parallelism < 1) {
+                throw new IllegalArgumentException("The parallelism has to be at least 1!");
+            }
+            this.parallelism = parallelism;
+            return this;
+        }
+
+        public Builder parallelThreshold(int parallelThreshold) {
+            if (parallelThreshold < 1) {
+                throw new IllegalArgumentException("The threshold for parallel array operations has to be at least 1!");
+            }
+            this.parallelThreshold = parallelThreshold;
+            return this;
+        }
+
+        public VirtualMachineSettings build() {
+            return new VirtualMachineSettings(this);
+        }
+    }
+}
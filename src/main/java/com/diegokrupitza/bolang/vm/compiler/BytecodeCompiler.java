@@ -0,0 +1,447 @@
+package com.diegokrupitza.bolang.vm.compiler;
+
+import com.diegokrupitza.bolang.syntaxtree.nodes.*;
+import com.diegokrupitza.bolang.syntaxtree.nodes.data.*;
+import com.diegokrupitza.bolang.syntaxtree.nodes.infix.*;
+import com.diegokrupitza.bolang.syntaxtree.nodes.stat.*;
+import com.diegokrupitza.bolang.syntaxtree.nodes.unary.NegateNode;
+import com.diegokrupitza.bolang.vm.VirtualMachineException;
+import com.diegokrupitza.bolang.vm.VirtualMachineSettings;
+import com.diegokrupitza.bolang.vm.functions.CallSite;
+import com.diegokrupitza.bolang.vm.types.*;
+import com.diegokrupitza.bolang.vm.utils.Arrays;
+import com.diegokrupitza.bolang.vm.utils.Booleans;
+import com.diegokrupitza.bolang.vm.utils.Indexes;
+import com.diegokrupitza.bolang.vm.utils.Infixes;
+import com.diegokrupitza.bolang.vm.utils.Unarys;
+import org.objectweb.asm.ClassTooLargeException;
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.Label;
+import org.objectweb.asm.MethodTooLargeException;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Type;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.objectweb.asm.Opcodes.*;
+
+/**
+ * Compiles the statements of a program or a self defined function into a class implementing {@link CompiledCode}.
+ * <p>
+ * Every variable gets its own local variable slot in the generated method. The operators are compiled into
+ * direct static calls of {@link Infixes} and {@link Unarys}, so the semantics are exactly the ones of the tree walker
+ * while the JIT is able to inline the operations.
+ *
+ * @author Diego Krupitza
+ * @version 1.0
+ * @date 18.10.26
+ */
+class BytecodeCompiler {
+
+    private static final String GENERATED_PACKAGE = "com/diegokrupitza/bolang/vm/compiler/generated/";
+
+    private static final String ELEMENT = Type.getInternalName(AbstractElementType.class);
+    private static final String ELEMENT_DESC = Type.getDescriptor(AbstractElementType.class);
+    private static final String RUNTIME = Type.getInternalName(BytecodeRuntime.class);
+    private static final String RUNTIME_DESC = Type.getDescriptor(BytecodeRuntime.class);
+    private static final String STRING_DESC = Type.getDescriptor(String.class);
+    private static final String CALL_SITES_DESC = Type.getDescriptor(CallSite[].class);
+
+    private static final String BINARY_DESC = "(" + ELEMENT_DESC + ELEMENT_DESC + ")" + ELEMENT_DESC;
+    private static final String COMPARE_DESC = "(" + ELEMENT_DESC + ELEMENT_DESC + ")" + Type.getDescriptor(BooleanElement.class);
+
+    // infix node -> static method in `Infixes` performing the operation
+    private static final Map<Class<? extends InfixNode>, String> INFIX_OPERATIONS = Map.ofEntries(
+            Map.entry(AdditionNode.class, "performAddition"),
+            Map.entry(SubtractionNode.class, "performSubtraction"),
+            Map.entry(MultiplicationNode.class, "performMultiplication"),
+            Map.entry(DivisionNode.class, "performDivision"),
+            Map.entry(StringConcatenationNode.class, "performStringConcatenation"),
+            Map.entry(EqualsNode.class, "performEquals"),
+            Map.entry(NotEqualsNode.class, "performNotEquals"),
+            Map.entry(GreaterEqualNode.class, "performGreaterEqual"),
+            Map.entry(GreaterNode.class, "performGreater"),
+            Map.entry(LessEqualNode.class, "performLessEqual"),
+            Map.entry(LessNode.class, "performLess"),
+            Map.entry(LogicAndNode.class, "performLogicAnd"),
+            Map.entry(LogicOrNode.class, "performLogicOr")
+    );
+
+    private static final AtomicInteger classCounter = new AtomicInteger();
+
+    private final CompiledCodeClassLoader classLoader;
+    private final VirtualMachineSettings settings;
+
+    BytecodeCompiler(CompiledCodeClassLoader classLoader, VirtualMachineSettings settings) {
+        this.classLoader = classLoader;
+        this.settings = settings;
+    }
+
+    CompiledCode compileProgram(BoNode programHead) throws VirtualMachineException {
+        return compile("Program", List.of(), programHead.getStats(), false);
+    }
+
+    CompiledCode compileFunction(FunctionNode functionNode) throws VirtualMachineException {
+        return compile(functionNode.getName(), functionNode.getParamNames(), functionNode.getBody(), true);
+    }
+
+    private CompiledCode compile(String name, List<String> paramNames, List<ExpressionNode> stats, boolean isFunction) throws VirtualMachineException {
+        String className = GENERATED_PACKAGE + "BoCode$" + classCounter.incrementAndGet() + "$" + name;
+
+        ClassWriter classWriter = new ClassWriter(ClassWriter.COMPUTE_FRAMES);
+        classWriter.visit(V11, ACC_PUBLIC | ACC_FINAL | ACC_SUPER, className, null, "java/lang/Object",
+                new String[]{Type.getInternalName(CompiledCode.class)});
+
+        // every call in the code has its own call site, they are handed to the constructor
+        classWriter.visitField(ACC_PRIVATE | ACC_FINAL, "callSites", CALL_SITES_DESC, null, null).visitEnd();
+
+        MethodVisitor constructor = classWriter.visitMethod(ACC_PUBLIC, "<init>", "(" + CALL_SITES_DESC + ")V", null, null);
+        constructor.visitCode();
+        constructor.visitVarInsn(ALOAD, 0);
+        constructor.visitMethodInsn(INVOKESPECIAL, "java/lang/Object", "<init>", "()V", false);
+        constructor.visitVarInsn(ALOAD, 0);
+        constructor.visitVarInsn(ALOAD, 1);
+        constructor.visitFieldInsn(PUTFIELD, className, "callSites", CALL_SITES_DESC);
+        constructor.visitInsn(RETURN);
+        constructor.visitMaxs(0, 0);
+        constructor.visitEnd();
+
+        MethodVisitor execute = classWriter.visitMethod(ACC_PUBLIC, "execute",
+                "(" + RUNTIME_DESC + "[" + ELEMENT_DESC + ")" + ELEMENT_DESC, null,
+                new String[]{Type.getInternalName(VirtualMachineException.class)});
+        MethodCompiler methodCompiler = new MethodCompiler(execute, className, paramNames, isFunction, settings);
+        methodCompiler.compile(stats);
+
+        classWriter.visitEnd();
+
+        try {
+            byte[] bytecode = classWriter.toByteArray();
+            Class<?> compiledClass = classLoader.define(className.replace('/', '.'), bytecode);
+            CallSite[] callSites = methodCompiler.callSites.toArray(new CallSite[0]);
+            return (CompiledCode) compiledClass.getDeclaredConstructor(CallSite[].class).newInstance((Object) callSites);
+        } catch (MethodTooLargeException | ClassTooLargeException e) {
+            throw new VirtualMachineException(String.format("The code of `%s` is too large to be compiled! Please use the tree walking engine.", name));
+        } catch (ReflectiveOperationException e) {
+            throw new VirtualMachineException(String.format("Could not load the compiled code of `%s`: %s", name, e.getMessage()));
+        }
+    }
+
+    /**
+     * Emits the body of the <code>execute</code> method for one piece of code.
+     * Local slot 0 is <code>this</code>, 1 the runtime, 2 the params and every variable gets its own slot afterwards.
+     */
+    private static class MethodCompiler {
+
+        private static final int RUNTIME_SLOT = 1;
+        private static final int PARAMS_SLOT = 2;
+
+        private final MethodVisitor mv;
+        private final String className;
+        private final List<String> paramNames;
+        private final boolean isFunction;
+        private final VirtualMachineSettings settings;
+
+        private final Map<String, Integer> variableSlots = new HashMap<>();
+
+        private final List<CallSite> callSites = new ArrayList<>();
+
+        MethodCompiler(MethodVisitor mv, String className, List<String> paramNames, boolean isFunction, VirtualMachineSettings settings) {
+            this.mv = mv;
+            this.className = className;
+            this.paramNames = paramNames;
+            this.isFunction = isFunction;
+            this.settings = settings;
+        }
+
+        void compile(List<ExpressionNode> stats) {
+            mv.visitCode();
+
+            // params are copied from the params array into their own slots
+            for (int i = 0; i < paramNames.size(); i++) {
+                mv.visitVarInsn(ALOAD, PARAMS_SLOT);
+                mv.visitLdcInsn(i);
+                mv.visitInsn(AALOAD);
+                mv.visitVarInsn(ASTORE, slotOf(paramNames.get(i)));
+            }
+
+            // all other variables start undefined. The verifier needs every slot to be initialized
+            int firstVariableSlot = PARAMS_SLOT + 1 + paramNames.size();
+            stats.forEach(this::collectVariables);
+            for (int slot = firstVariableSlot; slot < PARAMS_SLOT + 1 + variableSlots.size(); slot++) {
+                mv.visitInsn(ACONST_NULL);
+                mv.visitVarInsn(ASTORE, slot);
+            }
+
+            compileStats(stats);
+
+            // reaching the end means there was no return statement
+            if (isFunction) {
+                mv.visitFieldInsn(GETSTATIC, Type.getInternalName(VoidElement.class), "NO_VALUE", Type.getDescriptor(VoidElement.class));
+            } else {
+                mv.visitInsn(ACONST_NULL);
+            }
+            mv.visitInsn(ARETURN);
+
+            mv.visitMaxs(0, 0);
+            mv.visitEnd();
+        }
+
+        private int slotOf(String varName) {
+            return variableSlots.computeIfAbsent(varName, key -> PARAMS_SLOT + 1 + variableSlots.size());
+        }
+
+        private void collectVariables(ExpressionNode node) {
+            if (node instanceof DefineVariableNode) {
+                slotOf(((DefineVariableNode) node).getIdentifierName());
+                collectVariables(((DefineVariableNode) node).getExpr());
+            } else if (node instanceof AssignVariableNode) {
+                slotOf(((AssignVariableNode) node).getIdentifierName());
+                collectVariables(((AssignVariableNode) node).getExpr());
+            } else if (node instanceof IdNode) {
+                slotOf(((IdNode) node).getName());
+            } else if (node instanceof AccessIndexNode) {
+                slotOf(((AccessIndexNode) node).getIdentifierName());
+                collectVariables(((AccessIndexNode) node).getIndex());
+            } else if (node instanceof IfElseNode) {
+                collectVariables(((IfElseNode) node).getCondition());
+                ((IfElseNode) node).getIfSection().forEach(this::collectVariables);
+                ((IfElseNode) node).getElseSection().forEach(this::collectVariables);
+            } else if (node instanceof IfNode) {
+                collectVariables(((IfNode) node).getCondition());
+                ((IfNode) node).getIfSection().forEach(this::collectVariables);
+            } else if (node instanceof ReturnNode) {
+                collectVariables(((ReturnNode) node).getRet());
+            } else if (node instanceof InfixNode) {
+                collectVariables(((InfixNode) node).getLeft());
+                collectVariables(((InfixNode) node).getRight());
+            } else if (node instanceof NegateNode) {
+                collectVariables(((NegateNode) node).getInner());
+            } else if (node instanceof CallFunctionNode) {
+                ((CallFunctionNode) node).getParams().forEach(this::collectVariables);
+            } else if (node instanceof ArrayNode) {
+                ((ArrayNode) node).getContent().forEach(this::collectVariables);
+            }
+        }
+
+        private void compileStats(List<ExpressionNode> stats) {
+            stats.forEach(this::compileStat);
+        }
+
+        private void compileStat(ExpressionNode currentNode) {
+            if (currentNode instanceof DefineVariableNode) {
+                DefineVariableNode defineVariableNode = (DefineVariableNode) currentNode;
+                String varName = defineVariableNode.getIdentifierName();
+
+                compileExpression(defineVariableNode.getExpr());
+                checkAssignable(varName);
+                mv.visitVarInsn(ASTORE, slotOf(varName));
+
+            } else if (currentNode instanceof AssignVariableNode) {
+                AssignVariableNode assignVariableNode = (AssignVariableNode) currentNode;
+                String varName = assignVariableNode.getIdentifierName();
+
+                mv.visitVarInsn(ALOAD, slotOf(varName));
+                mv.visitLdcInsn(varName);
+                mv.visitMethodInsn(INVOKESTATIC, RUNTIME, "checkAssignTarget", "(" + ELEMENT_DESC + STRING_DESC + ")V", false);
+
+                compileExpression(assignVariableNode.getExpr());
+                checkAssignable(varName);
+                mv.visitVarInsn(ASTORE, slotOf(varName));
+
+            } else if (currentNode instanceof IfElseNode) {
+                IfElseNode ifElseNode = (IfElseNode) currentNode;
+                Label elseLabel = new Label();
+                Label endLabel = new Label();
+
+                compileCondition(ifElseNode.getCondition());
+                mv.visitJumpInsn(IFEQ, elseLabel);
+                compileStats(ifElseNode.getIfSection());
+                mv.visitJumpInsn(GOTO, endLabel);
+                mv.visitLabel(elseLabel);
+                compileStats(ifElseNode.getElseSection());
+                mv.visitLabel(endLabel);
+
+            } else if (currentNode instanceof IfNode) {
+                IfNode ifNode = (IfNode) currentNode;
+                Label endLabel = new Label();
+
+                compileCondition(ifNode.getCondition());
+                mv.visitJumpInsn(IFEQ, endLabel);
+                compileStats(ifNode.getIfSection());
+                mv.visitLabel(endLabel);
+
+            } else if (currentNode instanceof ReturnNode) {
+                ExpressionNode ret = ((ReturnNode) currentNode).getRet();
+                if (ret instanceof CallFunctionNode && !((CallFunctionNode) ret).getCallSite().isPredefined()) {
+                    // the runtime executes the call after this code was left
+                    compileCall((CallFunctionNode) ret, "tailCall");
+                } else {
+                    compileExpression(ret);
+                    mv.visitMethodInsn(INVOKESTATIC, RUNTIME, "checkReturnable", "(" + ELEMENT_DESC + ")" + ELEMENT_DESC, false);
+                }
+                mv.visitInsn(ARETURN);
+
+            } else if (currentNode instanceof FunctionNode || currentNode instanceof ImportNode) {
+                // definitions and imports are nothing we have to execute
+
+            } else {
+                compileExpression(currentNode);
+                mv.visitInsn(POP);
+            }
+        }
+
+        private void checkAssignable(String varName) {
+            mv.visitLdcInsn(varName);
+            mv.visitMethodInsn(INVOKESTATIC, RUNTIME, "checkAssignable", "(" + ELEMENT_DESC + STRING_DESC + ")" + ELEMENT_DESC, false);
+        }
+
+        private void compileCondition(ExpressionNode condition) {
+            compileExpression(condition);
+            mv.visitMethodInsn(INVOKESTATIC, RUNTIME, "condition", "(" + ELEMENT_DESC + ")Z", false);
+        }
+
+        private void compileVariableAccess(String varName) {
+            mv.visitVarInsn(ALOAD, slotOf(varName));
+            mv.visitLdcInsn(varName);
+            mv.visitMethodInsn(INVOKESTATIC, RUNTIME, "checkDefined", "(" + ELEMENT_DESC + STRING_DESC + ")" + ELEMENT_DESC, false);
+        }
+
+        private void compileExpression(ExpressionNode expr) {
+            if (expr instanceof NegateNode) {
+                compileExpression(((NegateNode) expr).getInner());
+                mv.visitMethodInsn(INVOKESTATIC, Type.getInternalName(Unarys.class), "performNegation", "(" + ELEMENT_DESC + ")" + ELEMENT_DESC, false);
+
+            } else if (expr instanceof InfixNode) {
+                InfixNode infixNode = (InfixNode) expr;
+                String operation = INFIX_OPERATIONS.get(infixNode.getClass());
+
+                // left-right depth search like the tree walker
+                compileExpression(infixNode.getLeft());
+
+                boolean isLogic = infixNode instanceof LogicAndNode || infixNode instanceof LogicOrNode;
+                if (isLogic && !settings.isEagerLogic()) {
+                    compileShortCircuit(infixNode instanceof LogicAndNode, infixNode.getRight(), operation);
+                    return;
+                }
+
+                compileExpression(infixNode.getRight());
+
+                boolean isComparison = !(infixNode instanceof AdditionNode || infixNode instanceof SubtractionNode
+                        || infixNode instanceof MultiplicationNode || infixNode instanceof DivisionNode
+                        || infixNode instanceof StringConcatenationNode);
+                mv.visitMethodInsn(INVOKESTATIC, Type.getInternalName(Infixes.class), operation, isComparison ? COMPARE_DESC : BINARY_DESC, false);
+
+            } else if (expr instanceof AccessIndexNode) {
+                AccessIndexNode accessIndexNode = (AccessIndexNode) expr;
+
+                compileVariableAccess(accessIndexNode.getIdentifierName());
+                mv.visitInsn(DUP);
+                mv.visitMethodInsn(INVOKESTATIC, Type.getInternalName(Indexes.class), "checkIndexable", "(" + ELEMENT_DESC + ")V", false);
+                compileExpression(accessIndexNode.getIndex());
+                mv.visitMethodInsn(INVOKESTATIC, Type.getInternalName(Indexes.class), "performIndexAccess", BINARY_DESC, false);
+
+            } else if (expr instanceof CallFunctionNode) {
+                compileCall((CallFunctionNode) expr, "call");
+
+            } else if (expr instanceof ArrayNode) {
+                mv.visitMethodInsn(INVOKESTATIC, Type.getInternalName(Arrays.class), "emptyArray", "()" + Type.getDescriptor(ArrayElement.class), false);
+                for (ExpressionNode expressionNode : ((ArrayNode) expr).getContent()) {
+                    mv.visitInsn(DUP);
+                    compileExpression(expressionNode);
+                    mv.visitMethodInsn(INVOKEVIRTUAL, Type.getInternalName(ArrayElement.class), "add", "(" + ELEMENT_DESC + ")V", false);
+                }
+
+            } else if (expr instanceof ExternalParamNode) {
+                mv.visitVarInsn(ALOAD, RUNTIME_SLOT);
+                mv.visitLdcInsn(((ExternalParamNode) expr).getName());
+                mv.visitMethodInsn(INVOKEVIRTUAL, RUNTIME, "externalParam", "(" + STRING_DESC + ")" + ELEMENT_DESC, false);
+
+            } else if (expr instanceof IdNode) {
+                compileVariableAccess(((IdNode) expr).getName());
+
+            } else if (expr instanceof DoubleNode) {
+                compileLiteral(DoubleElement.class, Double.class, "D", ((DoubleNode) expr).getValue());
+
+            } else if (expr instanceof IntegerNode) {
+                compileLiteral(IntegerElement.class, Integer.class, "I", ((IntegerNode) expr).getValue());
+
+            } else if (expr instanceof BooleanNode) {
+                compileLiteral(BooleanElement.class, Boolean.class, "Z", ((BooleanNode) expr).getValue() ? 1 : 0);
+
+            } else if (expr instanceof StringNode) {
+                String elementType = Type.getInternalName(StringElement.class);
+                mv.visitTypeInsn(NEW, elementType);
+                mv.visitInsn(DUP);
+                mv.visitLdcInsn(((StringNode) expr).getValue());
+                mv.visitMethodInsn(INVOKESPECIAL, elementType, "<init>", "(" + STRING_DESC + ")V", false);
+
+            } else {
+                mv.visitMethodInsn(INVOKESTATIC, RUNTIME, "unsupportedNode", "()" + ELEMENT_DESC, false);
+            }
+        }
+
+        /**
+         * Emits a call of the given runtime method with the call site and evaluated params of the function call
+         */
+        private void compileCall(CallFunctionNode callFunctionNode, String runtimeMethod) {
+            List<ExpressionNode> params = callFunctionNode.getParams();
+
+            mv.visitVarInsn(ALOAD, RUNTIME_SLOT);
+            mv.visitVarInsn(ALOAD, 0);
+            mv.visitFieldInsn(GETFIELD, className, "callSites", CALL_SITES_DESC);
+            mv.visitLdcInsn(callSites.size());
+            mv.visitInsn(AALOAD);
+            callSites.add(callFunctionNode.getCallSite());
+            mv.visitLdcInsn(params.size());
+            mv.visitTypeInsn(ANEWARRAY, ELEMENT);
+            for (int i = 0; i < params.size(); i++) {
+                mv.visitInsn(DUP);
+                mv.visitLdcInsn(i);
+                compileExpression(params.get(i));
+                mv.visitInsn(AASTORE);
+            }
+            mv.visitMethodInsn(INVOKEVIRTUAL, RUNTIME, runtimeMethod, "(" + Type.getDescriptor(CallSite.class) + "[" + ELEMENT_DESC + ")" + ELEMENT_DESC, false);
+        }
+
+        /**
+         * Emits the rest of a logic operation whose left operand is already on the stack. The right operand is only
+         * evaluated when the left one does not decide the result.
+         */
+        private void compileShortCircuit(boolean isAnd, ExpressionNode right, String operation) {
+            Label decidedLabel = new Label();
+            Label endLabel = new Label();
+
+            mv.visitInsn(DUP);
+            mv.visitMethodInsn(INVOKESTATIC, Type.getInternalName(Infixes.class), isAnd ? "isLogicAndDecided" : "isLogicOrDecided", "(" + ELEMENT_DESC + ")Z", false);
+            mv.visitJumpInsn(IFNE, decidedLabel);
+
+            compileExpression(right);
+            mv.visitMethodInsn(INVOKESTATIC, Type.getInternalName(Infixes.class), operation, COMPARE_DESC, false);
+            mv.visitJumpInsn(GOTO, endLabel);
+
+            mv.visitLabel(decidedLabel);
+            mv.visitInsn(POP);
+            mv.visitFieldInsn(GETSTATIC, Type.getInternalName(Booleans.class), isAnd ? "FALSE" : "TRUE", Type.getDescriptor(BooleanElement.class));
+
+            mv.visitLabel(endLabel);
+        }
+
+        /**
+         * Creates a new element of a literal. The primitive value gets boxed before it is handed to the constructor.
+         */
+        private void compileLiteral(Class<?> elementClass, Class<?> boxClass, String primitiveDesc, Object value) {
+            String elementType = Type.getInternalName(elementClass);
+            String boxDesc = Type.getDescriptor(boxClass);
+
+            mv.visitTypeInsn(NEW, elementType);
+            mv.visitInsn(DUP);
+            mv.visitLdcInsn(value);
+            mv.visitMethodInsn(INVOKESTATIC, Type.getInternalName(boxClass), "valueOf", "(" + primitiveDesc + ")" + boxDesc, false);
+            mv.visitMethodInsn(INVOKESPECIAL, elementType, "<init>", "(" + boxDesc + ")V", false);
+        }
+    }
+}
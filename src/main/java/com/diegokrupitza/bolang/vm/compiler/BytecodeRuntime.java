@@ -0,0 +1,154 @@
+package com.diegokrupitza.bolang.vm.compiler;
+
+import com.diegokrupitza.bolang.syntaxtree.nodes.FunctionNode;
+import com.diegokrupitza.bolang.vm.VirtualMachineException;
+import com.diegokrupitza.bolang.vm.functions.CallSite;
+import com.diegokrupitza.bolang.vm.functions.Function;
+import com.diegokrupitza.bolang.vm.functions.exceptions.BoFunctionException;
+import com.diegokrupitza.bolang.vm.types.*;
+import com.diegokrupitza.bolang.vm.utils.Types;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The runtime support of the compiled code. Everything that cannot be expressed directly in the generated bytecode
+ * is delegated to this class, such as calling functions or the runtime checks the tree walker performs.
+ * <p>
+ * The static methods are called by the generated code and have to stay public.
+ *
+ * @author Diego Krupitza
+ * @version 1.0
+ * @date 18.10.26
+ */
+public class BytecodeRuntime {
+
+    private final BytecodeVirtualMachine virtualMachine;
+    private final Map<String, String> externalParams;
+
+    /**
+     * the function compiled code handed over as tail call, it gets executed once the compiled code was left
+     */
+    private FunctionNode tailCallFunction = null;
+    private AbstractElementType<?>[] tailCallParams = null;
+
+    BytecodeRuntime(BytecodeVirtualMachine virtualMachine, Map<String, String> externalParams) {
+        this.virtualMachine = virtualMachine;
+        this.externalParams = externalParams;
+    }
+
+    public static AbstractElementType<?> checkDefined(AbstractElementType<?> value, String varName) throws VirtualMachineException {
+        if (value == null) {
+            throw new VirtualMachineException(String.format("The variable with the name %s does not exist!", varName));
+        }
+        return value;
+    }
+
+    public static void checkAssignTarget(AbstractElementType<?> value, String varName) throws VirtualMachineException {
+        if (value == null) {
+            throw new VirtualMachineException(String.format("Variable with the name `%s` does not exist!", varName));
+        }
+    }
+
+    public static AbstractElementType<?> checkAssignable(AbstractElementType<?> value, String varName) throws VirtualMachineException {
+        // voids cannot be assigned to variables
+        if (Types.isOfType(Type.VOID, value)) {
+            throw new VirtualMachineException(String.format("You cannot assign a void to the variable %s", varName));
+        }
+        return value;
+    }
+
+    public static AbstractElementType<?> checkReturnable(AbstractElementType<?> value) throws VirtualMachineException {
+        // voids cannot be returned
+        if (Types.isOfType(Type.VOID, value)) {
+            throw new VirtualMachineException("You cannot return a void");
+        }
+        return value;
+    }
+
+    public static boolean condition(AbstractElementType<?> evaluatedCondition) throws VirtualMachineException {
+        assert evaluatedCondition != null;
+        if (!(evaluatedCondition instanceof BooleanElement)) {
+            throw new VirtualMachineException(String.format("Conditions has to be of type boolean not %s!", evaluatedCondition.getType()));
+        }
+        return ((BooleanElement) evaluatedCondition).getValue();
+    }
+
+    public static AbstractElementType<?> unsupportedNode() throws VirtualMachineException {
+        throw new VirtualMachineException("Contact the Bo Language administrator. Please include the code you run to reach this error! Code: 2");
+    }
+
+    public AbstractElementType<?> externalParam(String name) throws VirtualMachineException {
+        // all params are strings the coder needs to convert them into other formates by hand
+        if (!this.externalParams.containsKey(name)) {
+            throw new VirtualMachineException(String.format("The external parameter `%s` you want to access does not exist!", name));
+        }
+        return new StringElement(this.externalParams.get(name));
+    }
+
+    public AbstractElementType<?> call(CallSite callSite, AbstractElementType<?>[] params) throws VirtualMachineException {
+        // check if it is not a predefined function by the BoLang
+        if (!callSite.isPredefined()) {
+            // its not a predefined function aka we should have it in our functiontable
+            FunctionNode functionNode = virtualMachine.getFunction(callSite);
+
+            // the return values of pure functions are remembered
+            List<Object> memoKey = virtualMachine.getMemoKey(callSite.getModule(), functionNode, params);
+            AbstractElementType<?> memoized = memoKey == null ? null : virtualMachine.getMemoTable().get(memoKey);
+            if (memoized != null) {
+                return memoized;
+            }
+
+            CompiledCode compiledCode = virtualMachine.getCompiledFunction(functionNode);
+            AbstractElementType<?> returnedVal = runTailCalls(compiledCode.execute(this, params));
+            if (memoKey != null) {
+                virtualMachine.getMemoTable().put(memoKey, returnedVal);
+            }
+            return returnedVal;
+        }
+
+        try {
+            Function<?> function = callSite.getPredefinedFunction();
+            return function.call(Arrays.asList(params));
+        } catch (BoFunctionException e) {
+            throw new VirtualMachineException(e.getMessage());
+        }
+    }
+
+    /**
+     * Hands a call of a self defined/imported function in a return statement over to the runtime. The compiled code
+     * returns right afterwards and the runtime executes the call once the compiled code was left.
+     *
+     * @return <code>null</code>, the compiled code returns it in place of a value
+     */
+    public AbstractElementType<?> tailCall(CallSite callSite, AbstractElementType<?>[] params) throws VirtualMachineException {
+        this.tailCallFunction = virtualMachine.getFunction(callSite);
+        this.tailCallParams = params;
+        return null;
+    }
+
+    /**
+     * Executes the pending tail calls one after another, until a function returns a value
+     *
+     * @param returnedVal the value the compiled code returned that was executed last
+     * @return the value the last function of the chain returned
+     * @throws VirtualMachineException in case any error happens during runtime
+     */
+    AbstractElementType<?> runTailCalls(AbstractElementType<?> returnedVal) throws VirtualMachineException {
+        while (this.tailCallFunction != null) {
+            FunctionNode functionNode = this.tailCallFunction;
+            AbstractElementType<?>[] params = this.tailCallParams;
+            this.tailCallFunction = null;
+            this.tailCallParams = null;
+
+            returnedVal = virtualMachine.getCompiledFunction(functionNode).execute(this, params);
+
+            // the call was the value of a return statement, so it has to produce a value
+            if (this.tailCallFunction == null && Types.isOfType(Type.VOID, returnedVal)) {
+                throw new VirtualMachineException("You cannot return a void");
+            }
+        }
+        return returnedVal;
+    }
+}
@@ -0,0 +1,66 @@
+package com.diegokrupitza.bolang.vm.compiler;
+
+import com.diegokrupitza.bolang.syntaxtree.nodes.BoNode;
+import com.diegokrupitza.bolang.syntaxtree.nodes.FunctionNode;
+import com.diegokrupitza.bolang.vm.AbstractVirtualMachine;
+import com.diegokrupitza.bolang.vm.VirtualMachineException;
+import com.diegokrupitza.bolang.vm.VirtualMachineSettings;
+import com.diegokrupitza.bolang.vm.functions.CallSite;
+import com.diegokrupitza.bolang.vm.functions.exceptions.FunctionTableException;
+import com.diegokrupitza.bolang.vm.types.AbstractElementType;
+
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Engine that compiles the program and every called function into JVM bytecode instead of walking the AST.
+ * The program is compiled once when the virtual machine is created, functions are compiled the first time they are called.
+ * All classes of one virtual machine live in their own class loader, so they can be unloaded together with it.
+ *
+ * @author Diego Krupitza
+ * @version 1.0
+ * @date 18.10.26
+ */
+public class BytecodeVirtualMachine extends AbstractVirtualMachine {
+
+    private final BytecodeCompiler compiler;
+
+    private final Map<FunctionNode, CompiledCode> compiledFunctions = new IdentityHashMap<>();
+
+    private final CompiledCode compiledProgram;
+
+    public BytecodeVirtualMachine(BoNode programHead) throws VirtualMachineException {
+        this(programHead, VirtualMachineSettings.DEFAULT);
+    }
+
+    public BytecodeVirtualMachine(BoNode programHead, VirtualMachineSettings settings) throws VirtualMachineException {
+        super(programHead, settings);
+        this.compiler = new BytecodeCompiler(new CompiledCodeClassLoader(), settings);
+        this.compiledProgram = compiler.compileProgram(programHead);
+    }
+
+    @Override
+    protected AbstractElementType<?> execute() throws VirtualMachineException {
+        BytecodeRuntime runtime = new BytecodeRuntime(this, getExternalParams());
+        return runtime.runTailCalls(compiledProgram.execute(runtime, new AbstractElementType<?>[0]));
+    }
+
+    FunctionNode getFunction(CallSite callSite) throws FunctionTableException {
+        return callSite.getFunction(getFunctionTable());
+    }
+
+    List<Object> getMemoKey(String module, FunctionNode functionNode, AbstractElementType<?>[] params) {
+        return memoKeyOf(module, functionNode, Arrays.asList(params));
+    }
+
+    CompiledCode getCompiledFunction(FunctionNode functionNode) throws VirtualMachineException {
+        CompiledCode compiledCode = compiledFunctions.get(functionNode);
+        if (compiledCode == null) {
+            compiledCode = compiler.compileFunction(functionNode);
+            compiledFunctions.put(functionNode, compiledCode);
+        }
+        return compiledCode;
+    }
+}
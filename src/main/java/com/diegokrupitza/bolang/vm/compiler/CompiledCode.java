@@ -0,0 +1,25 @@
+package com.diegokrupitza.bolang.vm.compiler;
+
+import com.diegokrupitza.bolang.vm.VirtualMachineException;
+import com.diegokrupitza.bolang.vm.types.AbstractElementType;
+
+/**
+ * A piece of BoLang code (the program itself or a self defined function) that was compiled into a JVM class
+ * by the {@link BytecodeCompiler}.
+ *
+ * @author Diego Krupitza
+ * @version 1.0
+ * @date 18.10.26
+ */
+public interface CompiledCode {
+
+    /**
+     * Executes the compiled code
+     *
+     * @param runtime the runtime that serves function calls and external params
+     * @param params  the values of the params in the order they are defined, empty for the program itself
+     * @return the returned value. For the program itself <code>null</code> if nothing was returned, for a function a void
+     * @throws VirtualMachineException in case any error happens during runtime
+     */
+    AbstractElementType<?> execute(BytecodeRuntime runtime, AbstractElementType<?>[] params) throws VirtualMachineException;
+}
@@ -0,0 +1,20 @@
+package com.diegokrupitza.bolang.vm.compiler;
+
+/**
+ * Class loader that holds all the classes compiled for one program. As soon as the program is no longer referenced
+ * the loader and all its classes can be unloaded again.
+ *
+ * @author Diego Krupitza
+ * @version 1.0
+ * @date 18.10.26
+ */
+class CompiledCodeClassLoader extends ClassLoader {
+
+    CompiledCodeClassLoader() {
+        super(CompiledCode.class.getClassLoader());
+    }
+
+    Class<?> define(String binaryName, byte[] bytecode) {
+        return defineClass(binaryName, bytecode, 0, bytecode.length);
+    }
+}
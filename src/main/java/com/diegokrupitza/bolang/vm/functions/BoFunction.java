@@ -6,11 +6,14 @@ import java.lang.annotation.RetentionPolicy;
 import java.lang.annotation.Target;
 
 /**
+ * Marks a predefined function of BoLang. Either a class that implements {@link Function} or a public static method
+ * with typed params, which gets bound through a {@link MethodFunction}.
+ *
  * @author Diego Krupitza
  * @version 1.0
  * @date 10.07.21
  */
-@Target({ElementType.TYPE})
+@Target({ElementType.TYPE, ElementType.METHOD})
 @Retention(RetentionPolicy.RUNTIME)
 public @interface BoFunction {
     String name();
@@ -18,4 +21,10 @@ public @interface BoFunction {
     String module();
 
     String description() default "";
+
+    /**
+     * A pure function always returns the same value for the same params and has no side effects, so calls of it
+     * can be memoized
+     */
+    boolean pure() default false;
 }
@@ -0,0 +1,96 @@
+package com.diegokrupitza.bolang.vm.functions;
+
+import com.diegokrupitza.bolang.syntaxtree.nodes.FunctionNode;
+import com.diegokrupitza.bolang.vm.functions.exceptions.BoFunctionException;
+import com.diegokrupitza.bolang.vm.functions.exceptions.FunctionTableException;
+import lombok.Getter;
+
+/**
+ * A place in the code that calls a function. The call site remembers the function it resolved to the last time, so
+ * resolving it again is a field read as long as the function table did not change in between.
+ * <p>
+ * The same call site can be used with different function tables (for example by multiple virtual machines running
+ * the same program), it is resolved again whenever the table is a different one.
+ *
+ * @author Diego Krupitza
+ * @version 1.0
+ * @date 18.10.26
+ */
+public class CallSite {
+
+    @Getter
+    private final String module;
+
+    @Getter
+    private final String name;
+
+    @Getter
+    private final int numberOfParams;
+
+    /**
+     * <code>true</code> if the called function is one of the predefined functions of BoLang
+     */
+    @Getter
+    private final boolean predefined;
+
+    private Function<?> predefinedFunction;
+
+    private ResolvedFunction resolvedFunction;
+
+    public CallSite(String module, String name, int numberOfParams) {
+        this.module = module;
+        this.name = name;
+        this.numberOfParams = numberOfParams;
+        this.predefined = FunctionFactory.getAllPredefinedModules().contains(module);
+    }
+
+    /**
+     * Gets the self defined or imported function this site calls
+     *
+     * @param functionTable the function table of the code that is executed
+     * @return the called function
+     * @throws FunctionTableException in case the function or module does not exist!
+     */
+    public FunctionNode getFunction(FunctionTable functionTable) throws FunctionTableException {
+        ResolvedFunction resolved = this.resolvedFunction;
+        if (resolved != null && resolved.functionTable == functionTable && resolved.version == functionTable.getVersion()) {
+            return resolved.functionNode;
+        }
+
+        FunctionNode functionNode = functionTable.get(module, name, numberOfParams);
+        this.resolvedFunction = new ResolvedFunction(functionTable, functionTable.getVersion(), functionNode);
+        return functionNode;
+    }
+
+    /**
+     * Gets the predefined function this site calls
+     *
+     * @return the called function
+     * @throws BoFunctionException in case the function does not exist
+     */
+    public Function<?> getPredefinedFunction() throws BoFunctionException {
+        Function<?> function = this.predefinedFunction;
+        if (function == null) {
+            function = FunctionFactory.getFunction(module, name);
+            this.predefinedFunction = function;
+        }
+        return function;
+    }
+
+    /**
+     * A function together with the state of the function table it was resolved in. It is never changed, so it can be
+     * replaced as a whole without synchronization
+     */
+    private static class ResolvedFunction {
+
+        private final FunctionTable functionTable;
+        private final long version;
+        private final FunctionNode functionNode;
+
+        private ResolvedFunction(FunctionTable functionTable, long version, FunctionNode functionNode) {
+            this.functionTable = functionTable;
+            this.version = version;
+            this.functionNode = functionNode;
+        }
+    }
+}
@@ -6,11 +6,16 @@ import com.diegokrupitza.bolang.vm.types.AbstractElementType;
 import java.util.List;
 
 /**
+ * A predefined function of BoLang. There is only one instance of every function, which is shared by all virtual
+ * machines, so implementations must not keep any state between calls. Everything the parameter check figures out is
+ * handed to {@link #execute(List, Object)} as arguments instead.
+ *
+ * @param <A> the type of the arguments the params are parsed into, {@link Void} if the function does not need them
  * @author Diego Krupitza
  * @version 1.0
  * @date 10.07.21
  */
-public interface Function {
+public interface Function<A> {
 
     /**
      * Calls the given BoFunction with the params
@@ -20,8 +25,8 @@ public interface Function {
      * @throws BoFunctionException in case something goes wrong!
      */
     default AbstractElementType<?> call(List<AbstractElementType<?>> params) throws BoFunctionException {
-        paramCheck(params);
-        return execute(params);
+        A arguments = paramCheck(params);
+        return execute(params, arguments);
     }
 
     /**
@@ -29,17 +34,19 @@ public interface Function {
      * If the params do not fit the function an error message will be returned.
      *
      * @param params the params to check
+     * @return the arguments the params were parsed into
      * @throws BoFunctionException in case there is an error with the params
      */
-    void paramCheck(List<AbstractElementType<?>> params) throws BoFunctionException;
+    A paramCheck(List<AbstractElementType<?>> params) throws BoFunctionException;
 
     /**
      * The real function code. Here you write what will happen
      *
-     * @param params the params we work on
+     * @param params    the params we work on
+     * @param arguments the arguments {@link #paramCheck(List)} parsed from the params
      * @return the value the function generated
      * @throws BoFunctionException in case something goes wrong!
      */
-    AbstractElementType<?> execute(List<AbstractElementType<?>> params) throws BoFunctionException;
+    AbstractElementType<?> execute(List<AbstractElementType<?>> params, A arguments) throws BoFunctionException;
 
 }
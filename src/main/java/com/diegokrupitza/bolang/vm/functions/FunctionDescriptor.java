@@ -0,0 +1,36 @@
+package com.diegokrupitza.bolang.vm.functions;
+
+import lombok.Getter;
+
+/**
+ * Describes one predefined function of BoLang as it was declared with {@link BoFunction}.
+ *
+ * @author Diego Krupitza
+ * @version 1.0
+ * @date 18.10.26
+ */
+@Getter
+public class FunctionDescriptor {
+
+    private final String module;
+    private final String name;
+    private final String description;
+
+    /**
+     * see {@link BoFunction#pure()}
+     */
+    private final boolean pure;
+
+    /**
+     * the only instance of the function, it is shared by every caller
+     */
+    private final Function<?> function;
+
+    public FunctionDescriptor(String module, String name, String description, boolean pure, Function<?> function) {
+        this.module = module;
+        this.name = name;
+        this.description = description;
+        this.pure = pure;
+        this.function = function;
+    }
+}
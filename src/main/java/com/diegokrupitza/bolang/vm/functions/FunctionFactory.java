@@ -1,11 +1,9 @@
 package com.diegokrupitza.bolang.vm.functions;
 
-import com.diegokrupitza.bolang.vm.functions.exceptions.BoFunctionCreationException;
 import com.diegokrupitza.bolang.vm.functions.exceptions.BoFunctionException;
 import com.diegokrupitza.bolang.vm.functions.exceptions.BoFunctionNotFoundException;
-import org.reflections.Reflections;
 
-import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -16,55 +14,31 @@ import java.util.stream.Collectors;
  */
 public class FunctionFactory {
 
-    // only scanning the Bolang package
-    private static final Reflections reflections = new Reflections("com.diegokrupitza.bolang");
+    // module name -> function name -> function, the registry is generated at compile time from all classes annotated with "BoFunction"
+    private static final Map<String, Map<String, FunctionDescriptor>> allPredefinedFunctions = BoFunctionRegistry.getFunctions().stream()
+            .collect(Collectors.groupingBy(FunctionDescriptor::getModule,
+                    Collectors.toUnmodifiableMap(FunctionDescriptor::getName, item -> item)));
 
-    // all functions that implement the interface "Function"
-    private static final Set<Class<? extends Function>> allInterfaceFunctions = reflections.getSubTypesOf(Function.class);
-
-    // all function that are annotated with the annotation "BoFunction"
-    private static final Set<Class<?>> allAnnotatedFunction = reflections.getTypesAnnotatedWith(BoFunction.class);
+    private static final Set<String> allPredefinedModules = Set.copyOf(allPredefinedFunctions.keySet());
 
     /**
-     * Gets the function that can be identified with the given function name
+     * Gets the function that can be identified with the given function name.
+     * Every function exists only once, so all calls return the same instance
      *
      * @param moduleName   the name of the module the function is located in
      * @param functionName the name of the function we want to receive
      * @return the function with the name we provided
-     * @throws BoFunctionNotFoundException in case the function does not exist or there are multiple definitions
+     * @throws BoFunctionNotFoundException in case the function does not exist
      */
-    public static Function getFunction(String moduleName, String functionName) throws BoFunctionException {
-        List<Class<? extends Function>> allFunctions = getAllPredefinedFunctions();
-
-
-        // filter the function with matching name
-        List<Class<? extends Function>> functionsWithThatName = allFunctions.stream()
-                .filter(item -> item.isAnnotationPresent(BoFunction.class))
-                .filter(item -> item.getAnnotation(BoFunction.class).module().equals(moduleName))
-                .filter(item -> item.getAnnotation(BoFunction.class).name().equals(functionName))
-                .collect(Collectors.toList());
-
-        // too many function with the same name
-        if (functionsWithThatName.size() > 1) {
-            throw new BoFunctionNotFoundException(String.format("The function with the name %s in module %s has multiple definitions", functionName, moduleName));
-        }
+    public static Function<?> getFunction(String moduleName, String functionName) throws BoFunctionException {
+        FunctionDescriptor descriptor = getDescriptor(moduleName, functionName);
 
         // no function with that name
-        if (functionsWithThatName.size() == 0) {
+        if (descriptor == null) {
             throw new BoFunctionNotFoundException(String.format("The function with the name %s in module %s does not exist!", functionName, moduleName));
         }
 
-        // exact one function with that name
-        // get the class object that is that one
-        Class<? extends Function> aClass = functionsWithThatName.stream().findFirst().get();
-
-        try {
-            // creating a new object of that function we want to call
-            // important is that there is no params allowed for a function in its constructor
-            return aClass.getConstructor().newInstance();
-        } catch (Exception e) {
-            throw new BoFunctionCreationException(e.getMessage());
-        }
+        return descriptor.getFunction();
     }
 
     /**
@@ -73,16 +47,23 @@ public class FunctionFactory {
      * @return a Set of Module names
      */
     public static Set<String> getAllPredefinedModules() {
-        return getAllPredefinedFunctions().stream()
-                .map(item -> item.getAnnotation(BoFunction.class).module())
-                .collect(Collectors.toUnmodifiableSet());
+        return allPredefinedModules;
+    }
+
+    /**
+     * Checks if the predefined function is marked as pure
+     *
+     * @param moduleName   the name of the module the function is located in
+     * @param functionName the name of the function
+     * @return <code>true</code> if the function exists and is pure otherwise <code>false</code>
+     */
+    public static boolean isPureFunction(String moduleName, String functionName) {
+        FunctionDescriptor descriptor = getDescriptor(moduleName, functionName);
+        return descriptor != null && descriptor.isPure();
     }
 
-    private static List<Class<? extends Function>> getAllPredefinedFunctions() {
-        // all functions that implement the interface "Function" and the annotation "BoFunction"
-        return allInterfaceFunctions.stream()
-                .filter(allAnnotatedFunction::contains)
-                .collect(Collectors.toList());
+    private static FunctionDescriptor getDescriptor(String moduleName, String functionName) {
+        return allPredefinedFunctions.getOrDefault(moduleName, Map.of()).get(functionName);
     }
 
 }
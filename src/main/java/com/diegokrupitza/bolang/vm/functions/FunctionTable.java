@@ -20,6 +20,8 @@ import java.util.stream.Collectors;
  * |    this           |    [Function A,Function B,...]
  * <p>
  * |    moduleA        |    [Function A,Function D,...]
+ * <p>
+ * A module can also be added as {@link ModuleStub}, it is only loaded the first time one of its functions is needed.
  *
  * @author Diego Krupitza
  * @version 1.0
@@ -30,6 +32,14 @@ public class FunctionTable {
     // module name, list of function
     private final Map<String, List<FunctionNode>> functions = new HashMap<>();
 
+    // module name, module that is loaded on its first use
+    private final Map<String, ModuleStub> stubs = new HashMap<>();
+
+    /**
+     * changes every time functions are added, so everything that remembers a resolved function knows when it is outdated
+     */
+    private long version = 0;
+
     /**
      * Adds the given Mappings of Module name and associated function to the function table
      *
@@ -40,6 +50,22 @@ public class FunctionTable {
                 .forEach(item ->
                         this.functions.put(item, functionsMap.get(item))
                 );
+        this.version++;
+    }
+
+    /**
+     * Adds modules that are loaded the first time a function of them is needed. Modules that are already in the table
+     * are not replaced
+     *
+     * @param stubs the mapping of module names and the stubs that load them
+     */
+    public void addStubs(Map<String, ModuleStub> stubs) {
+        stubs.forEach((module, stub) -> {
+            if (!this.functions.containsKey(module)) {
+                this.stubs.put(module, stub);
+            }
+        });
+        this.version++;
     }
 
     /**
@@ -59,6 +85,7 @@ public class FunctionTable {
         if (this.functions.isEmpty()) {
             // just add we dont have to perform checks
             this.functions.put(module, new ArrayList<>(List.of(function)));
+            this.version++;
             return;
         }
 
@@ -77,6 +104,7 @@ public class FunctionTable {
         functionsOfModule.add(function);
         // add update
         this.functions.put(module, functionsOfModule);
+        this.version++;
     }
 
     /**
@@ -93,6 +121,13 @@ public class FunctionTable {
         assert module != null : "Module name is should never be null!";
         assert functionName != null : "Function name is not allowed to be empty";
 
+        if (!this.functions.containsKey(module) && this.stubs.containsKey(module)) {
+            // the functions of the module are new, everything that remembers something about the table checks again
+            this.functions.put(module, this.stubs.get(module).load());
+            this.stubs.remove(module);
+            this.version++;
+        }
+
         if (!this.functions.containsKey(module)) {
             throw new FunctionTableException(String.format("The module `%s` does not exist! Or the import statement is missing!", module));
         }
@@ -111,5 +146,37 @@ public class FunctionTable {
                 );
     }
 
+    /**
+     * Checks if the given module was added as stub that was not loaded yet, without loading it
+     *
+     * @param module the name of the module
+     * @return <code>true</code> if the module gets loaded the first time one of its functions is needed
+     */
+    public boolean isPending(String module) {
+        return !this.functions.containsKey(module) && this.stubs.containsKey(module);
+    }
+
+    /**
+     * The version of the function table, it changes every time functions are added
+     *
+     * @return the current version
+     */
+    public long getVersion() {
+        return version;
+    }
 
+    /**
+     * A module that is not loaded yet
+     */
+    @FunctionalInterface
+    public interface ModuleStub {
+
+        /**
+         * Loads the module
+         *
+         * @return the functions of the module
+         * @throws FunctionTableException in case the module cannot be loaded
+         */
+        List<FunctionNode> load() throws FunctionTableException;
+    }
 }
@@ -0,0 +1,106 @@
+package com.diegokrupitza.bolang.vm.functions;
+
+import com.diegokrupitza.bolang.vm.types.AbstractElementType;
+import com.diegokrupitza.bolang.vm.types.ArrayElement;
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Remembers the return values of calls of pure functions (see {@link PurityAnalysis}). The table holds at most
+ * <code>maxSize</code> entries, when it is full the entry that was used least recently is dropped.
+ * <p>
+ * The values of the params are part of the key with their exact type, so <code>f(10)</code> and <code>f(10.0)</code>
+ * are different calls even though <code>10 == 10.0</code>.
+ *
+ * @author Diego Krupitza
+ * @version 1.0
+ * @date 18.10.26
+ */
+public class MemoTable {
+
+    private final int maxSize;
+
+    private final Map<List<Object>, AbstractElementType<?>> entries;
+
+    /**
+     * the number of calls that were answered by the table
+     */
+    @Getter
+    private long hits = 0;
+
+    /**
+     * the number of calls that were not in the table
+     */
+    @Getter
+    private long misses = 0;
+
+    public MemoTable(int maxSize) {
+        this.maxSize = maxSize;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<List<Object>, AbstractElementType<?>> eldest) {
+                return size() > MemoTable.this.maxSize;
+            }
+        };
+    }
+
+    /**
+     * Creates the key of a function call
+     *
+     * @param module the module of the called function
+     * @param name   the name of the called function
+     * @param params the evaluated params of the call
+     * @return the key that identifies the call
+     */
+    public static List<Object> keyOf(String module, String name, List<AbstractElementType<?>> params) {
+        List<Object> key = new ArrayList<>(params.size() + 2);
+        key.add(module);
+        key.add(name);
+        for (AbstractElementType<?> param : params) {
+            key.add(keyOf(param));
+        }
+        return key;
+    }
+
+    private static Object keyOf(AbstractElementType<?> value) {
+        if (value instanceof ArrayElement) {
+            List<Object> key = new ArrayList<>();
+            for (AbstractElementType<?> item : ((ArrayElement) value).getValue()) {
+                key.add(keyOf(item));
+            }
+            return key;
+        }
+        // the java types of the values are different for every type of BoLang
+        return value.getValue();
+    }
+
+    /**
+     * Gets the remembered return value of a call
+     *
+     * @param key the key of the call
+     * @return the return value or <code>null</code> if the call is not in the table
+     */
+    public AbstractElementType<?> get(List<Object> key) {
+        AbstractElementType<?> value = entries.get(key);
+        if (value == null) {
+            misses++;
+        } else {
+            hits++;
+        }
+        return value;
+    }
+
+    public void put(List<Object> key, AbstractElementType<?> value) {
+        if (maxSize > 0) {
+            entries.put(key, value);
+        }
+    }
+
+    public int size() {
+        return entries.size();
+    }
+}
@@ -0,0 +1,337 @@
+package com.diegokrupitza.bolang.vm.functions;
+
+import com.diegokrupitza.bolang.vm.functions.exceptions.BoFunctionCallException;
+import com.diegokrupitza.bolang.vm.functions.exceptions.BoFunctionException;
+import com.diegokrupitza.bolang.vm.functions.exceptions.BoFunctionParameterException;
+import com.diegokrupitza.bolang.vm.types.*;
+import com.diegokrupitza.bolang.vm.utils.Booleans;
+import lombok.Getter;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A predefined function that is written as a static Java method with typed params and annotated with
+ * {@link BoFunction}. The supported types for params and the return value are <code>int</code>, <code>double</code>,
+ * <code>String</code>, <code>boolean</code> and arrays of them, the method may also return nothing.
+ * <p>
+ * The method is bound once through a {@link MethodHandle} that converts the params straight from the list into the
+ * Java types and the return value back into an element. The conversions check the types on the way, so a call does
+ * not need the generic parameter check.
+ *
+ * @author Diego Krupitza
+ * @version 1.0
+ * @date 18.10.26
+ */
+public class MethodFunction implements Function<Void> {
+
+    private static final MethodHandle LIST_GET;
+
+    private static final Map<Class<?>, MethodHandle> PARAM_CONVERTERS;
+
+    private static final Map<Class<?>, MethodHandle> RESULT_CONVERTERS;
+
+    static {
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            LIST_GET = lookup.findVirtual(List.class, "get", MethodType.methodType(Object.class, int.class));
+
+            PARAM_CONVERTERS = Map.of(
+                    int.class, findConverter(lookup, "toInt", int.class),
+                    double.class, findConverter(lookup, "toDouble", double.class),
+                    String.class, findConverter(lookup, "toStr", String.class),
+                    boolean.class, findConverter(lookup, "toBoolean", boolean.class),
+                    int[].class, findConverter(lookup, "toIntArray", int[].class),
+                    double[].class, findConverter(lookup, "toDoubleArray", double[].class),
+                    String[].class, findConverter(lookup, "toStrArray", String[].class),
+                    boolean[].class, findConverter(lookup, "toBooleanArray", boolean[].class));
+
+            RESULT_CONVERTERS = Map.of(
+                    int.class, findResultConverter(lookup, "fromInt", int.class),
+                    double.class, findResultConverter(lookup, "fromDouble", double.class),
+                    String.class, findResultConverter(lookup, "fromStr", String.class),
+                    boolean.class, findResultConverter(lookup, "fromBoolean", boolean.class),
+                    int[].class, findResultConverter(lookup, "fromIntArray", int[].class),
+                    double[].class, findResultConverter(lookup, "fromDoubleArray", double[].class),
+                    String[].class, findResultConverter(lookup, "fromStrArray", String[].class),
+                    boolean[].class, findResultConverter(lookup, "fromBooleanArray", boolean[].class));
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    @Getter
+    private final String name;
+
+    @Getter
+    private final int numberOfParams;
+
+    /**
+     * the bound method, it takes the list of params and returns the element
+     */
+    private final MethodHandle handle;
+
+    /**
+     * one handle per param that only converts the param, used for the parameter check
+     */
+    private final MethodHandle[] paramChecks;
+
+    /**
+     * Binds the static method
+     *
+     * @param name       the name of the function in BoLang
+     * @param owner      the class the method is declared in
+     * @param methodName the name of the Java method
+     * @param returnType the return type of the method
+     * @param paramTypes the types of the params of the method
+     * @throws IllegalArgumentException in case the method does not exist or uses a type that is not supported
+     */
+    public MethodFunction(String name, Class<?> owner, String methodName, Class<?> returnType, Class<?>... paramTypes) {
+        this.name = name;
+        this.numberOfParams = paramTypes.length;
+
+        MethodHandle target;
+        try {
+            target = MethodHandles.publicLookup().findStatic(owner, methodName, MethodType.methodType(returnType, paramTypes));
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalArgumentException(String.format("The method %s of %s cannot be used as function `%s`", methodName, owner.getName(), name), e);
+        }
+
+        // every param gets its element out of the list and converts it
+        this.paramChecks = new MethodHandle[paramTypes.length];
+        MethodHandle[] paramFilters = new MethodHandle[paramTypes.length];
+        for (int i = 0; i < paramTypes.length; i++) {
+            MethodHandle converter = PARAM_CONVERTERS.get(paramTypes[i]);
+            if (converter == null) {
+                throw new IllegalArgumentException(String.format("The type %s of the function `%s` is not supported as parameter", paramTypes[i].getName(), name));
+            }
+            converter = MethodHandles.insertArguments(converter, 0, name, i + 1);
+
+            MethodHandle elementAt = MethodHandles.insertArguments(LIST_GET, 1, i)
+                    .asType(MethodType.methodType(AbstractElementType.class, List.class));
+            paramFilters[i] = MethodHandles.filterArguments(converter, 0, elementAt);
+            this.paramChecks[i] = converter.asType(MethodType.methodType(Object.class, AbstractElementType.class));
+        }
+        MethodHandle fromList = MethodHandles.filterArguments(target, 0, paramFilters);
+
+        // all filters read from the same list
+        fromList = MethodHandles.permuteArguments(fromList, MethodType.methodType(returnType, List.class), new int[paramTypes.length]);
+
+        if (returnType == void.class) {
+            fromList = MethodHandles.filterReturnValue(fromList, MethodHandles.constant(AbstractElementType.class, VoidElement.NO_VALUE));
+        } else {
+            MethodHandle resultConverter = RESULT_CONVERTERS.get(returnType);
+            if (resultConverter == null) {
+                throw new IllegalArgumentException(String.format("The type %s of the function `%s` is not supported as return value", returnType.getName(), name));
+            }
+            fromList = MethodHandles.filterReturnValue(fromList, MethodHandles.insertArguments(resultConverter, 0, name));
+        }
+
+        this.handle = fromList.asType(MethodType.methodType(AbstractElementType.class, List.class));
+    }
+
+    @Override
+    public AbstractElementType<?> call(List<AbstractElementType<?>> params) throws BoFunctionException {
+        // the types are checked while the params get converted
+        checkNumberOfParams(params);
+        return execute(params, null);
+    }
+
+    @Override
+    public Void paramCheck(List<AbstractElementType<?>> params) throws BoFunctionException {
+        checkNumberOfParams(params);
+        for (int i = 0; i < paramChecks.length; i++) {
+            try {
+                Object ignored = paramChecks[i].invokeExact(params.get(i));
+            } catch (BoFunctionException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new BoFunctionCallException(e.getMessage());
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public AbstractElementType<?> execute(List<AbstractElementType<?>> params, Void arguments) throws BoFunctionException {
+        try {
+            return (AbstractElementType<?>) handle.invokeExact(params);
+        } catch (BoFunctionException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            // everything the Java method throws is an error of the call
+            throw new BoFunctionCallException(String.format("The function `%s` failed: %s", name, e.getMessage()));
+        }
+    }
+
+    private void checkNumberOfParams(List<AbstractElementType<?>> params) throws BoFunctionParameterException {
+        int size = params == null ? 0 : params.size();
+        if (size != numberOfParams) {
+            throw new BoFunctionParameterException(String.format("The function `%s` takes exactly %d parameters! You served %d", name, numberOfParams, size));
+        }
+    }
+
+    private static MethodHandle findConverter(MethodHandles.Lookup lookup, String methodName, Class<?> type) throws ReflectiveOperationException {
+        return lookup.findStatic(MethodFunction.class, methodName, MethodType.methodType(type, String.class, int.class, AbstractElementType.class));
+    }
+
+    private static MethodHandle findResultConverter(MethodHandles.Lookup lookup, String methodName, Class<?> type) throws ReflectiveOperationException {
+        return lookup.findStatic(MethodFunction.class, methodName, MethodType.methodType(AbstractElementType.class, String.class, type));
+    }
+
+    private static BoFunctionParameterException wrongType(String function, int position, Type expected, AbstractElementType<?> value) {
+        return new BoFunctionParameterException(String.format("The parameter %d of the function `%s` has to be of type %s! You provided %s!",
+                position, function, expected.getName(), value.getType().getName()));
+    }
+
+    private static BoFunctionParameterException wrongItemType(String function, int position, Type expected, AbstractElementType<?> value) {
+        return new BoFunctionParameterException(String.format("The parameter %d of the function `%s` has to be an array of %s! You provided an array containing %s!",
+                position, function, expected.getName(), value.getType().getName()));
+    }
+
+    private static int toInt(String function, int position, AbstractElementType<?> value) {
+        if (!(value instanceof IntegerElement)) {
+            throw wrongType(function, position, Type.INTEGER_NUMBER, value);
+        }
+        return ((IntegerElement) value).getValue();
+    }
+
+    private static double toDouble(String function, int position, AbstractElementType<?> value) {
+        // integers are widened like in Java
+        if (!(value instanceof NumberElement)) {
+            throw wrongType(function, position, Type.DOUBLE, value);
+        }
+        return ((NumberElement<?>) value).getValue().doubleValue();
+    }
+
+    private static String toStr(String function, int position, AbstractElementType<?> value) {
+        if (!(value instanceof StringElement)) {
+            throw wrongType(function, position, Type.STRING, value);
+        }
+        return ((StringElement) value).getValue();
+    }
+
+    private static boolean toBoolean(String function, int position, AbstractElementType<?> value) {
+        if (!(value instanceof BooleanElement)) {
+            throw wrongType(function, position, Type.BOOLEAN, value);
+        }
+        return ((BooleanElement) value).getValue();
+    }
+
+    private static List<AbstractElementType<?>> toItems(String function, int position, AbstractElementType<?> value) {
+        if (!(value instanceof ArrayElement)) {
+            throw wrongType(function, position, Type.ARRAY, value);
+        }
+        return ((ArrayElement) value).getValue();
+    }
+
+    private static int[] toIntArray(String function, int position, AbstractElementType<?> value) {
+        if (value instanceof ArrayElement && ((ArrayElement) value).getElementType() == Type.INTEGER_NUMBER) {
+            // the method may change the array it gets
+            return ((ArrayElement) value).getIntValues().clone();
+        }
+        List<AbstractElementType<?>> items = toItems(function, position, value);
+        int[] array = new int[items.size()];
+        for (int i = 0; i < array.length; i++) {
+            AbstractElementType<?> item = items.get(i);
+            if (!(item instanceof IntegerElement)) {
+                throw wrongItemType(function, position, Type.INTEGER_NUMBER, item);
+            }
+            array[i] = ((IntegerElement) item).getValue();
+        }
+        return array;
+    }
+
+    private static double[] toDoubleArray(String function, int position, AbstractElementType<?> value) {
+        if (value instanceof ArrayElement && ((ArrayElement) value).getElementType() == Type.DOUBLE) {
+            // the method may change the array it gets
+            return ((ArrayElement) value).getDoubleValues().clone();
+        }
+        List<AbstractElementType<?>> items = toItems(function, position, value);
+        double[] array = new double[items.size()];
+        for (int i = 0; i < array.length; i++) {
+            AbstractElementType<?> item = items.get(i);
+            if (!(item instanceof NumberElement)) {
+                throw wrongItemType(function, position, Type.DOUBLE, item);
+            }
+            array[i] = ((NumberElement<?>) item).getValue().doubleValue();
+        }
+        return array;
+    }
+
+    private static String[] toStrArray(String function, int position, AbstractElementType<?> value) {
+        List<AbstractElementType<?>> items = toItems(function, position, value);
+        String[] array = new String[items.size()];
+        for (int i = 0; i < array.length; i++) {
+            AbstractElementType<?> item = items.get(i);
+            if (!(item instanceof StringElement)) {
+                throw wrongItemType(function, position, Type.STRING, item);
+            }
+            array[i] = ((StringElement) item).getValue();
+        }
+        return array;
+    }
+
+    private static boolean[] toBooleanArray(String function, int position, AbstractElementType<?> value) {
+        if (value instanceof ArrayElement && ((ArrayElement) value).getElementType() == Type.BOOLEAN) {
+            // the method may change the array it gets
+            return ((ArrayElement) value).getBooleanValues().clone();
+        }
+        List<AbstractElementType<?>> items = toItems(function, position, value);
+        boolean[] array = new boolean[items.size()];
+        for (int i = 0; i < array.length; i++) {
+            AbstractElementType<?> item = items.get(i);
+            if (!(item instanceof BooleanElement)) {
+                throw wrongItemType(function, position, Type.BOOLEAN, item);
+            }
+            array[i] = ((BooleanElement) item).getValue();
+        }
+        return array;
+    }
+
+    private static AbstractElementType<?> fromInt(String function, int value) {
+        return new IntegerElement(value);
+    }
+
+    private static AbstractElementType<?> fromDouble(String function, double value) {
+        return new DoubleElement(value);
+    }
+
+    private static AbstractElementType<?> fromStr(String function, String value) {
+        if (value == null) {
+            throw new BoFunctionCallException(String.format("The function `%s` did not return a value!", function));
+        }
+        return new StringElement(value);
+    }
+
+    private static AbstractElementType<?> fromBoolean(String function, boolean value) {
+        return Booleans.of(value);
+    }
+
+    private static AbstractElementType<?> fromIntArray(String function, int[] value) {
+        // the method may still hold on to the array it returned
+        return new ArrayElement(value.clone());
+    }
+
+    private static AbstractElementType<?> fromDoubleArray(String function, double[] value) {
+        // the method may still hold on to the array it returned
+        return new ArrayElement(value.clone());
+    }
+
+    private static AbstractElementType<?> fromStrArray(String function, String[] value) {
+        List<AbstractElementType<?>> items = new ArrayList<>(value.length);
+        for (String item : value) {
+            items.add(fromStr(function, item));
+        }
+        return new ArrayElement(items);
+    }
+
+    private static AbstractElementType<?> fromBooleanArray(String function, boolean[] value) {
+        // the method may still hold on to the array it returned
+        return new ArrayElement(value.clone());
+    }
+}
@@ -0,0 +1,195 @@
+package com.diegokrupitza.bolang.vm.functions;
+
+import com.diegokrupitza.bolang.syntaxtree.nodes.AccessIndexNode;
+import com.diegokrupitza.bolang.syntaxtree.nodes.CallFunctionNode;
+import com.diegokrupitza.bolang.syntaxtree.nodes.ExpressionNode;
+import com.diegokrupitza.bolang.syntaxtree.nodes.FunctionNode;
+import com.diegokrupitza.bolang.syntaxtree.nodes.data.ArrayNode;
+import com.diegokrupitza.bolang.syntaxtree.nodes.infix.InfixNode;
+import com.diegokrupitza.bolang.syntaxtree.nodes.stat.*;
+import com.diegokrupitza.bolang.syntaxtree.nodes.unary.NegateNode;
+import com.diegokrupitza.bolang.vm.functions.exceptions.FunctionTableException;
+
+import java.util.*;
+
+/**
+ * Finds out which self defined and imported functions are pure. A function is pure when it only calls predefined
+ * functions that are marked as pure (see {@link BoFunction#pure()}) and self defined functions that are pure
+ * themselves. Functions that call each other are pure as long as none of them calls something impure.
+ * <p>
+ * The results are cached and dropped whenever the function table changes. A function that calls into a module that
+ * is not loaded yet is not pure for now, without remembering it, since finding out would load the module.
+ *
+ * @author Diego Krupitza
+ * @version 1.0
+ * @date 18.10.26
+ */
+public class PurityAnalysis {
+
+    private final FunctionTable functionTable;
+
+    private final Map<FunctionNode, Boolean> results = new IdentityHashMap<>();
+
+    /**
+     * the version of the function table the results belong to
+     */
+    private long version;
+
+    public PurityAnalysis(FunctionTable functionTable) {
+        this.functionTable = functionTable;
+        this.version = functionTable.getVersion();
+    }
+
+    /**
+     * Checks if the given function is pure
+     *
+     * @param functionNode the function to check
+     * @return <code>true</code> if every call of the function with the same params returns the same value and has no side effects
+     */
+    public boolean isPure(FunctionNode functionNode) {
+        if (version != functionTable.getVersion()) {
+            // loaded modules can change which functions are pure
+            results.clear();
+            version = functionTable.getVersion();
+        }
+
+        Boolean result = results.get(functionNode);
+        if (result != null) {
+            return result;
+        }
+
+        // the call graph of all functions reachable from the given one that were not analyzed yet
+        Map<FunctionNode, List<FunctionNode>> callGraph = new IdentityHashMap<>();
+        Set<FunctionNode> impureFunctions = Collections.newSetFromMap(new IdentityHashMap<>());
+        // functions that call into modules that are not loaded yet, directly or through other functions
+        Set<FunctionNode> unknownFunctions = Collections.newSetFromMap(new IdentityHashMap<>());
+
+        Deque<FunctionNode> toVisit = new ArrayDeque<>(List.of(functionNode));
+        while (!toVisit.isEmpty()) {
+            FunctionNode current = toVisit.pop();
+            if (callGraph.containsKey(current) || results.containsKey(current)) {
+                continue;
+            }
+
+            List<FunctionNode> callees = new ArrayList<>();
+            Set<String> unloadedModules = new HashSet<>();
+            if (!collectCallees(current.getBody(), callees, unloadedModules)) {
+                impureFunctions.add(current);
+            } else if (!unloadedModules.isEmpty()) {
+                unknownFunctions.add(current);
+            }
+            callGraph.put(current, callees);
+            toVisit.addAll(callees);
+        }
+
+        // a function that calls an impure function is impure as well
+        boolean changed = true;
+        while (changed) {
+            changed = false;
+            for (Map.Entry<FunctionNode, List<FunctionNode>> entry : callGraph.entrySet()) {
+                if (impureFunctions.contains(entry.getKey())) {
+                    continue;
+                }
+                boolean callsImpure = entry.getValue().stream()
+                        .anyMatch(item -> impureFunctions.contains(item) || Boolean.FALSE.equals(results.get(item)));
+                if (callsImpure) {
+                    impureFunctions.add(entry.getKey());
+                    changed = true;
+                }
+            }
+        }
+
+        // a pure function that calls a function we do not know enough about yet is not known either
+        changed = true;
+        while (changed) {
+            changed = false;
+            for (Map.Entry<FunctionNode, List<FunctionNode>> entry : callGraph.entrySet()) {
+                if (impureFunctions.contains(entry.getKey()) || unknownFunctions.contains(entry.getKey())) {
+                    continue;
+                }
+                if (entry.getValue().stream().anyMatch(unknownFunctions::contains)) {
+                    unknownFunctions.add(entry.getKey());
+                    changed = true;
+                }
+            }
+        }
+
+        callGraph.keySet().stream()
+                .filter(item -> !unknownFunctions.contains(item))
+                .forEach(item -> results.put(item, !impureFunctions.contains(item)));
+        return !impureFunctions.contains(functionNode) && !unknownFunctions.contains(functionNode);
+    }
+
+    /**
+     * Collects the self defined functions the given nodes call
+     *
+     * @param nodes   the statements or expressions to search
+     * @param callees the list the called self defined functions are added to
+     * @param unloadedModules the set the called modules that are not loaded yet are added to
+     * @return <code>false</code> if the nodes call an impure predefined function or a function that does not exist
+     */
+    private boolean collectCallees(List<? extends ExpressionNode> nodes, List<FunctionNode> callees, Set<String> unloadedModules) {
+        if (nodes == null) {
+            return true;
+        }
+
+        boolean pure = true;
+        for (ExpressionNode node : nodes) {
+            pure &= collectCallees(node, callees, unloadedModules);
+        }
+        return pure;
+    }
+
+    private boolean collectCallees(ExpressionNode node, List<FunctionNode> callees, Set<String> unloadedModules) {
+        if (node instanceof CallFunctionNode) {
+            CallFunctionNode callFunctionNode = (CallFunctionNode) node;
+            boolean pure = collectCallees(callFunctionNode.getParams(), callees, unloadedModules);
+
+            if (FunctionFactory.getAllPredefinedModules().contains(callFunctionNode.getModule())) {
+                return pure && FunctionFactory.isPureFunction(callFunctionNode.getModule(), callFunctionNode.getName());
+            }
+
+            if (functionTable.isPending(callFunctionNode.getModule())) {
+                // resolving the function would load the module
+                unloadedModules.add(callFunctionNode.getModule());
+                return pure;
+            }
+
+            try {
+                int numberOfParams = callFunctionNode.getParams() == null ? 0 : callFunctionNode.getParams().size();
+                callees.add(functionTable.get(callFunctionNode.getModule(), callFunctionNode.getName(), numberOfParams));
+                return pure;
+            } catch (FunctionTableException e) {
+                // calling it fails, nothing we want to remember
+                return false;
+            }
+        } else if (node instanceof DefineVariableNode) {
+            return collectCallees(((DefineVariableNode) node).getExpr(), callees, unloadedModules);
+        } else if (node instanceof AssignVariableNode) {
+            return collectCallees(((AssignVariableNode) node).getExpr(), callees, unloadedModules);
+        } else if (node instanceof IfElseNode) {
+            IfElseNode ifElseNode = (IfElseNode) node;
+            return collectCallees(ifElseNode.getCondition(), callees, unloadedModules)
+                    & collectCallees(ifElseNode.getIfSection(), callees, unloadedModules)
+                    & collectCallees(ifElseNode.getElseSection(), callees, unloadedModules);
+        } else if (node instanceof IfNode) {
+            IfNode ifNode = (IfNode) node;
+            return collectCallees(ifNode.getCondition(), callees, unloadedModules)
+                    & collectCallees(ifNode.getIfSection(), callees, unloadedModules);
+        } else if (node instanceof ReturnNode) {
+            return collectCallees(((ReturnNode) node).getRet(), callees, unloadedModules);
+        } else if (node instanceof InfixNode) {
+            InfixNode infixNode = (InfixNode) node;
+            return collectCallees(infixNode.getLeft(), callees, unloadedModules)
+                    & collectCallees(infixNode.getRight(), callees, unloadedModules);
+        } else if (node instanceof NegateNode) {
+            return collectCallees(((NegateNode) node).getInner(), callees, unloadedModules);
+        } else if (node instanceof AccessIndexNode) {
+            return collectCallees(((AccessIndexNode) node).getIndex(), callees, unloadedModules);
+        } else if (node instanceof ArrayNode) {
+            return collectCallees(((ArrayNode) node).getContent(), callees, unloadedModules);
+        }
+        // literals, variables and external params, the external params do not change during a run
+        return true;
+    }
+}
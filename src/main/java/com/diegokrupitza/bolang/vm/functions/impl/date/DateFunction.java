@@ -8,7 +8,6 @@ import com.diegokrupitza.bolang.vm.functions.exceptions.BoFunctionParameterExcep
 import com.diegokrupitza.bolang.vm.types.AbstractElementType;
 import com.diegokrupitza.bolang.vm.types.StringElement;
 import com.diegokrupitza.bolang.vm.types.Type;
-import lombok.Getter;
 import org.apache.commons.collections4.CollectionUtils;
 
 import java.time.LocalDateTime;
@@ -21,37 +20,34 @@ import java.util.List;
  * @date 10.07.21
  */
 @BoFunction(name = "date", module = "Date")
-@Getter
-public class DateFunction implements Function {
-
-    // default format 2007-12-03T10:15:30
-    private String dateFormat = null;
+public class DateFunction implements Function<String> {
 
     @Override
-    public void paramCheck(List<AbstractElementType<?>> params) throws BoFunctionException {
+    public String paramCheck(List<AbstractElementType<?>> params) throws BoFunctionException {
         // date function takes one param or none
         // if one param is given it has to be a string
+        // without a format the default format 2007-12-03T10:15:30 is used
         if (CollectionUtils.isEmpty(params)) {
-            return;
+            return null;
         }
 
         // when there is a param its only allowed to be one and it has to be a string
         if (params.size() == 1 && params.get(0).getType() == Type.STRING) {
-            this.dateFormat = ((StringElement) params.get(0)).getValue();
+            return ((StringElement) params.get(0)).getValue();
         } else {
             throw new BoFunctionParameterException("The function `date` is only allowed to be called with a string parameter that describes the format or no parameter");
         }
     }
 
     @Override
-    public AbstractElementType<?> execute(List<AbstractElementType<?>> params) throws BoFunctionException {
+    public AbstractElementType<?> execute(List<AbstractElementType<?>> params, String dateFormat) throws BoFunctionException {
         LocalDateTime now = LocalDateTime.now();
         String strDate = now.toString();
 
         // getting the date in a format
-        if (this.dateFormat != null) {
+        if (dateFormat != null) {
             try {
-                DateTimeFormatter formatter = DateTimeFormatter.ofPattern(this.dateFormat);
+                DateTimeFormatter formatter = DateTimeFormatter.ofPattern(dateFormat);
                 strDate = now.format(formatter);
             } catch (IllegalArgumentException e) {
                 // in case someone tries to use a pattern that is not allowed
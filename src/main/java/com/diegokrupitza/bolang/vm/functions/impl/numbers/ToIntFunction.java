@@ -9,6 +9,7 @@ import com.diegokrupitza.bolang.vm.types.AbstractElementType;
 import com.diegokrupitza.bolang.vm.types.ArrayElement;
 import com.diegokrupitza.bolang.vm.types.IntegerElement;
 import com.diegokrupitza.bolang.vm.types.Type;
+import com.diegokrupitza.bolang.vm.utils.PrimitiveArrays;
 import lombok.NonNull;
 import org.apache.commons.collections4.CollectionUtils;
 
@@ -20,21 +21,22 @@ import java.util.stream.Collectors;
  * @version 1.0
  * @date 11.07.21
  */
-@BoFunction(name = "toInt", module = "Numbers", description = "Converts the first argument from any format to an integer number")
-public class ToIntFunction implements Function {
+@BoFunction(name = "toInt", module = "Numbers", description = "Converts the first argument from any format to an integer number", pure = true)
+public class ToIntFunction implements Function<Void> {
 
     @Override
-    public void paramCheck(List<AbstractElementType<?>> params) throws BoFunctionException {
+    public Void paramCheck(List<AbstractElementType<?>> params) throws BoFunctionException {
         if (CollectionUtils.isEmpty(params)) {
             throw new BoFunctionParameterException("The function `toInt`requires exactly one parameter. The parameter can be of any type");
         } else if (params.size() != 1) {
             throw new BoFunctionParameterException("The function `toInt`requires exactly one parameter. The parameter can be of any type");
         }
         // everything went fine
+        return null;
     }
 
     @Override
-    public AbstractElementType<?> execute(List<AbstractElementType<?>> params) throws BoFunctionException {
+    public AbstractElementType<?> execute(List<AbstractElementType<?>> params, Void arguments) throws BoFunctionException {
         AbstractElementType<?> paramToCast = params.get(0);
         return performCastToInt(paramToCast);
     }
@@ -55,14 +57,18 @@ public class ToIntFunction implements Function {
 
             ArrayElement paramToCastOfType = (ArrayElement) paramToCast;
 
+            ArrayElement primitive = PrimitiveArrays.castToInt(paramToCastOfType);
+            if (primitive != null) {
+                return primitive;
+            }
+
             // casting each element of the array with `toInt`:)
             List<AbstractElementType<?>> newVal = paramToCastOfType.getValue().stream()
                     .map(this::performCastToInt)
                     .collect(Collectors.toList());
 
-            paramToCastOfType.setValue(newVal);
-
-            return paramToCastOfType;
+            // the given array stays untouched
+            return new ArrayElement(newVal);
 
         } else if (beforeType == Type.STRING) {
             // toInt here has the meaning that the string contains a number so we just mark it as a number
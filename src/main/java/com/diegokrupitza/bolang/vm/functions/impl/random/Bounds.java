@@ -0,0 +1,19 @@
+package com.diegokrupitza.bolang.vm.functions.impl.random;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * The lower bound (inclusive) and upper bound (exclusive) a random function was called with
+ *
+ * @author Diego Krupitza
+ * @version 1.0
+ * @date 18.10.26
+ */
+@Getter
+@AllArgsConstructor
+class Bounds {
+
+    private final Number lowerBound;
+    private final Number upperBound;
+}
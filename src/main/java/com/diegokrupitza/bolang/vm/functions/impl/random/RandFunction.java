@@ -8,7 +8,6 @@ import com.diegokrupitza.bolang.vm.types.AbstractElementType;
 import com.diegokrupitza.bolang.vm.types.DoubleElement;
 import com.diegokrupitza.bolang.vm.types.Type;
 import com.diegokrupitza.bolang.vm.utils.Types;
-import lombok.Getter;
 import org.apache.commons.collections4.CollectionUtils;
 
 import java.util.List;
@@ -21,18 +20,14 @@ import java.util.stream.Collectors;
  * @date 10.07.21
  */
 @BoFunction(name = "rand", module = "Random", description = "Random number between the specified lower bound (inclusive) and upper bound (exclusive). By default lower bound is 0 and upper bound 1")
-@Getter
-public class RandFunction implements Function {
-
-    private Number upperBound = 1;
-    private Number lowerBound = 0;
+public class RandFunction implements Function<Bounds> {
 
     @Override
-    public void paramCheck(List<AbstractElementType<?>> params) throws BoFunctionException {
+    public Bounds paramCheck(List<AbstractElementType<?>> params) throws BoFunctionException {
         // date function takes one param or none
         // if one param is given it has to be a string
         if (CollectionUtils.isEmpty(params)) {
-            return;
+            return new Bounds(0, 1);
         }
 
         if (Types.atLeastOneNotOfTypes(List.of(Type.INTEGER_NUMBER, Type.DOUBLE), params.toArray(new AbstractElementType<?>[0]))) {
@@ -42,26 +37,27 @@ public class RandFunction implements Function {
             throw new BoFunctionParameterException(String.format("The `rand` function only allows numbers and integers to be parameters. You provided %s!", wrongParamsTypes));
         }
 
+        Bounds bounds;
         if (params.size() == 1) {
             // only upper bound
-            upperBound = (Number) params.get(0).getValue();
+            bounds = new Bounds(0, (Number) params.get(0).getValue());
         } else if (params.size() == 2) {
             // lower and upper bound
-            lowerBound = (Number) params.get(0).getValue();
-            upperBound = (Number) params.get(1).getValue();
+            bounds = new Bounds((Number) params.get(0).getValue(), (Number) params.get(1).getValue());
         } else {
             // this should not happen...
             throw new BoFunctionParameterException(String.format("The `rand` function only takes 0,1 or 2 parameters! You served %s", params.size()));
         }
 
-        if (lowerBound.doubleValue() > upperBound.doubleValue()) {
+        if (bounds.getLowerBound().doubleValue() > bounds.getUpperBound().doubleValue()) {
             throw new BoFunctionParameterException("When calling the `rand` function the upper bound has to be greater or equals to the lower bound!");
         }
+        return bounds;
     }
 
     @Override
-    public AbstractElementType<?> execute(List<AbstractElementType<?>> params) throws BoFunctionException {
-        double randValue = ThreadLocalRandom.current().nextDouble(lowerBound.doubleValue(), upperBound.doubleValue());
+    public AbstractElementType<?> execute(List<AbstractElementType<?>> params, Bounds arguments) throws BoFunctionException {
+        double randValue = ThreadLocalRandom.current().nextDouble(arguments.getLowerBound().doubleValue(), arguments.getUpperBound().doubleValue());
         return new DoubleElement(randValue);
     }
 }
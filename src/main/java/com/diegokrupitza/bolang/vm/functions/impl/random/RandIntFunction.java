@@ -8,7 +8,6 @@ import com.diegokrupitza.bolang.vm.types.AbstractElementType;
 import com.diegokrupitza.bolang.vm.types.IntegerElement;
 import com.diegokrupitza.bolang.vm.types.Type;
 import com.diegokrupitza.bolang.vm.utils.Types;
-import lombok.Getter;
 import org.apache.commons.collections4.CollectionUtils;
 
 import java.util.List;
@@ -21,20 +20,15 @@ import java.util.stream.Collectors;
  * @date 10.07.21
  */
 @BoFunction(name = "randInt", module = "Random", description = "Random integer between the specified lower bound (inclusive) and upper bound (exclusive). By default lower bound is 0 and upper bound 1")
-@Getter
-public class RandIntFunction implements Function {
-
-    private Number upperBound = 1;
-    private Number lowerBound = 0;
-    private boolean noParams = false;
+public class RandIntFunction implements Function<Bounds> {
 
     @Override
-    public void paramCheck(List<AbstractElementType<?>> params) throws BoFunctionException {
+    public Bounds paramCheck(List<AbstractElementType<?>> params) throws BoFunctionException {
         // date function takes one param or none
         // if one param is given it has to be a string
+        // without params the whole range of integers is used
         if (CollectionUtils.isEmpty(params)) {
-            noParams = true;
-            return;
+            return null;
         }
 
         if (Types.atLeastOneNotOfTypes(List.of(Type.INTEGER_NUMBER, Type.DOUBLE), params.toArray(new AbstractElementType<?>[0]))) {
@@ -44,30 +38,31 @@ public class RandIntFunction implements Function {
             throw new BoFunctionParameterException(String.format("The `randInt` function only allows numbers and integers to be parameters. You provided %s!", wrongParamsTypes));
         }
 
+        Bounds bounds;
         if (params.size() == 1) {
             // only upper bound
-            upperBound = (Number) params.get(0).getValue();
+            bounds = new Bounds(0, (Number) params.get(0).getValue());
         } else if (params.size() == 2) {
             // lower and upper bound
-            lowerBound = (Number) params.get(0).getValue();
-            upperBound = (Number) params.get(1).getValue();
+            bounds = new Bounds((Number) params.get(0).getValue(), (Number) params.get(1).getValue());
         } else {
             // this should not happen...
             throw new BoFunctionParameterException(String.format("The `randInt` function only takes 0,1 or 2 parameters! You served %s", params.size()));
         }
 
-        if (lowerBound.intValue() > upperBound.intValue()) {
+        if (bounds.getLowerBound().intValue() > bounds.getUpperBound().intValue()) {
             throw new BoFunctionParameterException("When calling the `randInt` function the upper bound has to be greater or equals to the lower bound!");
         }
+        return bounds;
     }
 
     @Override
-    public AbstractElementType<?> execute(List<AbstractElementType<?>> params) throws BoFunctionException {
+    public AbstractElementType<?> execute(List<AbstractElementType<?>> params, Bounds arguments) throws BoFunctionException {
         int randValue;
-        if (noParams) {
+        if (arguments == null) {
             randValue = ThreadLocalRandom.current().nextInt();
         } else {
-            randValue = ThreadLocalRandom.current().nextInt(lowerBound.intValue(), upperBound.intValue());
+            randValue = ThreadLocalRandom.current().nextInt(arguments.getLowerBound().intValue(), arguments.getUpperBound().intValue());
         }
         return new IntegerElement(randValue);
     }
@@ -16,14 +16,15 @@ import java.util.List;
  */
 @BoFunction(module = "Sys", name = "print")
 @Getter
-public class PrintFunction implements Function {
+public class PrintFunction implements Function<Void> {
     @Override
-    public void paramCheck(List<AbstractElementType<?>> params) throws BoFunctionException {
+    public Void paramCheck(List<AbstractElementType<?>> params) throws BoFunctionException {
         //This is empty since we simply print out all the params
+        return null;
     }
 
     @Override
-    public AbstractElementType<?> execute(List<AbstractElementType<?>> params) throws BoFunctionException {
+    public AbstractElementType<?> execute(List<AbstractElementType<?>> params, Void arguments) throws BoFunctionException {
         params.forEach(obj -> System.out.print(obj.getValue()));
         return VoidElement.NO_VALUE;
     }
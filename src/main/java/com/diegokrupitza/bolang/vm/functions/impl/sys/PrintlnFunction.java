@@ -16,14 +16,15 @@ import java.util.List;
  */
 @BoFunction(module = "Sys", name = "println")
 @Getter
-public class PrintlnFunction implements Function {
+public class PrintlnFunction implements Function<Void> {
     @Override
-    public void paramCheck(List<AbstractElementType<?>> params) throws BoFunctionException {
+    public Void paramCheck(List<AbstractElementType<?>> params) throws BoFunctionException {
         //This is empty since we simply print out all the params
+        return null;
     }
 
     @Override
-    public AbstractElementType<?> execute(List<AbstractElementType<?>> params) throws BoFunctionException {
+    public AbstractElementType<?> execute(List<AbstractElementType<?>> params, Void arguments) throws BoFunctionException {
         params.forEach(obj -> System.out.print(obj.getValue()));
         System.out.println();
         return VoidElement.NO_VALUE;
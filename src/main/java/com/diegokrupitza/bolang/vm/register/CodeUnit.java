@@ -0,0 +1,38 @@
+package com.diegokrupitza.bolang.vm.register;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * The compiled form of the program or of a function. It only consists of the instruction stream, the constant pool
+ * and the layout of the register file, so it is a lot smaller than the AST it was compiled from.
+ *
+ * @author Diego Krupitza
+ * @version 1.0
+ * @date 18.10.26
+ */
+@Getter
+@AllArgsConstructor(access = AccessLevel.PACKAGE)
+public class CodeUnit {
+
+    /**
+     * the instructions, see {@link Opcodes}
+     */
+    private final int[] code;
+
+    /**
+     * doubles, strings and names referenced by the instructions
+     */
+    private final Object[] constants;
+
+    /**
+     * the size of the register file, variables first followed by the temporaries
+     */
+    private final int registerCount;
+
+    /**
+     * the register of every param in the order of the params
+     */
+    private final int[] paramRegisters;
+}
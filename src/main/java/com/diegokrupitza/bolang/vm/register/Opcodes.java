@@ -0,0 +1,126 @@
+package com.diegokrupitza.bolang.vm.register;
+
+/**
+ * The instruction set of the {@link RegisterVirtualMachine}. Every instruction is the opcode followed by a fixed
+ * number of <code>int</code> operands in the code array. Operands are register numbers, indices into the constant
+ * pool, jump targets or immediate values.
+ *
+ * @author Diego Krupitza
+ * @version 1.0
+ * @date 18.10.26
+ */
+final class Opcodes {
+
+    /**
+     * <code>CONST_INT dst value</code>
+     */
+    static final int CONST_INT = 0;
+    /**
+     * <code>CONST_DOUBLE dst constant</code>
+     */
+    static final int CONST_DOUBLE = 1;
+    /**
+     * <code>CONST_STRING dst constant</code>
+     */
+    static final int CONST_STRING = 2;
+    /**
+     * <code>CONST_BOOLEAN dst 0|1</code>
+     */
+    static final int CONST_BOOLEAN = 3;
+    /**
+     * <code>MOVE dst src</code>
+     */
+    static final int MOVE = 4;
+    /**
+     * <code>CHECK_DEFINED var name</code>, fails if the variable was never defined
+     */
+    static final int CHECK_DEFINED = 5;
+    /**
+     * <code>CHECK_ASSIGNABLE var name</code>, fails if the variable to assign to was never defined
+     */
+    static final int CHECK_ASSIGNABLE = 6;
+    /**
+     * <code>STORE var src name</code>, fails if the value is a void
+     */
+    static final int STORE = 7;
+    /**
+     * <code>PARAM dst name</code>
+     */
+    static final int PARAM = 8;
+
+    /**
+     * <code>OP dst left right</code> for all the infix operations
+     */
+    static final int ADD = 10;
+    static final int SUB = 11;
+    static final int MUL = 12;
+    static final int DIV = 13;
+    static final int CONCAT = 14;
+    static final int EQ = 15;
+    static final int NE = 16;
+    static final int GE = 17;
+    static final int GT = 18;
+    static final int LE = 19;
+    static final int LT = 20;
+    static final int AND = 21;
+    static final int OR = 22;
+
+    /**
+     * <code>SHORT_AND dst left target</code>, sets <code>dst</code> to false and jumps if the left operand decides the <code>&&</code>
+     */
+    static final int SHORT_AND = 28;
+    /**
+     * <code>SHORT_OR dst left target</code>, sets <code>dst</code> to true and jumps if the left operand decides the <code>||</code>
+     */
+    static final int SHORT_OR = 29;
+
+    /**
+     * <code>NEG dst src</code>
+     */
+    static final int NEG = 23;
+    /**
+     * <code>CHECK_INDEXABLE src</code>
+     */
+    static final int CHECK_INDEXABLE = 24;
+    /**
+     * <code>INDEX dst target index</code>
+     */
+    static final int INDEX = 25;
+    /**
+     * <code>ARRAY dst first count</code>, the elements are in the registers <code>first</code> to <code>first + count - 1</code>
+     */
+    static final int ARRAY = 26;
+    /**
+     * <code>CALL dst site first count</code>, calls the {@link com.diegokrupitza.bolang.vm.functions.CallSite} in the constants, the params are in the registers <code>first</code> to <code>first + count - 1</code>
+     */
+    static final int CALL = 27;
+
+    /**
+     * <code>JUMP target</code>
+     */
+    static final int JUMP = 30;
+    /**
+     * <code>JUMP_IF_FALSE cond target</code>, fails if the condition is not a boolean
+     */
+    static final int JUMP_IF_FALSE = 31;
+    /**
+     * <code>RETURN src</code>, fails if the value is a void
+     */
+    static final int RETURN = 32;
+    /**
+     * <code>RETURN_NONE</code>
+     */
+    static final int RETURN_NONE = 33;
+    /**
+     * <code>UNSUPPORTED</code>, a node the engine does not know
+     */
+    static final int UNSUPPORTED = 34;
+    /**
+     * <code>TAIL_CALL site first count</code>, a self defined/imported function whose result is returned.
+     * The code of the function continues in the current register file
+     */
+    static final int TAIL_CALL = 35;
+
+    private Opcodes() {
+    }
+}
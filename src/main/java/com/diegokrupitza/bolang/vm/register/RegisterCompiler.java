@@ -0,0 +1,345 @@
+package com.diegokrupitza.bolang.vm.register;
+
+import com.diegokrupitza.bolang.syntaxtree.nodes.AccessIndexNode;
+import com.diegokrupitza.bolang.syntaxtree.nodes.CallFunctionNode;
+import com.diegokrupitza.bolang.syntaxtree.nodes.ExpressionNode;
+import com.diegokrupitza.bolang.syntaxtree.nodes.FunctionNode;
+import com.diegokrupitza.bolang.syntaxtree.nodes.ImportNode;
+import com.diegokrupitza.bolang.syntaxtree.nodes.data.*;
+import com.diegokrupitza.bolang.syntaxtree.nodes.infix.*;
+import com.diegokrupitza.bolang.syntaxtree.nodes.stat.*;
+import com.diegokrupitza.bolang.syntaxtree.nodes.unary.NegateNode;
+import com.diegokrupitza.bolang.vm.VirtualMachineSettings;
+
+import java.util.*;
+
+/**
+ * Compiles the AST of the program or a function into a {@link CodeUnit}.
+ * <p>
+ * Every variable gets its own register, the registers after the variables are used for the temporary values of
+ * the expressions. Temporaries are allocated like a stack and released after every statement.
+ *
+ * @author Diego Krupitza
+ * @version 1.0
+ * @date 18.10.26
+ */
+class RegisterCompiler {
+
+    private static final Map<Class<? extends InfixNode>, Integer> INFIX_OPCODES = Map.ofEntries(
+            Map.entry(AdditionNode.class, Opcodes.ADD),
+            Map.entry(SubtractionNode.class, Opcodes.SUB),
+            Map.entry(MultiplicationNode.class, Opcodes.MUL),
+            Map.entry(DivisionNode.class, Opcodes.DIV),
+            Map.entry(StringConcatenationNode.class, Opcodes.CONCAT),
+            Map.entry(EqualsNode.class, Opcodes.EQ),
+            Map.entry(NotEqualsNode.class, Opcodes.NE),
+            Map.entry(GreaterEqualNode.class, Opcodes.GE),
+            Map.entry(GreaterNode.class, Opcodes.GT),
+            Map.entry(LessEqualNode.class, Opcodes.LE),
+            Map.entry(LessNode.class, Opcodes.LT),
+            Map.entry(LogicAndNode.class, Opcodes.AND),
+            Map.entry(LogicOrNode.class, Opcodes.OR)
+    );
+
+    private final VirtualMachineSettings settings;
+
+    private int[] code = new int[64];
+    private int codeSize = 0;
+
+    private final List<Object> constants = new ArrayList<>();
+    private final Map<Object, Integer> constantIndices = new HashMap<>();
+
+    private final Map<String, Integer> variableRegisters = new HashMap<>();
+    private int nextTemporary;
+    private int registerCount;
+
+    private RegisterCompiler(VirtualMachineSettings settings) {
+        this.settings = settings;
+    }
+
+    /**
+     * Compiles the statements of the program
+     *
+     * @param stats    the statements of the program head
+     * @param settings the settings of the virtual machine
+     * @return the compiled program
+     */
+    static CodeUnit compileProgram(List<ExpressionNode> stats, VirtualMachineSettings settings) {
+        return new RegisterCompiler(settings).compile(Collections.emptyList(), stats);
+    }
+
+    /**
+     * Compiles the body of a function
+     *
+     * @param functionNode the function to compile
+     * @param settings     the settings of the virtual machine
+     * @return the compiled function
+     */
+    static CodeUnit compileFunction(FunctionNode functionNode, VirtualMachineSettings settings) {
+        return new RegisterCompiler(settings).compile(functionNode.getParamNames(), functionNode.getBody());
+    }
+
+    private CodeUnit compile(List<String> paramNames, List<ExpressionNode> stats) {
+        // the variables come first so all temporaries are above them
+        paramNames.forEach(this::variableRegister);
+        collectVariables(stats);
+        this.nextTemporary = variableRegisters.size();
+        this.registerCount = nextTemporary;
+
+        int[] paramRegisters = paramNames.stream()
+                .mapToInt(variableRegisters::get)
+                .toArray();
+
+        compileBlock(stats);
+        emit(Opcodes.RETURN_NONE);
+
+        return new CodeUnit(Arrays.copyOf(code, codeSize), constants.toArray(), registerCount, paramRegisters);
+    }
+
+    private void collectVariables(List<ExpressionNode> nodes) {
+        if (nodes != null) {
+            nodes.forEach(this::collectVariables);
+        }
+    }
+
+    private void collectVariables(ExpressionNode node) {
+        if (node instanceof DefineVariableNode) {
+            variableRegister(((DefineVariableNode) node).getIdentifierName());
+            collectVariables(((DefineVariableNode) node).getExpr());
+        } else if (node instanceof AssignVariableNode) {
+            variableRegister(((AssignVariableNode) node).getIdentifierName());
+            collectVariables(((AssignVariableNode) node).getExpr());
+        } else if (node instanceof IfElseNode) {
+            collectVariables(((IfElseNode) node).getCondition());
+            collectVariables(((IfElseNode) node).getIfSection());
+            collectVariables(((IfElseNode) node).getElseSection());
+        } else if (node instanceof IfNode) {
+            collectVariables(((IfNode) node).getCondition());
+            collectVariables(((IfNode) node).getIfSection());
+        } else if (node instanceof ReturnNode) {
+            collectVariables(((ReturnNode) node).getRet());
+        } else if (node instanceof IdNode) {
+            variableRegister(((IdNode) node).getName());
+        } else if (node instanceof AccessIndexNode) {
+            variableRegister(((AccessIndexNode) node).getIdentifierName());
+            collectVariables(((AccessIndexNode) node).getIndex());
+        } else if (node instanceof InfixNode) {
+            collectVariables(((InfixNode) node).getLeft());
+            collectVariables(((InfixNode) node).getRight());
+        } else if (node instanceof NegateNode) {
+            collectVariables(((NegateNode) node).getInner());
+        } else if (node instanceof CallFunctionNode) {
+            collectVariables(((CallFunctionNode) node).getParams());
+        } else if (node instanceof ArrayNode) {
+            collectVariables(((ArrayNode) node).getContent());
+        }
+    }
+
+    private int variableRegister(String varName) {
+        return variableRegisters.computeIfAbsent(varName, item -> variableRegisters.size());
+    }
+
+    private void compileBlock(List<ExpressionNode> stats) {
+        if (stats == null) {
+            return;
+        }
+        for (ExpressionNode stat : stats) {
+            compileStat(stat);
+            // temporaries never outlive a statement
+            nextTemporary = variableRegisters.size();
+        }
+    }
+
+    private void compileStat(ExpressionNode stat) {
+        if (stat instanceof DefineVariableNode) {
+            DefineVariableNode defineVariableNode = (DefineVariableNode) stat;
+            String varName = defineVariableNode.getIdentifierName();
+
+            int value = compileOperand(defineVariableNode.getExpr());
+            emit(Opcodes.STORE, variableRegisters.get(varName), value, constant(varName));
+        } else if (stat instanceof AssignVariableNode) {
+            AssignVariableNode assignVariableNode = (AssignVariableNode) stat;
+            String varName = assignVariableNode.getIdentifierName();
+            int variable = variableRegisters.get(varName);
+
+            // the variable has to exist before the value is evaluated
+            emit(Opcodes.CHECK_ASSIGNABLE, variable, constant(varName));
+            int value = compileOperand(assignVariableNode.getExpr());
+            emit(Opcodes.STORE, variable, value, constant(varName));
+        } else if (stat instanceof IfElseNode) {
+            IfElseNode ifElseNode = (IfElseNode) stat;
+            compileIf(ifElseNode.getCondition(), ifElseNode.getIfSection(), ifElseNode.getElseSection());
+        } else if (stat instanceof IfNode) {
+            IfNode ifNode = (IfNode) stat;
+            compileIf(ifNode.getCondition(), ifNode.getIfSection(), null);
+        } else if (stat instanceof ReturnNode) {
+            ExpressionNode ret = ((ReturnNode) stat).getRet();
+            if (ret instanceof CallFunctionNode && !((CallFunctionNode) ret).getCallSite().isPredefined()) {
+                CallFunctionNode callFunctionNode = (CallFunctionNode) ret;
+                int first = compileConsecutive(callFunctionNode.getParams());
+                int count = callFunctionNode.getParams() == null ? 0 : callFunctionNode.getParams().size();
+                emit(Opcodes.TAIL_CALL, constant(callFunctionNode.getCallSite()), first, count);
+            } else {
+                int value = compileOperand(ret);
+                emit(Opcodes.RETURN, value);
+            }
+        } else if (stat instanceof FunctionNode || stat instanceof ImportNode) {
+            // definitions of functions and imports are not executed
+        } else {
+            compileOperand(stat);
+        }
+    }
+
+    private void compileIf(ExpressionNode condition, List<ExpressionNode> ifSection, List<ExpressionNode> elseSection) {
+        int evaluatedCondition = compileOperand(condition);
+        emit(Opcodes.JUMP_IF_FALSE, evaluatedCondition, -1);
+        int elseJump = codeSize - 1;
+
+        compileBlock(ifSection);
+
+        if (elseSection == null || elseSection.isEmpty()) {
+            code[elseJump] = codeSize;
+            return;
+        }
+
+        emit(Opcodes.JUMP, -1);
+        int endJump = codeSize - 1;
+
+        code[elseJump] = codeSize;
+        compileBlock(elseSection);
+        code[endJump] = codeSize;
+    }
+
+    /**
+     * Compiles an expression and returns the register that holds its value. Variables are used directly
+     * without copying them into a temporary.
+     */
+    private int compileOperand(ExpressionNode expr) {
+        if (expr instanceof IdNode) {
+            String varName = ((IdNode) expr).getName();
+            int variable = variableRegisters.get(varName);
+            emit(Opcodes.CHECK_DEFINED, variable, constant(varName));
+            return variable;
+        }
+
+        int target = allocateTemporaries(1);
+        compileInto(expr, target);
+        // the temporaries of the sub expressions are not needed anymore
+        nextTemporary = target + 1;
+        return target;
+    }
+
+    /**
+     * Like {@link #compileOperand(ExpressionNode)} but uses the given free register instead of a new temporary
+     */
+    private int compileOperand(ExpressionNode expr, int freeRegister) {
+        if (expr instanceof IdNode) {
+            return compileOperand(expr);
+        }
+
+        compileInto(expr, freeRegister);
+        return freeRegister;
+    }
+
+    /**
+     * Compiles an expression so its value ends up in the given register
+     */
+    private void compileInto(ExpressionNode expr, int target) {
+        if (expr instanceof InfixNode && INFIX_OPCODES.containsKey(expr.getClass())) {
+            InfixNode infixNode = (InfixNode) expr;
+
+            // left-right depth search like in the tree walker
+            // the target is still free, so the left value can be calculated directly in it
+            int left = compileOperand(infixNode.getLeft(), target);
+            int opcode = INFIX_OPCODES.get(expr.getClass());
+
+            boolean shortCircuit = !settings.isEagerLogic() && (opcode == Opcodes.AND || opcode == Opcodes.OR);
+            if (shortCircuit) {
+                emit(opcode == Opcodes.AND ? Opcodes.SHORT_AND : Opcodes.SHORT_OR, target, left, -1);
+            }
+            int skipJump = codeSize - 1;
+
+            int right = compileOperand(infixNode.getRight());
+            emit(opcode, target, left, right);
+
+            if (shortCircuit) {
+                code[skipJump] = codeSize;
+            }
+        } else if (expr instanceof NegateNode) {
+            int inner = compileOperand(((NegateNode) expr).getInner(), target);
+            emit(Opcodes.NEG, target, inner);
+        } else if (expr instanceof AccessIndexNode) {
+            AccessIndexNode accessIndexNode = (AccessIndexNode) expr;
+            String varName = accessIndexNode.getIdentifierName();
+            int variable = variableRegisters.get(varName);
+
+            emit(Opcodes.CHECK_DEFINED, variable, constant(varName));
+            emit(Opcodes.CHECK_INDEXABLE, variable);
+            int index = compileOperand(accessIndexNode.getIndex(), target);
+            emit(Opcodes.INDEX, target, variable, index);
+        } else if (expr instanceof CallFunctionNode) {
+            CallFunctionNode callFunctionNode = (CallFunctionNode) expr;
+            int first = compileConsecutive(callFunctionNode.getParams());
+            int count = callFunctionNode.getParams() == null ? 0 : callFunctionNode.getParams().size();
+            emit(Opcodes.CALL, target, constant(callFunctionNode.getCallSite()), first, count);
+        } else if (expr instanceof ArrayNode) {
+            ArrayNode arrayNode = (ArrayNode) expr;
+            int first = compileConsecutive(arrayNode.getContent());
+            int count = arrayNode.getContent() == null ? 0 : arrayNode.getContent().size();
+            emit(Opcodes.ARRAY, target, first, count);
+        } else if (expr instanceof ExternalParamNode) {
+            emit(Opcodes.PARAM, target, constant(((ExternalParamNode) expr).getName()));
+        } else if (expr instanceof IdNode) {
+            int variable = compileOperand(expr);
+            emit(Opcodes.MOVE, target, variable);
+        } else if (expr instanceof IntegerNode) {
+            emit(Opcodes.CONST_INT, target, ((IntegerNode) expr).getValue());
+        } else if (expr instanceof DoubleNode) {
+            emit(Opcodes.CONST_DOUBLE, target, constant(((DoubleNode) expr).getValue()));
+        } else if (expr instanceof StringNode) {
+            emit(Opcodes.CONST_STRING, target, constant(((StringNode) expr).getValue()));
+        } else if (expr instanceof BooleanNode) {
+            emit(Opcodes.CONST_BOOLEAN, target, ((BooleanNode) expr).getValue() ? 1 : 0);
+        } else {
+            // the tree walker only fails once it reaches the node, so we do the same
+            emit(Opcodes.UNSUPPORTED);
+        }
+    }
+
+    /**
+     * Compiles the expressions into consecutive registers
+     *
+     * @return the register of the first expression
+     */
+    private int compileConsecutive(List<ExpressionNode> exprs) {
+        int count = exprs == null ? 0 : exprs.size();
+        int first = allocateTemporaries(count);
+        for (int i = 0; i < count; i++) {
+            compileInto(exprs.get(i), first + i);
+            nextTemporary = first + count;
+        }
+        return first;
+    }
+
+    private int allocateTemporaries(int count) {
+        int first = nextTemporary;
+        nextTemporary += count;
+        registerCount = Math.max(registerCount, nextTemporary);
+        return first;
+    }
+
+    private int constant(Object value) {
+        return constantIndices.computeIfAbsent(value, item -> {
+            constants.add(item);
+            return constants.size() - 1;
+        });
+    }
+
+    private void emit(int... instruction) {
+        if (codeSize + instruction.length > code.length) {
+            code = Arrays.copyOf(code, Math.max(code.length * 2, codeSize + instruction.length));
+        }
+        System.arraycopy(instruction, 0, code, codeSize, instruction.length);
+        codeSize += instruction.length;
+    }
+}
@@ -0,0 +1,314 @@
+package com.diegokrupitza.bolang.vm.register;
+
+import com.diegokrupitza.bolang.syntaxtree.nodes.BoNode;
+import com.diegokrupitza.bolang.syntaxtree.nodes.FunctionNode;
+import com.diegokrupitza.bolang.vm.AbstractVirtualMachine;
+import com.diegokrupitza.bolang.vm.VirtualMachineException;
+import com.diegokrupitza.bolang.vm.VirtualMachineSettings;
+import com.diegokrupitza.bolang.vm.functions.CallSite;
+import com.diegokrupitza.bolang.vm.functions.Function;
+import com.diegokrupitza.bolang.vm.functions.exceptions.BoFunctionException;
+import com.diegokrupitza.bolang.vm.types.*;
+import com.diegokrupitza.bolang.vm.utils.Arrays;
+import com.diegokrupitza.bolang.vm.utils.*;
+
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Engine that compiles the program into a compact register based instruction stream (see {@link Opcodes}) and
+ * executes it in a single dispatch loop. Every execution of a code unit works on its own register file, an
+ * empty register is a variable that was not defined yet.
+ *
+ * @author Diego Krupitza
+ * @version 1.0
+ * @date 18.10.26
+ */
+public class RegisterVirtualMachine extends AbstractVirtualMachine {
+
+    private final Map<FunctionNode, CodeUnit> compiledFunctions = new IdentityHashMap<>();
+
+    private final CodeUnit program;
+
+    public RegisterVirtualMachine(BoNode programHead) throws VirtualMachineException {
+        this(programHead, VirtualMachineSettings.DEFAULT);
+    }
+
+    public RegisterVirtualMachine(BoNode programHead, VirtualMachineSettings settings) throws VirtualMachineException {
+        super(programHead, settings);
+        this.program = RegisterCompiler.compileProgram(programHead.getStats(), settings);
+    }
+
+    @Override
+    protected AbstractElementType<?> execute() throws VirtualMachineException {
+        return execute(program, new AbstractElementType<?>[program.getRegisterCount()]);
+    }
+
+    /**
+     * The compiled program
+     *
+     * @return the code unit of the program head
+     */
+    public CodeUnit getProgram() {
+        return program;
+    }
+
+    private AbstractElementType<?> execute(CodeUnit unit, AbstractElementType<?>[] registers) throws VirtualMachineException {
+        int[] code = unit.getCode();
+        Object[] constants = unit.getConstants();
+
+        // a tail call was executed, so the current code is the value of a return statement
+        boolean tailCalled = false;
+
+        int pc = 0;
+        while (true) {
+            switch (code[pc]) {
+                case Opcodes.CONST_INT:
+                    registers[code[pc + 1]] = new IntegerElement(code[pc + 2]);
+                    pc += 3;
+                    break;
+                case Opcodes.CONST_DOUBLE:
+                    registers[code[pc + 1]] = new DoubleElement((Double) constants[code[pc + 2]]);
+                    pc += 3;
+                    break;
+                case Opcodes.CONST_STRING:
+                    registers[code[pc + 1]] = new StringElement((String) constants[code[pc + 2]]);
+                    pc += 3;
+                    break;
+                case Opcodes.CONST_BOOLEAN:
+                    registers[code[pc + 1]] = new BooleanElement(code[pc + 2] == 1);
+                    pc += 3;
+                    break;
+                case Opcodes.MOVE:
+                    registers[code[pc + 1]] = registers[code[pc + 2]];
+                    pc += 3;
+                    break;
+                case Opcodes.CHECK_DEFINED:
+                    if (registers[code[pc + 1]] == null) {
+                        throw new VirtualMachineException(String.format("The variable with the name %s does not exist!", constants[code[pc + 2]]));
+                    }
+                    pc += 3;
+                    break;
+                case Opcodes.CHECK_ASSIGNABLE:
+                    if (registers[code[pc + 1]] == null) {
+                        throw new VirtualMachineException(String.format("Variable with the name `%s` does not exist!", constants[code[pc + 2]]));
+                    }
+                    pc += 3;
+                    break;
+                case Opcodes.STORE: {
+                    AbstractElementType<?> value = registers[code[pc + 2]];
+                    // voids cannot be assigned to variables
+                    if (Types.isOfType(Type.VOID, value)) {
+                        throw new VirtualMachineException(String.format("You cannot assign a void to the variable %s", constants[code[pc + 3]]));
+                    }
+                    registers[code[pc + 1]] = value;
+                    pc += 4;
+                    break;
+                }
+                case Opcodes.PARAM:
+                    registers[code[pc + 1]] = externalParam((String) constants[code[pc + 2]]);
+                    pc += 3;
+                    break;
+                case Opcodes.ADD:
+                    registers[code[pc + 1]] = Infixes.performAddition(registers[code[pc + 2]], registers[code[pc + 3]]);
+                    pc += 4;
+                    break;
+                case Opcodes.SUB:
+                    registers[code[pc + 1]] = Infixes.performSubtraction(registers[code[pc + 2]], registers[code[pc + 3]]);
+                    pc += 4;
+                    break;
+                case Opcodes.MUL:
+                    registers[code[pc + 1]] = Infixes.performMultiplication(registers[code[pc + 2]], registers[code[pc + 3]]);
+                    pc += 4;
+                    break;
+                case Opcodes.DIV:
+                    registers[code[pc + 1]] = Infixes.performDivision(registers[code[pc + 2]], registers[code[pc + 3]]);
+                    pc += 4;
+                    break;
+                case Opcodes.CONCAT:
+                    registers[code[pc + 1]] = Infixes.performStringConcatenation(registers[code[pc + 2]], registers[code[pc + 3]]);
+                    pc += 4;
+                    break;
+                case Opcodes.EQ:
+                    registers[code[pc + 1]] = Infixes.performEquals(registers[code[pc + 2]], registers[code[pc + 3]]);
+                    pc += 4;
+                    break;
+                case Opcodes.NE:
+                    registers[code[pc + 1]] = Infixes.performNotEquals(registers[code[pc + 2]], registers[code[pc + 3]]);
+                    pc += 4;
+                    break;
+                case Opcodes.GE:
+                    registers[code[pc + 1]] = Infixes.performGreaterEqual(registers[code[pc + 2]], registers[code[pc + 3]]);
+                    pc += 4;
+                    break;
+                case Opcodes.GT:
+                    registers[code[pc + 1]] = Infixes.performGreater(registers[code[pc + 2]], registers[code[pc + 3]]);
+                    pc += 4;
+                    break;
+                case Opcodes.LE:
+                    registers[code[pc + 1]] = Infixes.performLessEqual(registers[code[pc + 2]], registers[code[pc + 3]]);
+                    pc += 4;
+                    break;
+                case Opcodes.LT:
+                    registers[code[pc + 1]] = Infixes.performLess(registers[code[pc + 2]], registers[code[pc + 3]]);
+                    pc += 4;
+                    break;
+                case Opcodes.AND:
+                    registers[code[pc + 1]] = Infixes.performLogicAnd(registers[code[pc + 2]], registers[code[pc + 3]]);
+                    pc += 4;
+                    break;
+                case Opcodes.OR:
+                    registers[code[pc + 1]] = Infixes.performLogicOr(registers[code[pc + 2]], registers[code[pc + 3]]);
+                    pc += 4;
+                    break;
+                case Opcodes.SHORT_AND:
+                    if (Infixes.isLogicAndDecided(registers[code[pc + 2]])) {
+                        registers[code[pc + 1]] = Booleans.FALSE;
+                        pc = code[pc + 3];
+                    } else {
+                        pc += 4;
+                    }
+                    break;
+                case Opcodes.SHORT_OR:
+                    if (Infixes.isLogicOrDecided(registers[code[pc + 2]])) {
+                        registers[code[pc + 1]] = Booleans.TRUE;
+                        pc = code[pc + 3];
+                    } else {
+                        pc += 4;
+                    }
+                    break;
+                case Opcodes.NEG:
+                    registers[code[pc + 1]] = Unarys.performNegation(registers[code[pc + 2]]);
+                    pc += 3;
+                    break;
+                case Opcodes.CHECK_INDEXABLE:
+                    Indexes.checkIndexable(registers[code[pc + 1]]);
+                    pc += 2;
+                    break;
+                case Opcodes.INDEX:
+                    registers[code[pc + 1]] = Indexes.performIndexAccess(registers[code[pc + 2]], registers[code[pc + 3]]);
+                    pc += 4;
+                    break;
+                case Opcodes.ARRAY: {
+                    ArrayElement returnArray = Arrays.emptyArray();
+                    int first = code[pc + 2];
+                    for (int i = 0; i < code[pc + 3]; i++) {
+                        returnArray.add(registers[first + i]);
+                    }
+                    registers[code[pc + 1]] = returnArray;
+                    pc += 4;
+                    break;
+                }
+                case Opcodes.CALL: {
+                    AbstractElementType<?>[] params = new AbstractElementType<?>[code[pc + 4]];
+                    System.arraycopy(registers, code[pc + 3], params, 0, params.length);
+                    registers[code[pc + 1]] = call((CallSite) constants[code[pc + 2]], params);
+                    pc += 5;
+                    break;
+                }
+                case Opcodes.TAIL_CALL: {
+                    AbstractElementType<?>[] params = new AbstractElementType<?>[code[pc + 3]];
+                    System.arraycopy(registers, code[pc + 2], params, 0, params.length);
+                    FunctionNode functionNode = ((CallSite) constants[code[pc + 1]]).getFunction(getFunctionTable());
+                    CodeUnit callee = getCompiledFunction(functionNode);
+
+                    // the registers of the current code are not needed anymore, they are reused if there are enough
+                    if (registers.length >= callee.getRegisterCount()) {
+                        java.util.Arrays.fill(registers, null);
+                    } else {
+                        registers = new AbstractElementType<?>[callee.getRegisterCount()];
+                    }
+                    bindParams(callee, registers, params);
+
+                    code = callee.getCode();
+                    constants = callee.getConstants();
+                    tailCalled = true;
+                    pc = 0;
+                    break;
+                }
+                case Opcodes.JUMP:
+                    pc = code[pc + 1];
+                    break;
+                case Opcodes.JUMP_IF_FALSE: {
+                    AbstractElementType<?> evaluatedCondition = registers[code[pc + 1]];
+                    assert evaluatedCondition != null;
+                    if (!(evaluatedCondition instanceof BooleanElement)) {
+                        throw new VirtualMachineException(String.format("Conditions has to be of type boolean not %s!", evaluatedCondition.getType()));
+                    }
+                    pc = ((BooleanElement) evaluatedCondition).getValue() ? pc + 3 : code[pc + 2];
+                    break;
+                }
+                case Opcodes.RETURN: {
+                    AbstractElementType<?> value = registers[code[pc + 1]];
+                    // voids cannot be returned
+                    if (Types.isOfType(Type.VOID, value)) {
+                        throw new VirtualMachineException("You cannot return a void");
+                    }
+                    return value;
+                }
+                case Opcodes.RETURN_NONE:
+                    if (tailCalled) {
+                        throw new VirtualMachineException("You cannot return a void");
+                    }
+                    return null;
+                default:
+                    throw new VirtualMachineException("Contact the Bo Language administrator. Please include the code you run to reach this error! Code: 2");
+            }
+        }
+    }
+
+    private AbstractElementType<?> externalParam(String name) throws VirtualMachineException {
+        // all params are strings the coder needs to convert them into other formates by hand
+        if (!getExternalParams().containsKey(name)) {
+            throw new VirtualMachineException(String.format("The external parameter `%s` you want to access does not exist!", name));
+        }
+        return new StringElement(getExternalParams().get(name));
+    }
+
+    private AbstractElementType<?> call(CallSite callSite, AbstractElementType<?>[] params) throws VirtualMachineException {
+        // check if it is not a predefined function by the BoLang
+        if (!callSite.isPredefined()) {
+            // its not a predefined function aka we should have it in our functiontable
+            FunctionNode functionNode = callSite.getFunction(getFunctionTable());
+
+            // the return values of pure functions are remembered
+            List<Object> memoKey = memoKeyOf(callSite.getModule(), functionNode, java.util.Arrays.asList(params));
+            AbstractElementType<?> memoized = memoKey == null ? null : getMemoTable().get(memoKey);
+            if (memoized != null) {
+                return memoized;
+            }
+
+            CodeUnit unit = getCompiledFunction(functionNode);
+
+            // function calls have their own register file
+            AbstractElementType<?>[] registers = new AbstractElementType<?>[unit.getRegisterCount()];
+            bindParams(unit, registers, params);
+
+            AbstractElementType<?> returnedVal = execute(unit, registers);
+            returnedVal = returnedVal == null ? VoidElement.NO_VALUE : returnedVal;
+            if (memoKey != null) {
+                getMemoTable().put(memoKey, returnedVal);
+            }
+            return returnedVal;
+        }
+
+        try {
+            Function<?> function = callSite.getPredefinedFunction();
+            return function.call(java.util.Arrays.asList(params));
+        } catch (BoFunctionException e) {
+            throw new VirtualMachineException(e.getMessage());
+        }
+    }
+
+    private CodeUnit getCompiledFunction(FunctionNode functionNode) {
+        return compiledFunctions.computeIfAbsent(functionNode, item -> RegisterCompiler.compileFunction(item, getSettings()));
+    }
+
+    private static void bindParams(CodeUnit unit, AbstractElementType<?>[] registers, AbstractElementType<?>[] params) {
+        int[] paramRegisters = unit.getParamRegisters();
+        for (int i = 0; i < paramRegisters.length; i++) {
+            registers[paramRegisters[i]] = params[i];
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.diegokrupitza.bolang.vm.specializing;
+
+import com.diegokrupitza.bolang.vm.VirtualMachineException;
+import com.diegokrupitza.bolang.vm.types.AbstractElementType;
+import com.diegokrupitza.bolang.vm.types.ArrayElement;
+import com.diegokrupitza.bolang.vm.utils.Arrays;
+
+import java.util.List;
+
+/**
+ * Creates an array out of the evaluated content expressions.
+ *
+ * @author Diego Krupitza
+ * @version 1.0
+ * @date 18.10.26
+ */
+public class ArrayLiteralNode extends ExecutableNode {
+
+    private final List<ExecutableNode> content;
+
+    ArrayLiteralNode(List<ExecutableNode> content) {
+        this.content = content;
+    }
+
+    @Override
+    public AbstractElementType<?> execute(Frame frame) throws VirtualMachineException {
+        ArrayElement returnArray = Arrays.emptyArray();
+        for (ExecutableNode element : content) {
+            returnArray.add(element.execute(frame));
+        }
+        return returnArray;
+    }
+}
@@ -0,0 +1,43 @@
+package com.diegokrupitza.bolang.vm.specializing;
+
+import com.diegokrupitza.bolang.vm.VirtualMachineException;
+import com.diegokrupitza.bolang.vm.types.AbstractElementType;
+import com.diegokrupitza.bolang.vm.types.Type;
+import com.diegokrupitza.bolang.vm.utils.Types;
+
+/**
+ * Assigns a new value to an already defined variable.
+ *
+ * @author Diego Krupitza
+ * @version 1.0
+ * @date 18.10.26
+ */
+public class AssignStat extends ExecutableStat {
+
+    private final String varName;
+    private final int slot;
+    private final ExecutableNode expr;
+
+    AssignStat(String varName, int slot, ExecutableNode expr) {
+        this.varName = varName;
+        this.slot = slot;
+        this.expr = expr;
+    }
+
+    @Override
+    public AbstractElementType<?> execute(Frame frame) throws VirtualMachineException {
+        if (frame.get(slot) == null) {
+            throw new VirtualMachineException(String.format("Variable with the name `%s` does not exist!", varName));
+        }
+
+        AbstractElementType<?> value = expr.execute(frame);
+
+        // voids cannot be assigned to variables
+        if (Types.isOfType(Type.VOID, value)) {
+            throw new VirtualMachineException(String.format("You cannot assign a void to the variable %s", varName));
+        }
+
+        frame.set(slot, value);
+        return null;
+    }
+}
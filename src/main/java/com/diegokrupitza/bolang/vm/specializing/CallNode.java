@@ -0,0 +1,34 @@
+package com.diegokrupitza.bolang.vm.specializing;
+
+import com.diegokrupitza.bolang.vm.VirtualMachineException;
+import com.diegokrupitza.bolang.vm.functions.CallSite;
+import com.diegokrupitza.bolang.vm.types.AbstractElementType;
+
+import java.util.List;
+
+/**
+ * Calls a function, either one of the predefined modules or a self defined/imported one.
+ *
+ * @author Diego Krupitza
+ * @version 1.0
+ * @date 18.10.26
+ */
+public class CallNode extends ExecutableNode {
+
+    private final CallSite callSite;
+    private final List<ExecutableNode> params;
+
+    CallNode(CallSite callSite, List<ExecutableNode> params) {
+        this.callSite = callSite;
+        this.params = params;
+    }
+
+    @Override
+    public AbstractElementType<?> execute(Frame frame) throws VirtualMachineException {
+        AbstractElementType<?>[] evaledParams = new AbstractElementType<?>[params.size()];
+        for (int i = 0; i < evaledParams.length; i++) {
+            evaledParams[i] = params.get(i).execute(frame);
+        }
+        return frame.getVirtualMachine().call(callSite, evaledParams);
+    }
+}
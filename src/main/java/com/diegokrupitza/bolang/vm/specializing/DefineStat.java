@@ -0,0 +1,39 @@
+package com.diegokrupitza.bolang.vm.specializing;
+
+import com.diegokrupitza.bolang.vm.VirtualMachineException;
+import com.diegokrupitza.bolang.vm.types.AbstractElementType;
+import com.diegokrupitza.bolang.vm.types.Type;
+import com.diegokrupitza.bolang.vm.utils.Types;
+
+/**
+ * Defines a variable with its initial value.
+ *
+ * @author Diego Krupitza
+ * @version 1.0
+ * @date 18.10.26
+ */
+public class DefineStat extends ExecutableStat {
+
+    private final String varName;
+    private final int slot;
+    private final ExecutableNode expr;
+
+    DefineStat(String varName, int slot, ExecutableNode expr) {
+        this.varName = varName;
+        this.slot = slot;
+        this.expr = expr;
+    }
+
+    @Override
+    public AbstractElementType<?> execute(Frame frame) throws VirtualMachineException {
+        AbstractElementType<?> value = expr.execute(frame);
+
+        // voids cannot be assigned to variables
+        if (Types.isOfType(Type.VOID, value)) {
+            throw new VirtualMachineException(String.format("You cannot assign a void to the variable %s", varName));
+        }
+
+        frame.set(slot, value);
+        return null;
+    }
+}
@@ -0,0 +1,24 @@
+package com.diegokrupitza.bolang.vm.specializing;
+
+import com.diegokrupitza.bolang.vm.VirtualMachineException;
+import com.diegokrupitza.bolang.vm.types.AbstractElementType;
+
+/**
+ * An expression of the executable tree. In contrast to the nodes of the AST each node knows how to execute itself
+ * and is able to adjust itself to the values it sees during the execution.
+ *
+ * @author Diego Krupitza
+ * @version 1.0
+ * @date 18.10.26
+ */
+public abstract class ExecutableNode {
+
+    /**
+     * Evaluates the expression
+     *
+     * @param frame the frame of the code that is currently executed
+     * @return the value of the expression
+     * @throws VirtualMachineException in case any error happens during runtime
+     */
+    public abstract AbstractElementType<?> execute(Frame frame) throws VirtualMachineException;
+}
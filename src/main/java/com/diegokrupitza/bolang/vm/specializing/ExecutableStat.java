@@ -0,0 +1,43 @@
+package com.diegokrupitza.bolang.vm.specializing;
+
+import com.diegokrupitza.bolang.vm.VirtualMachineException;
+import com.diegokrupitza.bolang.vm.types.AbstractElementType;
+
+import java.util.List;
+
+/**
+ * A statement of the executable tree.
+ *
+ * @author Diego Krupitza
+ * @version 1.0
+ * @date 18.10.26
+ */
+public abstract class ExecutableStat {
+
+    /**
+     * Executes all statements of a block until one of them returns
+     *
+     * @param stats the statements of the block
+     * @param frame the frame of the code that is currently executed
+     * @return the returned value or <code>null</code> when no statement returned
+     * @throws VirtualMachineException in case any error happens during runtime
+     */
+    static AbstractElementType<?> executeBlock(List<ExecutableStat> stats, Frame frame) throws VirtualMachineException {
+        for (ExecutableStat stat : stats) {
+            AbstractElementType<?> returnedVal = stat.execute(frame);
+            if (returnedVal != null) {
+                return returnedVal;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Executes the statement
+     *
+     * @param frame the frame of the code that is currently executed
+     * @return the returned value if the statement was a return (directly or nested) otherwise <code>null</code>
+     * @throws VirtualMachineException in case any error happens during runtime
+     */
+    public abstract AbstractElementType<?> execute(Frame frame) throws VirtualMachineException;
+}
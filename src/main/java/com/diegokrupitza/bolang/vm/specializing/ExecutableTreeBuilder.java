@@ -0,0 +1,148 @@
+package com.diegokrupitza.bolang.vm.specializing;
+
+import com.diegokrupitza.bolang.syntaxtree.nodes.AccessIndexNode;
+import com.diegokrupitza.bolang.syntaxtree.nodes.CallFunctionNode;
+import com.diegokrupitza.bolang.syntaxtree.nodes.ExpressionNode;
+import com.diegokrupitza.bolang.syntaxtree.nodes.FunctionNode;
+import com.diegokrupitza.bolang.syntaxtree.nodes.ImportNode;
+import com.diegokrupitza.bolang.syntaxtree.nodes.data.*;
+import com.diegokrupitza.bolang.syntaxtree.nodes.infix.*;
+import com.diegokrupitza.bolang.syntaxtree.nodes.stat.*;
+import com.diegokrupitza.bolang.syntaxtree.nodes.unary.NegateNode;
+import com.diegokrupitza.bolang.vm.VirtualMachineException;
+import com.diegokrupitza.bolang.vm.VirtualMachineSettings;
+import com.diegokrupitza.bolang.vm.types.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Translates the AST of a program or function into the executable tree of the {@link SpecializingVirtualMachine}.
+ *
+ * @author Diego Krupitza
+ * @version 1.0
+ * @date 18.10.26
+ */
+class ExecutableTreeBuilder {
+
+    private static final Map<Class<? extends InfixNode>, InfixOperator> INFIX_OPERATORS = Map.ofEntries(
+            Map.entry(AdditionNode.class, InfixOperator.ADDITION),
+            Map.entry(SubtractionNode.class, InfixOperator.SUBTRACTION),
+            Map.entry(MultiplicationNode.class, InfixOperator.MULTIPLICATION),
+            Map.entry(DivisionNode.class, InfixOperator.DIVISION),
+            Map.entry(StringConcatenationNode.class, InfixOperator.CONCATENATION),
+            Map.entry(EqualsNode.class, InfixOperator.EQUALS),
+            Map.entry(NotEqualsNode.class, InfixOperator.NOT_EQUALS),
+            Map.entry(GreaterEqualNode.class, InfixOperator.GREATER_EQUAL),
+            Map.entry(GreaterNode.class, InfixOperator.GREATER),
+            Map.entry(LessEqualNode.class, InfixOperator.LESS_EQUAL),
+            Map.entry(LessNode.class, InfixOperator.LESS),
+            Map.entry(LogicAndNode.class, InfixOperator.LOGIC_AND),
+            Map.entry(LogicOrNode.class, InfixOperator.LOGIC_OR)
+    );
+
+    private final VirtualMachineSettings settings;
+
+    ExecutableTreeBuilder(VirtualMachineSettings settings) {
+        this.settings = settings;
+    }
+
+    /**
+     * Builds the executable statements of a block
+     *
+     * @param stats the statements of the AST
+     * @return the executable statements
+     */
+    List<ExecutableStat> buildBlock(List<ExpressionNode> stats) {
+        if (stats == null || stats.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        List<ExecutableStat> block = new ArrayList<>();
+        for (ExpressionNode stat : stats) {
+            if (stat instanceof FunctionNode || stat instanceof ImportNode) {
+                // definitions of functions and imports are not executed
+                continue;
+            }
+            block.add(buildStat(stat));
+        }
+        return block;
+    }
+
+    private ExecutableStat buildStat(ExpressionNode stat) {
+        if (stat instanceof DefineVariableNode) {
+            DefineVariableNode defineVariableNode = (DefineVariableNode) stat;
+            return new DefineStat(defineVariableNode.getIdentifierName(), defineVariableNode.getSlot(), buildExpression(defineVariableNode.getExpr()));
+        } else if (stat instanceof AssignVariableNode) {
+            AssignVariableNode assignVariableNode = (AssignVariableNode) stat;
+            return new AssignStat(assignVariableNode.getIdentifierName(), assignVariableNode.getSlot(), buildExpression(assignVariableNode.getExpr()));
+        } else if (stat instanceof IfElseNode) {
+            IfElseNode ifElseNode = (IfElseNode) stat;
+            return new IfStat(buildExpression(ifElseNode.getCondition()), buildBlock(ifElseNode.getIfSection()), buildBlock(ifElseNode.getElseSection()));
+        } else if (stat instanceof IfNode) {
+            IfNode ifNode = (IfNode) stat;
+            return new IfStat(buildExpression(ifNode.getCondition()), buildBlock(ifNode.getIfSection()), Collections.emptyList());
+        } else if (stat instanceof ReturnNode) {
+            ExpressionNode ret = ((ReturnNode) stat).getRet();
+            if (ret instanceof CallFunctionNode && !((CallFunctionNode) ret).getCallSite().isPredefined()) {
+                CallFunctionNode callFunctionNode = (CallFunctionNode) ret;
+                return new TailCallStat(callFunctionNode.getCallSite(), buildExpressions(callFunctionNode.getParams()));
+            }
+            return new ReturnStat(buildExpression(ret));
+        }
+        return new ExpressionStat(buildExpression(stat));
+    }
+
+    private ExecutableNode buildExpression(ExpressionNode expr) {
+        if (expr instanceof InfixNode && INFIX_OPERATORS.containsKey(expr.getClass())) {
+            InfixNode infixNode = (InfixNode) expr;
+            return new InfixSiteNode(INFIX_OPERATORS.get(expr.getClass()), buildExpression(infixNode.getLeft()), buildExpression(infixNode.getRight()), !settings.isEagerLogic());
+        } else if (expr instanceof NegateNode) {
+            return new NegationNode(buildExpression(((NegateNode) expr).getInner()));
+        } else if (expr instanceof AccessIndexNode) {
+            AccessIndexNode accessIndexNode = (AccessIndexNode) expr;
+            return new IndexAccessNode(accessIndexNode.getIdentifierName(), accessIndexNode.getSlot(), buildExpression(accessIndexNode.getIndex()));
+        } else if (expr instanceof CallFunctionNode) {
+            CallFunctionNode callFunctionNode = (CallFunctionNode) expr;
+            return new CallNode(callFunctionNode.getCallSite(), buildExpressions(callFunctionNode.getParams()));
+        } else if (expr instanceof ArrayNode) {
+            return new ArrayLiteralNode(buildExpressions(((ArrayNode) expr).getContent()));
+        } else if (expr instanceof ExternalParamNode) {
+            return new ExternalParamReadNode(((ExternalParamNode) expr).getName());
+        } else if (expr instanceof IdNode) {
+            return new ReadVariableNode(((IdNode) expr).getName(), ((IdNode) expr).getSlot());
+        } else if (expr instanceof DoubleNode) {
+            Double value = ((DoubleNode) expr).getValue();
+            return new LiteralNode(() -> new DoubleElement(value));
+        } else if (expr instanceof IntegerNode) {
+            Integer value = ((IntegerNode) expr).getValue();
+            return new LiteralNode(() -> new IntegerElement(value));
+        } else if (expr instanceof StringNode) {
+            String value = ((StringNode) expr).getValue();
+            return new LiteralNode(() -> new StringElement(value));
+        } else if (expr instanceof BooleanNode) {
+            Boolean value = ((BooleanNode) expr).getValue();
+            return new LiteralNode(() -> new BooleanElement(value));
+        }
+
+        // the tree walker only fails once it reaches the node, so we do the same
+        return new ExecutableNode() {
+            @Override
+            public AbstractElementType<?> execute(Frame frame) throws VirtualMachineException {
+                throw new VirtualMachineException("Contact the Bo Language administrator. Please include the code you run to reach this error! Code: 2");
+            }
+        };
+    }
+
+    private List<ExecutableNode> buildExpressions(List<ExpressionNode> exprs) {
+        List<ExecutableNode> nodes = new ArrayList<>();
+        if (exprs != null) {
+            for (ExpressionNode expr : exprs) {
+                nodes.add(buildExpression(expr));
+            }
+        }
+        return nodes;
+    }
+}
@@ -0,0 +1,26 @@
+package com.diegokrupitza.bolang.vm.specializing;
+
+import com.diegokrupitza.bolang.vm.VirtualMachineException;
+import com.diegokrupitza.bolang.vm.types.AbstractElementType;
+
+/**
+ * An expression that is used as statement. Its value is thrown away.
+ *
+ * @author Diego Krupitza
+ * @version 1.0
+ * @date 18.10.26
+ */
+public class ExpressionStat extends ExecutableStat {
+
+    private final ExecutableNode expr;
+
+    ExpressionStat(ExecutableNode expr) {
+        this.expr = expr;
+    }
+
+    @Override
+    public AbstractElementType<?> execute(Frame frame) throws VirtualMachineException {
+        expr.execute(frame);
+        return null;
+    }
+}
@@ -0,0 +1,25 @@
+package com.diegokrupitza.bolang.vm.specializing;
+
+import com.diegokrupitza.bolang.vm.VirtualMachineException;
+import com.diegokrupitza.bolang.vm.types.AbstractElementType;
+
+/**
+ * Reads an external parameter the program was started with.
+ *
+ * @author Diego Krupitza
+ * @version 1.0
+ * @date 18.10.26
+ */
+public class ExternalParamReadNode extends ExecutableNode {
+
+    private final String name;
+
+    ExternalParamReadNode(String name) {
+        this.name = name;
+    }
+
+    @Override
+    public AbstractElementType<?> execute(Frame frame) throws VirtualMachineException {
+        return frame.getVirtualMachine().externalParam(name);
+    }
+}
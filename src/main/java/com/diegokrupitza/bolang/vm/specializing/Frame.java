@@ -0,0 +1,38 @@
+package com.diegokrupitza.bolang.vm.specializing;
+
+import com.diegokrupitza.bolang.vm.types.AbstractElementType;
+import lombok.Getter;
+
+/**
+ * The variables of one execution of the program or a function, together with the virtual machine that executes it.
+ *
+ * @author Diego Krupitza
+ * @version 1.0
+ * @date 18.10.26
+ */
+public class Frame {
+
+    @Getter
+    private final SpecializingVirtualMachine virtualMachine;
+
+    private final AbstractElementType<?>[] slots;
+
+    Frame(SpecializingVirtualMachine virtualMachine, int frameSize) {
+        this.virtualMachine = virtualMachine;
+        this.slots = new AbstractElementType<?>[frameSize];
+    }
+
+    /**
+     * Gets the value of a slot
+     *
+     * @param slot the slot of the variable
+     * @return the value or <code>null</code> if the variable was not defined yet
+     */
+    AbstractElementType<?> get(int slot) {
+        return slots[slot];
+    }
+
+    void set(int slot, AbstractElementType<?> value) {
+        slots[slot] = value;
+    }
+}
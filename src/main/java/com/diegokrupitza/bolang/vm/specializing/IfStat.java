@@ -0,0 +1,42 @@
+package com.diegokrupitza.bolang.vm.specializing;
+
+import com.diegokrupitza.bolang.vm.VirtualMachineException;
+import com.diegokrupitza.bolang.vm.types.AbstractElementType;
+import com.diegokrupitza.bolang.vm.types.BooleanElement;
+
+import java.util.List;
+
+/**
+ * An if statement with an optional else section. Without an else section the else block is empty.
+ *
+ * @author Diego Krupitza
+ * @version 1.0
+ * @date 18.10.26
+ */
+public class IfStat extends ExecutableStat {
+
+    private final ExecutableNode condition;
+    private final List<ExecutableStat> ifSection;
+    private final List<ExecutableStat> elseSection;
+
+    IfStat(ExecutableNode condition, List<ExecutableStat> ifSection, List<ExecutableStat> elseSection) {
+        this.condition = condition;
+        this.ifSection = ifSection;
+        this.elseSection = elseSection;
+    }
+
+    @Override
+    public AbstractElementType<?> execute(Frame frame) throws VirtualMachineException {
+        AbstractElementType<?> evaluatedCondition = condition.execute(frame);
+
+        assert evaluatedCondition != null;
+        if (!(evaluatedCondition instanceof BooleanElement)) {
+            throw new VirtualMachineException(String.format("Conditions has to be of type boolean not %s!", evaluatedCondition.getType()));
+        }
+
+        if (((BooleanElement) evaluatedCondition).getValue()) {
+            return executeBlock(ifSection, frame);
+        }
+        return executeBlock(elseSection, frame);
+    }
+}
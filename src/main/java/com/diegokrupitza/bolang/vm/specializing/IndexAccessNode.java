@@ -0,0 +1,37 @@
+package com.diegokrupitza.bolang.vm.specializing;
+
+import com.diegokrupitza.bolang.vm.VirtualMachineException;
+import com.diegokrupitza.bolang.vm.types.AbstractElementType;
+import com.diegokrupitza.bolang.vm.utils.Indexes;
+
+/**
+ * Accesses an element of a variable by its index.
+ *
+ * @author Diego Krupitza
+ * @version 1.0
+ * @date 18.10.26
+ */
+public class IndexAccessNode extends ExecutableNode {
+
+    private final String varName;
+    private final int slot;
+    private final ExecutableNode index;
+
+    IndexAccessNode(String varName, int slot, ExecutableNode index) {
+        this.varName = varName;
+        this.slot = slot;
+        this.index = index;
+    }
+
+    @Override
+    public AbstractElementType<?> execute(Frame frame) throws VirtualMachineException {
+        AbstractElementType<?> target = frame.get(slot);
+        if (target == null) {
+            throw new VirtualMachineException(String.format("The variable with the name %s does not exist!", varName));
+        }
+
+        Indexes.checkIndexable(target);
+
+        return Indexes.performIndexAccess(target, index.execute(frame));
+    }
+}
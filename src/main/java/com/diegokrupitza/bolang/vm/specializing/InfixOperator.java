@@ -0,0 +1,168 @@
+package com.diegokrupitza.bolang.vm.specializing;
+
+import com.diegokrupitza.bolang.vm.VirtualMachineException;
+import com.diegokrupitza.bolang.vm.types.AbstractElementType;
+import com.diegokrupitza.bolang.vm.types.DoubleElement;
+import com.diegokrupitza.bolang.vm.types.IntegerElement;
+import com.diegokrupitza.bolang.vm.utils.Booleans;
+import com.diegokrupitza.bolang.vm.utils.Infixes;
+
+/**
+ * All infix operators with their generic implementation and the specialized implementations on unboxed values.
+ * A specialized implementation has to produce exactly the same result as the generic one for the operand types
+ * of its specialization.
+ * <p>
+ * Every specialization is its own small interface and an operator only supports the specializations it has an
+ * implementation of, so there is nothing to call for a specialization an operator does not have.
+ *
+ * @author Diego Krupitza
+ * @version 1.0
+ * @date 18.10.26
+ */
+public enum InfixOperator {
+    ADDITION(Infixes::performAddition,
+            (left, right) -> new IntegerElement(left + right),
+            (left, right) -> new DoubleElement(left + right),
+            null),
+    SUBTRACTION(Infixes::performSubtraction,
+            (left, right) -> new IntegerElement(left - right),
+            (left, right) -> new DoubleElement(left - right),
+            null),
+    MULTIPLICATION(Infixes::performMultiplication,
+            (left, right) -> new IntegerElement(left * right),
+            (left, right) -> new DoubleElement(left * right),
+            null),
+    DIVISION(Infixes::performDivision,
+            (left, right) -> {
+                // only stays an integer when the division works without a remainder
+                if (left % right == 0) {
+                    return new IntegerElement(left / right);
+                }
+                return new DoubleElement((double) left / (double) right);
+            },
+            (left, right) -> new DoubleElement(left / right),
+            null),
+    CONCATENATION(Infixes::performStringConcatenation, null, null, null),
+    // equality on doubles has special cases for mixed types, so it has no numeric specialization
+    EQUALS(Infixes::performEquals, (left, right) -> Booleans.of(left == right), null, null),
+    NOT_EQUALS(Infixes::performNotEquals, (left, right) -> Booleans.of(left != right), null, null),
+    GREATER_EQUAL(Infixes::performGreaterEqual,
+            (left, right) -> Booleans.of(left >= right),
+            (left, right) -> Booleans.of(Double.compare(left, right) >= 0),
+            null),
+    GREATER(Infixes::performGreater,
+            (left, right) -> Booleans.of(left > right),
+            (left, right) -> Booleans.of(Double.compare(left, right) > 0),
+            null),
+    LESS_EQUAL(Infixes::performLessEqual,
+            (left, right) -> Booleans.of(left <= right),
+            (left, right) -> Booleans.of(Double.compare(left, right) <= 0),
+            null),
+    LESS(Infixes::performLess,
+            (left, right) -> Booleans.of(left < right),
+            (left, right) -> Booleans.of(Double.compare(left, right) < 0),
+            null),
+    LOGIC_AND(Infixes::performLogicAnd, null, null, (left, right) -> Booleans.of(left && right)) {
+        @Override
+        AbstractElementType<?> shortCircuit(AbstractElementType<?> left) {
+            return Infixes.isLogicAndDecided(left) ? Booleans.FALSE : null;
+        }
+    },
+    LOGIC_OR(Infixes::performLogicOr, null, null, (left, right) -> Booleans.of(left || right)) {
+        @Override
+        AbstractElementType<?> shortCircuit(AbstractElementType<?> left) {
+            return Infixes.isLogicOrDecided(left) ? Booleans.TRUE : null;
+        }
+    };
+
+    private final GenericOperation generic;
+    private final IntOperation intOperation;
+    private final NumericOperation numericOperation;
+    private final BooleanOperation booleanOperation;
+
+    InfixOperator(GenericOperation generic, IntOperation intOperation, NumericOperation numericOperation, BooleanOperation booleanOperation) {
+        this.generic = generic;
+        this.intOperation = intOperation;
+        this.numericOperation = numericOperation;
+        this.booleanOperation = booleanOperation;
+    }
+
+    /**
+     * Performs the operation on any operands exactly like the tree walker does
+     */
+    AbstractElementType<?> performGeneric(AbstractElementType<?> left, AbstractElementType<?> right) throws VirtualMachineException {
+        return generic.perform(left, right);
+    }
+
+    /**
+     * @return the operation on two integers or <code>null</code> if the operator has no <code>INT_INT</code> specialization
+     */
+    IntOperation getIntOperation() {
+        return intOperation;
+    }
+
+    /**
+     * @return the operation on two numbers or <code>null</code> if the operator has no <code>NUMERIC</code> specialization
+     */
+    NumericOperation getNumericOperation() {
+        return numericOperation;
+    }
+
+    /**
+     * @return the operation on two booleans or <code>null</code> if the operator has no <code>BOOLEAN</code> specialization
+     */
+    BooleanOperation getBooleanOperation() {
+        return booleanOperation;
+    }
+
+    /**
+     * Gets the result of the operation when the left operand alone decides it
+     *
+     * @param left the evaluated left operand
+     * @return the result or <code>null</code> if the right operand is needed
+     */
+    AbstractElementType<?> shortCircuit(AbstractElementType<?> left) {
+        return null;
+    }
+
+    /**
+     * Checks if the operator has an implementation for the given specialization
+     *
+     * @param specialization the specialization to check
+     * @return <code>true</code> when the operator can be specialized that way otherwise <code>false</code>
+     */
+    boolean supports(Specialization specialization) {
+        switch (specialization) {
+            case INT_INT:
+                return intOperation != null;
+            case NUMERIC:
+                return numericOperation != null;
+            case BOOLEAN:
+                return booleanOperation != null;
+            case GENERIC:
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    @FunctionalInterface
+    interface GenericOperation {
+        AbstractElementType<?> perform(AbstractElementType<?> left, AbstractElementType<?> right) throws VirtualMachineException;
+    }
+
+    @FunctionalInterface
+    interface IntOperation {
+        AbstractElementType<?> perform(int left, int right);
+    }
+
+    @FunctionalInterface
+    interface NumericOperation {
+        AbstractElementType<?> perform(double left, double right);
+    }
+
+    @FunctionalInterface
+    interface BooleanOperation {
+        AbstractElementType<?> perform(boolean left, boolean right);
+    }
+}
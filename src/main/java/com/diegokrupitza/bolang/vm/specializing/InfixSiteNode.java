@@ -0,0 +1,128 @@
+package com.diegokrupitza.bolang.vm.specializing;
+
+import com.diegokrupitza.bolang.vm.VirtualMachineException;
+import com.diegokrupitza.bolang.vm.types.AbstractElementType;
+import com.diegokrupitza.bolang.vm.types.BooleanElement;
+import com.diegokrupitza.bolang.vm.types.DoubleElement;
+import com.diegokrupitza.bolang.vm.types.IntegerElement;
+import lombok.Getter;
+
+/**
+ * An infix operation that records the types of the operands it sees and specializes itself on them.
+ * As long as the operands match the current {@link Specialization} the operation is performed on the unboxed values
+ * without any of the generic type dispatching. When the guard fails the site rewrites itself to a more generic
+ * specialization and never goes back, so a site can change its state at most a few times.
+ *
+ * @author Diego Krupitza
+ * @version 1.0
+ * @date 18.10.26
+ */
+public class InfixSiteNode extends ExecutableNode {
+
+    @Getter
+    private final InfixOperator operator;
+
+    private final ExecutableNode left;
+    private final ExecutableNode right;
+
+    /**
+     * skip the right operand when the left one already decides the result
+     */
+    private final boolean shortCircuit;
+
+    @Getter
+    private Specialization specialization = Specialization.UNINITIALIZED;
+
+    InfixSiteNode(InfixOperator operator, ExecutableNode left, ExecutableNode right) {
+        this(operator, left, right, true);
+    }
+
+    InfixSiteNode(InfixOperator operator, ExecutableNode left, ExecutableNode right, boolean shortCircuit) {
+        this.operator = operator;
+        this.left = left;
+        this.right = right;
+        this.shortCircuit = shortCircuit;
+    }
+
+    @Override
+    public AbstractElementType<?> execute(Frame frame) throws VirtualMachineException {
+        // left-right depth search like in the tree walker
+        AbstractElementType<?> leftValue = left.execute(frame);
+
+        if (shortCircuit) {
+            AbstractElementType<?> decided = operator.shortCircuit(leftValue);
+            if (decided != null) {
+                return decided;
+            }
+        }
+
+        AbstractElementType<?> rightValue = right.execute(frame);
+        return perform(leftValue, rightValue);
+    }
+
+    private AbstractElementType<?> perform(AbstractElementType<?> leftValue, AbstractElementType<?> rightValue) throws VirtualMachineException {
+        switch (specialization) {
+            case INT_INT:
+                if (leftValue instanceof IntegerElement && rightValue instanceof IntegerElement) {
+                    return operator.getIntOperation().perform(((IntegerElement) leftValue).getValue(), ((IntegerElement) rightValue).getValue());
+                }
+                break;
+            case NUMERIC:
+                if (isNumber(leftValue) && isNumber(rightValue)) {
+                    return operator.getNumericOperation().perform(toDouble(leftValue), toDouble(rightValue));
+                }
+                break;
+            case BOOLEAN:
+                if (leftValue instanceof BooleanElement && rightValue instanceof BooleanElement) {
+                    return operator.getBooleanOperation().perform(((BooleanElement) leftValue).getValue(), ((BooleanElement) rightValue).getValue());
+                }
+                break;
+            case GENERIC:
+                return operator.performGeneric(leftValue, rightValue);
+            default:
+                break;
+        }
+
+        // either the first execution or the assumption of the specialization does not hold anymore
+        rewrite(leftValue, rightValue);
+        return perform(leftValue, rightValue);
+    }
+
+    private void rewrite(AbstractElementType<?> leftValue, AbstractElementType<?> rightValue) {
+        Specialization observed = observe(leftValue, rightValue);
+
+        Specialization next;
+        if (specialization == Specialization.UNINITIALIZED) {
+            next = observed;
+        } else if (specialization == Specialization.INT_INT && observed == Specialization.NUMERIC) {
+            // mixing in doubles only widens the specialization
+            next = Specialization.NUMERIC;
+        } else {
+            next = Specialization.GENERIC;
+        }
+
+        this.specialization = operator.supports(next) ? next : Specialization.GENERIC;
+    }
+
+    private static Specialization observe(AbstractElementType<?> leftValue, AbstractElementType<?> rightValue) {
+        if (leftValue instanceof IntegerElement && rightValue instanceof IntegerElement) {
+            return Specialization.INT_INT;
+        } else if (isNumber(leftValue) && isNumber(rightValue)) {
+            return Specialization.NUMERIC;
+        } else if (leftValue instanceof BooleanElement && rightValue instanceof BooleanElement) {
+            return Specialization.BOOLEAN;
+        }
+        return Specialization.GENERIC;
+    }
+
+    private static boolean isNumber(AbstractElementType<?> value) {
+        return value instanceof IntegerElement || value instanceof DoubleElement;
+    }
+
+    private static double toDouble(AbstractElementType<?> value) {
+        if (value instanceof IntegerElement) {
+            return ((IntegerElement) value).getValue();
+        }
+        return ((DoubleElement) value).getValue();
+    }
+}
@@ -0,0 +1,27 @@
+package com.diegokrupitza.bolang.vm.specializing;
+
+import com.diegokrupitza.bolang.vm.types.AbstractElementType;
+
+import java.util.function.Supplier;
+
+/**
+ * A constant of the program. Every execution creates a fresh element, since some operations change the
+ * elements they work on.
+ *
+ * @author Diego Krupitza
+ * @version 1.0
+ * @date 18.10.26
+ */
+public class LiteralNode extends ExecutableNode {
+
+    private final Supplier<AbstractElementType<?>> factory;
+
+    LiteralNode(Supplier<AbstractElementType<?>> factory) {
+        this.factory = factory;
+    }
+
+    @Override
+    public AbstractElementType<?> execute(Frame frame) {
+        return factory.get();
+    }
+}
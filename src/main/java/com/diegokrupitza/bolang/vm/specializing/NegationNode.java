@@ -0,0 +1,26 @@
+package com.diegokrupitza.bolang.vm.specializing;
+
+import com.diegokrupitza.bolang.vm.VirtualMachineException;
+import com.diegokrupitza.bolang.vm.types.AbstractElementType;
+import com.diegokrupitza.bolang.vm.utils.Unarys;
+
+/**
+ * The unary negation of an expression.
+ *
+ * @author Diego Krupitza
+ * @version 1.0
+ * @date 18.10.26
+ */
+public class NegationNode extends ExecutableNode {
+
+    private final ExecutableNode inner;
+
+    NegationNode(ExecutableNode inner) {
+        this.inner = inner;
+    }
+
+    @Override
+    public AbstractElementType<?> execute(Frame frame) throws VirtualMachineException {
+        return Unarys.performNegation(inner.execute(frame));
+    }
+}
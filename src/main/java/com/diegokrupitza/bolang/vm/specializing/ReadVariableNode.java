@@ -0,0 +1,31 @@
+package com.diegokrupitza.bolang.vm.specializing;
+
+import com.diegokrupitza.bolang.vm.VirtualMachineException;
+import com.diegokrupitza.bolang.vm.types.AbstractElementType;
+
+/**
+ * Reads the current value of a variable.
+ *
+ * @author Diego Krupitza
+ * @version 1.0
+ * @date 18.10.26
+ */
+public class ReadVariableNode extends ExecutableNode {
+
+    private final String varName;
+    private final int slot;
+
+    ReadVariableNode(String varName, int slot) {
+        this.varName = varName;
+        this.slot = slot;
+    }
+
+    @Override
+    public AbstractElementType<?> execute(Frame frame) throws VirtualMachineException {
+        AbstractElementType<?> value = frame.get(slot);
+        if (value == null) {
+            throw new VirtualMachineException(String.format("The variable with the name %s does not exist!", varName));
+        }
+        return value;
+    }
+}
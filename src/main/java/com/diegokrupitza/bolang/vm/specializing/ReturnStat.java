@@ -0,0 +1,33 @@
+package com.diegokrupitza.bolang.vm.specializing;
+
+import com.diegokrupitza.bolang.vm.VirtualMachineException;
+import com.diegokrupitza.bolang.vm.types.AbstractElementType;
+import com.diegokrupitza.bolang.vm.types.Type;
+import com.diegokrupitza.bolang.vm.utils.Types;
+
+/**
+ * Returns the value of an expression.
+ *
+ * @author Diego Krupitza
+ * @version 1.0
+ * @date 18.10.26
+ */
+public class ReturnStat extends ExecutableStat {
+
+    private final ExecutableNode ret;
+
+    ReturnStat(ExecutableNode ret) {
+        this.ret = ret;
+    }
+
+    @Override
+    public AbstractElementType<?> execute(Frame frame) throws VirtualMachineException {
+        AbstractElementType<?> value = ret.execute(frame);
+
+        // voids cannot be returned
+        if (Types.isOfType(Type.VOID, value)) {
+            throw new VirtualMachineException("You cannot return a void");
+        }
+        return value;
+    }
+}
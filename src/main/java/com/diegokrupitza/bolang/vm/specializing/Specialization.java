@@ -0,0 +1,31 @@
+package com.diegokrupitza.bolang.vm.specializing;
+
+/**
+ * The states an {@link InfixSiteNode} can be in. A site starts uninitialized, specializes on the operand types of
+ * its first execution and gets more generic every time its assumption does not hold anymore.
+ * <p>
+ * <code>UNINITIALIZED -> INT_INT -> NUMERIC -> GENERIC</code> and <code>UNINITIALIZED -> BOOLEAN -> GENERIC</code>
+ *
+ * @author Diego Krupitza
+ * @version 1.0
+ * @date 18.10.26
+ */
+public enum Specialization {
+    UNINITIALIZED,
+    /**
+     * both operands are integers
+     */
+    INT_INT,
+    /**
+     * both operands are numbers, at least one of them a double
+     */
+    NUMERIC,
+    /**
+     * both operands are booleans
+     */
+    BOOLEAN,
+    /**
+     * any operands, the operation is performed by the same code as in the tree walker
+     */
+    GENERIC
+}
@@ -0,0 +1,136 @@
+package com.diegokrupitza.bolang.vm.specializing;
+
+import com.diegokrupitza.bolang.syntaxtree.nodes.BoNode;
+import com.diegokrupitza.bolang.syntaxtree.nodes.FunctionNode;
+import com.diegokrupitza.bolang.vm.AbstractVirtualMachine;
+import com.diegokrupitza.bolang.vm.VirtualMachineException;
+import com.diegokrupitza.bolang.vm.VirtualMachineSettings;
+import com.diegokrupitza.bolang.vm.functions.CallSite;
+import com.diegokrupitza.bolang.vm.functions.Function;
+import com.diegokrupitza.bolang.vm.functions.exceptions.BoFunctionException;
+import com.diegokrupitza.bolang.vm.types.AbstractElementType;
+import com.diegokrupitza.bolang.vm.types.StringElement;
+import com.diegokrupitza.bolang.vm.types.VoidElement;
+
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Engine that translates the AST into a tree of self executing nodes. The infix operations of that tree record the
+ * types they see and specialize themselves on them (see {@link InfixSiteNode}). Since the tree of the program and
+ * of every function is built only once per virtual machine, the specializations survive across calls and runs.
+ *
+ * @author Diego Krupitza
+ * @version 1.0
+ * @date 18.10.26
+ */
+public class SpecializingVirtualMachine extends AbstractVirtualMachine {
+
+    private final ExecutableTreeBuilder treeBuilder;
+
+    private final Map<FunctionNode, List<ExecutableStat>> functionBodies = new IdentityHashMap<>();
+
+    private final List<ExecutableStat> program;
+
+    /**
+     * the function a {@link TailCallStat} handed over, it gets executed once the frame of the caller is left
+     */
+    private FunctionNode tailCallFunction = null;
+    private AbstractElementType<?>[] tailCallParams = null;
+
+    public SpecializingVirtualMachine(BoNode programHead) throws VirtualMachineException {
+        this(programHead, VirtualMachineSettings.DEFAULT);
+    }
+
+    public SpecializingVirtualMachine(BoNode programHead, VirtualMachineSettings settings) throws VirtualMachineException {
+        super(programHead, settings);
+        this.treeBuilder = new ExecutableTreeBuilder(settings);
+        this.program = treeBuilder.buildBlock(programHead.getStats());
+    }
+
+    @Override
+    protected AbstractElementType<?> execute() throws VirtualMachineException {
+        return runTailCalls(ExecutableStat.executeBlock(program, new Frame(this, getProgramHead().getFrameSize())));
+    }
+
+    AbstractElementType<?> externalParam(String name) throws VirtualMachineException {
+        // all params are strings the coder needs to convert them into other formates by hand
+        if (!getExternalParams().containsKey(name)) {
+            throw new VirtualMachineException(String.format("The external parameter `%s` you want to access does not exist!", name));
+        }
+        return new StringElement(getExternalParams().get(name));
+    }
+
+    AbstractElementType<?> call(CallSite callSite, AbstractElementType<?>[] params) throws VirtualMachineException {
+        // check if it is not a predefined function by the BoLang
+        if (!callSite.isPredefined()) {
+            // its not a predefined function aka we should have it in our functiontable
+            FunctionNode functionNode = callSite.getFunction(getFunctionTable());
+
+            // the return values of pure functions are remembered
+            List<Object> memoKey = memoKeyOf(callSite.getModule(), functionNode, Arrays.asList(params));
+            AbstractElementType<?> memoized = memoKey == null ? null : getMemoTable().get(memoKey);
+            if (memoized != null) {
+                return memoized;
+            }
+
+            AbstractElementType<?> returnedVal = Objects.requireNonNullElse(runTailCalls(executeFunction(functionNode, params)), VoidElement.NO_VALUE);
+            if (memoKey != null) {
+                getMemoTable().put(memoKey, returnedVal);
+            }
+            return returnedVal;
+        }
+
+        try {
+            Function<?> function = callSite.getPredefinedFunction();
+            return function.call(Arrays.asList(params));
+        } catch (BoFunctionException e) {
+            throw new VirtualMachineException(e.getMessage());
+        }
+    }
+
+    void tailCall(CallSite callSite, AbstractElementType<?>[] params) throws VirtualMachineException {
+        this.tailCallFunction = callSite.getFunction(getFunctionTable());
+        this.tailCallParams = params;
+    }
+
+    /**
+     * Executes the pending tail calls one after another, until a function returns a value
+     *
+     * @param returnedVal the value the code returned that was executed last
+     * @return the value the last function of the chain returned
+     * @throws VirtualMachineException in case any error happens during runtime
+     */
+    private AbstractElementType<?> runTailCalls(AbstractElementType<?> returnedVal) throws VirtualMachineException {
+        while (returnedVal == TailCallStat.PENDING) {
+            FunctionNode functionNode = this.tailCallFunction;
+            AbstractElementType<?>[] params = this.tailCallParams;
+            this.tailCallFunction = null;
+            this.tailCallParams = null;
+
+            returnedVal = executeFunction(functionNode, params);
+
+            // the call was the value of a return statement, so it has to produce a value
+            if (returnedVal == null) {
+                throw new VirtualMachineException("You cannot return a void");
+            }
+        }
+        return returnedVal;
+    }
+
+    private AbstractElementType<?> executeFunction(FunctionNode functionNode, AbstractElementType<?>[] params) throws VirtualMachineException {
+        // function calls have their own frame, the params are in the first slots
+        Frame frame = new Frame(this, functionNode.getFrameSize());
+        for (int i = 0; i < params.length; i++) {
+            frame.set(i, params[i]);
+        }
+        return ExecutableStat.executeBlock(getFunctionBody(functionNode), frame);
+    }
+
+    private List<ExecutableStat> getFunctionBody(FunctionNode functionNode) {
+        return functionBodies.computeIfAbsent(functionNode, item -> treeBuilder.buildBlock(item.getBody()));
+    }
+}
@@ -0,0 +1,44 @@
+package com.diegokrupitza.bolang.vm.specializing;
+
+import com.diegokrupitza.bolang.vm.VirtualMachineException;
+import com.diegokrupitza.bolang.vm.functions.CallSite;
+import com.diegokrupitza.bolang.vm.types.AbstractElementType;
+import com.diegokrupitza.bolang.vm.types.VoidElement;
+
+import java.util.List;
+
+/**
+ * Returns the result of a self defined/imported function. Instead of calling the function nested in the current one,
+ * the call is handed to the virtual machine, which executes it after the current function was left. This way
+ * recursions in tail position run in constant stack.
+ *
+ * @author Diego Krupitza
+ * @version 1.0
+ * @date 18.10.26
+ */
+public class TailCallStat extends ExecutableStat {
+
+    /**
+     * returned instead of a value when the call was handed to the virtual machine. A return statement never returns
+     * a void, so this cannot be mistaken for a returned value
+     */
+    static final AbstractElementType<?> PENDING = VoidElement.NO_VALUE;
+
+    private final CallSite callSite;
+    private final List<ExecutableNode> params;
+
+    TailCallStat(CallSite callSite, List<ExecutableNode> params) {
+        this.callSite = callSite;
+        this.params = params;
+    }
+
+    @Override
+    public AbstractElementType<?> execute(Frame frame) throws VirtualMachineException {
+        AbstractElementType<?>[] evaledParams = new AbstractElementType<?>[params.size()];
+        for (int i = 0; i < evaledParams.length; i++) {
+            evaledParams[i] = params.get(i).execute(frame);
+        }
+        frame.getVirtualMachine().tailCall(callSite, evaledParams);
+        return PENDING;
+    }
+}
@@ -34,7 +34,7 @@ public abstract class AbstractElementType<T> {
             case ARRAY:
                 return Arrays.toString((ArrayElement) this);
             case STRING:
-                return "\"" + ((String) value) + "\"";
+                return "\"" + ((String) getValue()) + "\"";
             case BOOLEAN:
                 return ((Boolean) value).toString();
             case VOID:
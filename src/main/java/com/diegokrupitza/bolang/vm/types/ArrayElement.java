@@ -3,10 +3,13 @@ package com.diegokrupitza.bolang.vm.types;
 import com.diegokrupitza.bolang.vm.VirtualMachineException;
 import lombok.NonNull;
 
-import java.util.ArrayList;
 import java.util.List;
 
 /**
+ * An array of BoLang. Arrays that only hold integers, doubles or booleans are stored as primitive Java array, see
+ * {@link ElementList}. The primitive values can be accessed directly for fast element-wise operations. Copies and
+ * slices share the items with the array they were created from.
+ *
  * @author Diego Krupitza
  * @version 1.0
  * @date 11.07.21
@@ -14,11 +17,54 @@ import java.util.List;
 public class ArrayElement extends AbstractElementType<List<AbstractElementType<?>>> {
 
     public ArrayElement() {
-        super(new ArrayList<>(), Type.ARRAY);
+        super(new ElementList(), Type.ARRAY);
     }
 
     public ArrayElement(@NonNull List<AbstractElementType<?>> value) {
-        super(value, Type.ARRAY);
+        super(toElementList(value), Type.ARRAY);
+    }
+
+    /**
+     * Creates an array of integers that uses the given Java array as storage
+     *
+     * @param values the integers, the array must not be changed afterwards
+     */
+    public ArrayElement(@NonNull int[] values) {
+        super(new ElementList(values), Type.ARRAY);
+    }
+
+    /**
+     * Creates an array of doubles that uses the given Java array as storage
+     *
+     * @param values the doubles, the array must not be changed afterwards
+     */
+    public ArrayElement(@NonNull double[] values) {
+        super(new ElementList(values), Type.ARRAY);
+    }
+
+    /**
+     * Creates an array of booleans that uses the given Java array as storage
+     *
+     * @param values the booleans, the array must not be changed afterwards
+     */
+    public ArrayElement(@NonNull boolean[] values) {
+        super(new ElementList(values), Type.ARRAY);
+    }
+
+    private static ElementList toElementList(List<AbstractElementType<?>> value) {
+        if (value instanceof ElementList) {
+            // the items are shared until one of the lists gets changed
+            return ((ElementList) value).copy();
+        }
+
+        ElementList elementList = new ElementList();
+        elementList.addAll(value);
+        return elementList;
+    }
+
+    @Override
+    public void setValue(List<AbstractElementType<?>> value) {
+        super.setValue(toElementList(value));
     }
 
     public void add(AbstractElementType<?> value) {
@@ -40,7 +86,61 @@ public class ArrayElement extends AbstractElementType<List<AbstractElementType<?
         return this.getValue().get(index);
     }
 
+    /**
+     * Gets the items from the given index on. The returned list shares the items with this array without copying them,
+     * changes of the one are not visible in the other
+     *
+     * @param i the index of the first item
+     * @return the items from the index on
+     */
     public List<AbstractElementType<?>> getFromIndex(int i) {
-        return this.getValue().subList(i, this.getValue().size());
+        return ((ElementList) this.getValue()).slice(i);
+    }
+
+    /**
+     * Creates a copy of the array in constant time, the items are shared until one of the arrays gets changed
+     *
+     * @return the copy
+     */
+    public ArrayElement copy() {
+        return new ArrayElement(this.getValue());
+    }
+
+    /**
+     * Gets the type all elements of the array share if they are stored as primitives
+     *
+     * @return {@link Type#INTEGER_NUMBER}, {@link Type#DOUBLE}, {@link Type#BOOLEAN} or <code>null</code> if the array
+     * stores elements
+     */
+    public Type getElementType() {
+        return ((ElementList) this.getValue()).getStorage();
+    }
+
+    /**
+     * @return <code>true</code> if a copy or a slice may still use the backing array of this array
+     */
+    public boolean isStorageShared() {
+        return ((ElementList) this.getValue()).isShared();
+    }
+
+    /**
+     * @return the integers of an array of integers, the returned array must not be changed
+     */
+    public int[] getIntValues() {
+        return ((ElementList) this.getValue()).getInts();
+    }
+
+    /**
+     * @return the doubles of an array of doubles, the returned array must not be changed
+     */
+    public double[] getDoubleValues() {
+        return ((ElementList) this.getValue()).getDoubles();
+    }
+
+    /**
+     * @return the booleans of an array of booleans, the returned array must not be changed
+     */
+    public boolean[] getBooleanValues() {
+        return ((ElementList) this.getValue()).getBooleans();
     }
 }
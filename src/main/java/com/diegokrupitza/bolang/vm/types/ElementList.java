@@ -0,0 +1,390 @@
+package com.diegokrupitza.bolang.vm.types;
+
+import com.diegokrupitza.bolang.vm.utils.Booleans;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.RandomAccess;
+
+/**
+ * The list behind every {@link ArrayElement}. As long as all elements are integers, doubles or booleans they are
+ * stored in an <code>int[]</code>, <code>double[]</code> or <code>boolean[]</code>. The first element of another type
+ * switches the list to an array of elements, which it keeps from then on.
+ * <p>
+ * Elements of a primitive list are created whenever they are read, so reading the same index twice gives two equal
+ * but different elements.
+ * <p>
+ * Slices, copies and appending to an empty list share the backing array instead of copying it. A list that shares its
+ * backing array copies it before its first change (copy on write), so the lists never see the changes of each other.
+ *
+ * @author Diego Krupitza
+ * @version 1.0
+ * @date 18.10.26
+ */
+final class ElementList extends AbstractList<AbstractElementType<?>> implements RandomAccess {
+
+    private static final int DEFAULT_CAPACITY = 8;
+
+    /**
+     * {@link Type#INTEGER_NUMBER}, {@link Type#DOUBLE} or {@link Type#BOOLEAN} for a primitive list and
+     * <code>null</code> for a list of elements
+     */
+    private Type storage;
+
+    private int[] ints;
+    private double[] doubles;
+    private boolean[] booleans;
+    private AbstractElementType<?>[] elements;
+
+    /**
+     * the index of the first item in the backing array, only a shared list starts somewhere else than at 0
+     */
+    private int offset;
+    private int size;
+
+    /**
+     * <code>true</code> if another list may use the same backing array, it gets copied before the first change
+     */
+    private boolean shared;
+
+    ElementList() {
+        this.storage = null;
+        this.elements = new AbstractElementType<?>[0];
+    }
+
+    ElementList(int[] values) {
+        this.storage = Type.INTEGER_NUMBER;
+        this.ints = values;
+        this.size = values.length;
+    }
+
+    ElementList(double[] values) {
+        this.storage = Type.DOUBLE;
+        this.doubles = values;
+        this.size = values.length;
+    }
+
+    ElementList(boolean[] values) {
+        this.storage = Type.BOOLEAN;
+        this.booleans = values;
+        this.size = values.length;
+    }
+
+    Type getStorage() {
+        return storage;
+    }
+
+    boolean isShared() {
+        return shared;
+    }
+
+    int[] getInts() {
+        if (offset != 0 || ints.length != size) {
+            ints = Arrays.copyOfRange(ints, offset, offset + size);
+            offset = 0;
+            shared = false;
+        }
+        return ints;
+    }
+
+    double[] getDoubles() {
+        if (offset != 0 || doubles.length != size) {
+            doubles = Arrays.copyOfRange(doubles, offset, offset + size);
+            offset = 0;
+            shared = false;
+        }
+        return doubles;
+    }
+
+    boolean[] getBooleans() {
+        if (offset != 0 || booleans.length != size) {
+            booleans = Arrays.copyOfRange(booleans, offset, offset + size);
+            offset = 0;
+            shared = false;
+        }
+        return booleans;
+    }
+
+    /**
+     * Creates a list of the items from the given index on. The new list shares the backing array with this one
+     *
+     * @param from the index of the first item of the slice
+     * @return the slice
+     */
+    ElementList slice(int from) {
+        checkIndex(from, size + 1);
+        ElementList slice = new ElementList();
+        slice.share(this, from, size - from);
+        return slice;
+    }
+
+    /**
+     * @return a copy of the list that shares the backing array with this one
+     */
+    ElementList copy() {
+        return slice(0);
+    }
+
+    private void share(ElementList other, int from, int length) {
+        this.storage = other.storage;
+        this.ints = other.ints;
+        this.doubles = other.doubles;
+        this.booleans = other.booleans;
+        this.elements = other.elements;
+        this.offset = other.offset + from;
+        this.size = length;
+        this.shared = true;
+        other.shared = true;
+        modCount++;
+    }
+
+    @Override
+    public AbstractElementType<?> get(int index) {
+        checkIndex(index, size);
+        if (storage == Type.INTEGER_NUMBER) {
+            return new IntegerElement(ints[offset + index]);
+        } else if (storage == Type.DOUBLE) {
+            return new DoubleElement(doubles[offset + index]);
+        } else if (storage == Type.BOOLEAN) {
+            return Booleans.of(booleans[offset + index]);
+        }
+        return elements[offset + index];
+    }
+
+    @Override
+    public AbstractElementType<?> set(int index, AbstractElementType<?> element) {
+        checkIndex(index, size);
+        AbstractElementType<?> old = get(index);
+        if (!fits(element)) {
+            toElements();
+        }
+        unshare();
+
+        if (storage == Type.INTEGER_NUMBER) {
+            ints[index] = ((IntegerElement) element).getValue();
+        } else if (storage == Type.DOUBLE) {
+            doubles[index] = ((DoubleElement) element).getValue();
+        } else if (storage == Type.BOOLEAN) {
+            booleans[index] = ((BooleanElement) element).getValue();
+        } else {
+            elements[index] = element;
+        }
+        return old;
+    }
+
+    @Override
+    public void add(int index, AbstractElementType<?> element) {
+        checkIndex(index, size + 1);
+
+        // the first element decides how an empty list is stored
+        if (size == 0) {
+            useStorageOf(element);
+        } else if (!fits(element)) {
+            toElements();
+        }
+
+        unshare();
+        ensureCapacity(size + 1);
+        if (storage == Type.INTEGER_NUMBER) {
+            System.arraycopy(ints, index, ints, index + 1, size - index);
+            ints[index] = ((IntegerElement) element).getValue();
+        } else if (storage == Type.DOUBLE) {
+            System.arraycopy(doubles, index, doubles, index + 1, size - index);
+            doubles[index] = ((DoubleElement) element).getValue();
+        } else if (storage == Type.BOOLEAN) {
+            System.arraycopy(booleans, index, booleans, index + 1, size - index);
+            booleans[index] = ((BooleanElement) element).getValue();
+        } else {
+            System.arraycopy(elements, index, elements, index + 1, size - index);
+            elements[index] = element;
+        }
+        size++;
+        modCount++;
+    }
+
+    @Override
+    public AbstractElementType<?> remove(int index) {
+        checkIndex(index, size);
+        AbstractElementType<?> old = get(index);
+        unshare();
+
+        int moved = size - index - 1;
+        if (storage == Type.INTEGER_NUMBER) {
+            System.arraycopy(ints, index + 1, ints, index, moved);
+        } else if (storage == Type.DOUBLE) {
+            System.arraycopy(doubles, index + 1, doubles, index, moved);
+        } else if (storage == Type.BOOLEAN) {
+            System.arraycopy(booleans, index + 1, booleans, index, moved);
+        } else {
+            System.arraycopy(elements, index + 1, elements, index, moved);
+            elements[size - 1] = null;
+        }
+        size--;
+        modCount++;
+        return old;
+    }
+
+    @Override
+    public boolean addAll(Collection<? extends AbstractElementType<?>> collection) {
+        if (!(collection instanceof ElementList) || collection.isEmpty()) {
+            return super.addAll(collection);
+        }
+
+        ElementList other = (ElementList) collection;
+        if (size == 0) {
+            // an empty list simply uses the items of the other one
+            share(other, 0, other.size);
+            return true;
+        } else if (storage != other.storage) {
+            return super.addAll(collection);
+        }
+
+        // the same storage, so the items are copied in one go
+        int length = other.size;
+        int from = other.offset;
+        unshare();
+        ensureCapacity(size + length);
+        if (storage == Type.INTEGER_NUMBER) {
+            System.arraycopy(other.ints, from, ints, size, length);
+        } else if (storage == Type.DOUBLE) {
+            System.arraycopy(other.doubles, from, doubles, size, length);
+        } else if (storage == Type.BOOLEAN) {
+            System.arraycopy(other.booleans, from, booleans, size, length);
+        } else {
+            System.arraycopy(other.elements, from, elements, size, length);
+        }
+        size += length;
+        modCount++;
+        return true;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (o instanceof ElementList && storage != null && storage == ((ElementList) o).storage) {
+            // lists of the same primitive type are compared on the arrays, for doubles the same way Double#equals does
+            ElementList that = (ElementList) o;
+            if (storage == Type.INTEGER_NUMBER) {
+                return Arrays.equals(ints, offset, offset + size, that.ints, that.offset, that.offset + that.size);
+            } else if (storage == Type.DOUBLE) {
+                return Arrays.equals(doubles, offset, offset + size, that.doubles, that.offset, that.offset + that.size);
+            }
+            return Arrays.equals(booleans, offset, offset + size, that.booleans, that.offset, that.offset + that.size);
+        }
+        return super.equals(o);
+    }
+
+    @Override
+    public int hashCode() {
+        return super.hashCode();
+    }
+
+    private boolean fits(AbstractElementType<?> element) {
+        if (storage == Type.INTEGER_NUMBER) {
+            return element instanceof IntegerElement;
+        } else if (storage == Type.DOUBLE) {
+            return element instanceof DoubleElement;
+        } else if (storage == Type.BOOLEAN) {
+            return element instanceof BooleanElement;
+        }
+        return true;
+    }
+
+    private void useStorageOf(AbstractElementType<?> element) {
+        this.offset = 0;
+        this.shared = false;
+        this.ints = null;
+        this.doubles = null;
+        this.booleans = null;
+        this.elements = null;
+
+        if (element instanceof IntegerElement) {
+            this.storage = Type.INTEGER_NUMBER;
+            this.ints = new int[DEFAULT_CAPACITY];
+        } else if (element instanceof DoubleElement) {
+            this.storage = Type.DOUBLE;
+            this.doubles = new double[DEFAULT_CAPACITY];
+        } else if (element instanceof BooleanElement) {
+            this.storage = Type.BOOLEAN;
+            this.booleans = new boolean[DEFAULT_CAPACITY];
+        } else {
+            this.storage = null;
+            this.elements = new AbstractElementType<?>[DEFAULT_CAPACITY];
+        }
+    }
+
+    /**
+     * Switches a primitive list to a list of elements
+     */
+    private void toElements() {
+        AbstractElementType<?>[] converted = new AbstractElementType<?>[Math.max(size + 1, DEFAULT_CAPACITY)];
+        for (int i = 0; i < size; i++) {
+            converted[i] = get(i);
+        }
+
+        this.storage = null;
+        this.ints = null;
+        this.doubles = null;
+        this.booleans = null;
+        this.elements = converted;
+        this.offset = 0;
+        this.shared = false;
+    }
+
+    /**
+     * Gives the list its own backing array before it gets changed, if the current one may be used by another list
+     */
+    private void unshare() {
+        if (!shared) {
+            return;
+        }
+
+        int capacity = Math.max(size, DEFAULT_CAPACITY);
+        if (storage == Type.INTEGER_NUMBER) {
+            ints = Arrays.copyOfRange(ints, offset, offset + capacity);
+        } else if (storage == Type.DOUBLE) {
+            doubles = Arrays.copyOfRange(doubles, offset, offset + capacity);
+        } else if (storage == Type.BOOLEAN) {
+            booleans = Arrays.copyOfRange(booleans, offset, offset + capacity);
+        } else {
+            elements = Arrays.copyOfRange(elements, offset, offset + capacity);
+        }
+        offset = 0;
+        shared = false;
+    }
+
+    /**
+     * Grows the backing array of a list that does not share it
+     */
+    private void ensureCapacity(int capacity) {
+        int length = storage == Type.INTEGER_NUMBER ? ints.length
+                : storage == Type.DOUBLE ? doubles.length
+                : storage == Type.BOOLEAN ? booleans.length
+                : elements.length;
+        if (capacity <= length) {
+            return;
+        }
+
+        int newLength = Math.max(capacity, length + (length >> 1) + 1);
+        if (storage == Type.INTEGER_NUMBER) {
+            ints = Arrays.copyOf(ints, newLength);
+        } else if (storage == Type.DOUBLE) {
+            doubles = Arrays.copyOf(doubles, newLength);
+        } else if (storage == Type.BOOLEAN) {
+            booleans = Arrays.copyOf(booleans, newLength);
+        } else {
+            elements = Arrays.copyOf(elements, newLength);
+        }
+    }
+
+    private static void checkIndex(int index, int bound) {
+        if (index < 0 || index >= bound) {
+            throw new IndexOutOfBoundsException(String.format("Index %d out of bounds for length %d", index, bound));
+        }
+    }
+}
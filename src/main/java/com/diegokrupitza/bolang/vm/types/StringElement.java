@@ -3,19 +3,118 @@ package com.diegokrupitza.bolang.vm.types;
 import com.diegokrupitza.bolang.vm.VirtualMachineException;
 import lombok.NonNull;
 
+import java.util.ArrayDeque;
+import java.util.Deque;
+
 /**
+ * A string of BoLang. Concatenations are kept as rope, an element that only remembers its two parts. The characters
+ * are copied together once the value is needed the first time, e.g. when it gets indexed, compared or printed. So
+ * building a string piece by piece only copies it once instead of on every concatenation.
+ *
  * @author Diego Krupitza
  * @version 1.0
  * @date 11.07.21
  */
 public class StringElement extends AbstractElementType<String> {
 
+    /**
+     * concatenations up to this length are done right away, a rope would not pay off
+     */
+    private static final int FLAT_CONCAT_LENGTH = 64;
+
+    /**
+     * the left and right part of a concatenation that was not flattened yet, <code>null</code> if the value is
+     * available. It is volatile so a string that gets flattened by another thread is never seen without its value
+     */
+    private volatile StringElement[] parts;
+
+    private final int length;
+
     public StringElement() {
         super("", Type.STRING);
+        this.length = 0;
     }
 
     public StringElement(@NonNull String value) {
         super(value, Type.STRING);
+        this.length = value.length();
+    }
+
+    private StringElement(StringElement left, StringElement right) {
+        super(null, Type.STRING);
+        this.parts = new StringElement[]{left, right};
+        this.length = left.length() + right.length();
+    }
+
+    /**
+     * Concatenates two strings. Longer strings are not copied, the result only refers to both parts
+     *
+     * @param left  the left part
+     * @param right the right part
+     * @return the concatenation of both
+     */
+    public static StringElement concat(@NonNull StringElement left, @NonNull StringElement right) {
+        if (left.length() + right.length() <= FLAT_CONCAT_LENGTH && left.isFlat() && right.isFlat()) {
+            return new StringElement(left.getValue() + right.getValue());
+        }
+        return new StringElement(left, right);
+    }
+
+    @Override
+    public String getValue() {
+        StringElement[] currentParts = this.parts;
+        if (currentParts != null) {
+            return flatten(currentParts);
+        }
+        return super.getValue();
+    }
+
+    @Override
+    public void setValue(String value) {
+        super.setValue(value);
+        this.parts = null;
+    }
+
+    /**
+     * @return the number of characters without flattening the string
+     */
+    public int length() {
+        return this.parts != null ? length : super.getValue().length();
+    }
+
+    private boolean isFlat() {
+        return this.parts == null;
+    }
+
+    /**
+     * Copies the characters of all parts together. The parts are written from the end on, so the left leaning rope an
+     * accumulation builds only needs a small stack
+     */
+    private String flatten(StringElement[] currentParts) {
+        char[] chars = new char[length];
+        int end = length;
+
+        Deque<StringElement> toWrite = new ArrayDeque<>();
+        toWrite.push(currentParts[0]);
+        toWrite.push(currentParts[1]);
+        while (!toWrite.isEmpty()) {
+            StringElement part = toWrite.pop();
+            StringElement[] partParts = part.parts;
+            if (partParts == null) {
+                String partValue = part.getValue();
+                end -= partValue.length();
+                partValue.getChars(0, partValue.length(), chars, end);
+            } else {
+                toWrite.push(partParts[0]);
+                toWrite.push(partParts[1]);
+            }
+        }
+
+        String value = new String(chars);
+        super.setValue(value);
+        // the parts are not needed anymore
+        this.parts = null;
+        return value;
     }
 
     public StringElement get(int index) throws VirtualMachineException {
@@ -0,0 +1,184 @@
+package com.diegokrupitza.bolang.vm.types;
+
+import com.diegokrupitza.bolang.vm.utils.Booleans;
+import com.diegokrupitza.bolang.vm.utils.FusedArray;
+
+/**
+ * A value that can hold an integer, a double or a boolean without an element object around it. The value is stored
+ * as a tagged long: the tag is the type and the bits are the integer, the raw bits of the double or 0/1 for a boolean.
+ * Every other value is kept as element.
+ * <p>
+ * The evaluator keeps intermediate results of arithmetic, comparisons and logic in these registers and only
+ * materializes an element with {@link #box()} once the result escapes into a variable, an array or a call. A register
+ * is reused over and over, so it must never be handed out.
+ * <p>
+ * Element-wise arithmetic on arrays is collected in a {@link FusedArray} the same way, the resulting array is only
+ * calculated once it gets boxed.
+ *
+ * @author Diego Krupitza
+ * @version 1.0
+ * @date 18.10.26
+ */
+public final class UnboxedValue {
+
+    /**
+     * {@link Type#INTEGER_NUMBER}, {@link Type#DOUBLE}, {@link Type#BOOLEAN} or <code>null</code> if the value is only
+     * available as element
+     */
+    private Type tag;
+
+    private long bits;
+
+    /**
+     * the element of the value if there already is one, so boxing it again does not create a new one
+     */
+    private AbstractElementType<?> element;
+
+    /**
+     * the element-wise operations on arrays that are not calculated yet
+     */
+    private FusedArray fused;
+
+    /**
+     * <code>true</code> if the element is not used anymore after the operation, so its storage may take the result
+     */
+    private boolean consumable;
+
+    public void setInteger(int value) {
+        this.tag = Type.INTEGER_NUMBER;
+        this.bits = value;
+        this.element = null;
+        this.fused = null;
+        this.consumable = false;
+    }
+
+    public void setDouble(double value) {
+        this.tag = Type.DOUBLE;
+        this.bits = Double.doubleToRawLongBits(value);
+        this.element = null;
+        this.fused = null;
+        this.consumable = false;
+    }
+
+    public void setBoolean(boolean value) {
+        this.tag = Type.BOOLEAN;
+        this.bits = value ? 1 : 0;
+        this.element = null;
+        this.fused = null;
+        this.consumable = false;
+    }
+
+    /**
+     * Sets the value to the given element. Integers, doubles and booleans get unboxed, the element is remembered anyway
+     *
+     * @param value the element
+     */
+    public void setElement(AbstractElementType<?> value) {
+        if (value instanceof IntegerElement) {
+            setInteger(((IntegerElement) value).getValue());
+        } else if (value instanceof DoubleElement) {
+            setDouble(((DoubleElement) value).getValue());
+        } else if (value instanceof BooleanElement) {
+            setBoolean(((BooleanElement) value).getValue());
+        } else {
+            this.tag = null;
+            this.bits = 0;
+        }
+        this.element = value;
+        this.fused = null;
+        this.consumable = false;
+    }
+
+    /**
+     * Sets the value to element-wise operations on arrays, they are calculated once the value gets boxed
+     *
+     * @param value the operations
+     */
+    public void setFused(FusedArray value) {
+        this.tag = null;
+        this.bits = 0;
+        this.element = null;
+        this.fused = value;
+        this.consumable = false;
+    }
+
+    /**
+     * Sets the value to an element that is not used anymore after the operation, like a variable that is read for
+     * the last time
+     *
+     * @param value the element
+     */
+    public void setConsumedElement(AbstractElementType<?> value) {
+        setElement(value);
+        this.consumable = true;
+    }
+
+    /**
+     * Gets the value as operand of element-wise operations
+     *
+     * @return the pending operations, the wrapped element or <code>null</code> if the value cannot be combined
+     */
+    public FusedArray getFused() {
+        if (fused != null) {
+            return fused;
+        } else if (tag == Type.BOOLEAN) {
+            return null;
+        }
+        return FusedArray.of(box(), consumable);
+    }
+
+    public boolean isInteger() {
+        return tag == Type.INTEGER_NUMBER;
+    }
+
+    public boolean isDouble() {
+        return tag == Type.DOUBLE;
+    }
+
+    /**
+     * @return <code>true</code> if the value is an integer or a double
+     */
+    public boolean isNumber() {
+        return tag == Type.INTEGER_NUMBER || tag == Type.DOUBLE;
+    }
+
+    public boolean isBoolean() {
+        return tag == Type.BOOLEAN;
+    }
+
+    public int getInteger() {
+        return (int) bits;
+    }
+
+    /**
+     * @return the value as double, integers are widened
+     */
+    public double getDouble() {
+        return tag == Type.INTEGER_NUMBER ? (int) bits : Double.longBitsToDouble(bits);
+    }
+
+    public boolean getBoolean() {
+        return bits != 0;
+    }
+
+    /**
+     * Gets the value as element. The element is only created if the value does not have one yet
+     *
+     * @return the element of the value
+     */
+    public AbstractElementType<?> box() {
+        if (element == null) {
+            if (fused != null) {
+                element = fused.materialize();
+                fused = null;
+            } else if (tag == Type.INTEGER_NUMBER) {
+                element = new IntegerElement((int) bits);
+            } else if (tag == Type.DOUBLE) {
+                element = new DoubleElement(Double.longBitsToDouble(bits));
+            } else if (tag == Type.BOOLEAN) {
+                element = Booleans.of(bits != 0);
+            }
+        }
+        return element;
+    }
+}
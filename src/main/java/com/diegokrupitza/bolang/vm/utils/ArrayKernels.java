@@ -0,0 +1,220 @@
+package com.diegokrupitza.bolang.vm.utils;
+
+/**
+ * The loops of the element-wise arithmetic on primitive arrays. They work on plain Java arrays and know nothing about
+ * elements, {@link PrimitiveArrays} decides when they can be used. Every method calculates the items from the index
+ * <code>from</code> (inclusive) to <code>to</code> (exclusive), so the work can be split up.
+ * <p>
+ * This class is the scalar implementation that works on every JVM. When the <code>vector</code> profile was built and
+ * the JVM runs with <code>--add-modules jdk.incubator.vector</code>, {@link #getInstance()} serves the
+ * <code>VectorArrayKernels</code> instead, which do the same with SIMD instructions. The system property
+ * <code>bolang.vector=false</code> keeps the scalar loops.
+ *
+ * @author Diego Krupitza
+ * @version 1.0
+ * @date 18.10.26
+ */
+public class ArrayKernels {
+
+    public enum Operation {
+        ADDITION, SUBTRACTION, MULTIPLICATION, DIVISION
+    }
+
+    private static final String VECTOR_MODULE = "jdk.incubator.vector";
+    private static final String VECTOR_KERNELS = "com.diegokrupitza.bolang.vm.utils.VectorArrayKernels";
+
+    private static final ArrayKernels SCALAR = new ArrayKernels();
+    private static final ArrayKernels INSTANCE = load();
+
+    protected ArrayKernels() {
+    }
+
+    /**
+     * @return the kernels used for the element-wise operations, the vector ones if they are available
+     */
+    public static ArrayKernels getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * @return the scalar kernels, no matter if the vector ones are available
+     */
+    public static ArrayKernels scalar() {
+        return SCALAR;
+    }
+
+    private static ArrayKernels load() {
+        if (!Boolean.parseBoolean(System.getProperty("bolang.vector", "true"))
+                || ModuleLayer.boot().findModule(VECTOR_MODULE).isEmpty()) {
+            return SCALAR;
+        }
+
+        try {
+            return (ArrayKernels) Class.forName(VECTOR_KERNELS).getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException | LinkageError e) {
+            // the vector kernels were not built or this JVM cannot run them
+            return SCALAR;
+        }
+    }
+
+    /**
+     * @return the name of the implementation
+     */
+    public String getName() {
+        return "scalar";
+    }
+
+    /**
+     * <code>result[i] = left[i] op right[i]</code>. Integers cannot be divided, since the result may be an integer or a
+     * double
+     */
+    public void apply(Operation operation, int[] left, int[] right, int[] result, int from, int to) {
+        switch (operation) {
+            case ADDITION:
+                for (int i = from; i < to; i++) {
+                    result[i] = left[i] + right[i];
+                }
+                break;
+            case SUBTRACTION:
+                for (int i = from; i < to; i++) {
+                    result[i] = left[i] - right[i];
+                }
+                break;
+            case MULTIPLICATION:
+                for (int i = from; i < to; i++) {
+                    result[i] = left[i] * right[i];
+                }
+                break;
+            default:
+                throw new IllegalArgumentException("Integers can not be divided element-wise");
+        }
+    }
+
+    /**
+     * <code>result[i] = left[i] op right</code>
+     */
+    public void apply(Operation operation, int[] left, int right, int[] result, int from, int to) {
+        switch (operation) {
+            case ADDITION:
+                for (int i = from; i < to; i++) {
+                    result[i] = left[i] + right;
+                }
+                break;
+            case SUBTRACTION:
+                for (int i = from; i < to; i++) {
+                    result[i] = left[i] - right;
+                }
+                break;
+            case MULTIPLICATION:
+                for (int i = from; i < to; i++) {
+                    result[i] = left[i] * right;
+                }
+                break;
+            default:
+                throw new IllegalArgumentException("Integers can not be divided element-wise");
+        }
+    }
+
+    /**
+     * <code>result[i] = left op right[i]</code>
+     */
+    public void apply(Operation operation, int left, int[] right, int[] result, int from, int to) {
+        if (operation == Operation.SUBTRACTION) {
+            for (int i = from; i < to; i++) {
+                result[i] = left - right[i];
+            }
+        } else {
+            // the other operations are commutative
+            apply(operation, right, left, result, from, to);
+        }
+    }
+
+    /**
+     * <code>result[i] = left[i] op right[i]</code>
+     */
+    public void apply(Operation operation, double[] left, double[] right, double[] result, int from, int to) {
+        switch (operation) {
+            case ADDITION:
+                for (int i = from; i < to; i++) {
+                    result[i] = left[i] + right[i];
+                }
+                break;
+            case SUBTRACTION:
+                for (int i = from; i < to; i++) {
+                    result[i] = left[i] - right[i];
+                }
+                break;
+            case MULTIPLICATION:
+                for (int i = from; i < to; i++) {
+                    result[i] = left[i] * right[i];
+                }
+                break;
+            case DIVISION:
+                for (int i = from; i < to; i++) {
+                    result[i] = left[i] / right[i];
+                }
+                break;
+        }
+    }
+
+    /**
+     * <code>result[i] = left[i] op right</code>
+     */
+    public void apply(Operation operation, double[] left, double right, double[] result, int from, int to) {
+        switch (operation) {
+            case ADDITION:
+                for (int i = from; i < to; i++) {
+                    result[i] = left[i] + right;
+                }
+                break;
+            case SUBTRACTION:
+                for (int i = from; i < to; i++) {
+                    result[i] = left[i] - right;
+                }
+                break;
+            case MULTIPLICATION:
+                for (int i = from; i < to; i++) {
+                    result[i] = left[i] * right;
+                }
+                break;
+            case DIVISION:
+                for (int i = from; i < to; i++) {
+                    result[i] = left[i] / right;
+                }
+                break;
+        }
+    }
+
+    /**
+     * <code>result[i] = left op right[i]</code>
+     */
+    public void apply(Operation operation, double left, double[] right, double[] result, int from, int to) {
+        switch (operation) {
+            case SUBTRACTION:
+                for (int i = from; i < to; i++) {
+                    result[i] = left - right[i];
+                }
+                break;
+            case DIVISION:
+                for (int i = from; i < to; i++) {
+                    result[i] = left / right[i];
+                }
+                break;
+            default:
+                // the other operations are commutative
+                apply(operation, right, left, result, from, to);
+        }
+    }
+
+    public void negate(int[] values, int[] result, int from, int to) {
+        for (int i = from; i < to; i++) {
+            result[i] = -1 * values[i];
+        }
+    }
+
+    public void negate(double[] values, double[] result, int from, int to) {
+        for (int i = from; i < to; i++) {
+            result[i] = -1 * values[i];
+        }
+    }
+}
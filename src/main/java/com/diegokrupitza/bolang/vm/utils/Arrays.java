@@ -68,6 +68,10 @@ public class Arrays {
      * @return the string representation of the given array
      */
     public static String toString(ArrayElement array) {
+        String primitive = PrimitiveArrays.toString(array);
+        if (primitive != null) {
+            return primitive;
+        }
 
         String valuesAsString = array.getValue().stream()
                 .map(item -> {
@@ -12,4 +12,14 @@ public class Booleans {
     public static final BooleanElement FALSE = new BooleanElement(false);
     public static final BooleanElement TRUE = new BooleanElement(true);
 
+    /**
+     * Gets the shared element for a boolean value
+     *
+     * @param value the boolean value
+     * @return {@link #TRUE} or {@link #FALSE}
+     */
+    public static BooleanElement of(boolean value) {
+        return value ? TRUE : FALSE;
+    }
+
 }
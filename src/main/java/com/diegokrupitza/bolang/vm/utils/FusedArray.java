@@ -0,0 +1,537 @@
+package com.diegokrupitza.bolang.vm.utils;
+
+import com.diegokrupitza.bolang.vm.types.*;
+import com.diegokrupitza.bolang.vm.utils.ArrayKernels.Operation;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A chain of element-wise operations on primitive arrays that is not calculated yet. An expression like
+ * <code>a * 2 + b - c</code> would create a new array for every operator, instead the operations are collected in a
+ * tree and {@link #materialize()} calculates the final array in one pass without any array in between.
+ * <p>
+ * The pass goes over the items in blocks of {@link #BLOCK_SIZE}. Every operation of the tree calculates the block in
+ * a tight loop into a small buffer, which stays in the cache until the next operation reads it.
+ * <p>
+ * Only operations that {@link PrimitiveArrays} would calculate directly on the primitives and that cannot fail are
+ * collected: arrays of integers or doubles of the same length, numbers and the negation. {@link #combine} returns
+ * <code>null</code> for everything else, the caller then materializes the operands and uses {@link Infixes}, so the
+ * result and the errors are exactly the same as one operation after another.
+ * <p>
+ * An array that is read for the last time can be handed over as consumable. If nothing else uses its storage, the
+ * result is written into it instead of a new array.
+ *
+ * @author Diego Krupitza
+ * @version 1.0
+ * @date 18.10.26
+ */
+public abstract class FusedArray {
+
+    /**
+     * the number of items every operation calculates at once
+     */
+    private static final int BLOCK_SIZE = 1024;
+
+    /**
+     * {@link Type#INTEGER_NUMBER} or {@link Type#DOUBLE}
+     */
+    private final Type type;
+
+    /**
+     * the number of items, <code>-1</code> for a number that is combined with every item
+     */
+    private final int length;
+
+    private FusedArray(Type type, int length) {
+        this.type = type;
+        this.length = length;
+    }
+
+    /**
+     * Wraps an element so it can be combined
+     *
+     * @param element the element to wrap
+     * @return the wrapped element or <code>null</code> if it is neither a primitive array of numbers nor a number
+     */
+    public static FusedArray of(AbstractElementType<?> element) {
+        return of(element, false);
+    }
+
+    /**
+     * Wraps an element so it can be combined
+     *
+     * @param element    the element to wrap
+     * @param consumable <code>true</code> if the element is not used anymore after the operations, so its storage may
+     *                   take the result
+     * @return the wrapped element or <code>null</code> if it is neither a primitive array of numbers nor a number
+     */
+    public static FusedArray of(AbstractElementType<?> element, boolean consumable) {
+        if (element instanceof ArrayElement) {
+            ArrayElement array = (ArrayElement) element;
+            if (array.getElementType() == Type.INTEGER_NUMBER || array.getElementType() == Type.DOUBLE) {
+                return new Leaf(array, array.getElementType(), (int) array.size(), consumable);
+            }
+        } else if (element instanceof IntegerElement) {
+            return new Leaf(element, Type.INTEGER_NUMBER, -1, false);
+        } else if (element instanceof DoubleElement) {
+            return new Leaf(element, Type.DOUBLE, -1, false);
+        }
+        return null;
+    }
+
+    /**
+     * Combines two operands where at least one of them is an array
+     *
+     * @param operation the operation to perform
+     * @param left      the left operand, may be <code>null</code>
+     * @param right     the right operand, may be <code>null</code>
+     * @return the combined operation or <code>null</code> if it has to be calculated by {@link Infixes}
+     */
+    public static FusedArray combine(Operation operation, FusedArray left, FusedArray right) {
+        if (left == null || right == null || (!left.isArray() && !right.isArray())) {
+            return null;
+        }
+
+        if (left.isArray() && right.isArray() && (left.length != right.length || left.type != right.type)) {
+            // the rest of the bigger array and the swapped sides of equal arrays of integers and doubles are
+            // left to PrimitiveArrays
+            return null;
+        }
+
+        boolean integers = left.type == Type.INTEGER_NUMBER && right.type == Type.INTEGER_NUMBER;
+        if (integers && operation == Operation.DIVISION) {
+            // an integer division gives an integer or a double depending on the remainder
+            return null;
+        }
+
+        int length = left.isArray() ? left.length : right.length;
+        return new Combination(operation, left, right, integers ? Type.INTEGER_NUMBER : Type.DOUBLE, length);
+    }
+
+    /**
+     * Negates every item of an array
+     *
+     * @param value the operand, may be <code>null</code>
+     * @return the negation or <code>null</code> if it has to be calculated by {@link Unarys}
+     */
+    public static FusedArray negate(FusedArray value) {
+        if (value == null || !value.isArray()) {
+            return null;
+        }
+        return new Negation(value);
+    }
+
+    public boolean isArray() {
+        return length >= 0;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    /**
+     * Calculates the resulting array in one pass, large arrays in parallel. The result is written into a consumable
+     * array of the same type if there is one
+     *
+     * @return the resulting array
+     */
+    public AbstractElementType<?> materialize() {
+        Leaf target = reusableLeaf(type);
+
+        if (type == Type.INTEGER_NUMBER) {
+            int[] result = target == null ? new int[length] : target.ints;
+            ParallelArrays.current().run(length, (from, to) -> {
+                Buffers buffers = new Buffers();
+                for (int start = from; start < to; start += BLOCK_SIZE) {
+                    int end = Math.min(start + BLOCK_SIZE, to);
+                    if (target == null) {
+                        fillInts(start, end, result, start, buffers);
+                    } else {
+                        // the target may still be read by the block, so it is calculated aside first
+                        int[] block = buffers.takeInts();
+                        fillInts(start, end, block, 0, buffers);
+                        System.arraycopy(block, 0, result, start, end - start);
+                        buffers.releaseInts();
+                    }
+                }
+            });
+            return target == null ? new ArrayElement(result) : target.element;
+        }
+
+        double[] result = target == null ? new double[length] : target.doubles;
+        ParallelArrays.current().run(length, (from, to) -> {
+            Buffers buffers = new Buffers();
+            for (int start = from; start < to; start += BLOCK_SIZE) {
+                int end = Math.min(start + BLOCK_SIZE, to);
+                if (target == null) {
+                    fillDoubles(start, end, result, start, buffers);
+                } else {
+                    double[] block = buffers.takeDoubles();
+                    fillDoubles(start, end, block, 0, buffers);
+                    System.arraycopy(block, 0, result, start, end - start);
+                    buffers.releaseDoubles();
+                }
+            }
+        });
+        return target == null ? new ArrayElement(result) : target.element;
+    }
+
+    /**
+     * Searches an array that is consumed by the operations and whose storage can take the result
+     *
+     * @param type the type of the result
+     * @return the array or <code>null</code> if a new one is needed
+     */
+    Leaf reusableLeaf(Type type) {
+        return null;
+    }
+
+    /**
+     * Writes the items from one index (inclusive) to another one (exclusive) into <code>out</code>, starting at
+     * <code>offset</code>. Only available for integers
+     */
+    abstract void fillInts(int from, int to, int[] out, int offset, Buffers buffers);
+
+    /**
+     * Writes the items from one index (inclusive) to another one (exclusive) into <code>out</code>, starting at
+     * <code>offset</code>. Integers are widened
+     */
+    abstract void fillDoubles(int from, int to, double[] out, int offset, Buffers buffers);
+
+    /**
+     * An array or a number the operations start from
+     */
+    private static class Leaf extends FusedArray {
+
+        private final AbstractElementType<?> element;
+        private final int[] ints;
+        private final double[] doubles;
+        private final boolean consumable;
+
+        private Leaf(AbstractElementType<?> element, Type type, int length, boolean consumable) {
+            super(type, length);
+            this.element = element;
+            this.consumable = consumable;
+            if (element instanceof ArrayElement) {
+                ArrayElement array = (ArrayElement) element;
+                this.ints = type == Type.INTEGER_NUMBER ? array.getIntValues() : null;
+                this.doubles = type == Type.DOUBLE ? array.getDoubleValues() : null;
+            } else if (type == Type.INTEGER_NUMBER) {
+                this.ints = new int[]{((IntegerElement) element).getValue()};
+                this.doubles = null;
+            } else {
+                this.ints = null;
+                this.doubles = new double[]{((DoubleElement) element).getValue()};
+            }
+        }
+
+        @Override
+        public AbstractElementType<?> materialize() {
+            return element;
+        }
+
+        @Override
+        Leaf reusableLeaf(Type type) {
+            // slices and copies share the storage until one of them gets changed
+            boolean reusable = consumable && getType() == type && !((ArrayElement) element).isStorageShared();
+            return reusable ? this : null;
+        }
+
+        @Override
+        void fillInts(int from, int to, int[] out, int offset, Buffers buffers) {
+            if (isArray()) {
+                System.arraycopy(ints, from, out, offset, to - from);
+            } else {
+                java.util.Arrays.fill(out, offset, offset + to - from, ints[0]);
+            }
+        }
+
+        @Override
+        void fillDoubles(int from, int to, double[] out, int offset, Buffers buffers) {
+            if (ints != null) {
+                for (int i = from; i < to; i++) {
+                    out[offset + i - from] = ints[isArray() ? i : 0];
+                }
+            } else if (isArray()) {
+                System.arraycopy(doubles, from, out, offset, to - from);
+            } else {
+                java.util.Arrays.fill(out, offset, offset + to - from, doubles[0]);
+            }
+        }
+    }
+
+    private static class Combination extends FusedArray {
+
+        private final Operation operation;
+        private final FusedArray left;
+        private final FusedArray right;
+
+        private Combination(Operation operation, FusedArray left, FusedArray right, Type type, int length) {
+            super(type, length);
+            this.operation = operation;
+            this.left = left;
+            this.right = right;
+        }
+
+        @Override
+        public AbstractElementType<?> materialize() {
+            if (left instanceof Leaf && right instanceof Leaf && reusableLeaf(getType()) == null) {
+                // a single operation is left to the kernels
+                return PrimitiveArrays.performElementWise(operation, left.materialize(), right.materialize());
+            }
+            return super.materialize();
+        }
+
+        @Override
+        Leaf reusableLeaf(Type type) {
+            Leaf leaf = left.reusableLeaf(type);
+            return leaf != null ? leaf : right.reusableLeaf(type);
+        }
+
+        @Override
+        void fillInts(int from, int to, int[] out, int offset, Buffers buffers) {
+            // arrays are read directly, everything else is calculated into the output or a buffer first
+            int[] leftValues = intsOf(left);
+            int leftStart = from;
+            if (leftValues == null) {
+                left.fillInts(from, to, out, offset, buffers);
+                leftValues = out;
+                leftStart = offset;
+            }
+
+            int count = to - from;
+            if (right instanceof Leaf && !right.isArray()) {
+                // a number is the same for every item
+                int value = ((Leaf) right).ints[0];
+                switch (operation) {
+                    case ADDITION:
+                        for (int i = 0; i < count; i++) {
+                            out[offset + i] = leftValues[leftStart + i] + value;
+                        }
+                        break;
+                    case SUBTRACTION:
+                        for (int i = 0; i < count; i++) {
+                            out[offset + i] = leftValues[leftStart + i] - value;
+                        }
+                        break;
+                    default:
+                        for (int i = 0; i < count; i++) {
+                            out[offset + i] = leftValues[leftStart + i] * value;
+                        }
+                }
+                return;
+            }
+
+            int[] rightValues = intsOf(right);
+            int rightStart = from;
+            if (rightValues == null) {
+                rightValues = buffers.takeInts();
+                right.fillInts(from, to, rightValues, 0, buffers);
+                rightStart = 0;
+            }
+
+            switch (operation) {
+                case ADDITION:
+                    for (int i = 0; i < count; i++) {
+                        out[offset + i] = leftValues[leftStart + i] + rightValues[rightStart + i];
+                    }
+                    break;
+                case SUBTRACTION:
+                    for (int i = 0; i < count; i++) {
+                        out[offset + i] = leftValues[leftStart + i] - rightValues[rightStart + i];
+                    }
+                    break;
+                default:
+                    for (int i = 0; i < count; i++) {
+                        out[offset + i] = leftValues[leftStart + i] * rightValues[rightStart + i];
+                    }
+            }
+
+            if (intsOf(right) == null) {
+                buffers.releaseInts();
+            }
+        }
+
+        @Override
+        void fillDoubles(int from, int to, double[] out, int offset, Buffers buffers) {
+            if (getType() == Type.INTEGER_NUMBER) {
+                int[] values = buffers.takeInts();
+                fillInts(from, to, values, 0, buffers);
+                for (int i = 0; i < to - from; i++) {
+                    out[offset + i] = values[i];
+                }
+                buffers.releaseInts();
+                return;
+            }
+
+            // arrays are read directly, everything else is calculated into the output or a buffer first
+            double[] leftValues = doublesOf(left);
+            int leftStart = from;
+            if (leftValues == null) {
+                left.fillDoubles(from, to, out, offset, buffers);
+                leftValues = out;
+                leftStart = offset;
+            }
+
+            int count = to - from;
+            if (right instanceof Leaf && !right.isArray()) {
+                // a number is the same for every item
+                double value = right.getType() == Type.INTEGER_NUMBER ? ((Leaf) right).ints[0] : ((Leaf) right).doubles[0];
+                switch (operation) {
+                    case ADDITION:
+                        for (int i = 0; i < count; i++) {
+                            out[offset + i] = leftValues[leftStart + i] + value;
+                        }
+                        break;
+                    case SUBTRACTION:
+                        for (int i = 0; i < count; i++) {
+                            out[offset + i] = leftValues[leftStart + i] - value;
+                        }
+                        break;
+                    case MULTIPLICATION:
+                        for (int i = 0; i < count; i++) {
+                            out[offset + i] = leftValues[leftStart + i] * value;
+                        }
+                        break;
+                    default:
+                        for (int i = 0; i < count; i++) {
+                            out[offset + i] = leftValues[leftStart + i] / value;
+                        }
+                }
+                return;
+            }
+
+            double[] rightValues = doublesOf(right);
+            int rightStart = from;
+            if (rightValues == null) {
+                rightValues = buffers.takeDoubles();
+                right.fillDoubles(from, to, rightValues, 0, buffers);
+                rightStart = 0;
+            }
+
+            switch (operation) {
+                case ADDITION:
+                    for (int i = 0; i < count; i++) {
+                        out[offset + i] = leftValues[leftStart + i] + rightValues[rightStart + i];
+                    }
+                    break;
+                case SUBTRACTION:
+                    for (int i = 0; i < count; i++) {
+                        out[offset + i] = leftValues[leftStart + i] - rightValues[rightStart + i];
+                    }
+                    break;
+                case MULTIPLICATION:
+                    for (int i = 0; i < count; i++) {
+                        out[offset + i] = leftValues[leftStart + i] * rightValues[rightStart + i];
+                    }
+                    break;
+                default:
+                    for (int i = 0; i < count; i++) {
+                        out[offset + i] = leftValues[leftStart + i] / rightValues[rightStart + i];
+                    }
+            }
+
+            if (doublesOf(right) == null) {
+                buffers.releaseDoubles();
+            }
+        }
+    }
+
+    private static class Negation extends FusedArray {
+
+        private final FusedArray inner;
+
+        private Negation(FusedArray inner) {
+            super(inner.getType(), inner.length);
+            this.inner = inner;
+        }
+
+        @Override
+        public AbstractElementType<?> materialize() {
+            if (inner instanceof Leaf && reusableLeaf(getType()) == null) {
+                return PrimitiveArrays.performNegation((ArrayElement) inner.materialize());
+            }
+            return super.materialize();
+        }
+
+        @Override
+        Leaf reusableLeaf(Type type) {
+            return inner.reusableLeaf(type);
+        }
+
+        @Override
+        void fillInts(int from, int to, int[] out, int offset, Buffers buffers) {
+            inner.fillInts(from, to, out, offset, buffers);
+            for (int i = offset; i < offset + to - from; i++) {
+                out[i] = -1 * out[i];
+            }
+        }
+
+        @Override
+        void fillDoubles(int from, int to, double[] out, int offset, Buffers buffers) {
+            if (getType() == Type.INTEGER_NUMBER) {
+                int[] values = buffers.takeInts();
+                fillInts(from, to, values, 0, buffers);
+                for (int i = 0; i < to - from; i++) {
+                    out[offset + i] = values[i];
+                }
+                buffers.releaseInts();
+                return;
+            }
+
+            inner.fillDoubles(from, to, out, offset, buffers);
+            for (int i = offset; i < offset + to - from; i++) {
+                out[i] = -1 * out[i];
+            }
+        }
+    }
+
+    /**
+     * @return the items of an array of integers that can be read directly, otherwise <code>null</code>
+     */
+    private static int[] intsOf(FusedArray value) {
+        return value instanceof Leaf && value.isArray() ? ((Leaf) value).ints : null;
+    }
+
+    /**
+     * @return the items of an array of doubles that can be read directly, otherwise <code>null</code>
+     */
+    private static double[] doublesOf(FusedArray value) {
+        return value instanceof Leaf && value.isArray() ? ((Leaf) value).doubles : null;
+    }
+
+    /**
+     * The buffers of the blocks in between, used like a stack. Every thread that calculates a part of the array has
+     * its own ones
+     */
+    static final class Buffers {
+
+        private final List<int[]> ints = new ArrayList<>();
+        private final List<double[]> doubles = new ArrayList<>();
+        private int usedInts = 0;
+        private int usedDoubles = 0;
+
+        int[] takeInts() {
+            if (usedInts == ints.size()) {
+                ints.add(new int[BLOCK_SIZE]);
+            }
+            return ints.get(usedInts++);
+        }
+
+        void releaseInts() {
+            usedInts--;
+        }
+
+        double[] takeDoubles() {
+            if (usedDoubles == doubles.size()) {
+                doubles.add(new double[BLOCK_SIZE]);
+            }
+            return doubles.get(usedDoubles++);
+        }
+
+        void releaseDoubles() {
+            usedDoubles--;
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.diegokrupitza.bolang.vm.utils;
+
+import com.diegokrupitza.bolang.vm.VirtualMachineException;
+import com.diegokrupitza.bolang.vm.types.*;
+
+import java.util.Collections;
+
+/**
+ * @author Diego Krupitza
+ * @version 1.0
+ * @date 18.10.26
+ */
+public class Indexes {
+
+    private Indexes() {
+        // this class should only be accessed by static methods
+    }
+
+    /**
+     * Checks if the given element supports index accessing. Only arrays and strings can be accessed by an index.
+     *
+     * @param identifierElemInfo the current state of the variable we want to access
+     * @throws VirtualMachineException in case the element cannot be accessed by index
+     */
+    public static void checkIndexable(AbstractElementType<?> identifierElemInfo) throws VirtualMachineException {
+        // check if state of var is an array or string since only those support index accesing
+        if (Types.atLeastOneNotOfTypes(java.util.Arrays.asList(Type.ARRAY, Type.STRING), identifierElemInfo)) {
+            throw new VirtualMachineException(String.format("You can not use index accessing on an element of type %s", identifierElemInfo.getType()));
+        }
+    }
+
+    /**
+     * Accesses the element at the given index of an array or string.
+     * The <code>identifierElemInfo</code> has to be checked with {@link #checkIndexable(AbstractElementType)} before the
+     * index expression was evaluated.
+     *
+     * @param identifierElemInfo the array or string to access
+     * @param indexElemInfo      the evaluated index
+     * @return the element at the given index
+     * @throws VirtualMachineException in case the index is not an integer or out of range
+     */
+    public static AbstractElementType<?> performIndexAccess(AbstractElementType<?> identifierElemInfo, AbstractElementType<?> indexElemInfo) throws VirtualMachineException {
+        // check whether the index is an Int or not
+        // only int can be used for index referencing
+        if (Types.atLeastOneNotOfTypes(Collections.singletonList(Type.INTEGER_NUMBER), indexElemInfo)) {
+            var indefiniteArticle = (Types.atLeastOneOfType(java.util.Arrays.asList(Type.INTEGER_NUMBER, Type.ARRAY), identifierElemInfo)) ? "an" : "a";
+            throw new VirtualMachineException(String.format("You can not use a %s to access an element of %s %s", indexElemInfo.getType(), indefiniteArticle, identifierElemInfo.getType()));
+        }
+
+        // index has to be int
+        IntegerElement castedIndexElem = (IntegerElement) indexElemInfo;
+
+        // accessing the element at given index
+        if (identifierElemInfo.getType() == Type.ARRAY) {
+            ArrayElement castedElemInfo = (ArrayElement) identifierElemInfo;
+            return castedElemInfo.get(castedIndexElem.getValue());
+        } else if (identifierElemInfo.getType() == Type.STRING) {
+            StringElement castedElemInfo = (StringElement) identifierElemInfo;
+            return castedElemInfo.get(castedIndexElem.getValue());
+        }
+
+        throw new VirtualMachineException("This should never happen!");
+    }
+}
@@ -2,6 +2,7 @@ package com.diegokrupitza.bolang.vm.utils;
 
 import com.diegokrupitza.bolang.vm.VirtualMachineException;
 import com.diegokrupitza.bolang.vm.types.*;
+import com.diegokrupitza.bolang.vm.utils.ArrayKernels.Operation;
 
 import java.util.Collections;
 import java.util.List;
@@ -25,6 +26,12 @@ public class Infixes {
             throw new VirtualMachineException(String.format("You cannot perform an addition on %s and %s!", leftElemInfo.getType(), rightElemInfo.getType()));
         } else if (Types.atLeastOneOfType(Collections.singletonList(Type.ARRAY), leftElemInfo, rightElemInfo)) {
             // we have at least one array so this means we do the operation on each element
+            ArrayElement primitive = PrimitiveArrays.performElementWise(Operation.ADDITION, leftElemInfo, rightElemInfo);
+            if (primitive != null) {
+                // arrays of numbers are calculated directly on their primitive values
+                return primitive;
+            }
+
             List<AbstractElementType<?>> allArrays = Types.getOfTypes(Collections.singletonList(Type.ARRAY), leftElemInfo, rightElemInfo);
 
             if (allArrays.size() == 2) {
@@ -84,17 +91,17 @@ public class Infixes {
 
             if (leftElemInfo.getType() == Type.INTEGER_NUMBER) {
                 // result will be an integer
-                Integer newValue = (Integer.parseInt(leftElemInfo.toString()) + Integer.parseInt(rightElemInfo.toString()));
+                Integer newValue = (((IntegerElement) leftElemInfo).getValue() + ((IntegerElement) rightElemInfo).getValue());
                 return new IntegerElement(newValue);
             } else {
                 // result will be a number since the left part is a number
-                Double newValue = Double.parseDouble(leftElemInfo.toString()) + Double.parseDouble(rightElemInfo.toString());
+                Double newValue = ((NumberElement<?>) leftElemInfo).getValue().doubleValue() + ((NumberElement<?>) rightElemInfo).getValue().doubleValue();
                 return new DoubleElement(newValue);
             }
         } else if (rightElemInfo.getType() == Type.DOUBLE) {
             // the final type depends only on the right part since the right part is a number
             // and Number dominates anything
-            Double newValue = Double.parseDouble(leftElemInfo.toString()) + Double.parseDouble(rightElemInfo.toString());
+            Double newValue = ((NumberElement<?>) leftElemInfo).getValue().doubleValue() + ((NumberElement<?>) rightElemInfo).getValue().doubleValue();
             return new DoubleElement(newValue);
         }
         throw new VirtualMachineException("Should not happen!");
@@ -111,6 +118,12 @@ public class Infixes {
             throw new VirtualMachineException(String.format("You cannot perform a division on %s and %s!", leftElemInfo.getType(), rightElemInfo.getType()));
         } else if (Types.atLeastOneOfType(Collections.singletonList(Type.ARRAY), leftElemInfo, rightElemInfo)) {
             // we have at least one array so this means we do the operation on each element
+            ArrayElement primitive = PrimitiveArrays.performElementWise(Operation.DIVISION, leftElemInfo, rightElemInfo);
+            if (primitive != null) {
+                // arrays of numbers are calculated directly on their primitive values
+                return primitive;
+            }
+
             List<AbstractElementType<?>> allArrays = Types.getOfTypes(Collections.singletonList(Type.ARRAY), leftElemInfo, rightElemInfo);
 
             if (allArrays.size() == 2) {
@@ -190,23 +203,23 @@ public class Infixes {
                 // result will be an integer
                 if (Infixes.mod(leftElemInfo, rightElemInfo).getValue() == 0) {
                     // division works without converting to number
-                    Integer newValue = (Integer.parseInt(leftElemInfo.toString()) / Integer.parseInt(rightElemInfo.toString()));
+                    Integer newValue = (((IntegerElement) leftElemInfo).getValue() / ((IntegerElement) rightElemInfo).getValue());
                     return new IntegerElement(newValue);
                 }
 
                 // division will return into a floating point number
-                Double newValue = (Double.parseDouble(leftElemInfo.toString()) / Double.parseDouble(rightElemInfo.toString()));
+                Double newValue = (((NumberElement<?>) leftElemInfo).getValue().doubleValue() / ((NumberElement<?>) rightElemInfo).getValue().doubleValue());
                 return new DoubleElement(newValue);
 
             } else {
                 // result will be a number since the left part is a number
-                Double newValue = Double.parseDouble(leftElemInfo.toString()) / Double.parseDouble(rightElemInfo.toString());
+                Double newValue = ((NumberElement<?>) leftElemInfo).getValue().doubleValue() / ((NumberElement<?>) rightElemInfo).getValue().doubleValue();
                 return new DoubleElement(newValue);
             }
         } else if (rightElemInfo.getType() == Type.DOUBLE) {
             // the final type depends only on the right part since the right part is a number
             // and Number dominates anything
-            Double newValue = Double.parseDouble(leftElemInfo.toString()) / Double.parseDouble(rightElemInfo.toString());
+            Double newValue = ((NumberElement<?>) leftElemInfo).getValue().doubleValue() / ((NumberElement<?>) rightElemInfo).getValue().doubleValue();
             return new DoubleElement(newValue);
         }
         throw new VirtualMachineException("Should not happen!");
@@ -235,6 +248,12 @@ public class Infixes {
             throw new VirtualMachineException(String.format("You cannot perform a multiplication on %s and %s!", leftElemInfo.getType(), rightElemInfo.getType()));
         } else if (Types.atLeastOneOfType(Collections.singletonList(Type.ARRAY), leftElemInfo, rightElemInfo)) {
             // we have at least one array so this means we do the operation on each element
+            ArrayElement primitive = PrimitiveArrays.performElementWise(Operation.MULTIPLICATION, leftElemInfo, rightElemInfo);
+            if (primitive != null) {
+                // arrays of numbers are calculated directly on their primitive values
+                return primitive;
+            }
+
             List<AbstractElementType<?>> allArrays = Types.getOfTypes(Collections.singletonList(Type.ARRAY), leftElemInfo, rightElemInfo);
 
             if (allArrays.size() == 2) {
@@ -294,17 +313,17 @@ public class Infixes {
 
             if (leftElemInfo.getType() == Type.INTEGER_NUMBER) {
                 // result will be an integer
-                Integer newValue = (Integer.parseInt(leftElemInfo.toString()) * Integer.parseInt(rightElemInfo.toString()));
+                Integer newValue = (((IntegerElement) leftElemInfo).getValue() * ((IntegerElement) rightElemInfo).getValue());
                 return new IntegerElement(newValue);
             } else {
                 // result will be a number since the left part is a number
-                Double newValue = Double.parseDouble(leftElemInfo.toString()) * Double.parseDouble(rightElemInfo.toString());
+                Double newValue = ((NumberElement<?>) leftElemInfo).getValue().doubleValue() * ((NumberElement<?>) rightElemInfo).getValue().doubleValue();
                 return new DoubleElement(newValue);
             }
         } else if (rightElemInfo.getType() == Type.DOUBLE) {
             // the final type depends only on the right part since the right part is a number
             // and Number dominates anything
-            Double newValue = Double.parseDouble(leftElemInfo.toString()) * Double.parseDouble(rightElemInfo.toString());
+            Double newValue = ((NumberElement<?>) leftElemInfo).getValue().doubleValue() * ((NumberElement<?>) rightElemInfo).getValue().doubleValue();
             return new DoubleElement(newValue);
         }
         throw new VirtualMachineException("Should not happen!");
@@ -321,6 +340,12 @@ public class Infixes {
             throw new VirtualMachineException(String.format("You cannot perform a substraction on %s and %s!", leftElemInfo.getType(), rightElemInfo.getType()));
         } else if (Types.atLeastOneOfType(Collections.singletonList(Type.ARRAY), leftElemInfo, rightElemInfo)) {
             // we have at least one array so this means we do the operation on each element
+            ArrayElement primitive = PrimitiveArrays.performElementWise(Operation.SUBTRACTION, leftElemInfo, rightElemInfo);
+            if (primitive != null) {
+                // arrays of numbers are calculated directly on their primitive values
+                return primitive;
+            }
+
             List<AbstractElementType<?>> allArrays = Types.getOfTypes(Collections.singletonList(Type.ARRAY), leftElemInfo, rightElemInfo);
 
             if (allArrays.size() == 2) {
@@ -400,17 +425,17 @@ public class Infixes {
 
             if (leftElemInfo.getType() == Type.INTEGER_NUMBER) {
                 // result will be an integer
-                Integer newValue = (Integer.parseInt(leftElemInfo.toString()) - Integer.parseInt(rightElemInfo.toString()));
+                Integer newValue = (((IntegerElement) leftElemInfo).getValue() - ((IntegerElement) rightElemInfo).getValue());
                 return new IntegerElement(newValue);
             } else {
                 // result will be a number since the left part is a number
-                Double newValue = Double.parseDouble(leftElemInfo.toString()) - Double.parseDouble(rightElemInfo.toString());
+                Double newValue = ((NumberElement<?>) leftElemInfo).getValue().doubleValue() - ((NumberElement<?>) rightElemInfo).getValue().doubleValue();
                 return new DoubleElement(newValue);
             }
         } else if (rightElemInfo.getType() == Type.DOUBLE) {
             // the final type depends only on the right part since the right part is a number
             // and Number dominates anything
-            Double newValue = Double.parseDouble(leftElemInfo.toString()) - Double.parseDouble(rightElemInfo.toString());
+            Double newValue = ((NumberElement<?>) leftElemInfo).getValue().doubleValue() - ((NumberElement<?>) rightElemInfo).getValue().doubleValue();
             return new DoubleElement(newValue);
         }
         throw new VirtualMachineException("Should not happen!");
@@ -418,8 +443,112 @@ public class Infixes {
 
     public static AbstractElementType<?> performStringConcatenation(AbstractElementType<?> leftElemInfo, AbstractElementType<?> rightElemInfo) {
         // first element gets converted to string (if already string nothing happens) the same with the right element
-        // then concatinated
-        String newVal = leftElemInfo.getValue() + "" + rightElemInfo.getValue();
-        return new StringElement(newVal);
+        // then concatinated, strings are not copied so concatenating over and over stays linear
+        return StringElement.concat(toStringElement(leftElemInfo), toStringElement(rightElemInfo));
+    }
+
+    private static StringElement toStringElement(AbstractElementType<?> elemInfo) {
+        if (elemInfo instanceof StringElement) {
+            return (StringElement) elemInfo;
+        }
+        return new StringElement(elemInfo.getValue() + "");
+    }
+
+    public static BooleanElement performEquals(AbstractElementType<?> leftElemInfo, AbstractElementType<?> rightElemInfo) {
+        return (leftElemInfo.equals(rightElemInfo)) ? Booleans.TRUE : Booleans.FALSE;
+    }
+
+    public static BooleanElement performNotEquals(AbstractElementType<?> leftElemInfo, AbstractElementType<?> rightElemInfo) {
+        return (!leftElemInfo.equals(rightElemInfo)) ? Booleans.TRUE : Booleans.FALSE;
+    }
+
+    public static BooleanElement performGreaterEqual(AbstractElementType<?> leftElemInfo, AbstractElementType<?> rightElemInfo) throws VirtualMachineException {
+        return (compareNumbers(">=", leftElemInfo, rightElemInfo) >= 0) ? Booleans.TRUE : Booleans.FALSE;
+    }
+
+    public static BooleanElement performGreater(AbstractElementType<?> leftElemInfo, AbstractElementType<?> rightElemInfo) throws VirtualMachineException {
+        return (compareNumbers(">", leftElemInfo, rightElemInfo) >= 1) ? Booleans.TRUE : Booleans.FALSE;
+    }
+
+    public static BooleanElement performLessEqual(AbstractElementType<?> leftElemInfo, AbstractElementType<?> rightElemInfo) throws VirtualMachineException {
+        return (compareNumbers("<=", leftElemInfo, rightElemInfo) <= 0) ? Booleans.TRUE : Booleans.FALSE;
+    }
+
+    public static BooleanElement performLess(AbstractElementType<?> leftElemInfo, AbstractElementType<?> rightElemInfo) throws VirtualMachineException {
+        return (compareNumbers("<", leftElemInfo, rightElemInfo) <= -1) ? Booleans.TRUE : Booleans.FALSE;
+    }
+
+    /**
+     * Compares two numeric elements with each other. Integers and doubles can be mixed.
+     *
+     * @param operation     the operator that is performed, only used for the error message
+     * @param leftElemInfo  the left side of the comparison
+     * @param rightElemInfo the right side of the comparison
+     * @return a negative integer, zero, or a positive integer as the left element is less than, equal to, or greater than the right element
+     * @throws VirtualMachineException in case one of the elements is not a number
+     */
+    private static int compareNumbers(String operation, AbstractElementType<?> leftElemInfo, AbstractElementType<?> rightElemInfo) throws VirtualMachineException {
+        if (Types.atLeastOneNotOfTypes(java.util.Arrays.asList(Type.INTEGER_NUMBER, Type.DOUBLE), leftElemInfo, rightElemInfo)) {
+            throw new VirtualMachineException(String.format("The `%s` operation only works with numbers or integers. You tried to use it on %s and %s", operation, leftElemInfo.getType(), rightElemInfo.getType()));
+        }
+
+        if (leftElemInfo.getType() == Type.INTEGER_NUMBER) {
+            IntegerElement leftCasted = (IntegerElement) leftElemInfo;
+            if (rightElemInfo.getType() == Type.INTEGER_NUMBER) {
+                return leftCasted.compareTo(((IntegerElement) rightElemInfo).getValue());
+            }
+            return leftCasted.compareTo(((DoubleElement) rightElemInfo).getValue());
+        }
+
+        DoubleElement leftCasted = (DoubleElement) leftElemInfo;
+        if (rightElemInfo.getType() == Type.INTEGER_NUMBER) {
+            return leftCasted.compareTo(((IntegerElement) rightElemInfo).getValue());
+        }
+        return leftCasted.compareTo(((DoubleElement) rightElemInfo).getValue());
+    }
+
+    /**
+     * Checks if the left operand alone decides the result of the logic <code>and</code>, which is the case for <code>false</code>.
+     * Any other value still needs the right operand, either for the result or for the error message.
+     *
+     * @param leftElemInfo the evaluated left operand
+     * @return <code>true</code> if the right operand does not have to be evaluated
+     */
+    public static boolean isLogicAndDecided(AbstractElementType<?> leftElemInfo) {
+        return leftElemInfo instanceof BooleanElement && !((BooleanElement) leftElemInfo).getValue();
+    }
+
+    /**
+     * Checks if the left operand alone decides the result of the logic <code>or</code>, which is the case for <code>true</code>.
+     *
+     * @param leftElemInfo the evaluated left operand
+     * @return <code>true</code> if the right operand does not have to be evaluated
+     */
+    public static boolean isLogicOrDecided(AbstractElementType<?> leftElemInfo) {
+        return leftElemInfo instanceof BooleanElement && ((BooleanElement) leftElemInfo).getValue();
+    }
+
+    public static BooleanElement performLogicAnd(AbstractElementType<?> leftElemInfo, AbstractElementType<?> rightElemInfo) throws VirtualMachineException {
+        // logic operators only work on booleans
+        if (Types.atLeastOneNotOfTypes(Collections.singletonList(Type.BOOLEAN), leftElemInfo, rightElemInfo)) {
+            throw new VirtualMachineException(String.format("The logic `and` operation only works with booleans! You want to perform the `and` operation on a %s and %s", leftElemInfo.getType(), rightElemInfo.getType()));
+        }
+
+        BooleanElement leftBoolean = (BooleanElement) leftElemInfo;
+        BooleanElement rightBoolean = (BooleanElement) rightElemInfo;
+
+        return (leftBoolean.getValue() && rightBoolean.getValue()) ? Booleans.TRUE : Booleans.FALSE;
+    }
+
+    public static BooleanElement performLogicOr(AbstractElementType<?> leftElemInfo, AbstractElementType<?> rightElemInfo) throws VirtualMachineException {
+        // logic operators only work on booleans
+        if (Types.atLeastOneNotOfTypes(Collections.singletonList(Type.BOOLEAN), leftElemInfo, rightElemInfo)) {
+            throw new VirtualMachineException(String.format("The logic `or` operation only works with booleans! You want to perform the `or` operation on a %s and %s", leftElemInfo.getType(), rightElemInfo.getType()));
+        }
+
+        BooleanElement leftBoolean = (BooleanElement) leftElemInfo;
+        BooleanElement rightBoolean = (BooleanElement) rightElemInfo;
+
+        return (leftBoolean.getValue() || rightBoolean.getValue()) ? Booleans.TRUE : Booleans.FALSE;
     }
 }
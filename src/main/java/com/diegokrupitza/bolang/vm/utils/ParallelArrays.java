@@ -0,0 +1,122 @@
+package com.diegokrupitza.bolang.vm.utils;
+
+import com.diegokrupitza.bolang.vm.VirtualMachineSettings;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Splits the element-wise operations on large primitive arrays across a {@link ForkJoinPool}. Every part writes its
+ * own range of the result, so the order of the items stays the same.
+ * <p>
+ * The operations of {@link Infixes} are static and shared by all engines, so the virtual machine that runs a program
+ * makes its settings available to them with {@link #enter(VirtualMachineSettings)} for the current thread. Without a
+ * running virtual machine everything is done sequentially.
+ *
+ * @author Diego Krupitza
+ * @version 1.0
+ * @date 18.10.26
+ */
+public final class ParallelArrays {
+
+    public static final ParallelArrays SEQUENTIAL = new ParallelArrays(1, Integer.MAX_VALUE);
+
+    /**
+     * a part is never smaller than this, otherwise the forking costs more than it saves
+     */
+    private static final int MIN_PART_SIZE = 4096;
+
+    /**
+     * the parts a worker gets on average, some slack so the workers can balance
+     */
+    private static final int PARTS_PER_WORKER = 4;
+
+    private static final ThreadLocal<ParallelArrays> CURRENT = ThreadLocal.withInitial(() -> SEQUENTIAL);
+
+    /**
+     * the pools are shared between all virtual machines with the same parallelism
+     */
+    private static final Map<Integer, ForkJoinPool> POOLS = new ConcurrentHashMap<>();
+
+    private final int parallelism;
+    private final int threshold;
+
+    private ParallelArrays(int parallelism, int threshold) {
+        this.parallelism = parallelism;
+        this.threshold = threshold;
+    }
+
+    /**
+     * @return the parallelism of the virtual machine that runs on the current thread
+     */
+    public static ParallelArrays current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Uses the parallelism of the given settings on the current thread until {@link #exit(ParallelArrays)} is called
+     *
+     * @param settings the settings of the virtual machine
+     * @return the parallelism that was used before, it has to be handed to {@link #exit(ParallelArrays)}
+     */
+    public static ParallelArrays enter(VirtualMachineSettings settings) {
+        ParallelArrays previous = CURRENT.get();
+        CURRENT.set(settings.getParallelism() <= 1 ? SEQUENTIAL : new ParallelArrays(settings.getParallelism(), settings.getParallelThreshold()));
+        return previous;
+    }
+
+    public static void exit(ParallelArrays previous) {
+        CURRENT.set(previous);
+    }
+
+    /**
+     * Runs the given part for the whole range <code>0</code> to <code>length</code>. Arrays from the threshold on are
+     * split up and the parts run in parallel, smaller ones run as one part on the current thread.
+     *
+     * @param length the number of items
+     * @param part   the work for the items from one index (inclusive) to another one (exclusive)
+     */
+    public void run(int length, Part part) {
+        if (parallelism <= 1 || length < threshold) {
+            part.run(0, length);
+            return;
+        }
+
+        int partSize = Math.max(MIN_PART_SIZE, length / (parallelism * PARTS_PER_WORKER) + 1);
+        POOLS.computeIfAbsent(parallelism, ForkJoinPool::new)
+                .invoke(new RangeAction(part, 0, length, partSize));
+    }
+
+    @FunctionalInterface
+    public interface Part {
+        void run(int from, int to);
+    }
+
+    private static class RangeAction extends RecursiveAction {
+
+        private final transient Part part;
+        private final int from;
+        private final int to;
+        private final int partSize;
+
+        private RangeAction(Part part, int from, int to, int partSize) {
+            this.part = part;
+            this.from = from;
+            this.to = to;
+            this.partSize = partSize;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= partSize) {
+                part.run(from, to);
+                return;
+            }
+
+            int middle = (from + to) >>> 1;
+            invokeAll(new RangeAction(part, from, middle, partSize), new RangeAction(part, middle, to, partSize));
+        }
+    }
+}
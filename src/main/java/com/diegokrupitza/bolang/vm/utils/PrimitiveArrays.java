@@ -0,0 +1,282 @@
+package com.diegokrupitza.bolang.vm.utils;
+
+import com.diegokrupitza.bolang.vm.types.*;
+import com.diegokrupitza.bolang.vm.utils.ArrayKernels.Operation;
+
+/**
+ * The element-wise operations of {@link Infixes} and {@link Unarys} for arrays that are stored as primitive Java
+ * arrays. The operations run straight on the <code>int[]</code> and <code>double[]</code> without creating an element
+ * for every item.
+ * <p>
+ * A method returns <code>null</code> if the operands are not primitive or the result would not be homogeneous, the
+ * caller then uses the element by element way, which gives exactly the same result. Large arrays are calculated in
+ * parallel, see {@link ParallelArrays}. Calculating an item of a primitive array cannot fail, so this does not change
+ * which error a program gets.
+ *
+ * @author Diego Krupitza
+ * @version 1.0
+ * @date 18.10.26
+ */
+public class PrimitiveArrays {
+
+    private static final ArrayKernels KERNELS = ArrayKernels.getInstance();
+
+    private PrimitiveArrays() {
+        // this class should only be accessed by static methods
+    }
+
+    /**
+     * Performs an arithmetic operation on two elements where at least one of them is an array. Two arrays are combined
+     * element by element and the rest of the bigger array is taken over the way {@link Infixes} does it. An array and
+     * a number combine every item with the number.
+     *
+     * @param operation the operation to perform
+     * @param left      the left operand
+     * @param right     the right operand
+     * @return the resulting array or <code>null</code> if the operands are not primitive
+     */
+    public static ArrayElement performElementWise(Operation operation, AbstractElementType<?> left, AbstractElementType<?> right) {
+        if (left instanceof ArrayElement && right instanceof ArrayElement) {
+            return performElementWise(operation, (ArrayElement) left, (ArrayElement) right);
+        } else if (left instanceof ArrayElement) {
+            return performWithScalar(operation, (ArrayElement) left, right, true);
+        } else if (right instanceof ArrayElement) {
+            return performWithScalar(operation, (ArrayElement) right, left, false);
+        }
+        return null;
+    }
+
+    private static ArrayElement performElementWise(Operation operation, ArrayElement left, ArrayElement right) {
+        Type leftType = left.getElementType();
+        Type rightType = right.getElementType();
+        if (!isNumeric(leftType) || !isNumeric(rightType)) {
+            return null;
+        }
+
+        boolean integers = leftType == Type.INTEGER_NUMBER && rightType == Type.INTEGER_NUMBER;
+        if (integers && operation == Operation.DIVISION) {
+            // an integer division gives an integer or a double depending on the remainder
+            return null;
+        }
+        Type resultType = integers ? Type.INTEGER_NUMBER : Type.DOUBLE;
+
+        int leftSize = left.getValue().size();
+        int rightSize = right.getValue().size();
+        int common = Math.min(leftSize, rightSize);
+        int length = Math.max(leftSize, rightSize);
+
+        // the rest of the bigger array is taken over, if the left array is the smaller one it is first subtracted
+        // from 0 or 0.0 is divided by it
+        boolean leftShorter = leftSize < rightSize;
+        ArrayElement bigger = leftShorter ? right : left;
+        Type restType = leftShorter && operation == Operation.DIVISION ? Type.DOUBLE : bigger.getElementType();
+        if (common < length && restType != resultType) {
+            return null;
+        }
+
+        if (resultType == Type.INTEGER_NUMBER) {
+            int[] leftValues = left.getIntValues();
+            int[] rightValues = right.getIntValues();
+            int[] result = new int[length];
+            ParallelArrays.current().run(common, (from, to) -> KERNELS.apply(operation, leftValues, rightValues, result, from, to));
+
+            int[] rest = bigger.getIntValues();
+            for (int i = common; i < length; i++) {
+                result[i] = leftShorter && operation == Operation.SUBTRACTION ? 0 - rest[i] : rest[i];
+            }
+            return new ArrayElement(result);
+        }
+
+        double[] leftValues = toDoubles(left);
+        double[] rightValues = toDoubles(right);
+        if (leftSize == rightSize && leftType != rightType && sameNumbers(leftValues, rightValues)) {
+            // Infixes swaps the sides of arrays that are equal, which only shows on the sign of a zero
+            // like 0 - -0.0, but it should not make a difference where the array is stored
+            double[] swap = leftValues;
+            leftValues = rightValues;
+            rightValues = swap;
+        }
+
+        double[] result = new double[length];
+        double[] first = leftValues;
+        double[] second = rightValues;
+        ParallelArrays.current().run(common, (from, to) -> KERNELS.apply(operation, first, second, result, from, to));
+
+        double[] rest = common < length ? toDoubles(bigger) : result;
+        for (int i = common; i < length; i++) {
+            if (leftShorter && operation == Operation.SUBTRACTION) {
+                result[i] = 0.0 - rest[i];
+            } else if (leftShorter && operation == Operation.DIVISION) {
+                result[i] = 0.0 / rest[i];
+            } else {
+                result[i] = rest[i];
+            }
+        }
+        return new ArrayElement(result);
+    }
+
+    private static ArrayElement performWithScalar(Operation operation, ArrayElement array, AbstractElementType<?> scalar, boolean arrayLeft) {
+        Type arrayType = array.getElementType();
+        if (!isNumeric(arrayType) || !(scalar instanceof IntegerElement || scalar instanceof DoubleElement)) {
+            return null;
+        }
+
+        boolean integers = arrayType == Type.INTEGER_NUMBER && scalar instanceof IntegerElement;
+        if (integers && operation == Operation.DIVISION) {
+            // an integer division gives an integer or a double depending on the remainder
+            return null;
+        }
+
+        if (integers) {
+            int[] values = array.getIntValues();
+            int value = ((IntegerElement) scalar).getValue();
+            int[] result = new int[values.length];
+            if (arrayLeft) {
+                ParallelArrays.current().run(values.length, (from, to) -> KERNELS.apply(operation, values, value, result, from, to));
+            } else {
+                ParallelArrays.current().run(values.length, (from, to) -> KERNELS.apply(operation, value, values, result, from, to));
+            }
+            return new ArrayElement(result);
+        }
+
+        double[] values = toDoubles(array);
+        double value = ((NumberElement<?>) scalar).getValue().doubleValue();
+        double[] result = new double[values.length];
+        if (arrayLeft) {
+            ParallelArrays.current().run(values.length, (from, to) -> KERNELS.apply(operation, values, value, result, from, to));
+        } else {
+            ParallelArrays.current().run(values.length, (from, to) -> KERNELS.apply(operation, value, values, result, from, to));
+        }
+        return new ArrayElement(result);
+    }
+
+    /**
+     * Negates every item of a primitive array
+     *
+     * @param array the array to negate
+     * @return the negated array or <code>null</code> if the array is not primitive
+     */
+    public static ArrayElement performNegation(ArrayElement array) {
+        Type type = array.getElementType();
+        if (type == Type.INTEGER_NUMBER) {
+            int[] values = array.getIntValues();
+            int[] result = new int[values.length];
+            ParallelArrays.current().run(values.length, (from, to) -> KERNELS.negate(values, result, from, to));
+            return new ArrayElement(result);
+        } else if (type == Type.DOUBLE) {
+            double[] values = array.getDoubleValues();
+            double[] result = new double[values.length];
+            ParallelArrays.current().run(values.length, (from, to) -> KERNELS.negate(values, result, from, to));
+            return new ArrayElement(result);
+        } else if (type == Type.BOOLEAN) {
+            boolean[] values = array.getBooleanValues();
+            boolean[] result = new boolean[values.length];
+            ParallelArrays.current().run(values.length, (from, to) -> {
+                for (int i = from; i < to; i++) {
+                    result[i] = !values[i];
+                }
+            });
+            return new ArrayElement(result);
+        }
+        return null;
+    }
+
+    /**
+     * Casts every item of a primitive array to an integer like <code>toInt</code> does
+     *
+     * @param array the array to cast
+     * @return the array of integers or <code>null</code> if the array is not primitive
+     */
+    public static ArrayElement castToInt(ArrayElement array) {
+        Type type = array.getElementType();
+        if (type == Type.INTEGER_NUMBER) {
+            // the items stay the same, the copy shares them
+            return array.copy();
+        } else if (type == Type.DOUBLE) {
+            double[] values = array.getDoubleValues();
+            int[] result = new int[values.length];
+            ParallelArrays.current().run(values.length, (from, to) -> {
+                for (int i = from; i < to; i++) {
+                    result[i] = (int) values[i];
+                }
+            });
+            return new ArrayElement(result);
+        } else if (type == Type.BOOLEAN) {
+            boolean[] values = array.getBooleanValues();
+            int[] result = new int[values.length];
+            ParallelArrays.current().run(values.length, (from, to) -> {
+                for (int i = from; i < to; i++) {
+                    result[i] = values[i] ? 1 : 0;
+                }
+            });
+            return new ArrayElement(result);
+        }
+        return null;
+    }
+
+    /**
+     * Serves the string representation of a primitive array, the items look like the ones of their elements
+     *
+     * @param array the array of which to get its string representation
+     * @return the string representation or <code>null</code> if the array is not primitive
+     */
+    public static String toString(ArrayElement array) {
+        Type type = array.getElementType();
+        if (type == null) {
+            return null;
+        }
+
+        StringBuilder builder = new StringBuilder("[");
+        if (type == Type.INTEGER_NUMBER) {
+            for (int value : array.getIntValues()) {
+                builder.append(value).append(", ");
+            }
+        } else if (type == Type.DOUBLE) {
+            for (double value : array.getDoubleValues()) {
+                builder.append(value).append(", ");
+            }
+        } else {
+            for (boolean value : array.getBooleanValues()) {
+                builder.append(value).append(", ");
+            }
+        }
+
+        // remove the separator after the last item
+        if (builder.length() > 1) {
+            builder.setLength(builder.length() - 2);
+        }
+        return builder.append("]").toString();
+    }
+
+    private static boolean isNumeric(Type type) {
+        return type == Type.INTEGER_NUMBER || type == Type.DOUBLE;
+    }
+
+    /**
+     * Checks two arrays of the same length the way an integer is compared to a double, so 0 equals -0.0
+     */
+    private static boolean sameNumbers(double[] left, double[] right) {
+        for (int i = 0; i < left.length; i++) {
+            if (left[i] != right[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return the items of a numeric primitive array as doubles, integers are widened into a new array
+     */
+    private static double[] toDoubles(ArrayElement array) {
+        if (array.getElementType() == Type.DOUBLE) {
+            return array.getDoubleValues();
+        }
+
+        int[] values = array.getIntValues();
+        double[] widened = new double[values.length];
+        for (int i = 0; i < values.length; i++) {
+            widened[i] = values[i];
+        }
+        return widened;
+    }
+}
@@ -34,16 +34,14 @@ public class Unarys {
         if (toNegate.getType() == Type.DOUBLE) {
             DoubleElement evaluatedInType = (DoubleElement) toNegate;
 
-            // just multiply itself with -1 to flip the sign
-            evaluatedInType.setValue(-1 * evaluatedInType.getValue());
-            return evaluatedInType;
+            // just multiply itself with -1 to flip the sign, the element itself may still be used somewhere else
+            return new DoubleElement(-1 * evaluatedInType.getValue());
 
         } else if (toNegate.getType() == Type.INTEGER_NUMBER) {
             IntegerElement evaluatedInType = (IntegerElement) toNegate;
 
-            // just multiply itself with -1 to flip the sign
-            evaluatedInType.setValue(-1 * evaluatedInType.getValue());
-            return evaluatedInType;
+            // just multiply itself with -1 to flip the sign, the element itself may still be used somewhere else
+            return new IntegerElement(-1 * evaluatedInType.getValue());
 
         } else if (toNegate.getType() == Type.STRING) {
             // negating a string means you flip all the chars in the ascii tabel
@@ -63,13 +61,17 @@ public class Unarys {
                     .map(Object::toString)
                     .collect(Collectors.joining());
 
-            evaluatedInType.setValue(negatedString);
-            return evaluatedInType;
+            return new StringElement(negatedString);
 
         } else if (toNegate.getType() == Type.ARRAY) {
 
             ArrayElement arrayElement = (ArrayElement) toNegate;
 
+            ArrayElement primitive = PrimitiveArrays.performNegation(arrayElement);
+            if (primitive != null) {
+                return primitive;
+            }
+
             ArrayElement returnElement = new ArrayElement();
 
             for (AbstractElementType<?> abstractElementType : arrayElement.getValue()) {
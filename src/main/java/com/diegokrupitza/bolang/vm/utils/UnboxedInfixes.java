@@ -0,0 +1,189 @@
+package com.diegokrupitza.bolang.vm.utils;
+
+import com.diegokrupitza.bolang.vm.VirtualMachineException;
+import com.diegokrupitza.bolang.vm.types.UnboxedValue;
+import com.diegokrupitza.bolang.vm.utils.ArrayKernels.Operation;
+
+/**
+ * The operations of {@link Infixes} and {@link Unarys} on {@link UnboxedValue}s. Integers, doubles and booleans are
+ * calculated directly on the primitives, every other combination is boxed and handed to {@link Infixes} or
+ * {@link Unarys}, so the results and errors are exactly the same. Element-wise arithmetic on arrays is fused into a
+ * {@link FusedArray} as long as possible, so a chain of operators calculates the resulting array in one pass.
+ * <p>
+ * The result is always stored in the left value, the right value stays untouched.
+ *
+ * @author Diego Krupitza
+ * @version 1.0
+ * @date 18.10.26
+ */
+public class UnboxedInfixes {
+
+    private UnboxedInfixes() {
+    }
+
+    public static void performAddition(UnboxedValue left, UnboxedValue right) throws VirtualMachineException {
+        if (left.isInteger() && right.isInteger()) {
+            left.setInteger(left.getInteger() + right.getInteger());
+        } else if (left.isNumber() && right.isNumber()) {
+            left.setDouble(left.getDouble() + right.getDouble());
+        } else if (!fuse(Operation.ADDITION, left, right)) {
+            left.setElement(Infixes.performAddition(left.box(), right.box()));
+        }
+    }
+
+    public static void performSubtraction(UnboxedValue left, UnboxedValue right) throws VirtualMachineException {
+        if (left.isInteger() && right.isInteger()) {
+            left.setInteger(left.getInteger() - right.getInteger());
+        } else if (left.isNumber() && right.isNumber()) {
+            left.setDouble(left.getDouble() - right.getDouble());
+        } else if (!fuse(Operation.SUBTRACTION, left, right)) {
+            left.setElement(Infixes.performSubtraction(left.box(), right.box()));
+        }
+    }
+
+    public static void performMultiplication(UnboxedValue left, UnboxedValue right) throws VirtualMachineException {
+        if (left.isInteger() && right.isInteger()) {
+            left.setInteger(left.getInteger() * right.getInteger());
+        } else if (left.isNumber() && right.isNumber()) {
+            left.setDouble(left.getDouble() * right.getDouble());
+        } else if (!fuse(Operation.MULTIPLICATION, left, right)) {
+            left.setElement(Infixes.performMultiplication(left.box(), right.box()));
+        }
+    }
+
+    public static void performDivision(UnboxedValue left, UnboxedValue right) throws VirtualMachineException {
+        if (left.isInteger() && right.isInteger() && right.getInteger() != 0) {
+            int dividend = left.getInteger();
+            int divisor = right.getInteger();
+
+            // integers stay integers as long as there is no remainder
+            if (dividend % divisor == 0) {
+                left.setInteger(dividend / divisor);
+            } else {
+                left.setDouble((double) dividend / divisor);
+            }
+        } else if (left.isNumber() && right.isNumber() && !(left.isInteger() && right.isInteger())) {
+            left.setDouble(left.getDouble() / right.getDouble());
+        } else if (!fuse(Operation.DIVISION, left, right)) {
+            // also the division of an integer by zero, so it fails the same way
+            left.setElement(Infixes.performDivision(left.box(), right.box()));
+        }
+    }
+
+    public static void performEquals(UnboxedValue left, UnboxedValue right) {
+        left.setBoolean(isEqual(left, right));
+    }
+
+    public static void performNotEquals(UnboxedValue left, UnboxedValue right) {
+        left.setBoolean(!isEqual(left, right));
+    }
+
+    public static void performGreaterEqual(UnboxedValue left, UnboxedValue right) throws VirtualMachineException {
+        if (left.isNumber() && right.isNumber()) {
+            left.setBoolean(compareNumbers(left, right) >= 0);
+        } else {
+            left.setElement(Infixes.performGreaterEqual(left.box(), right.box()));
+        }
+    }
+
+    public static void performGreater(UnboxedValue left, UnboxedValue right) throws VirtualMachineException {
+        if (left.isNumber() && right.isNumber()) {
+            left.setBoolean(compareNumbers(left, right) > 0);
+        } else {
+            left.setElement(Infixes.performGreater(left.box(), right.box()));
+        }
+    }
+
+    public static void performLessEqual(UnboxedValue left, UnboxedValue right) throws VirtualMachineException {
+        if (left.isNumber() && right.isNumber()) {
+            left.setBoolean(compareNumbers(left, right) <= 0);
+        } else {
+            left.setElement(Infixes.performLessEqual(left.box(), right.box()));
+        }
+    }
+
+    public static void performLess(UnboxedValue left, UnboxedValue right) throws VirtualMachineException {
+        if (left.isNumber() && right.isNumber()) {
+            left.setBoolean(compareNumbers(left, right) < 0);
+        } else {
+            left.setElement(Infixes.performLess(left.box(), right.box()));
+        }
+    }
+
+    public static void performLogicAnd(UnboxedValue left, UnboxedValue right) throws VirtualMachineException {
+        if (left.isBoolean() && right.isBoolean()) {
+            left.setBoolean(left.getBoolean() && right.getBoolean());
+        } else {
+            left.setElement(Infixes.performLogicAnd(left.box(), right.box()));
+        }
+    }
+
+    public static void performLogicOr(UnboxedValue left, UnboxedValue right) throws VirtualMachineException {
+        if (left.isBoolean() && right.isBoolean()) {
+            left.setBoolean(left.getBoolean() || right.getBoolean());
+        } else {
+            left.setElement(Infixes.performLogicOr(left.box(), right.box()));
+        }
+    }
+
+    public static void performNegation(UnboxedValue value) throws VirtualMachineException {
+        if (value.isInteger()) {
+            value.setInteger(-1 * value.getInteger());
+        } else if (value.isDouble()) {
+            value.setDouble(-1 * value.getDouble());
+        } else if (value.isBoolean()) {
+            value.setBoolean(!value.getBoolean());
+        } else {
+            FusedArray negation = FusedArray.negate(value.getFused());
+            if (negation != null) {
+                value.setFused(negation);
+            } else {
+                value.setElement(Unarys.performNegation(value.box()));
+            }
+        }
+    }
+
+    /**
+     * Collects an element-wise operation on arrays in the left value without calculating it
+     *
+     * @return <code>true</code> if the operation was collected, otherwise it has to be performed right away
+     */
+    private static boolean fuse(Operation operation, UnboxedValue left, UnboxedValue right) {
+        FusedArray fused = FusedArray.combine(operation, left.getFused(), right.getFused());
+        if (fused == null) {
+            return false;
+        }
+        left.setFused(fused);
+        return true;
+    }
+
+    /**
+     * Checks if both values are equal the same way {@link com.diegokrupitza.bolang.vm.types.AbstractElementType#equals(Object)} does
+     */
+    private static boolean isEqual(UnboxedValue left, UnboxedValue right) {
+        if (left.isInteger() && right.isInteger()) {
+            return left.getInteger() == right.getInteger();
+        } else if (left.isDouble() && right.isDouble()) {
+            // like Double#equals
+            return Double.compare(left.getDouble(), right.getDouble()) == 0;
+        } else if (left.isNumber() && right.isNumber()) {
+            // an integer and a double, 10 equals 10.0
+            return left.getDouble() == right.getDouble();
+        } else if (left.isBoolean() && right.isBoolean()) {
+            return left.getBoolean() == right.getBoolean();
+        } else if ((left.isNumber() && right.isBoolean()) || (left.isBoolean() && right.isNumber())) {
+            return false;
+        }
+        return left.box().equals(right.box());
+    }
+
+    /**
+     * Compares two numbers the same way {@link Infixes} does, integers and doubles can be mixed
+     */
+    private static int compareNumbers(UnboxedValue left, UnboxedValue right) {
+        if (left.isInteger() && right.isInteger()) {
+            return Integer.compare(left.getInteger(), right.getInteger());
+        }
+        return Double.compare(left.getDouble(), right.getDouble());
+    }
+}
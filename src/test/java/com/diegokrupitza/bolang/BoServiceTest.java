@@ -0,0 +1,159 @@
+package com.diegokrupitza.bolang;
+
+import com.diegokrupitza.bolang.project.BoProject;
+import com.diegokrupitza.bolang.vm.VirtualMachineException;
+import com.diegokrupitza.bolang.vm.types.IntegerElement;
+import com.diegokrupitza.bolang.vm.types.StringElement;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * @author Diego Krupitza
+ * @version 1.0
+ * @date 18.10.26
+ */
+public class BoServiceTest {
+
+    private static final String PROGRAM = "var x := Numbers.toInt(#p1); return x * 2;";
+
+    @SneakyThrows
+    @Test
+    void cachedRunsTest() {
+        BoService boService = BoService.builder().build();
+
+        assertThat(boService.runCached(PROGRAM, Map.of("p1", "2"))).isEqualTo(new IntegerElement(4));
+        assertThat(boService.runCached(PROGRAM, Map.of("p1", "5"))).isEqualTo(new IntegerElement(10));
+        assertThat(boService.runCached("return #p1;", Map.of("p1", "5"))).isEqualTo(new StringElement("5"));
+
+        ProgramCache programCache = boService.getProgramCache();
+        assertThat(programCache.getMisses()).isEqualTo(2);
+        assertThat(programCache.getHits()).isEqualTo(1);
+        assertThat(programCache.size()).isEqualTo(2);
+    }
+
+    @SneakyThrows
+    @Test
+    void paramsOverrideServiceParamsTest() {
+        BoService boService = BoService.builder()
+                .addParams(Map.of("p1", "1", "p2", "3"))
+                .build();
+
+        assertThat(boService.runCached("return Numbers.toInt(#p1) + Numbers.toInt(#p2);", Map.of("p1", "2")))
+                .isEqualTo(new IntegerElement(5));
+    }
+
+    @SneakyThrows
+    @Test
+    void evictionTest() {
+        BoService boService = BoService.builder()
+                .programCacheSize(1)
+                .build();
+
+        boService.runCached("return 1;", Map.of());
+        boService.runCached("return 2;", Map.of());
+        boService.runCached("return 1;", Map.of());
+
+        assertThat(boService.getProgramCache().getMisses()).isEqualTo(3);
+        assertThat(boService.getProgramCache().size()).isEqualTo(1);
+    }
+
+    @SneakyThrows
+    @Test
+    void disabledTest() {
+        BoService boService = BoService.builder()
+                .programCacheSize(0)
+                .build();
+
+        boService.runCached(PROGRAM, Map.of("p1", "1"));
+        boService.runCached(PROGRAM, Map.of("p1", "1"));
+
+        assertThat(boService.getProgramCache().getMisses()).isEqualTo(2);
+        assertThat(boService.getProgramCache().size()).isZero();
+    }
+
+    @Test
+    void invalidProgramNotCachedTest() {
+        BoService boService = BoService.builder().build();
+        String program = "function foo() { return 1; } return this.foo();";
+
+        // functions are not allowed by default
+        assertThatThrownBy(() -> boService.runCached(program, Map.of())).isInstanceOf(VirtualMachineException.class);
+        assertThatThrownBy(() -> boService.runCached(program, Map.of())).isInstanceOf(VirtualMachineException.class);
+        assertThat(boService.getProgramCache().size()).isZero();
+    }
+
+    @SneakyThrows
+    @Test
+    void modulesTest() {
+        Path projectPath = Path.of("examples/sampleProject");
+        BoProject boProject = new BoProject(projectPath);
+        BoService boService = BoService.builder()
+                .functions(true)
+                .project(boProject)
+                .build();
+        String program = Files.readString(boProject.getMainPath());
+
+        assertThat(boService.runCached(program, Map.of("param1", "1", "param2", "Y"))).isEqualTo(new IntegerElement(3));
+        assertThat(boService.runCached(program, Map.of("param1", "1", "param2", "Y"))).isEqualTo(new IntegerElement(3));
+        assertThat(boService.getProgramCache().getHits()).isEqualTo(1);
+    }
+
+    @SneakyThrows
+    @Test
+    void changedModuleTest(@TempDir Path directory) {
+        Files.writeString(directory.resolve("BoProject.json"), "{ \"name\": \"Changing\", \"main\": \"Main.bo\", " +
+                "\"modules\": { \"counter\": \"Counter.bo\" }, \"params\": {} }");
+        Files.writeString(directory.resolve("Main.bo"), "import counter; return counter.value();");
+        Files.writeString(directory.resolve("Counter.bo"), "module counter; function value() { return 1; }");
+
+        BoProject boProject = new BoProject(directory);
+        BoService boService = BoService.builder()
+                .functions(true)
+                .project(boProject)
+                .build();
+        String program = Files.readString(boProject.getMainPath());
+
+        assertThat(boService.runCached(program, Map.of())).isEqualTo(new IntegerElement(1));
+
+        // the program is taken from the cache, the module has to be read again
+        Files.writeString(directory.resolve("Counter.bo"), "module counter; function value() { return 22; }");
+        assertThat(boService.runCached(program, Map.of())).isEqualTo(new IntegerElement(22));
+        assertThat(boService.getProgramCache().getHits()).isEqualTo(1);
+    }
+
+    @SneakyThrows
+    @Test
+    void concurrentRunsTest() {
+        BoService boService = BoService.builder().build();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<Object>> results = new ArrayList<>();
+            for (int i = 0; i < 100; i++) {
+                String param = Integer.toString(i);
+                results.add(executor.submit(() -> boService.runCached(PROGRAM, Map.of("p1", param))));
+            }
+
+            for (int i = 0; i < 100; i++) {
+                assertThat(results.get(i).get()).isEqualTo(new IntegerElement(i * 2));
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertThat(boService.getProgramCache().getHits() + boService.getProgramCache().getMisses()).isEqualTo(100);
+        assertThat(boService.getProgramCache().size()).isEqualTo(1);
+    }
+}
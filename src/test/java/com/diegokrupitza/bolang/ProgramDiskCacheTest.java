@@ -0,0 +1,110 @@
+package com.diegokrupitza.bolang;
+
+import com.diegokrupitza.bolang.syntaxtree.nodes.BoNode;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author Diego Krupitza
+ * @version 1.0
+ * @date 18.10.26
+ */
+public class ProgramDiskCacheTest {
+
+    private static final String PROGRAM = "var x := 5; return x * 2;";
+
+    private static final String OTHER_PROGRAM = "return 42;";
+
+    @TempDir
+    Path directory;
+
+    /**
+     * Stores the parsed other program under the hash of {@link #PROGRAM}, so loading the program tells if the file
+     * was used
+     */
+    @SneakyThrows
+    private Path plantOtherProgram(ProgramDiskCache diskCache) {
+        Path otherFile = diskCache.fileOf(ProgramCache.hashOf(OTHER_PROGRAM));
+        Path file = diskCache.fileOf(ProgramCache.hashOf(PROGRAM));
+        diskCache.load(OTHER_PROGRAM);
+        Files.copy(otherFile, file);
+        return file;
+    }
+
+    @Test
+    void writtenAndReadTest() {
+        ProgramDiskCache diskCache = new ProgramDiskCache(directory.resolve(ProgramDiskCache.DIRECTORY_NAME), "1.0");
+
+        BoNode parsed = diskCache.load(PROGRAM);
+        assertThat(diskCache.fileOf(ProgramCache.hashOf(PROGRAM))).isRegularFile();
+
+        BoNode read = diskCache.load(PROGRAM);
+        assertThat(read).isNotSameAs(parsed).isEqualTo(parsed);
+    }
+
+    @Test
+    void otherHashRebuiltTest() {
+        ProgramDiskCache diskCache = new ProgramDiskCache(directory, "1.0");
+        plantOtherProgram(diskCache);
+
+        // the file was written for other code
+        assertThat(diskCache.load(PROGRAM)).isEqualTo(BoService.parseContent(PROGRAM));
+        assertThat(diskCache.load(PROGRAM)).isEqualTo(BoService.parseContent(PROGRAM));
+    }
+
+    @SneakyThrows
+    @Test
+    void otherVersionRebuiltTest() {
+        new ProgramDiskCache(directory, "1.0").load(PROGRAM);
+        Path file = new ProgramDiskCache(directory, "1.0").fileOf(ProgramCache.hashOf(PROGRAM));
+        byte[] oldContent = Files.readAllBytes(file);
+
+        ProgramDiskCache diskCache = new ProgramDiskCache(directory, "2.0");
+        assertThat(diskCache.load(PROGRAM)).isEqualTo(BoService.parseContent(PROGRAM));
+        assertThat(Files.readAllBytes(file)).isNotEqualTo(oldContent);
+    }
+
+    @SneakyThrows
+    @Test
+    void damagedRebuiltTest() {
+        ProgramDiskCache diskCache = new ProgramDiskCache(directory, "1.0");
+        diskCache.load(PROGRAM);
+        Path file = diskCache.fileOf(ProgramCache.hashOf(PROGRAM));
+
+        byte[] content = Files.readAllBytes(file);
+        content[content.length - 3] ^= 0x5A;
+        Files.write(file, content);
+        assertThat(diskCache.load(PROGRAM)).isEqualTo(BoService.parseContent(PROGRAM));
+
+        Files.write(file, new byte[]{1, 2, 3});
+        assertThat(diskCache.load(PROGRAM)).isEqualTo(BoService.parseContent(PROGRAM));
+        assertThat(Files.size(file)).isGreaterThan(3);
+    }
+
+    @SneakyThrows
+    @Test
+    void notWritableTest() {
+        // a file blocks the directory, the program is parsed anyway
+        Path blocked = directory.resolve("blocked");
+        Files.writeString(blocked, "");
+
+        assertThat(new ProgramDiskCache(blocked, "1.0").load(PROGRAM)).isEqualTo(BoService.parseContent(PROGRAM));
+    }
+
+    @SneakyThrows
+    @Test
+    void serviceTest() {
+        BoService boService = BoService.builder()
+                .diskCache(new ProgramDiskCache(directory, "1.0"))
+                .build();
+
+        assertThat(boService.runCached(PROGRAM, java.util.Map.of()).toString()).isEqualTo("10");
+        assertThat(new ProgramDiskCache(directory, "1.0").fileOf(ProgramCache.hashOf(PROGRAM))).isRegularFile();
+    }
+}
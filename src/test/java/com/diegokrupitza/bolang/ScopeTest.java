@@ -4,10 +4,18 @@ import com.diegokrupitza.pdfgenerator.BoLexer;
 import com.diegokrupitza.pdfgenerator.BoParser;
 import com.diegokrupitza.bolang.syntaxtree.BuildAstException;
 import com.diegokrupitza.bolang.syntaxtree.BuildAstVisitor;
+import com.diegokrupitza.bolang.syntaxtree.nodes.BoNode;
+import com.diegokrupitza.bolang.syntaxtree.nodes.FunctionNode;
+import com.diegokrupitza.bolang.syntaxtree.nodes.data.IdNode;
+import com.diegokrupitza.bolang.syntaxtree.nodes.stat.AssignVariableNode;
+import com.diegokrupitza.bolang.syntaxtree.nodes.stat.DefineVariableNode;
+import com.diegokrupitza.bolang.syntaxtree.nodes.stat.IfElseNode;
+import com.diegokrupitza.bolang.syntaxtree.nodes.stat.ReturnNode;
 import org.antlr.v4.runtime.CharStreams;
 import org.antlr.v4.runtime.CommonTokenStream;
 import org.junit.jupiter.api.Test;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 /**
@@ -108,5 +116,65 @@ public class ScopeTest {
                 .hasMessageContaining(String.format("The var %s is already defined!", varName));
     }
 
+    @Test
+    public void callerVariableNotInFunctionScopeTest() {
+        var varName = "outside";
+        var logLines = String.format("var %s := 1;" +
+                "function foo() { return %s; }" +
+                "return this.foo();", varName, varName);
+
+        // lexing
+        BoLexer boLexer = new BoLexer(CharStreams.fromString(logLines));
+        CommonTokenStream tokens = new CommonTokenStream(boLexer);
+
+        // parsing
+        BoParser boParser = new BoParser(tokens);
+        BoParser.BoContext bo = boParser.bo();
+
+        // AST generator
+        BuildAstVisitor buildAstVisitor = new BuildAstVisitor();
+
+
+        assertThatThrownBy(() -> buildAstVisitor.visitBo(bo))
+                .isInstanceOf(BuildAstException.class)
+                .hasMessageContaining(String.format("Variable %s not in scope", varName));
+    }
+
+    @Test
+    public void slotsResolvedTest() {
+        var logLines = "var a := 1;" +
+                "if(a == 1) { var b := a; a := b; } else { var c := a; }" +
+                "function foo(x, y) { var z := x; return z + y; }" +
+                "return a;";
+
+        // lexing
+        BoLexer boLexer = new BoLexer(CharStreams.fromString(logLines));
+        CommonTokenStream tokens = new CommonTokenStream(boLexer);
+
+        // parsing
+        BoParser boParser = new BoParser(tokens);
+        BoParser.BoContext bo = boParser.bo();
+
+        // AST generator
+        BuildAstVisitor buildAstVisitor = new BuildAstVisitor();
+        BoNode head = (BoNode) buildAstVisitor.visitBo(bo);
 
+        // a, b and c share the frame of the program
+        assertThat(head.getFrameSize()).isEqualTo(3);
+        assertThat(((DefineVariableNode) head.getStats().get(0)).getSlot()).isEqualTo(0);
+
+        IfElseNode ifElseNode = (IfElseNode) head.getStats().get(1);
+        assertThat(((DefineVariableNode) ifElseNode.getIfSection().get(0)).getSlot()).isEqualTo(1);
+        assertThat(((AssignVariableNode) ifElseNode.getIfSection().get(1)).getSlot()).isEqualTo(0);
+        assertThat(((DefineVariableNode) ifElseNode.getElseSection().get(0)).getSlot()).isEqualTo(2);
+
+        // the function has its own frame with the params first
+        FunctionNode functionNode = (FunctionNode) head.getStats().get(2);
+        assertThat(functionNode.getFrameSize()).isEqualTo(3);
+        DefineVariableNode defineZ = (DefineVariableNode) functionNode.getBody().get(0);
+        assertThat(defineZ.getSlot()).isEqualTo(2);
+        assertThat(((IdNode) defineZ.getExpr()).getSlot()).isEqualTo(0);
+
+        assertThat(((IdNode) ((ReturnNode) head.getStats().get(3)).getRet()).getSlot()).isEqualTo(0);
+    }
 }
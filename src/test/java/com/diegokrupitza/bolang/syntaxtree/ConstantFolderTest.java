@@ -0,0 +1,143 @@
+package com.diegokrupitza.bolang.syntaxtree;
+
+import com.diegokrupitza.bolang.BoService;
+import com.diegokrupitza.bolang.syntaxtree.nodes.BoNode;
+import com.diegokrupitza.bolang.syntaxtree.nodes.ExpressionNode;
+import com.diegokrupitza.bolang.syntaxtree.nodes.data.*;
+import com.diegokrupitza.bolang.syntaxtree.nodes.infix.DivisionNode;
+import com.diegokrupitza.bolang.syntaxtree.nodes.infix.AdditionNode;
+import com.diegokrupitza.bolang.syntaxtree.nodes.stat.ReturnNode;
+import com.diegokrupitza.bolang.vm.VirtualMachine;
+import com.diegokrupitza.bolang.vm.VirtualMachineException;
+import com.diegokrupitza.bolang.vm.types.AbstractElementType;
+import com.diegokrupitza.pdfgenerator.BoLexer;
+import com.diegokrupitza.pdfgenerator.BoParser;
+import lombok.SneakyThrows;
+import org.antlr.v4.runtime.CharStreams;
+import org.antlr.v4.runtime.CommonTokenStream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author Diego Krupitza
+ * @version 1.0
+ * @date 18.10.26
+ */
+public class ConstantFolderTest {
+
+    private static Stream<String> programsSource() {
+        return Stream.of(
+                "return 1 + 2 * 3;",
+                "return 10 / 4;",
+                "return 10 / 5;",
+                "return 10.5 - 3;",
+                "return \"Hello \" ++ 5 ++ [1,2];",
+                "return [1,2,3.3] + [1,2];",
+                "return -[1,-2,3] * 2;",
+                "return -\"Bo\";",
+                "return !false && true || false;",
+                "return 1 == 1.0;",
+                "return [1,2] != [1,2];",
+                "var x := [1,[2,3]]; return x[1];",
+                "var x := \"Hey\"; return x[1] ++ x[2];",
+                "var x := 5; var y := -x; return [x, y];",
+                "var x := 1; x := x + 1; return x;",
+                "var x := 1; if(x == 1) { var y := x * 2; x := y; } return x;",
+                "var x := 2; if(x > 1) { var y := x * 2; return y; } else { var y := x * 3; return y; }",
+                "function foo(a) { var b := 2; return a * b; } var b := 3; return this.foo(b + 1);",
+                "var x := [1.5, 2]; var y := Numbers.toInt(x); return [x, y];",
+                "var x := 1.5; return Numbers.toInt(x) + x;"
+        );
+    }
+
+    private static Stream<String> failingProgramsSource() {
+        return Stream.of(
+                "return 1 / 0;",
+                "return 1 + \"a\";",
+                "var x := [1]; return x[5];",
+                "if(false) { return 1 / 0; } return 1 < \"a\";"
+        );
+    }
+
+    private static BoNode parseWithoutFolding(String program) {
+        BoLexer boLexer = new BoLexer(CharStreams.fromString(program));
+        CommonTokenStream tokens = new CommonTokenStream(boLexer);
+        BoParser boParser = new BoParser(tokens);
+        BoParser.BoContext bo = boParser.bo();
+        return (BoNode) new BuildAstVisitor().visitBo(bo);
+    }
+
+    private static ExpressionNode returnedExpression(BoNode head) {
+        List<ExpressionNode> stats = head.getStats();
+        return ((ReturnNode) stats.get(stats.size() - 1)).getRet();
+    }
+
+    @ParameterizedTest
+    @MethodSource("programsSource")
+    @SneakyThrows
+    void sameResultAsWithoutFoldingTest(String program) {
+        AbstractElementType<?> expected = new VirtualMachine(parseWithoutFolding(program)).run(Map.of());
+        AbstractElementType<?> folded = new VirtualMachine(BoService.parseContent(program)).run(Map.of());
+
+        assertThat(folded).isEqualTo(expected);
+        assertThat(folded.getType()).isEqualTo(expected.getType());
+        assertThat(folded.toString()).isEqualTo(expected.toString());
+    }
+
+    @ParameterizedTest
+    @MethodSource("failingProgramsSource")
+    @SneakyThrows
+    void errorsStayAtRuntimeTest(String program) {
+        String expected = null;
+        try {
+            new VirtualMachine(parseWithoutFolding(program)).run(Map.of());
+        } catch (VirtualMachineException | ArithmeticException e) {
+            expected = e.getClass() + e.getMessage();
+        }
+
+        String actual = null;
+        try {
+            new VirtualMachine(BoService.parseContent(program)).run(Map.of());
+        } catch (VirtualMachineException | ArithmeticException e) {
+            actual = e.getClass() + e.getMessage();
+        }
+
+        assertThat(expected).isNotNull();
+        assertThat(actual).isEqualTo(expected);
+    }
+
+    @Test
+    void literalArithmeticFoldedTest() {
+        assertThat(returnedExpression(BoService.parseContent("return 1 + (2 * 3);"))).isEqualTo(new IntegerNode(7));
+        assertThat(returnedExpression(BoService.parseContent("return -(10 / 4);"))).isEqualTo(new DoubleNode(-2.5));
+        assertThat(returnedExpression(BoService.parseContent("return [1, 2] * 2;"))).isEqualTo(new ArrayNode(List.of(new IntegerNode(2), new IntegerNode(4))));
+        assertThat(returnedExpression(BoService.parseContent("return \"a\" ++ 1;"))).isEqualTo(new StringNode("a1"));
+    }
+
+    @Test
+    void neverReassignedVariablesPropagatedTest() {
+        assertThat(returnedExpression(BoService.parseContent("var x := 5; var y := x * 2; return y + x;"))).isEqualTo(new IntegerNode(15));
+        assertThat(returnedExpression(BoService.parseContent("var x := [1, 2]; return x[1];"))).isEqualTo(new IntegerNode(2));
+
+        // arrays are not copied into every read
+        assertThat(returnedExpression(BoService.parseContent("var x := [1, 2]; return x;"))).isEqualTo(new IdNode("x"));
+
+        // reassigned variables stay variables
+        ExpressionNode reassigned = returnedExpression(BoService.parseContent("var x := 5; x := 6; return x + 1;"));
+        assertThat(reassigned).isInstanceOf(AdditionNode.class);
+        assertThat(((AdditionNode) reassigned).getLeft()).isEqualTo(new IdNode("x"));
+    }
+
+    @Test
+    void failingOperationsNotFoldedTest() {
+        assertThat(returnedExpression(BoService.parseContent("return 1 / 0;"))).isInstanceOf(DivisionNode.class);
+        assertThat(returnedExpression(BoService.parseContent("return 1 + \"a\";"))).isInstanceOf(AdditionNode.class);
+    }
+}
@@ -0,0 +1,106 @@
+package com.diegokrupitza.bolang.syntaxtree;
+
+import com.diegokrupitza.bolang.BoService;
+import com.diegokrupitza.bolang.syntaxtree.nodes.ExpressionNode;
+import com.diegokrupitza.bolang.syntaxtree.nodes.FunctionNode;
+import com.diegokrupitza.bolang.syntaxtree.nodes.data.IdNode;
+import com.diegokrupitza.bolang.syntaxtree.nodes.infix.InfixNode;
+import com.diegokrupitza.bolang.syntaxtree.nodes.stat.*;
+import com.diegokrupitza.bolang.syntaxtree.nodes.unary.NegateNode;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author Diego Krupitza
+ * @version 1.0
+ * @date 18.10.26
+ */
+public class LastUseAnalysisTest {
+
+    @SneakyThrows
+    private static List<ExpressionNode> bodyOf(String function) {
+        return ((FunctionNode) BoService.parseContent(function).getStats().get(0)).getBody();
+    }
+
+    /**
+     * @return the last use flags of the variables an expression reads, from left to right
+     */
+    private static List<Boolean> lastUses(ExpressionNode expr) {
+        List<Boolean> lastUses = new ArrayList<>();
+        collectLastUses(expr, lastUses);
+        return lastUses;
+    }
+
+    private static void collectLastUses(ExpressionNode expr, List<Boolean> lastUses) {
+        if (expr instanceof IdNode) {
+            lastUses.add(((IdNode) expr).isLastUse());
+        } else if (expr instanceof InfixNode) {
+            collectLastUses(((InfixNode) expr).getLeft(), lastUses);
+            collectLastUses(((InfixNode) expr).getRight(), lastUses);
+        } else if (expr instanceof NegateNode) {
+            collectLastUses(((NegateNode) expr).getInner(), lastUses);
+        }
+    }
+
+    @Test
+    void reassignedTest() {
+        List<ExpressionNode> body = bodyOf("function f(a) { var x := a * 2; x := x + 1; return x + a; }");
+
+        assertThat(lastUses(((DefineVariableNode) body.get(0)).getExpr())).containsExactly(false);
+        assertThat(lastUses(((AssignVariableNode) body.get(1)).getExpr())).containsExactly(true);
+        assertThat(lastUses(((ReturnNode) body.get(2)).getRet())).containsExactly(true, true);
+    }
+
+    @Test
+    void readTwiceInStatTest() {
+        List<ExpressionNode> body = bodyOf("function f(a) { var x := a * 2; x := x * (x + 1); return x; }");
+
+        assertThat(lastUses(((AssignVariableNode) body.get(1)).getExpr())).containsExactly(false, false);
+        assertThat(lastUses(((ReturnNode) body.get(2)).getRet())).containsExactly(true);
+    }
+
+    @Test
+    void readByIndexTest() {
+        List<ExpressionNode> body = bodyOf("function f(a) { var x := a * 2; var y := x + 1; return y + x[0]; }");
+
+        // the index access reads the array later on
+        assertThat(lastUses(((DefineVariableNode) body.get(1)).getExpr())).containsExactly(false);
+        assertThat(lastUses(((ReturnNode) body.get(2)).getRet())).containsExactly(true);
+    }
+
+    @Test
+    void ifTest() {
+        List<ExpressionNode> body = bodyOf("function f(a) { var x := a + 1; if (a > 1) { x := x * 2; } return x; }");
+        IfNode ifNode = (IfNode) body.get(1);
+
+        assertThat(lastUses(((DefineVariableNode) body.get(0)).getExpr())).containsExactly(false);
+        assertThat(lastUses(ifNode.getCondition())).containsExactly(true);
+        assertThat(lastUses(((AssignVariableNode) ifNode.getIfSection().get(0)).getExpr())).containsExactly(true);
+        assertThat(lastUses(((ReturnNode) body.get(2)).getRet())).containsExactly(true);
+    }
+
+    @Test
+    void readAfterIfTest() {
+        List<ExpressionNode> body = bodyOf("function f(a) { var x := a + 1; if (a > 1) { var y := -x; } return x; }");
+        IfNode ifNode = (IfNode) body.get(1);
+
+        // the variable is read again when the branch is not taken
+        assertThat(lastUses(ifNode.getCondition())).containsExactly(true);
+        assertThat(lastUses(((DefineVariableNode) ifNode.getIfSection().get(0)).getExpr())).containsExactly(false);
+    }
+
+    @Test
+    void ifElseTest() {
+        List<ExpressionNode> body = bodyOf("function f(a) { if (a > 1) { return a; } else { var b := a * 2; return b; } }");
+        IfElseNode ifElseNode = (IfElseNode) body.get(0);
+
+        assertThat(lastUses(ifElseNode.getCondition())).containsExactly(false);
+        assertThat(lastUses(((ReturnNode) ifElseNode.getIfSection().get(0)).getRet())).containsExactly(true);
+        assertThat(lastUses(((DefineVariableNode) ifElseNode.getElseSection().get(0)).getExpr())).containsExactly(true);
+    }
+}
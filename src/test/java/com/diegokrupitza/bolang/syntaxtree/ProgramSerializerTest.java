@@ -0,0 +1,99 @@
+package com.diegokrupitza.bolang.syntaxtree;
+
+import com.diegokrupitza.bolang.BoService;
+import com.diegokrupitza.bolang.syntaxtree.nodes.BoNode;
+import com.diegokrupitza.bolang.vm.ExecutionEngine;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * @author Diego Krupitza
+ * @version 1.0
+ * @date 18.10.26
+ */
+public class ProgramSerializerTest {
+
+    private static Stream<String> programsSource() {
+        return Stream.of(
+                "return 1 + 2 * 3;",
+                "var x := [1, 2.5, \"a\", true, [#p1]]; return x[4] ++ \"ü\";",
+                "var x := -3; x := x * 2; if (((x < 0) && (x >= -10)) || false) { return x / 4; } return x;",
+                "function f(a, b) { if (a != b) { return a - b; } else { return a == b; } } return this.f(3, 2);",
+                "function f(a) { var x := a * 2; x := x + 1; return x; } return (this.f([1, 2])) == [3, 5];",
+                "import module1; var x := Numbers.toInt(\"2\"); return x <= 3;"
+        );
+    }
+
+    @SneakyThrows
+    private static BoNode roundTrip(BoNode head) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ProgramSerializer.write(head, out);
+        return ProgramSerializer.read(ByteBuffer.wrap(out.toByteArray()));
+    }
+
+    @SneakyThrows
+    @ParameterizedTest
+    @MethodSource("programsSource")
+    void roundTripTest(String program) {
+        BoNode head = BoService.parseContent(program);
+        BoNode read = roundTrip(head);
+
+        assertThat(read).isEqualTo(head);
+        // the slots and the analysis results are not part of equals
+        assertThat(read.toString()).isEqualTo(head.toString());
+        assertThat(read.getFrameSize()).isEqualTo(head.getFrameSize());
+    }
+
+    @SneakyThrows
+    @ParameterizedTest
+    @MethodSource("programsSource")
+    void sameResultTest(String program) {
+        if (program.startsWith("import")) {
+            return;
+        }
+
+        for (ExecutionEngine engine : ExecutionEngine.values()) {
+            Object expected = engine.create(BoService.parseContent(program)).run(Map.of("p1", "b"));
+            Object actual = engine.create(roundTrip(BoService.parseContent(program))).run(Map.of("p1", "b"));
+            assertThat(actual).as(engine.name()).isEqualTo(expected);
+        }
+    }
+
+    @SneakyThrows
+    @Test
+    void moduleTest() {
+        String module = Files.readString(Path.of("examples/sampleProject/Module1.bo"));
+        BoNode head = BoService.parseContent(module);
+
+        assertThat(roundTrip(head)).isEqualTo(head);
+    }
+
+    @SneakyThrows
+    @Test
+    void damagedTest() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ProgramSerializer.write(BoService.parseContent("var x := \"abc\"; return x;"), out);
+        byte[] bytes = out.toByteArray();
+
+        assertThatThrownBy(() -> ProgramSerializer.read(ByteBuffer.wrap(Arrays.copyOf(bytes, bytes.length / 2))))
+                .isInstanceOf(IOException.class);
+
+        bytes[0] = 99;
+        assertThatThrownBy(() -> ProgramSerializer.read(ByteBuffer.wrap(bytes)))
+                .isInstanceOf(IOException.class);
+    }
+}
@@ -0,0 +1,122 @@
+package com.diegokrupitza.bolang.vm;
+
+import com.diegokrupitza.bolang.BoService;
+import com.diegokrupitza.bolang.vm.types.AbstractElementType;
+import com.diegokrupitza.bolang.vm.types.ArrayElement;
+import com.diegokrupitza.bolang.vm.types.IntegerElement;
+import com.diegokrupitza.bolang.vm.types.UnboxedValue;
+import com.diegokrupitza.bolang.vm.utils.UnboxedInfixes;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Arrays that are not used anymore may take the result of an operation, but no one may ever see an array change
+ *
+ * @author Diego Krupitza
+ * @version 1.0
+ * @date 18.10.26
+ */
+public class InPlaceUpdateTest {
+
+    private static final String[] PROGRAMS = {
+            // the array is updated in place
+            "var x := [1, 2, 3] * this.two(); x := x + 1; x := -(x * 2); return x;",
+            "var x := [1.5, 2, 3] * this.two(); if (x[0] > 1) { x := x / 2; } return x;",
+            "var x := [1, 2, 3] * this.two(); var y := x + 1; return [x, y];",
+            // the array is seen by someone else
+            "var x := [1, 2, 3] * this.two(); var y := x; x := x + 1; return [x, y];",
+            "var x := [1, 2, 3] * this.two(); var y := [x, 5]; x := x + 1; return [x, y];",
+            "var x := [1, 2, 3] * this.two(); var y := this.id(x); x := x * 3; return [x, y];",
+            "var x := this.id([1, 2, 3] * 2); x := x + 1; var y := this.id([1, 2, 3] * 2); return [x, y];",
+            "var x := [1, 2, 3] * this.two(); var y := x * x; x := x - 1; return [x, y];",
+            "var x := [1, 2, 3] * this.two(); var y := this.inc(x); return [x, y];",
+            "var x := [1, 2, 3] * this.two(); if (x[0] > 1) { x := x + 1; } return x;"
+    };
+
+    private static final String FUNCTIONS = "function two() { return 2; } " +
+            "function id(a) { return a; } " +
+            "function inc(a) { a := a + 1; return a; } ";
+
+    private static Stream<Arguments> programs() {
+        return Arrays.stream(PROGRAMS)
+                .flatMap(program -> Arrays.stream(ExecutionEngine.values())
+                        .filter(engine -> engine != ExecutionEngine.TREE_WALKER)
+                        .map(engine -> Arguments.of(program, engine)));
+    }
+
+    @SneakyThrows
+    private static AbstractElementType<?> run(ExecutionEngine engine, String program) {
+        return engine.create(BoService.parseContent(FUNCTIONS + program)).run(Map.of());
+    }
+
+    @ParameterizedTest
+    @MethodSource("programs")
+    void sameResultTest(String program, ExecutionEngine engine) {
+        // the other engines never update in place
+        assertThat(run(ExecutionEngine.TREE_WALKER, program).toString()).isEqualTo(run(engine, program).toString());
+    }
+
+    @Test
+    void resultsTest() {
+        assertThat(run(ExecutionEngine.TREE_WALKER, PROGRAMS[0]).toString()).isEqualTo(run(ExecutionEngine.TREE_WALKER, "return [-6, -10, -14];").toString());
+        assertThat(run(ExecutionEngine.TREE_WALKER, PROGRAMS[3]).toString()).isEqualTo(run(ExecutionEngine.TREE_WALKER, "return [[3, 5, 7], [2, 4, 6]];").toString());
+    }
+
+    @SneakyThrows
+    @Test
+    void consumedTest() {
+        ArrayElement array = new ArrayElement(new double[]{1.0, 2.0, 3.0});
+        double[] storage = array.getDoubleValues();
+
+        UnboxedValue left = new UnboxedValue();
+        UnboxedValue right = new UnboxedValue();
+        left.setConsumedElement(array);
+        right.setElement(new IntegerElement(2));
+        UnboxedInfixes.performMultiplication(left, right);
+
+        assertThat(left.box()).isSameAs(array);
+        assertThat(array.getDoubleValues()).isSameAs(storage).containsExactly(2.0, 4.0, 6.0);
+    }
+
+    @SneakyThrows
+    @Test
+    void notConsumedTest() {
+        ArrayElement array = new ArrayElement(new double[]{1.0, 2.0, 3.0});
+
+        UnboxedValue left = new UnboxedValue();
+        UnboxedValue right = new UnboxedValue();
+        left.setElement(array);
+        right.setElement(new IntegerElement(2));
+        UnboxedInfixes.performMultiplication(left, right);
+
+        assertThat(left.box()).isNotSameAs(array);
+        assertThat(array.getDoubleValues()).containsExactly(1.0, 2.0, 3.0);
+    }
+
+    @SneakyThrows
+    @Test
+    void sharedStorageTest() {
+        ArrayElement array = new ArrayElement(new double[]{1.0, 2.0, 3.0});
+        ArrayElement copy = array.copy();
+
+        UnboxedValue left = new UnboxedValue();
+        UnboxedValue right = new UnboxedValue();
+        left.setConsumedElement(array);
+        right.setElement(new IntegerElement(2));
+        UnboxedInfixes.performMultiplication(left, right);
+        UnboxedInfixes.performNegation(left);
+
+        // the copy still uses the storage
+        assertThat(left.box()).isNotSameAs(array);
+        assertThat(copy.getDoubleValues()).containsExactly(1.0, 2.0, 3.0);
+    }
+}
@@ -0,0 +1,120 @@
+package com.diegokrupitza.bolang.vm;
+
+import com.diegokrupitza.bolang.BoService;
+import com.diegokrupitza.bolang.vm.functions.MemoTable;
+import com.diegokrupitza.bolang.vm.types.IntegerElement;
+import com.diegokrupitza.bolang.vm.utils.Booleans;
+import lombok.SneakyThrows;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author Diego Krupitza
+ * @version 1.0
+ * @date 18.10.26
+ */
+public class MemoizationTest {
+
+    private static final String FIBONACCI = "function fib(n) { " +
+            "if(n < 2) { return n; } " +
+            "return this.fib(n - 1) + this.fib(n - 2); " +
+            "} " +
+            "var x := this.fib(25); " +
+            "return x;";
+
+    @SneakyThrows
+    private static AbstractVirtualMachine create(ExecutionEngine engine, String program, int memoSize) {
+        VirtualMachineSettings settings = VirtualMachineSettings.builder()
+                .memoSize(memoSize)
+                .build();
+        return engine.create(BoService.parseContent(program), settings);
+    }
+
+    @SneakyThrows
+    @ParameterizedTest
+    @EnumSource(ExecutionEngine.class)
+    void pureRecursionMemoizedTest(ExecutionEngine engine) {
+        AbstractVirtualMachine virtualMachine = create(engine, FIBONACCI, 10_000);
+
+        assertThat(virtualMachine.run(Map.of())).isEqualTo(new IntegerElement(75025));
+
+        // every value of n is computed once, fib(n - 2) is always known already except for fib(0)
+        MemoTable memoTable = virtualMachine.getMemoTable();
+        assertThat(memoTable.getMisses()).isEqualTo(26);
+        assertThat(memoTable.getHits()).isEqualTo(23);
+        assertThat(memoTable.size()).isEqualTo(26);
+    }
+
+    @SneakyThrows
+    @ParameterizedTest
+    @EnumSource(ExecutionEngine.class)
+    void memoTablePerRunTest(ExecutionEngine engine) {
+        AbstractVirtualMachine virtualMachine = create(engine, FIBONACCI, 10_000);
+
+        virtualMachine.run(Map.of());
+        assertThat(virtualMachine.run(Map.of())).isEqualTo(new IntegerElement(75025));
+        assertThat(virtualMachine.getMemoTable().getMisses()).isEqualTo(26);
+        assertThat(virtualMachine.getMemoTable().getHits()).isEqualTo(23);
+    }
+
+    @SneakyThrows
+    @ParameterizedTest
+    @EnumSource(ExecutionEngine.class)
+    void memoTableBoundedTest(ExecutionEngine engine) {
+        AbstractVirtualMachine virtualMachine = create(engine, FIBONACCI, 4);
+
+        assertThat(virtualMachine.run(Map.of())).isEqualTo(new IntegerElement(75025));
+        assertThat(virtualMachine.getMemoTable().size()).isEqualTo(4);
+    }
+
+    @SneakyThrows
+    @ParameterizedTest
+    @EnumSource(ExecutionEngine.class)
+    void memoizationTurnedOffTest(ExecutionEngine engine) {
+        AbstractVirtualMachine virtualMachine = create(engine, FIBONACCI, 0);
+
+        assertThat(virtualMachine.run(Map.of())).isEqualTo(new IntegerElement(75025));
+        assertThat(virtualMachine.getMemoTable().getHits()).isZero();
+        assertThat(virtualMachine.getMemoTable().getMisses()).isZero();
+        assertThat(virtualMachine.getMemoTable().size()).isZero();
+    }
+
+    @SneakyThrows
+    @ParameterizedTest
+    @EnumSource(ExecutionEngine.class)
+    void impureFunctionsNotMemoizedTest(ExecutionEngine engine) {
+        String program = "function random(n) { return n * Random.rand(); } " +
+                "function indirect(n) { return this.random(n); } " +
+                "var a := this.indirect(1); " +
+                "var b := this.indirect(1); " +
+                "var c := this.random(1); " +
+                "return (a != b) && (b != c);";
+        AbstractVirtualMachine virtualMachine = create(engine, program, 10_000);
+
+        assertThat(virtualMachine.run(Map.of())).isEqualTo(Booleans.TRUE);
+        assertThat(virtualMachine.getMemoTable().getHits()).isZero();
+        assertThat(virtualMachine.getMemoTable().getMisses()).isZero();
+    }
+
+    @SneakyThrows
+    @ParameterizedTest
+    @EnumSource(ExecutionEngine.class)
+    void paramTypesPartOfKeyTest(ExecutionEngine engine) {
+        String program = "function twice(n) { return n * 2; } " +
+                "var a := this.twice(10); " +
+                "var b := this.twice(10.0); " +
+                "var c := this.twice([10]); " +
+                "var d := this.twice([10.0]); " +
+                "return [a, b, c, d];";
+        AbstractVirtualMachine virtualMachine = create(engine, program, 10_000);
+
+        assertThat(virtualMachine.run(Map.of()).toString())
+                .isEqualTo("[20, 20.0, [20], [20.0]]");
+        assertThat(virtualMachine.getMemoTable().getHits()).isZero();
+        assertThat(virtualMachine.getMemoTable().getMisses()).isEqualTo(4);
+    }
+}
@@ -0,0 +1,139 @@
+package com.diegokrupitza.bolang.vm;
+
+import com.diegokrupitza.bolang.BoService;
+import com.diegokrupitza.bolang.project.BoProject;
+import com.diegokrupitza.bolang.syntaxtree.nodes.BoNode;
+import com.diegokrupitza.bolang.syntaxtree.nodes.FunctionNode;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * @author Diego Krupitza
+ * @version 1.0
+ * @date 18.10.26
+ */
+public class ModuleCacheTest {
+
+    @TempDir
+    Path directory;
+
+    @SneakyThrows
+    private Path writeModule(String content, Instant modified) {
+        Path module = directory.resolve("Module1.bo");
+        Files.writeString(module, content);
+        Files.setLastModifiedTime(module, FileTime.from(modified));
+        return module;
+    }
+
+    private static List<String> namesOf(ModuleCache.ParsedModule module) {
+        return module.getFunctions().stream().map(FunctionNode::getName).collect(Collectors.toList());
+    }
+
+    @SneakyThrows
+    @Test
+    void unchangedTest() {
+        ModuleCache moduleCache = new ModuleCache();
+        Path module = writeModule("module module1; function foo(a) { return this.bar(a); } function bar(a) { return a; }",
+                Instant.now().minus(1, ChronoUnit.HOURS));
+
+        ModuleCache.ParsedModule parsed = moduleCache.get("module1", module);
+        assertThat(moduleCache.get("module1", module)).isSameAs(parsed);
+        assertThat(moduleCache.get("module1", directory.resolve(".").resolve("Module1.bo"))).isSameAs(parsed);
+
+        assertThat(moduleCache.getMisses()).isEqualTo(1);
+        assertThat(moduleCache.getHits()).isEqualTo(2);
+        assertThat(namesOf(parsed)).containsExactly("foo", "bar");
+        // the `this` of the module is its name
+        assertThat(parsed.getFunctions().get(0).getBody().toString()).contains("module=module1");
+    }
+
+    @SneakyThrows
+    @Test
+    void otherNameTest() {
+        ModuleCache moduleCache = new ModuleCache();
+        Path module = writeModule("module module1; function foo(a) { return a; }", Instant.now().minus(1, ChronoUnit.HOURS));
+
+        moduleCache.get("module1", module);
+        moduleCache.get("other", module);
+
+        assertThat(moduleCache.getMisses()).isEqualTo(2);
+    }
+
+    @SneakyThrows
+    @Test
+    void changedTest() {
+        ModuleCache moduleCache = new ModuleCache();
+        Instant modified = Instant.now().truncatedTo(ChronoUnit.SECONDS);
+        Path module = writeModule("module module1; function foo(a) { return a; }", modified);
+        moduleCache.get("module1", module);
+
+        // the same size and time, but the file was parsed right after it was changed, so the time is not trusted
+        writeModule("module module1; function baz(a) { return a; }", modified);
+        assertThat(namesOf(moduleCache.get("module1", module))).containsExactly("baz");
+
+        writeModule("module module1; function fooBar(a) { return a; }", modified.plusSeconds(10));
+        assertThat(namesOf(moduleCache.get("module1", module))).containsExactly("fooBar");
+        assertThat(moduleCache.getMisses()).isEqualTo(3);
+    }
+
+    @SneakyThrows
+    @Test
+    void onlyTimeChangedTest() {
+        ModuleCache moduleCache = new ModuleCache();
+        Path module = writeModule("module module1; function foo(a) { return a; }", Instant.now().minus(1, ChronoUnit.HOURS));
+        ModuleCache.ParsedModule parsed = moduleCache.get("module1", module);
+
+        writeModule("module module1; function foo(a) { return a; }", Instant.now().minus(1, ChronoUnit.MINUTES));
+
+        assertThat(moduleCache.get("module1", module)).isSameAs(parsed);
+        assertThat(moduleCache.getMisses()).isEqualTo(1);
+    }
+
+    @SneakyThrows
+    @Test
+    void evictionTest() {
+        ModuleCache moduleCache = new ModuleCache(1);
+        Path module = writeModule("module module1; function foo() { return 1; }", Instant.now().minus(1, ChronoUnit.HOURS));
+
+        ModuleCache.ParsedModule parsed = moduleCache.get("module1", module);
+        moduleCache.get("other", module);
+        assertThat(moduleCache.size()).isEqualTo(1);
+
+        // the module was dropped and has to be parsed again
+        assertThat(moduleCache.get("module1", module)).isNotSameAs(parsed);
+        assertThat(moduleCache.getMisses()).isEqualTo(3);
+    }
+
+    @Test
+    void invalidSizeTest() {
+        assertThatThrownBy(() -> new ModuleCache(-1)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @SneakyThrows
+    @Test
+    void sharedAcrossImportsTest() {
+        BoProject boProject = new BoProject(Path.of("examples/sampleProject"));
+        BoNode head = BoService.parseContent(Files.readString(boProject.getMainPath()));
+
+        Map<String, List<FunctionNode>> first = ModulesImporter.importModules(boProject, head);
+        long misses = ModuleCache.SHARED.getMisses();
+        Map<String, List<FunctionNode>> second = ModulesImporter.importModules(boProject, head);
+
+        assertThat(ModuleCache.SHARED.getMisses()).isEqualTo(misses);
+        assertThat(second.keySet()).isEqualTo(first.keySet());
+        assertThat(second.get("module1")).isSameAs(first.get("module1"));
+    }
+}
@@ -0,0 +1,189 @@
+package com.diegokrupitza.bolang.vm;
+
+import com.diegokrupitza.bolang.BoService;
+import com.diegokrupitza.bolang.project.BoProject;
+import com.diegokrupitza.bolang.syntaxtree.nodes.BoNode;
+import com.diegokrupitza.bolang.syntaxtree.nodes.FunctionNode;
+import com.diegokrupitza.bolang.vm.functions.FunctionTable;
+import com.diegokrupitza.bolang.vm.types.IntegerElement;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * @author Diego Krupitza
+ * @version 1.0
+ * @date 18.10.26
+ */
+public class ModulesImporterTest {
+
+    private static final int MODULES = 50;
+
+    @TempDir
+    Path directory;
+
+    /**
+     * Every module imports the next two ones and calls the next one, the last ones import the first ones again
+     */
+    @SneakyThrows
+    private BoProject generateProject(int modules, String main) {
+        for (int i = 0; i < modules; i++) {
+            int next = (i + 1) % modules;
+            int afterNext = (i + 2) % modules;
+            Files.writeString(directory.resolve("Module" + i + ".bo"), "module module" + i + "; " +
+                    "import module" + next + "; " +
+                    "import module" + afterNext + "; " +
+                    "function value() { return " + i + "; } " +
+                    "function sum(n) { if (n == 0) { return this.value(); } return this.value() + module" + next + ".sum(n - 1); }");
+        }
+
+        String moduleEntries = IntStream.range(0, modules)
+                .mapToObj(i -> "\"module" + i + "\": \"Module" + i + ".bo\"")
+                .collect(Collectors.joining(", "));
+        Files.writeString(directory.resolve("BoProject.json"), "{ \"name\": \"Generated\", \"main\": \"Main.bo\", " +
+                "\"modules\": { " + moduleEntries + " }, \"params\": {} }");
+        Files.writeString(directory.resolve("Main.bo"), main);
+
+        return new BoProject(directory);
+    }
+
+    @SneakyThrows
+    @Test
+    void transitiveImportsTest() {
+        BoProject boProject = generateProject(MODULES, "import module0; return module0.sum(" + (MODULES - 1) + ");");
+        BoNode head = BoService.parseContent(Files.readString(boProject.getMainPath()));
+
+        Map<String, List<FunctionNode>> modules = ModulesImporter.importModules(boProject, head);
+        assertThat(modules).hasSize(MODULES);
+        assertThat(modules.get("module" + (MODULES - 1))).extracting(FunctionNode::getName).containsExactly("value", "sum");
+
+        for (ExecutionEngine engine : ExecutionEngine.values()) {
+            AbstractVirtualMachine virtualMachine = engine.create(head);
+            virtualMachine.addExternalModules(modules);
+            assertThat(virtualMachine.run(Map.of())).as(engine.name()).isEqualTo(new IntegerElement(MODULES * (MODULES - 1) / 2));
+        }
+    }
+
+    @SneakyThrows
+    @Test
+    void missingModuleTest() {
+        BoProject boProject = generateProject(MODULES, "import module0; return module0.value();");
+        Files.delete(directory.resolve("Module" + (MODULES / 2) + ".bo"));
+        BoNode head = BoService.parseContent(Files.readString(boProject.getMainPath()));
+
+        assertThatThrownBy(() -> ModulesImporter.importModules(boProject, head))
+                .isInstanceOf(VirtualMachineException.class)
+                .hasMessageContaining("Module" + (MODULES / 2) + ".bo");
+    }
+
+    @SneakyThrows
+    @Test
+    void undefinedModuleTest() {
+        BoProject boProject = generateProject(MODULES, "import module0; import unknown; return module0.value() + unknown.value();");
+        BoNode head = BoService.parseContent(Files.readString(boProject.getMainPath()));
+
+        assertThatThrownBy(() -> ModulesImporter.importModules(boProject, head))
+                .isInstanceOf(VirtualMachineException.class)
+                .hasMessageContaining("unknown");
+    }
+
+    @SneakyThrows
+    @Test
+    void lazyImportTest() {
+        BoProject boProject = generateProject(MODULES, "import module0; return module0.sum(2);");
+        // modules that are never called do not have to be readable
+        Files.delete(directory.resolve("Module" + (MODULES / 2) + ".bo"));
+        BoNode head = BoService.parseContent(Files.readString(boProject.getMainPath()));
+
+        Map<String, FunctionTable.ModuleStub> stubs = ModulesImporter.importModulesLazily(boProject, head);
+        assertThat(stubs).hasSize(MODULES);
+
+        for (ExecutionEngine engine : ExecutionEngine.values()) {
+            AbstractVirtualMachine virtualMachine = engine.create(head);
+            virtualMachine.addLazyModules(stubs);
+            assertThat(virtualMachine.run(Map.of())).as(engine.name()).isEqualTo(new IntegerElement(3));
+        }
+    }
+
+    @SneakyThrows
+    @Test
+    void lazyImportInFunctionTest() {
+        // the module is only called in a branch that is not taken, finding out if `f` is pure must not load it
+        BoProject boProject = generateProject(MODULES, "import module0; " +
+                "function f(x) { if (x == 1) { return module0.value() + x; } return 0; } " +
+                "var r := this.f(2); return r + this.f(3);");
+        BoNode head = BoService.parseContent(Files.readString(boProject.getMainPath()));
+        Map<String, FunctionTable.ModuleStub> stubs = ModulesImporter.importModulesLazily(boProject, head);
+
+        Files.delete(directory.resolve("Module0.bo"));
+        for (ExecutionEngine engine : ExecutionEngine.values()) {
+            AbstractVirtualMachine virtualMachine = engine.create(head);
+            virtualMachine.addLazyModules(stubs);
+            assertThat(virtualMachine.run(Map.of())).as(engine.name()).isEqualTo(new IntegerElement(0));
+        }
+
+        Files.writeString(directory.resolve("Module0.bo"), "module module0; function value() { return ");
+        for (ExecutionEngine engine : ExecutionEngine.values()) {
+            AbstractVirtualMachine virtualMachine = engine.create(head);
+            virtualMachine.addLazyModules(stubs);
+            assertThat(virtualMachine.run(Map.of())).as(engine.name()).isEqualTo(new IntegerElement(0));
+        }
+    }
+
+    @SneakyThrows
+    @Test
+    void lazyImportMemoizedTest() {
+        // `f` is memoized once the module it calls is loaded
+        BoProject boProject = generateProject(MODULES, "import module0; " +
+                "function f(x) { if (x == 1) { return module0.value() + x; } return x; } " +
+                "return ((this.f(2) + this.f(1)) + this.f(1)) + this.f(2);");
+        BoNode head = BoService.parseContent(Files.readString(boProject.getMainPath()));
+        Map<String, FunctionTable.ModuleStub> stubs = ModulesImporter.importModulesLazily(boProject, head);
+
+        for (ExecutionEngine engine : ExecutionEngine.values()) {
+            AbstractVirtualMachine virtualMachine = engine.create(head);
+            virtualMachine.addLazyModules(stubs);
+            assertThat(virtualMachine.run(Map.of())).as(engine.name()).isEqualTo(new IntegerElement(6));
+            assertThat(virtualMachine.getMemoTable().size()).as(engine.name()).isPositive();
+        }
+    }
+
+    @SneakyThrows
+    @Test
+    void lazyMissingModuleTest() {
+        BoProject boProject = generateProject(MODULES, "import module0; return module0.sum(" + MODULES + ");");
+        Files.delete(directory.resolve("Module" + (MODULES / 2) + ".bo"));
+        BoNode head = BoService.parseContent(Files.readString(boProject.getMainPath()));
+
+        Map<String, FunctionTable.ModuleStub> stubs = ModulesImporter.importModulesLazily(boProject, head);
+
+        for (ExecutionEngine engine : ExecutionEngine.values()) {
+            AbstractVirtualMachine virtualMachine = engine.create(head);
+            virtualMachine.addLazyModules(stubs);
+            assertThatThrownBy(() -> virtualMachine.run(Map.of()))
+                    .as(engine.name())
+                    .isInstanceOf(VirtualMachineException.class)
+                    .hasMessageContaining("Module" + (MODULES / 2) + ".bo");
+        }
+    }
+
+    @SneakyThrows
+    @Test
+    void lazyWithoutImportsTest() {
+        BoProject boProject = generateProject(MODULES, "return 1;");
+        BoNode head = BoService.parseContent(Files.readString(boProject.getMainPath()));
+
+        assertThat(ModulesImporter.importModulesLazily(boProject, head)).isEmpty();
+        assertThat(ModulesImporter.importModulesLazily(null, head)).isEmpty();
+    }
+}
@@ -0,0 +1,84 @@
+package com.diegokrupitza.bolang.vm;
+
+import com.diegokrupitza.bolang.BoService;
+import com.diegokrupitza.bolang.vm.types.AbstractElementType;
+import com.diegokrupitza.bolang.vm.utils.Booleans;
+import lombok.SneakyThrows;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * @author Diego Krupitza
+ * @version 1.0
+ * @date 18.10.26
+ */
+public class ShortCircuitTest {
+
+    private static final String FAILING_FUNCTION = "function fail() { return Numbers.toInt(\"no number\"); } ";
+
+    private static Stream<Arguments> decidedByLeftSource() {
+        return Arrays.stream(ExecutionEngine.values())
+                .flatMap(engine -> Stream.of(
+                        Arguments.of(engine, FAILING_FUNCTION + "return false && this.fail();", Booleans.FALSE),
+                        Arguments.of(engine, FAILING_FUNCTION + "return true || this.fail();", Booleans.TRUE),
+                        Arguments.of(engine, FAILING_FUNCTION + "var x := 1; if(x > 2 && this.fail() == 1) { return 1; } return 2;", null),
+                        Arguments.of(engine, "return (1 > 2) && 5;", Booleans.FALSE),
+                        Arguments.of(engine, "return (1 < 2) || \"no boolean\";", Booleans.TRUE)
+                ));
+    }
+
+    private static Stream<Arguments> notDecidedByLeftSource() {
+        return Arrays.stream(ExecutionEngine.values())
+                .flatMap(engine -> Stream.of(
+                        Arguments.of(engine, "return true && 5;", "The logic `and` operation only works with booleans! You want to perform the `and` operation on a Boolean and Integer"),
+                        Arguments.of(engine, "return 5 && false;", "The logic `and` operation only works with booleans! You want to perform the `and` operation on a Integer and Boolean"),
+                        Arguments.of(engine, "return false || 5;", "The logic `or` operation only works with booleans! You want to perform the `or` operation on a Boolean and Integer"),
+                        Arguments.of(engine, FAILING_FUNCTION + "return true && this.fail();", "Can not convert `no number` into an integer!")
+                ));
+    }
+
+    @SneakyThrows
+    private static AbstractElementType<?> run(ExecutionEngine engine, String program, boolean eagerLogic) {
+        VirtualMachineSettings settings = VirtualMachineSettings.builder()
+                .eagerLogic(eagerLogic)
+                .build();
+        return engine.create(BoService.parseContent(program), settings).run(Map.of());
+    }
+
+    @ParameterizedTest
+    @MethodSource("decidedByLeftSource")
+    void rightSideSkippedTest(ExecutionEngine engine, String program, AbstractElementType<?> expected) {
+        AbstractElementType<?> returnVal = run(engine, program, false);
+        if (expected == null) {
+            assertThat(returnVal).isNotNull();
+        } else {
+            assertThat(returnVal).isEqualTo(expected);
+        }
+    }
+
+    @ParameterizedTest
+    @MethodSource("decidedByLeftSource")
+    void eagerLogicEvaluatesRightSideTest(ExecutionEngine engine, String program, AbstractElementType<?> expected) {
+        assertThatThrownBy(() -> run(engine, program, true))
+                .isInstanceOf(VirtualMachineException.class);
+    }
+
+    @ParameterizedTest
+    @MethodSource("notDecidedByLeftSource")
+    void sameErrorsTest(ExecutionEngine engine, String program, String message) {
+        assertThatThrownBy(() -> run(engine, program, false))
+                .isInstanceOf(VirtualMachineException.class)
+                .hasMessage(message);
+        assertThatThrownBy(() -> run(engine, program, true))
+                .isInstanceOf(VirtualMachineException.class)
+                .hasMessage(message);
+    }
+}
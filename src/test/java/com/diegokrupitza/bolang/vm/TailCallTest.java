@@ -0,0 +1,93 @@
+package com.diegokrupitza.bolang.vm;
+
+import com.diegokrupitza.bolang.BoService;
+import com.diegokrupitza.bolang.vm.types.AbstractElementType;
+import com.diegokrupitza.bolang.vm.types.IntegerElement;
+import com.diegokrupitza.bolang.vm.utils.Booleans;
+import lombok.SneakyThrows;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * @author Diego Krupitza
+ * @version 1.0
+ * @date 18.10.26
+ */
+public class TailCallTest {
+
+    private static final int DEPTH = 100_000;
+
+    private static final String COUNT_FUNCTION = "function count(n, acc) { " +
+            "if(n == 0) { return acc; } " +
+            "return this.count(n - 1, acc + 1); " +
+            "} ";
+
+    private static final String EVEN_ODD_FUNCTIONS = "function isEven(n) { " +
+            "if(n == 0) { return true; } " +
+            "return this.isOdd(n - 1); " +
+            "} " +
+            "function isOdd(n) { " +
+            "if(n == 0) { return false; } " +
+            "return this.isEven(n - 1); " +
+            "} ";
+
+    private static Stream<Arguments> deepRecursionSource() {
+        return Arrays.stream(ExecutionEngine.values())
+                .flatMap(engine -> Stream.of(
+                        Arguments.of(engine, COUNT_FUNCTION + "return this.count(" + DEPTH + ", 0);", new IntegerElement(DEPTH)),
+                        Arguments.of(engine, COUNT_FUNCTION + "var x := this.count(" + DEPTH + ", 1); return x;", new IntegerElement(DEPTH + 1)),
+                        Arguments.of(engine, EVEN_ODD_FUNCTIONS + "return this.isEven(" + DEPTH + ");", Booleans.TRUE),
+                        Arguments.of(engine, EVEN_ODD_FUNCTIONS + "return this.isOdd(" + DEPTH + ") || this.isEven(" + (DEPTH + 1) + ");", Booleans.FALSE)
+                ));
+    }
+
+    private static Stream<Arguments> tailCallErrorSource() {
+        return Arrays.stream(ExecutionEngine.values())
+                .flatMap(engine -> Stream.of(
+                        Arguments.of(engine, "function nothing(n) { var x := n; } function f(n) { return this.nothing(n); } return this.f(1);", "You cannot return a void"),
+                        Arguments.of(engine, "function nothing(n) { var x := n; } return this.nothing(1);", "You cannot return a void"),
+                        Arguments.of(engine, "function f(n) { return this.g(n); } return this.f(1);", "Cannot find the function g with 1 parameters in module `this`"),
+                        Arguments.of(engine, "function f(n) { return this.f(n, 1); } return this.f(1);", "Cannot find the function f with 2 parameters in module `this`")
+                ));
+    }
+
+    @SneakyThrows
+    private static AbstractElementType<?> run(ExecutionEngine engine, String program) {
+        return engine.create(BoService.parseContent(program)).run(Map.of());
+    }
+
+    @ParameterizedTest
+    @MethodSource("deepRecursionSource")
+    void tailCallsRunInConstantStackTest(ExecutionEngine engine, String program, AbstractElementType<?> expected) {
+        assertThat(run(engine, program)).isEqualTo(expected);
+    }
+
+    @ParameterizedTest
+    @MethodSource("tailCallErrorSource")
+    void tailCallErrorsTest(ExecutionEngine engine, String program, String message) {
+        assertThatThrownBy(() -> run(engine, program))
+                .isInstanceOf(VirtualMachineException.class)
+                .hasMessage(message);
+    }
+
+    @ParameterizedTest
+    @EnumSource(ExecutionEngine.class)
+    void callsNotInTailPositionTest(ExecutionEngine engine) {
+        String program = "function sum(n) { " +
+                "if(n == 0) { return 0; } " +
+                "return n + this.sum(n - 1); " +
+                "} " +
+                "function twice(n) { return this.sum(n) * 2; } " +
+                "return this.twice(100);";
+        assertThat(run(engine, program)).isEqualTo(new IntegerElement(10100));
+    }
+}
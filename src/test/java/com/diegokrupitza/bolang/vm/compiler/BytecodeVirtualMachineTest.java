@@ -0,0 +1,124 @@
+package com.diegokrupitza.bolang.vm.compiler;
+
+import com.diegokrupitza.bolang.BoService;
+import com.diegokrupitza.bolang.syntaxtree.nodes.BoNode;
+import com.diegokrupitza.bolang.vm.VirtualMachine;
+import com.diegokrupitza.bolang.vm.VirtualMachineException;
+import com.diegokrupitza.bolang.vm.types.AbstractElementType;
+import com.diegokrupitza.bolang.vm.types.IntegerElement;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * @author Diego Krupitza
+ * @version 1.0
+ * @date 18.10.26
+ */
+public class BytecodeVirtualMachineTest {
+
+    private static Stream<String> validProgramsSource() {
+        return Stream.of(
+                "return 1 + 2 * 3;",
+                "return 10 / 4;",
+                "return 10.5 - 3;",
+                "return \"Hello \" ++ 5;",
+                "return [1,2,3.3] + [1,2];",
+                "return [1,2,3.3] - 1;",
+                "return -[1,-2,true];",
+                "return !false;",
+                "return (1 < 2) && (2 >= 2.0) || (3 <= 1);",
+                "return 1 > 2;",
+                "return 1 == 1.0;",
+                "return [1,2] != [1,2];",
+                "var x := \"Hey\"; return x[1];",
+                "var x := [1,[2,3]]; return x[1];",
+                "var x := 1; x := x + 1; return x;",
+                "var x := 1; if(x == 1) { x := 2; } return x;",
+                "var x := 1; if(x == 2) { x := 2; } else { var y := 3; x := y; } return x;",
+                "if(true) { return 1; } return 2;",
+                "return #name;",
+                "return Numbers.toInt(\"42\") + Numbers.toInt(1.9);",
+                "function foo(a,b) { return a + b; } var a := 5; return a + this.foo(1,2);",
+                "function foo(a) { return a + 1; } function foo(a,b) { return this.foo(a) + this.foo(b); } return this.foo(1,2);",
+                "function fib(n) { if(n < 2) { return n; } return this.fib(n - 1) + this.fib(n - 2); } return this.fib(15);",
+                "function foo(a) { return a; } var x := this.foo(1); return x + 100;",
+                "function noReturn() { var x := 1; } this.noReturn(); return 1;",
+                "var x := 1;"
+        );
+    }
+
+    private static Stream<String> invalidProgramsSource() {
+        return Stream.of(
+                "return 1 + \"a\";",
+                "return 1 < \"a\";",
+                "return true && 1;",
+                "var x := 1; return x[0];",
+                "var x := [1]; return x[\"a\"];",
+                "var x := [1]; return x[5];",
+                "if(1) { return 1; }",
+                "return #doesNotExist;",
+                "function foo(a,b) { Sys.print(a+b); } return 5 + this.foo(1,2);",
+                "function foo(a,b) { Sys.print(a+b); } var x := this.foo(1,2);",
+                "function foo(a,b) { Sys.print(a+b); } return this.foo(1,2);",
+                "return Numbers.toInt(\"abc\");"
+        );
+    }
+
+    @SneakyThrows
+    private static AbstractElementType<?> runTreeWalker(String program) {
+        return new VirtualMachine(BoService.parseContent(program)).run(Map.of("name", "Bo"));
+    }
+
+    @ParameterizedTest
+    @MethodSource("validProgramsSource")
+    @SneakyThrows
+    void sameResultAsTreeWalkerTest(String program) {
+        BoNode head = BoService.parseContent(program);
+        BytecodeVirtualMachine virtualMachine = new BytecodeVirtualMachine(head);
+
+        AbstractElementType<?> returnVal = virtualMachine.run(Map.of("name", "Bo"));
+        AbstractElementType<?> expected = runTreeWalker(program);
+
+        assertThat(returnVal).isEqualTo(expected);
+        if (expected != null) {
+            assertThat(returnVal.getType()).isEqualTo(expected.getType());
+        }
+    }
+
+    @ParameterizedTest
+    @MethodSource("invalidProgramsSource")
+    @SneakyThrows
+    void sameErrorAsTreeWalkerTest(String program) {
+        BoNode head = BoService.parseContent(program);
+
+        String expectedMessage = null;
+        try {
+            new VirtualMachine(head).run(Map.of());
+        } catch (VirtualMachineException e) {
+            expectedMessage = e.getMessage();
+        }
+        assertThat(expectedMessage).isNotNull();
+
+        BytecodeVirtualMachine virtualMachine = new BytecodeVirtualMachine(head);
+        assertThatThrownBy(() -> virtualMachine.run(Map.of()))
+                .isInstanceOf(VirtualMachineException.class)
+                .hasMessage(expectedMessage);
+    }
+
+    @Test
+    @SneakyThrows
+    void compiledProgramCanBeRunMultipleTimesTest() {
+        BytecodeVirtualMachine virtualMachine = new BytecodeVirtualMachine(BoService.parseContent("function inc(a) { return a + 1; } return this.inc(Numbers.toInt(#x));"));
+
+        assertThat(virtualMachine.run(Map.of("x", "1"))).isEqualTo(new IntegerElement(2));
+        assertThat(virtualMachine.run(Map.of("x", "41"))).isEqualTo(new IntegerElement(42));
+    }
+}
@@ -0,0 +1,94 @@
+package com.diegokrupitza.bolang.vm.functions;
+
+import com.diegokrupitza.bolang.syntaxtree.nodes.FunctionNode;
+import com.diegokrupitza.bolang.vm.functions.exceptions.FunctionTableException;
+import com.diegokrupitza.bolang.vm.functions.impl.numbers.ToIntFunction;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * @author Diego Krupitza
+ * @version 1.0
+ * @date 18.10.26
+ */
+public class CallSiteTest {
+
+    @SneakyThrows
+    @Test
+    void resolvedFunctionRememberedTest() {
+        FunctionNode function = new FunctionNode("testFunc", List.of("a"), List.of());
+        FunctionTable functionTable = new FunctionTable();
+        functionTable.add("this", function);
+
+        CallSite callSite = new CallSite("this", "testFunc", 1);
+        assertThat(callSite.isPredefined()).isFalse();
+        assertThat(callSite.getFunction(functionTable)).isSameAs(function);
+        assertThat(callSite.getFunction(functionTable)).isSameAs(function);
+    }
+
+    @SneakyThrows
+    @Test
+    void changedFunctionTableResolvedAgainTest() {
+        FunctionNode function = new FunctionNode("testFunc", List.of("a"), List.of());
+        FunctionNode replacingFunction = new FunctionNode("testFunc", List.of("b"), List.of());
+        FunctionTable functionTable = new FunctionTable();
+        functionTable.add("this", function);
+
+        CallSite callSite = new CallSite("this", "testFunc", 1);
+        assertThat(callSite.getFunction(functionTable)).isSameAs(function);
+
+        long version = functionTable.getVersion();
+        functionTable.add(Map.of("this", List.of(replacingFunction)));
+        assertThat(functionTable.getVersion()).isNotEqualTo(version);
+        assertThat(callSite.getFunction(functionTable)).isSameAs(replacingFunction);
+    }
+
+    @SneakyThrows
+    @Test
+    void otherFunctionTableResolvedAgainTest() {
+        FunctionNode function = new FunctionNode("testFunc", List.of("a"), List.of());
+        FunctionNode otherFunction = new FunctionNode("testFunc", List.of("a"), List.of());
+        FunctionTable functionTable = new FunctionTable();
+        functionTable.add("this", function);
+        FunctionTable otherFunctionTable = new FunctionTable();
+        otherFunctionTable.add("this", otherFunction);
+
+        CallSite callSite = new CallSite("this", "testFunc", 1);
+        assertThat(callSite.getFunction(functionTable)).isSameAs(function);
+        assertThat(callSite.getFunction(otherFunctionTable)).isSameAs(otherFunction);
+        assertThat(callSite.getFunction(functionTable)).isSameAs(function);
+    }
+
+    @SneakyThrows
+    @Test
+    void missingFunctionNotRememberedTest() {
+        FunctionTable functionTable = new FunctionTable();
+        functionTable.add("this", new FunctionNode("otherFunc", List.of("a"), List.of()));
+
+        CallSite callSite = new CallSite("this", "testFunc", 1);
+        assertThatThrownBy(() -> callSite.getFunction(functionTable))
+                .isInstanceOf(FunctionTableException.class)
+                .hasMessage("Cannot find the function testFunc with 1 parameters in module `this`");
+
+        FunctionNode function = new FunctionNode("testFunc", List.of("a"), List.of());
+        functionTable.add("this", function);
+        assertThat(callSite.getFunction(functionTable)).isSameAs(function);
+    }
+
+    @SneakyThrows
+    @Test
+    void predefinedFunctionRememberedTest() {
+        CallSite callSite = new CallSite("Numbers", "toInt", 1);
+
+        assertThat(callSite.isPredefined()).isTrue();
+        Function<?> function = callSite.getPredefinedFunction();
+        assertThat(function).isInstanceOf(ToIntFunction.class);
+        assertThat(callSite.getPredefinedFunction()).isSameAs(function);
+    }
+}
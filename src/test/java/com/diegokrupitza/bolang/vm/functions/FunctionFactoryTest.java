@@ -16,10 +16,16 @@ public class FunctionFactoryTest {
 
     @Test
     public void ToIntFactoryTest() {
-        Function toInt = FunctionFactory.getFunction("Numbers", "toInt");
+        Function<?> toInt = FunctionFactory.getFunction("Numbers", "toInt");
         assertThat(toInt).isInstanceOf(ToIntFunction.class);
     }
 
+    @Test
+    public void sameInstanceTest() {
+        assertThat(FunctionFactory.getFunction("Date", "date")).isSameAs(FunctionFactory.getFunction("Date", "date"));
+        assertThat(FunctionFactory.getFunction("Random", "rand")).isSameAs(FunctionFactory.getFunction("Random", "rand"));
+    }
+
     @Test
     public void invalidFactoryTest() {
         assertThatThrownBy(() ->
@@ -30,4 +36,13 @@ public class FunctionFactoryTest {
 
     }
 
+    @Test
+    public void pureFunctionsTest() {
+        assertThat(FunctionFactory.isPureFunction("Numbers", "toInt")).isTrue();
+        assertThat(FunctionFactory.isPureFunction("Sys", "println")).isFalse();
+        assertThat(FunctionFactory.isPureFunction("Random", "rand")).isFalse();
+        assertThat(FunctionFactory.isPureFunction("Date", "date")).isFalse();
+        assertThat(FunctionFactory.isPureFunction("WRONG", "toInt")).isFalse();
+    }
+
 }
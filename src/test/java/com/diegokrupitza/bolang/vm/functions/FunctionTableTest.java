@@ -7,6 +7,7 @@ import org.junit.jupiter.api.Test;
 
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -112,4 +113,36 @@ public class FunctionTableTest {
                 .isInstanceOf(FunctionTableException.class)
                 .hasMessageContaining("The module `notExists` does not exist!");
     }
+
+    @SneakyThrows
+    @Test
+    void getFunctionFromStubTest() {
+        FunctionTable functionTable = new FunctionTable();
+
+        FunctionNode stubFunction = new FunctionNode("testFunc", List.of("a"), List.of());
+        AtomicInteger loads = new AtomicInteger();
+        functionTable.addStubs(Map.of("lazy", () -> {
+            loads.incrementAndGet();
+            return List.of(stubFunction);
+        }));
+
+        assertThat(loads).hasValue(0);
+        assertThat(functionTable.get("lazy", "testFunc", 1)).isEqualTo(stubFunction);
+        assertThat(functionTable.get("lazy", "testFunc", 1)).isEqualTo(stubFunction);
+        assertThat(loads).hasValue(1);
+    }
+
+    @SneakyThrows
+    @Test
+    void getFunctionFromInvalidStubTest() {
+        FunctionTable functionTable = new FunctionTable();
+
+        functionTable.addStubs(Map.of("broken", () -> {
+            throw new FunctionTableException("File not found: Broken.bo");
+        }));
+
+        assertThatThrownBy(() -> functionTable.get("broken", "testFunc", 1))
+                .isInstanceOf(FunctionTableException.class)
+                .hasMessageContaining("File not found: Broken.bo");
+    }
 }
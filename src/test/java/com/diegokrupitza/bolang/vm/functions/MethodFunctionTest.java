@@ -0,0 +1,131 @@
+package com.diegokrupitza.bolang.vm.functions;
+
+import com.diegokrupitza.bolang.vm.functions.exceptions.BoFunctionCallException;
+import com.diegokrupitza.bolang.vm.functions.exceptions.BoFunctionParameterException;
+import com.diegokrupitza.bolang.vm.types.*;
+import com.diegokrupitza.bolang.vm.utils.Arrays;
+import com.diegokrupitza.bolang.vm.utils.Booleans;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * @author Diego Krupitza
+ * @version 1.0
+ * @date 18.10.26
+ */
+public class MethodFunctionTest {
+
+    @Test
+    public void scalarParamsTest() {
+        MethodFunction function = new MethodFunction("describe", Methods.class, "describe", String.class, int.class, double.class, String.class, boolean.class);
+
+        AbstractElementType<?> result = function.call(List.of(new IntegerElement(1), new IntegerElement(2), new StringElement("a"), Booleans.TRUE));
+        assertThat(result).isEqualTo(new StringElement("1|2.0|a|true"));
+        assertThat(function.getNumberOfParams()).isEqualTo(4);
+    }
+
+    @Test
+    public void arrayParamsTest() {
+        MethodFunction reverse = new MethodFunction("reverse", Methods.class, "reverse", String[].class, String[].class);
+        assertThat(reverse.call(List.of(Arrays.of(new StringElement("a"), new StringElement("b")))))
+                .isEqualTo(Arrays.of(new StringElement("b"), new StringElement("a")));
+
+        MethodFunction negate = new MethodFunction("negate", Methods.class, "negate", boolean[].class, boolean[].class);
+        assertThat(negate.call(List.of(Arrays.of(Booleans.TRUE, Booleans.FALSE))))
+                .isEqualTo(Arrays.of(Booleans.FALSE, Booleans.TRUE));
+
+        MethodFunction halves = new MethodFunction("halves", Methods.class, "halves", double[].class, int[].class);
+        assertThat(halves.call(List.of(Arrays.of(new IntegerElement(1), new IntegerElement(4)))))
+                .isEqualTo(Arrays.of(new DoubleElement(0.5), new DoubleElement(2.0)));
+    }
+
+    @Test
+    public void voidReturnTest() {
+        MethodFunction function = new MethodFunction("nothing", Methods.class, "nothing", void.class);
+
+        assertThat(function.call(List.of())).isEqualTo(VoidElement.NO_VALUE);
+    }
+
+    @Test
+    public void wrongParamsTest() {
+        MethodFunction function = new MethodFunction("describe", Methods.class, "describe", String.class, int.class, double.class, String.class, boolean.class);
+
+        assertThatThrownBy(() -> function.call(List.of(new IntegerElement(1))))
+                .isInstanceOf(BoFunctionParameterException.class)
+                .hasMessage("The function `describe` takes exactly 4 parameters! You served 1");
+
+        assertThatThrownBy(() -> function.call(List.of(new DoubleElement(1.0), new IntegerElement(2), new StringElement("a"), Booleans.TRUE)))
+                .isInstanceOf(BoFunctionParameterException.class)
+                .hasMessage("The parameter 1 of the function `describe` has to be of type Integer! You provided Double!");
+
+        assertThatThrownBy(() -> function.paramCheck(List.of(new IntegerElement(1), new IntegerElement(2), new StringElement("a"), new StringElement("true"))))
+                .isInstanceOf(BoFunctionParameterException.class)
+                .hasMessage("The parameter 4 of the function `describe` has to be of type Boolean! You provided String!");
+
+        MethodFunction halves = new MethodFunction("halves", Methods.class, "halves", double[].class, int[].class);
+        assertThatThrownBy(() -> halves.call(List.of(Arrays.of(new IntegerElement(1), new DoubleElement(4.0)))))
+                .isInstanceOf(BoFunctionParameterException.class)
+                .hasMessage("The parameter 1 of the function `halves` has to be an array of Integer! You provided an array containing Double!");
+    }
+
+    @Test
+    public void failingMethodTest() {
+        MethodFunction function = new MethodFunction("fail", Methods.class, "fail", int.class);
+
+        assertThatThrownBy(() -> function.call(List.of()))
+                .isInstanceOf(BoFunctionCallException.class)
+                .hasMessage("The function `fail` failed: broken");
+    }
+
+    @Test
+    public void unsupportedMethodTest() {
+        assertThatThrownBy(() -> new MethodFunction("list", Methods.class, "list", List.class))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("The type java.util.List of the function `list` is not supported as return value");
+
+        assertThatThrownBy(() -> new MethodFunction("missing", Methods.class, "missing", int.class))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    public static class Methods {
+
+        public static String describe(int a, double b, String c, boolean d) {
+            return a + "|" + b + "|" + c + "|" + d;
+        }
+
+        public static String[] reverse(String[] values) {
+            return new String[]{values[1], values[0]};
+        }
+
+        public static boolean[] negate(boolean[] values) {
+            boolean[] negated = new boolean[values.length];
+            for (int i = 0; i < values.length; i++) {
+                negated[i] = !values[i];
+            }
+            return negated;
+        }
+
+        public static double[] halves(int[] values) {
+            double[] halves = new double[values.length];
+            for (int i = 0; i < values.length; i++) {
+                halves[i] = values[i] / 2.0;
+            }
+            return halves;
+        }
+
+        public static void nothing() {
+        }
+
+        public static int fail() {
+            throw new IllegalStateException("broken");
+        }
+
+        public static List<String> list() {
+            return List.of();
+        }
+    }
+}
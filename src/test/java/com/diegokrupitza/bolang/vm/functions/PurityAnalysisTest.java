@@ -0,0 +1,85 @@
+package com.diegokrupitza.bolang.vm.functions;
+
+import com.diegokrupitza.bolang.BoService;
+import com.diegokrupitza.bolang.syntaxtree.nodes.BoNode;
+import com.diegokrupitza.bolang.syntaxtree.nodes.FunctionNode;
+import lombok.SneakyThrows;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author Diego Krupitza
+ * @version 1.0
+ * @date 18.10.26
+ */
+public class PurityAnalysisTest {
+
+    private static Stream<Arguments> puritySource() {
+        return Stream.of(
+                Arguments.of("function f(n) { return n * 2; }", true),
+                Arguments.of("function f(n) { var x := Numbers.toInt(n); return x; }", true),
+                Arguments.of("function f(n) { return #param ++ n; }", true),
+                Arguments.of("function f(n) { if(n < 2) { return n; } return this.f(n - 1) + this.f(n - 2); }", true),
+                Arguments.of("function f(n) { return this.g(n); } function g(n) { return this.f(n); }", true),
+                Arguments.of("function f(n) { Sys.println(n); return n; }", false),
+                Arguments.of("function f(n) { return n * Random.rand(); }", false),
+                Arguments.of("function f(n) { if(n > 1) { return Date.date(); } return n; }", false),
+                Arguments.of("function f(n) { return this.g(n); } function g(n) { return Random.randInt(n); }", false),
+                Arguments.of("function f(n) { return this.g(n); } function g(n) { return this.h(n); } function h(n) { return [Sys.print(n)]; }", false),
+                Arguments.of("function f(n) { return this.g(n); } function g(n) { return this.f(n) + this.h(n); } function h(n) { Sys.println(n); }", false),
+                Arguments.of("function f(n) { return this.missing(n); }", false),
+                Arguments.of("function f(n) { return this.f(n, 1); }", false)
+        );
+    }
+
+    @SneakyThrows
+    private static FunctionTable functionTableOf(String program) {
+        BoNode head = BoService.parseContent(program);
+        List<FunctionNode> functions = head.getStats().stream()
+                .filter(item -> item instanceof FunctionNode)
+                .map(item -> (FunctionNode) item)
+                .collect(Collectors.toList());
+
+        FunctionTable functionTable = new FunctionTable();
+        functionTable.add(Map.of("this", functions));
+        return functionTable;
+    }
+
+    @SneakyThrows
+    @ParameterizedTest
+    @MethodSource("puritySource")
+    void purityTest(String program, boolean pure) {
+        FunctionTable functionTable = functionTableOf(program);
+        PurityAnalysis purityAnalysis = new PurityAnalysis(functionTable);
+
+        assertThat(purityAnalysis.isPure(functionTable.get("this", "f", 1))).isEqualTo(pure);
+        // the cached result stays the same
+        assertThat(purityAnalysis.isPure(functionTable.get("this", "f", 1))).isEqualTo(pure);
+    }
+
+    @SneakyThrows
+    @ParameterizedTest
+    @MethodSource("puritySource")
+    void calleesAnalyzedFirstTest(String program, boolean pure) {
+        FunctionTable functionTable = functionTableOf(program);
+        PurityAnalysis purityAnalysis = new PurityAnalysis(functionTable);
+
+        // analyzing a callee first must not change the result of the caller
+        for (String name : List.of("h", "g")) {
+            try {
+                purityAnalysis.isPure(functionTable.get("this", name, 1));
+            } catch (Exception e) {
+                // not every program has that function
+            }
+        }
+        assertThat(purityAnalysis.isPure(functionTable.get("this", "f", 1))).isEqualTo(pure);
+    }
+}
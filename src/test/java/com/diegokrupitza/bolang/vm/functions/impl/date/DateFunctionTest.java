@@ -12,6 +12,9 @@ import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -23,7 +26,7 @@ import static org.assertj.core.api.Assertions.assertThatThrownBy;
  */
 public class DateFunctionTest {
 
-    private Function date;
+    private Function<?> date;
 
     @BeforeEach
     public void init() {
@@ -100,4 +103,34 @@ public class DateFunctionTest {
         assertThat(((StringElement) call).getValue()).containsIgnoringCase("" + LocalDateTime.now().getYear());
     }
 
+    @Test
+    public void formatNotKeptBetweenCallsTest() {
+        date.call(Collections.singletonList(new StringElement("YYYY")));
+        AbstractElementType<?> call = date.call(new ArrayList<>());
+
+        // the default format contains the time
+        assertThat(((StringElement) call).getValue()).contains("T");
+    }
+
+    @Test
+    public void concurrentCallsTest() {
+        String year = "" + LocalDateTime.now().getYear();
+
+        List<String> dates = IntStream.range(0, 1_000)
+                .parallel()
+                .mapToObj(i -> i % 2 == 0
+                        ? date.call(Collections.singletonList(new StringElement("YYYY")))
+                        : date.call(new ArrayList<>()))
+                .map(item -> ((StringElement) item).getValue())
+                .collect(Collectors.toList());
+
+        for (int i = 0; i < dates.size(); i++) {
+            if (i % 2 == 0) {
+                assertThat(dates.get(i)).isEqualTo(year);
+            } else {
+                assertThat(dates.get(i)).startsWith(year).contains("T");
+            }
+        }
+    }
+
 }
@@ -0,0 +1,53 @@
+package com.diegokrupitza.bolang.vm.functions.impl.math;
+
+import com.diegokrupitza.bolang.vm.functions.exceptions.BoFunctionCallException;
+
+/**
+ * Builtins written as typed static methods, the way a <code>@BoFunction</code> method of a predefined module looks.
+ * They are only bound as {@link com.diegokrupitza.bolang.vm.functions.MethodFunction} by the tests and are not part
+ * of BoLang.
+ *
+ * @author Diego Krupitza
+ * @version 1.0
+ * @date 18.10.26
+ */
+public class MathFunctions {
+
+    private MathFunctions() {
+    }
+
+    public static double sqrt(double value) {
+        if (value < 0) {
+            throw new BoFunctionCallException(String.format("Can not calculate the square root of the negative number %s!", value));
+        }
+        return Math.sqrt(value);
+    }
+
+    public static double pow(double base, double exponent) {
+        return Math.pow(base, exponent);
+    }
+
+    public static int abs(int value) {
+        return Math.abs(value);
+    }
+
+    public static double sum(double[] values) {
+        double sum = 0;
+        for (double value : values) {
+            sum += value;
+        }
+        return sum;
+    }
+
+    public static int max(int[] values) {
+        if (values.length == 0) {
+            throw new BoFunctionCallException("The function `max` requires an array with at least one integer!");
+        }
+
+        int max = values[0];
+        for (int value : values) {
+            max = Math.max(max, value);
+        }
+        return max;
+    }
+}
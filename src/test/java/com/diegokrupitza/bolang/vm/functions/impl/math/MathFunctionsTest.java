@@ -0,0 +1,76 @@
+package com.diegokrupitza.bolang.vm.functions.impl.math;
+
+import com.diegokrupitza.bolang.vm.functions.FunctionFactory;
+import com.diegokrupitza.bolang.vm.functions.MethodFunction;
+import com.diegokrupitza.bolang.vm.functions.exceptions.BoFunctionException;
+import com.diegokrupitza.bolang.vm.types.AbstractElementType;
+import com.diegokrupitza.bolang.vm.types.DoubleElement;
+import com.diegokrupitza.bolang.vm.types.IntegerElement;
+import com.diegokrupitza.bolang.vm.types.StringElement;
+import com.diegokrupitza.bolang.vm.utils.Arrays;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * @author Diego Krupitza
+ * @version 1.0
+ * @date 18.10.26
+ */
+public class MathFunctionsTest {
+
+    private static final Map<String, MethodFunction> FUNCTIONS = Map.of(
+            "sqrt", new MethodFunction("sqrt", MathFunctions.class, "sqrt", double.class, double.class),
+            "pow", new MethodFunction("pow", MathFunctions.class, "pow", double.class, double.class, double.class),
+            "abs", new MethodFunction("abs", MathFunctions.class, "abs", int.class, int.class),
+            "sum", new MethodFunction("sum", MathFunctions.class, "sum", double.class, double[].class),
+            "max", new MethodFunction("max", MathFunctions.class, "max", int.class, int[].class)
+    );
+
+    private static Stream<Arguments> callsAndResults() {
+        return Stream.of(
+                Arguments.of("sqrt", List.of(new IntegerElement(16)), new DoubleElement(4.0)),
+                Arguments.of("pow", List.of(new IntegerElement(2), new IntegerElement(10)), new DoubleElement(1024.0)),
+                Arguments.of("abs", List.of(new IntegerElement(-7)), new IntegerElement(7)),
+                Arguments.of("sum", List.of(Arrays.of(new IntegerElement(1), new DoubleElement(2.5), new IntegerElement(3))), new DoubleElement(6.5)),
+                Arguments.of("max", List.of(Arrays.of(new IntegerElement(3), new IntegerElement(9), new IntegerElement(4))), new IntegerElement(9))
+        );
+    }
+
+    @ParameterizedTest
+    @MethodSource("callsAndResults")
+    void callsTest(String function, List<AbstractElementType<?>> params, AbstractElementType<?> expected) {
+        assertThat(FUNCTIONS.get(function).call(params)).isEqualTo(expected);
+    }
+
+    private static Stream<Arguments> failingCalls() {
+        return Stream.of(
+                Arguments.of("sqrt", List.of(new IntegerElement(-4)), "Can not calculate the square root of the negative number -4.0!"),
+                Arguments.of("sqrt", List.of(new StringElement("4")), "The parameter 1 of the function `sqrt` has to be of type Double! You provided String!"),
+                Arguments.of("abs", List.of(new DoubleElement(1.5)), "The parameter 1 of the function `abs` has to be of type Integer! You provided Double!"),
+                Arguments.of("pow", List.of(new IntegerElement(2)), "The function `pow` takes exactly 2 parameters! You served 1"),
+                Arguments.of("max", List.of(Arrays.of()), "The function `max` requires an array with at least one integer!")
+        );
+    }
+
+    @ParameterizedTest
+    @MethodSource("failingCalls")
+    void failingCallsTest(String function, List<AbstractElementType<?>> params, String message) {
+        assertThatThrownBy(() -> FUNCTIONS.get(function).call(params))
+                .isInstanceOf(BoFunctionException.class)
+                .hasMessage(message);
+    }
+
+    @Test
+    public void notPredefinedTest() {
+        assertThat(FunctionFactory.getAllPredefinedModules()).doesNotContain("Math");
+    }
+}
@@ -24,7 +24,7 @@ import static org.assertj.core.api.Assertions.assertThatThrownBy;
  */
 public class ToIntFunctionTest {
 
-    private Function toInt;
+    private Function<?> toInt;
 
     @BeforeEach
     public void init() {
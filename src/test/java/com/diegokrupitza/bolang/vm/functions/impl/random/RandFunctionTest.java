@@ -26,7 +26,7 @@ import static org.assertj.core.api.Assertions.assertThatThrownBy;
  */
 public class RandFunctionTest {
 
-    private Function rand;
+    private Function<?> rand;
 
     public static Stream<Arguments> checkParamsSingleParamSource() {
         return Stream.of(
@@ -26,7 +26,7 @@ import static org.assertj.core.api.Assertions.assertThatThrownBy;
  */
 public class RandIntFunctionTest {
 
-    private Function randInt;
+    private Function<?> randInt;
 
     public static Stream<Arguments> checkParamsSingleParamSource() {
         return Stream.of(
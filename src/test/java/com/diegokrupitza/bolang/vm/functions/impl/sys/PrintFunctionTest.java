@@ -28,7 +28,7 @@ public class PrintFunctionTest {
     private final static PrintStream originalOut = System.out;
     private final static PrintStream originalErr = System.err;
 
-    private Function print;
+    private Function<?> print;
 
     @BeforeAll
     public static void setUpStreams() {
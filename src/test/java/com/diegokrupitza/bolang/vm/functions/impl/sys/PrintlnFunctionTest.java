@@ -28,7 +28,7 @@ public class PrintlnFunctionTest {
     private final static PrintStream originalOut = System.out;
     private final static PrintStream originalErr = System.err;
 
-    private Function println;
+    private Function<?> println;
 
     @BeforeAll
     public static void setUpStreams() {
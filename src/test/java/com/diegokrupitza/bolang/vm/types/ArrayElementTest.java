@@ -0,0 +1,171 @@
+package com.diegokrupitza.bolang.vm.types;
+
+import com.diegokrupitza.bolang.vm.utils.Booleans;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author Diego Krupitza
+ * @version 1.0
+ * @date 18.10.26
+ */
+class ArrayElementTest {
+
+    private static Stream<Arguments> storageSource() {
+        return Stream.of(
+                Arguments.of(List.of(), null),
+                Arguments.of(List.of(new IntegerElement(1), new IntegerElement(2)), Type.INTEGER_NUMBER),
+                Arguments.of(List.of(new DoubleElement(1.5), new DoubleElement(-0.0)), Type.DOUBLE),
+                Arguments.of(List.of(Booleans.TRUE, new BooleanElement(false)), Type.BOOLEAN),
+                Arguments.of(List.of(new IntegerElement(1), new DoubleElement(2.0)), null),
+                Arguments.of(List.of(new StringElement("Bo"), new IntegerElement(2)), null),
+                Arguments.of(List.of(new ArrayElement(new int[]{1})), null)
+        );
+    }
+
+    @ParameterizedTest
+    @MethodSource("storageSource")
+    void storageTest(List<AbstractElementType<?>> items, Type expected) {
+        ArrayElement array = new ArrayElement(items);
+
+        assertThat(array.getElementType()).isEqualTo(expected);
+        assertThat(array.getValue()).containsExactlyElementsOf(items);
+        assertThat(array.size()).isEqualTo(items.size());
+    }
+
+    @Test
+    void primitiveValuesTest() {
+        ArrayElement array = new ArrayElement();
+        for (int i = 0; i < 20; i++) {
+            array.add(new IntegerElement(i));
+        }
+
+        // the storage grew, but only the used part is handed out
+        assertThat(array.getElementType()).isEqualTo(Type.INTEGER_NUMBER);
+        assertThat(array.getIntValues()).hasSize(20).startsWith(0, 1, 2).endsWith(19);
+        assertThat(new ArrayElement(new double[]{1.5, 2.5}).getDoubleValues()).containsExactly(1.5, 2.5);
+        assertThat(new ArrayElement(new boolean[]{true}).getBooleanValues()).containsExactly(true);
+    }
+
+    @Test
+    void mixedInsertTest() {
+        ArrayElement array = new ArrayElement(new int[]{1, 2, 3});
+        array.add(new DoubleElement(4.5));
+
+        assertThat(array.getElementType()).isNull();
+        assertThat(array.getValue())
+                .extracting(AbstractElementType::getType)
+                .containsExactly(Type.INTEGER_NUMBER, Type.INTEGER_NUMBER, Type.INTEGER_NUMBER, Type.DOUBLE);
+        assertThat(array.toString()).isEqualTo("[1, 2, 3, 4.5]");
+
+        // once mixed it stays that way
+        array.getValue().remove(3);
+        assertThat(array.getElementType()).isNull();
+        assertThat(array).isEqualTo(new ArrayElement(new int[]{1, 2, 3}));
+    }
+
+    @Test
+    void listOperationsTest() {
+        ArrayElement array = new ArrayElement(new int[]{1, 2, 3});
+        array.getValue().add(0, new IntegerElement(0));
+        array.getValue().set(3, new IntegerElement(30));
+        array.getValue().remove(1);
+
+        assertThat(array.getIntValues()).containsExactly(0, 2, 30);
+
+        array.getValue().set(0, Booleans.TRUE);
+        assertThat(array.getElementType()).isNull();
+        assertThat(array.getValue()).containsExactly(Booleans.TRUE, new IntegerElement(2), new IntegerElement(30));
+    }
+
+    @Test
+    void sliceTest() {
+        ArrayElement array = new ArrayElement(new int[]{1, 2, 3, 4});
+        List<AbstractElementType<?>> slice = array.getFromIndex(1);
+
+        assertThat(slice).containsExactly(new IntegerElement(2), new IntegerElement(3), new IntegerElement(4));
+        assertThat(array.getFromIndex(4)).isEmpty();
+
+        // neither sees the changes of the other
+        array.getValue().set(1, new IntegerElement(20));
+        slice.add(new IntegerElement(5));
+        slice.set(2, new DoubleElement(4.5));
+
+        assertThat(array.getIntValues()).containsExactly(1, 20, 3, 4);
+        assertThat(slice).containsExactly(new IntegerElement(2), new IntegerElement(3), new DoubleElement(4.5), new IntegerElement(5));
+    }
+
+    @Test
+    void copyTest() {
+        ArrayElement array = new ArrayElement(List.of(new StringElement("a"), new IntegerElement(1)));
+        ArrayElement copy = array.copy();
+        ArrayElement fromList = new ArrayElement(array.getValue());
+
+        copy.add(new StringElement("b"));
+        fromList.getValue().remove(0);
+        array.getValue().set(1, new IntegerElement(2));
+
+        assertThat(array.getValue()).containsExactly(new StringElement("a"), new IntegerElement(2));
+        assertThat(copy.getValue()).containsExactly(new StringElement("a"), new IntegerElement(1), new StringElement("b"));
+        assertThat(fromList.getValue()).containsExactly(new IntegerElement(1));
+    }
+
+    @Test
+    void addAllTest() {
+        ArrayElement array = new ArrayElement(new double[]{1.5, 2.5, 3.5});
+
+        // an empty array takes the items over, a filled one copies them in one go
+        ArrayElement empty = new ArrayElement();
+        empty.addAll(array.getFromIndex(1));
+        ArrayElement filled = new ArrayElement(new double[]{0.5});
+        filled.addAll(array.getFromIndex(0));
+        ArrayElement mixed = new ArrayElement(new int[]{1});
+        mixed.addAll(array.getFromIndex(2));
+
+        assertThat(empty.getDoubleValues()).containsExactly(2.5, 3.5);
+        assertThat(filled.getDoubleValues()).containsExactly(0.5, 1.5, 2.5, 3.5);
+        assertThat(mixed.getElementType()).isNull();
+        assertThat(mixed.toString()).isEqualTo("[1, 3.5]");
+
+        empty.add(new DoubleElement(4.5));
+        assertThat(array.getDoubleValues()).containsExactly(1.5, 2.5, 3.5);
+    }
+
+    private static Stream<Arguments> equalsSource() {
+        return Stream.of(
+                Arguments.of(new ArrayElement(new int[]{1, 2}), new ArrayElement(new int[]{1, 2}), true),
+                Arguments.of(new ArrayElement(new int[]{1, 2}), new ArrayElement(new int[]{1, 2, 3}), false),
+                Arguments.of(new ArrayElement(new int[]{1, 2}), new ArrayElement(new double[]{1.0, 2.0}), true),
+                Arguments.of(new ArrayElement(new double[]{Double.NaN}), new ArrayElement(new double[]{Double.NaN}), true),
+                Arguments.of(new ArrayElement(new double[]{0.0}), new ArrayElement(new double[]{-0.0}), false),
+                Arguments.of(new ArrayElement(new boolean[]{true}), new ArrayElement(new boolean[]{false}), false),
+                Arguments.of(new ArrayElement(new boolean[]{}), new ArrayElement(new int[]{}), true)
+        );
+    }
+
+    @ParameterizedTest
+    @MethodSource("equalsSource")
+    void equalsTest(ArrayElement left, ArrayElement right, boolean expected) {
+        // the same as comparing element by element
+        assertThat(left.equals(right)).isEqualTo(expected);
+        assertThat(new ArrayElement(List.copyOf(left.getValue())).equals(right)).isEqualTo(expected);
+        assertThat(List.copyOf(left.getValue()).equals(List.copyOf(right.getValue()))).isEqualTo(expected);
+    }
+
+    @Test
+    void equalsGenericTest() {
+        ArrayElement primitive = new ArrayElement(new double[]{1.0, 2.5});
+        ArrayElement generic = new ArrayElement(List.of(new IntegerElement(1), new DoubleElement(2.5)));
+
+        assertThat(primitive).isEqualTo(generic);
+        assertThat(generic).isEqualTo(primitive);
+        assertThat(primitive.hashCode()).isEqualTo(new ArrayElement(List.of(new DoubleElement(1.0), new DoubleElement(2.5))).hashCode());
+    }
+}
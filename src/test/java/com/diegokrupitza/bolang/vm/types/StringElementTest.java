@@ -0,0 +1,101 @@
+package com.diegokrupitza.bolang.vm.types;
+
+import com.diegokrupitza.bolang.BoService;
+import com.diegokrupitza.bolang.vm.ExecutionEngine;
+import com.diegokrupitza.bolang.vm.VirtualMachineException;
+import com.diegokrupitza.bolang.vm.utils.Arrays;
+import com.diegokrupitza.bolang.vm.utils.Infixes;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author Diego Krupitza
+ * @version 1.0
+ * @date 18.10.26
+ */
+class StringElementTest {
+
+    private static final int DEPTH = 100_000;
+
+    private static final String LONG = "a".repeat(100);
+
+    @Test
+    void concatTest() throws VirtualMachineException {
+        StringElement rope = StringElement.concat(new StringElement(LONG), new StringElement("b"));
+        StringElement nested = StringElement.concat(new StringElement("c"), rope);
+
+        assertThat(nested.length()).isEqualTo(102);
+        assertThat(nested.getValue()).isEqualTo("c" + LONG + "b");
+        assertThat(nested.get(101)).isEqualTo(new StringElement("b"));
+        assertThat(nested.toString()).isEqualTo("\"c" + LONG + "b\"");
+        assertThat(rope).isEqualTo(new StringElement(LONG + "b"));
+        assertThat(rope.hashCode()).isEqualTo(new StringElement(LONG + "b").hashCode());
+    }
+
+    @Test
+    void concatOtherTypesTest() {
+        // the same as the string of the values
+        assertThat(Infixes.performStringConcatenation(new IntegerElement(1), new DoubleElement(2.5)).getValue()).isEqualTo("12.5");
+        assertThat(Infixes.performStringConcatenation(new StringElement(LONG), Arrays.of(new StringElement("x"), new IntegerElement(3))).getValue())
+                .isEqualTo(LONG + "[\"x\", 3]");
+        assertThat(Infixes.performStringConcatenation(new BooleanElement(true), new StringElement("")).getValue()).isEqualTo("true");
+    }
+
+    @Test
+    void deepRopeTest() {
+        // both directions, so neither the left nor the right leaning rope runs out of stack
+        StringElement appended = new StringElement("");
+        StringElement prepended = new StringElement("");
+        for (int i = 0; i < DEPTH; i++) {
+            appended = StringElement.concat(appended, new StringElement(i % 10 + ""));
+            prepended = StringElement.concat(new StringElement(i % 10 + ""), prepended);
+        }
+
+        assertThat(appended.getValue()).hasSize(DEPTH).startsWith("0123").endsWith("6789");
+        assertThat(prepended.getValue()).hasSize(DEPTH).startsWith("9876").endsWith("3210");
+    }
+
+    @Test
+    void concurrentFlattenTest() {
+        StringElement rope = new StringElement("");
+        for (int i = 0; i < 1000; i++) {
+            rope = StringElement.concat(rope, new StringElement(LONG));
+        }
+
+        StringElement shared = rope;
+        String expected = LONG.repeat(1000);
+        assertThat(IntStream.range(0, 8)
+                .mapToObj(i -> CompletableFuture.supplyAsync(shared::getValue))
+                .map(CompletableFuture::join)
+                .collect(Collectors.toList()))
+                .allMatch(expected::equals);
+    }
+
+    @SneakyThrows
+    @ParameterizedTest
+    @EnumSource(ExecutionEngine.class)
+    void accumulateTest(ExecutionEngine engine) {
+        String program = "function build(n, acc) { " +
+                "if(n == 0) { return acc; } " +
+                "return this.build(n - 1, acc ++ n); " +
+                "} " +
+                "return this.build(" + DEPTH + ", \"\");";
+
+        AbstractElementType<?> result = engine.create(BoService.parseContent(program)).run(Map.of());
+
+        String expected = IntStream.iterate(DEPTH, i -> i - 1)
+                .limit(DEPTH)
+                .mapToObj(Integer::toString)
+                .collect(Collectors.joining());
+        assertThat(result).isEqualTo(new StringElement(expected));
+    }
+}
@@ -0,0 +1,126 @@
+package com.diegokrupitza.bolang.vm.utils;
+
+import com.diegokrupitza.bolang.vm.utils.ArrayKernels.Operation;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.Random;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * The kernels in use, which are the vector ones when running with the <code>vector</code> profile, have to calculate
+ * exactly the same as the scalar ones
+ *
+ * @author Diego Krupitza
+ * @version 1.0
+ * @date 18.10.26
+ */
+class ArrayKernelsTest {
+
+    private static final double[] SPECIAL_DOUBLES = {0.0, -0.0, Double.NaN, Double.POSITIVE_INFINITY, Double.MIN_VALUE, -1.5};
+    private static final int[] SPECIAL_INTS = {0, -1, Integer.MAX_VALUE, Integer.MIN_VALUE};
+
+    private final ArrayKernels kernels = ArrayKernels.getInstance();
+    private final ArrayKernels scalar = ArrayKernels.scalar();
+
+    private static Stream<Arguments> lengthsAndOperations() {
+        // lengths around the lane counts, so the vector loops and the remaining items are both covered
+        return Stream.of(Operation.values())
+                .flatMap(operation -> IntStream.of(0, 1, 3, 4, 7, 8, 9, 15, 16, 17, 33, 67)
+                        .mapToObj(length -> Arguments.of(operation, length)));
+    }
+
+    private static int[] ints(int length, long seed) {
+        Random random = new Random(seed);
+        return IntStream.range(0, length)
+                .map(i -> i % 5 == 0 ? SPECIAL_INTS[i / 5 % SPECIAL_INTS.length] : random.nextInt())
+                .toArray();
+    }
+
+    private static double[] doubles(int length, long seed) {
+        Random random = new Random(seed);
+        return IntStream.range(0, length)
+                .mapToDouble(i -> i % 5 == 0 ? SPECIAL_DOUBLES[i / 5 % SPECIAL_DOUBLES.length] : random.nextGaussian() * 100)
+                .toArray();
+    }
+
+    @ParameterizedTest
+    @MethodSource("lengthsAndOperations")
+    void doublesTest(Operation operation, int length) {
+        double[] left = doubles(length, 1);
+        double[] right = doubles(length, 2);
+
+        double[] expected = new double[length];
+        double[] actual = new double[length];
+
+        scalar.apply(operation, left, right, expected, 0, length);
+        kernels.apply(operation, left, right, actual, 0, length);
+        assertThat(actual).isEqualTo(expected);
+
+        scalar.apply(operation, left, 2.5, expected, 0, length);
+        kernels.apply(operation, left, 2.5, actual, 0, length);
+        assertThat(actual).isEqualTo(expected);
+
+        scalar.apply(operation, -0.0, right, expected, 0, length);
+        kernels.apply(operation, -0.0, right, actual, 0, length);
+        assertThat(actual).isEqualTo(expected);
+
+        scalar.negate(left, expected, 0, length);
+        kernels.negate(left, actual, 0, length);
+        assertThat(actual).isEqualTo(expected);
+    }
+
+    @ParameterizedTest
+    @MethodSource("lengthsAndOperations")
+    void intsTest(Operation operation, int length) {
+        int[] left = ints(length, 3);
+        int[] right = ints(length, 4);
+
+        int[] expected = new int[length];
+        int[] actual = new int[length];
+
+        if (operation == Operation.DIVISION) {
+            assertThatThrownBy(() -> kernels.apply(operation, left, right, actual, 0, length))
+                    .isInstanceOf(IllegalArgumentException.class);
+            return;
+        }
+
+        scalar.apply(operation, left, right, expected, 0, length);
+        kernels.apply(operation, left, right, actual, 0, length);
+        assertThat(actual).isEqualTo(expected);
+
+        scalar.apply(operation, left, -7, expected, 0, length);
+        kernels.apply(operation, left, -7, actual, 0, length);
+        assertThat(actual).isEqualTo(expected);
+
+        scalar.apply(operation, Integer.MIN_VALUE, right, expected, 0, length);
+        kernels.apply(operation, Integer.MIN_VALUE, right, actual, 0, length);
+        assertThat(actual).isEqualTo(expected);
+
+        scalar.negate(left, expected, 0, length);
+        kernels.negate(left, actual, 0, length);
+        assertThat(actual).isEqualTo(expected);
+    }
+
+    @Test
+    void partialLengthTest() {
+        // only the first items are calculated, the rest stays untouched
+        double[] result = {9, 9, 9};
+        kernels.apply(Operation.ADDITION, new double[]{1, 2, 3}, new double[]{1, 1}, result, 0, 2);
+        assertThat(result).containsExactly(2, 3, 9);
+    }
+
+    @Test
+    void rangeTest() {
+        // only the items of the range are calculated, the ones around it stay untouched
+        int[] result = {9, 9, 9, 9};
+        kernels.apply(Operation.MULTIPLICATION, new int[]{1, 2, 3, 4}, 10, result, 1, 3);
+        assertThat(result).containsExactly(9, 20, 30, 9);
+    }
+}
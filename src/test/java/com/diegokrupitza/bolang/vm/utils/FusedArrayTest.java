@@ -0,0 +1,199 @@
+package com.diegokrupitza.bolang.vm.utils;
+
+import com.diegokrupitza.bolang.BoService;
+import com.diegokrupitza.bolang.vm.AbstractVirtualMachine;
+import com.diegokrupitza.bolang.vm.ExecutionEngine;
+import com.diegokrupitza.bolang.vm.VirtualMachineException;
+import com.diegokrupitza.bolang.vm.VirtualMachineSettings;
+import com.diegokrupitza.bolang.vm.types.*;
+import com.diegokrupitza.bolang.vm.utils.ArrayKernels.Operation;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * A chain of fused element-wise operations has to give exactly the same result and the same error as performing one
+ * operation after another
+ *
+ * @author Diego Krupitza
+ * @version 1.0
+ * @date 18.10.26
+ */
+class FusedArrayTest {
+
+    private static final List<AbstractElementType<?>> VALUES = List.of(
+            new ArrayElement(new int[]{7, -3, 0, Integer.MAX_VALUE}),
+            new ArrayElement(new int[]{2, 5, -1, 2}),
+            new ArrayElement(new double[]{2.5, 0.0, -0.0, Double.NaN}),
+            new ArrayElement(new double[]{7.0, 0.0, 1.5}),
+            Arrays.of(new IntegerElement(1), new DoubleElement(2.0), new IntegerElement(3), new IntegerElement(4)),
+            new IntegerElement(-3),
+            new DoubleElement(0.5),
+            new StringElement("7")
+    );
+
+    private static final Map<String, BoxedOperation> BOXED = Map.of(
+            "+", Infixes::performAddition,
+            "-", Infixes::performSubtraction,
+            "*", Infixes::performMultiplication,
+            "/", Infixes::performDivision
+    );
+
+    private static final Map<String, UnboxedOperation> UNBOXED = Map.of(
+            "+", UnboxedInfixes::performAddition,
+            "-", UnboxedInfixes::performSubtraction,
+            "*", UnboxedInfixes::performMultiplication,
+            "/", UnboxedInfixes::performDivision
+    );
+
+    private static Stream<Arguments> operators() {
+        return BOXED.keySet().stream()
+                .flatMap(first -> BOXED.keySet().stream()
+                        .flatMap(second -> BOXED.keySet().stream()
+                                .map(third -> Arguments.of(first, second, third))));
+    }
+
+    /**
+     * <code>-((a first b) second c) third d</code> one operation after another
+     */
+    private static String boxed(String first, String second, String third, List<AbstractElementType<?>> operands) {
+        try {
+            AbstractElementType<?> result = BOXED.get(first).perform(operands.get(0), operands.get(1));
+            result = BOXED.get(second).perform(result, operands.get(2));
+            result = Unarys.performNegation(result);
+            return BOXED.get(third).perform(result, operands.get(3)).toString();
+        } catch (VirtualMachineException | ArithmeticException e) {
+            return e.getClass().getSimpleName() + ": " + e.getMessage();
+        }
+    }
+
+    /**
+     * <code>-((a first b) second c) third d</code> in registers, where the operations on arrays get fused
+     */
+    private static String unboxed(String first, String second, String third, List<AbstractElementType<?>> operands) {
+        UnboxedValue left = new UnboxedValue();
+        UnboxedValue right = new UnboxedValue();
+        try {
+            left.setElement(operands.get(0));
+            right.setElement(operands.get(1));
+            UNBOXED.get(first).perform(left, right);
+            right.setElement(operands.get(2));
+            UNBOXED.get(second).perform(left, right);
+            UnboxedInfixes.performNegation(left);
+            right.setElement(operands.get(3));
+            UNBOXED.get(third).perform(left, right);
+            return left.box().toString();
+        } catch (VirtualMachineException | ArithmeticException e) {
+            return e.getClass().getSimpleName() + ": " + e.getMessage();
+        }
+    }
+
+    @ParameterizedTest
+    @MethodSource("operators")
+    void chainTest(String first, String second, String third) {
+        for (AbstractElementType<?> a : VALUES) {
+            for (AbstractElementType<?> b : VALUES) {
+                for (AbstractElementType<?> c : VALUES) {
+                    for (AbstractElementType<?> d : VALUES) {
+                        List<AbstractElementType<?>> operands = List.of(a, b, c, d);
+                        assertThat(unboxed(first, second, third, operands))
+                                .as("-((%s %s %s) %s %s) %s %s", a, first, b, second, c, third, d)
+                                .isEqualTo(boxed(first, second, third, operands));
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void combineTest() {
+        FusedArray ints = FusedArray.of(new ArrayElement(new int[]{1, 2, 3}));
+        FusedArray doubles = FusedArray.of(new ArrayElement(new double[]{1.5, 2.5, 3.5}));
+        FusedArray shorter = FusedArray.of(new ArrayElement(new int[]{1, 2}));
+        FusedArray number = FusedArray.of(new IntegerElement(2));
+
+        assertThat(FusedArray.combine(Operation.MULTIPLICATION, ints, number)).isNotNull();
+        assertThat(FusedArray.combine(Operation.DIVISION, doubles, number).getType()).isEqualTo(Type.DOUBLE);
+        assertThat(FusedArray.combine(Operation.ADDITION, FusedArray.combine(Operation.SUBTRACTION, number, ints), ints)).isNotNull();
+
+        // left to the operations one after another
+        assertThat(FusedArray.combine(Operation.DIVISION, ints, number)).isNull();
+        assertThat(FusedArray.combine(Operation.ADDITION, ints, doubles)).isNull();
+        assertThat(FusedArray.combine(Operation.ADDITION, ints, shorter)).isNull();
+        assertThat(FusedArray.combine(Operation.ADDITION, number, number)).isNull();
+        assertThat(FusedArray.of(new StringElement("2"))).isNull();
+        assertThat(FusedArray.of(new ArrayElement(new boolean[]{true}))).isNull();
+    }
+
+    @Test
+    void materializeTest() {
+        ArrayElement a = new ArrayElement(new double[]{1.0, -2.0, 0.0});
+        ArrayElement b = new ArrayElement(new double[]{4.0, 8.0, -0.0});
+
+        // -(a * 2 + b) - b / 4
+        FusedArray product = FusedArray.combine(Operation.MULTIPLICATION, FusedArray.of(a), FusedArray.of(new IntegerElement(2)));
+        FusedArray sum = FusedArray.negate(FusedArray.combine(Operation.ADDITION, product, FusedArray.of(b)));
+        FusedArray quotient = FusedArray.combine(Operation.DIVISION, FusedArray.of(b), FusedArray.of(new IntegerElement(4)));
+        FusedArray result = FusedArray.combine(Operation.SUBTRACTION, sum, quotient);
+
+        assertThat(((ArrayElement) result.materialize()).getDoubleValues()).containsExactly(-7.0, -6.0, 0.0);
+    }
+
+    @SneakyThrows
+    @Test
+    void blocksTest() {
+        // several blocks and a part of one, sequential and split into parts
+        Random random = new Random(7);
+        List<AbstractElementType<?>> operands = List.of(
+                new ArrayElement(random.ints(10_007, -100, 100).toArray()),
+                new ArrayElement(random.ints(10_007, -100, 100).toArray()),
+                new IntegerElement(3),
+                new ArrayElement(random.doubles(10_007).toArray()));
+        String expected = boxed("*", "-", "+", operands);
+
+        assertThat(unboxed("*", "-", "+", operands)).isEqualTo(expected);
+
+        ParallelArrays previous = ParallelArrays.enter(VirtualMachineSettings.builder()
+                .parallelism(4)
+                .parallelThreshold(16)
+                .build());
+        try {
+            assertThat(unboxed("*", "-", "+", operands)).isEqualTo(expected);
+        } finally {
+            ParallelArrays.exit(previous);
+        }
+    }
+
+    @SneakyThrows
+    @ParameterizedTest
+    @EnumSource(ExecutionEngine.class)
+    void engineTest(ExecutionEngine engine) {
+        String program = "function calc(a, b) { return ((-((a * 2) + b)) - (b / 4)) + ([1, 2, 3] * 0.5); } " +
+                "return this.calc([1, -2, 0], [4, 8, 16]);";
+
+        AbstractVirtualMachine virtualMachine = engine.create(BoService.parseContent(program));
+        AbstractElementType<?> result = virtualMachine.run(Map.of());
+
+        assertThat(((ArrayElement) result).getDoubleValues()).containsExactly(-6.5, -5.0, -18.5);
+    }
+
+    @FunctionalInterface
+    private interface BoxedOperation {
+        AbstractElementType<?> perform(AbstractElementType<?> left, AbstractElementType<?> right) throws VirtualMachineException;
+    }
+
+    @FunctionalInterface
+    private interface UnboxedOperation {
+        void perform(UnboxedValue left, UnboxedValue right) throws VirtualMachineException;
+    }
+}
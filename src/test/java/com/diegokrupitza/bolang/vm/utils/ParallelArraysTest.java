@@ -0,0 +1,149 @@
+package com.diegokrupitza.bolang.vm.utils;
+
+import com.diegokrupitza.bolang.BoService;
+import com.diegokrupitza.bolang.vm.AbstractVirtualMachine;
+import com.diegokrupitza.bolang.vm.ExecutionEngine;
+import com.diegokrupitza.bolang.vm.VirtualMachineException;
+import com.diegokrupitza.bolang.vm.VirtualMachineSettings;
+import com.diegokrupitza.bolang.vm.types.AbstractElementType;
+import com.diegokrupitza.bolang.vm.types.ArrayElement;
+import com.diegokrupitza.bolang.vm.types.DoubleElement;
+import com.diegokrupitza.bolang.vm.types.IntegerElement;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Element-wise operations that are split across threads have to give exactly the same results as sequential ones
+ *
+ * @author Diego Krupitza
+ * @version 1.0
+ * @date 18.10.26
+ */
+class ParallelArraysTest {
+
+    // big enough to be split into several parts
+    private static final int SIZE = 20_000;
+
+    // the bytecode of a method is limited, so a program cannot hold a much bigger array literal
+    private static final int PROGRAM_SIZE = 2_000;
+
+    private static final VirtualMachineSettings PARALLEL = VirtualMachineSettings.builder()
+            .parallelism(4)
+            .parallelThreshold(16)
+            .build();
+
+    private static final List<AbstractElementType<?>> VALUES = List.of(
+            new ArrayElement(IntStream.range(0, SIZE).map(i -> i * 31 - 7_000).toArray()),
+            new ArrayElement(IntStream.range(0, SIZE + 3).map(i -> i % 97 + 1).toArray()),
+            new ArrayElement(IntStream.range(0, SIZE).mapToDouble(i -> i % 3 == 0 ? -0.0 : i / 7.0).toArray()),
+            new IntegerElement(-3),
+            new DoubleElement(2.5)
+    );
+
+    private static final Map<String, Operation> OPERATIONS = Map.of(
+            "+", Infixes::performAddition,
+            "-", Infixes::performSubtraction,
+            "*", Infixes::performMultiplication,
+            "/", Infixes::performDivision
+    );
+
+    private static Stream<Arguments> operations() {
+        return OPERATIONS.keySet().stream()
+                .flatMap(operation -> VALUES.stream()
+                        .flatMap(left -> VALUES.stream()
+                                .filter(right -> left instanceof ArrayElement || right instanceof ArrayElement)
+                                .map(right -> Arguments.of(operation, left, right))));
+    }
+
+    private static Stream<AbstractElementType<?>> arrays() {
+        return VALUES.stream().filter(ArrayElement.class::isInstance);
+    }
+
+    private static <T> T inParallel(Calculation<T> calculation) throws VirtualMachineException {
+        ParallelArrays previous = ParallelArrays.enter(PARALLEL);
+        try {
+            return calculation.calculate();
+        } finally {
+            ParallelArrays.exit(previous);
+        }
+    }
+
+    @SneakyThrows
+    @ParameterizedTest
+    @MethodSource("operations")
+    void infixTest(String operation, AbstractElementType<?> left, AbstractElementType<?> right) {
+        Operation perform = OPERATIONS.get(operation);
+
+        AbstractElementType<?> expected = perform.perform(left, right);
+        AbstractElementType<?> actual = inParallel(() -> perform.perform(left, right));
+
+        assertThat(actual.toString()).isEqualTo(expected.toString());
+    }
+
+    @SneakyThrows
+    @ParameterizedTest
+    @MethodSource("arrays")
+    void negationAndToIntTest(AbstractElementType<?> array) {
+        assertThat(inParallel(() -> Unarys.performNegation(array)).toString())
+                .isEqualTo(Unarys.performNegation(array).toString());
+
+        ArrayElement arrayElement = (ArrayElement) array;
+        assertThat(inParallel(() -> PrimitiveArrays.castToInt(arrayElement)).toString())
+                .isEqualTo(PrimitiveArrays.castToInt(arrayElement).toString());
+    }
+
+    @Test
+    void sequentialOutsideOfRunTest() {
+        assertThat(ParallelArrays.current()).isSameAs(ParallelArrays.SEQUENTIAL);
+    }
+
+    @Test
+    void invalidSettingsTest() {
+        assertThatThrownBy(() -> VirtualMachineSettings.builder().parallelism(0))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> VirtualMachineSettings.builder().parallelThreshold(0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @SneakyThrows
+    @ParameterizedTest
+    @EnumSource(ExecutionEngine.class)
+    void engineTest(ExecutionEngine engine) {
+        String items = IntStream.range(0, PROGRAM_SIZE)
+                .mapToObj(Integer::toString)
+                .collect(Collectors.joining(", "));
+        // a function call keeps the constant folder from calculating the array ahead of the run
+        String program = "function calc(a) { return -(a * 2 - 1) + a; } " +
+                "return this.calc([" + items + "]);";
+
+        AbstractVirtualMachine virtualMachine = engine.create(BoService.parseContent(program), PARALLEL);
+        AbstractElementType<?> result = virtualMachine.run(Map.of());
+
+        int[] expected = IntStream.range(0, PROGRAM_SIZE).map(i -> -(i * 2 - 1) + i).toArray();
+        assertThat(((ArrayElement) result).getIntValues()).containsExactly(expected);
+        assertThat(ParallelArrays.current()).isSameAs(ParallelArrays.SEQUENTIAL);
+    }
+
+    @FunctionalInterface
+    private interface Operation {
+        AbstractElementType<?> perform(AbstractElementType<?> left, AbstractElementType<?> right) throws VirtualMachineException;
+    }
+
+    @FunctionalInterface
+    private interface Calculation<T> {
+        T calculate() throws VirtualMachineException;
+    }
+}
@@ -0,0 +1,118 @@
+package com.diegokrupitza.bolang.vm.utils;
+
+import com.diegokrupitza.bolang.vm.VirtualMachineException;
+import com.diegokrupitza.bolang.vm.functions.impl.numbers.ToIntFunction;
+import com.diegokrupitza.bolang.vm.types.*;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Arrays stored as primitive Java arrays have to give exactly the same results as arrays of elements
+ *
+ * @author Diego Krupitza
+ * @version 1.0
+ * @date 18.10.26
+ */
+class PrimitiveArraysTest {
+
+    private static final List<AbstractElementType<?>> VALUES = List.of(
+            new ArrayElement(new int[]{}),
+            new ArrayElement(new int[]{0}),
+            new ArrayElement(new int[]{7, -3, 0}),
+            new ArrayElement(new int[]{Integer.MAX_VALUE, Integer.MIN_VALUE, 2, 9}),
+            new ArrayElement(new double[]{-0.0}),
+            new ArrayElement(new double[]{2.5, 0.0, -0.0}),
+            new ArrayElement(new double[]{7.0, Double.NaN, 1.5, -4.25, 3.0}),
+            new ArrayElement(new boolean[]{true, false}),
+            new IntegerElement(0),
+            new IntegerElement(-3),
+            new DoubleElement(-0.0),
+            new DoubleElement(2.5),
+            new StringElement("7")
+    );
+
+    private static final Map<String, Operation> OPERATIONS = Map.of(
+            "+", Infixes::performAddition,
+            "-", Infixes::performSubtraction,
+            "*", Infixes::performMultiplication,
+            "/", Infixes::performDivision
+    );
+
+    private static Stream<Arguments> operations() {
+        return OPERATIONS.keySet().stream()
+                .flatMap(operation -> VALUES.stream()
+                        .flatMap(left -> VALUES.stream()
+                                .filter(right -> left instanceof ArrayElement || right instanceof ArrayElement)
+                                .map(right -> Arguments.of(operation, left, right))));
+    }
+
+    private static Stream<AbstractElementType<?>> arrays() {
+        return VALUES.stream().filter(ArrayElement.class::isInstance);
+    }
+
+    /**
+     * Copies the element into an array that holds elements, so the operations take the element by element way
+     */
+    private static AbstractElementType<?> generic(AbstractElementType<?> element) {
+        if (!(element instanceof ArrayElement)) {
+            return element;
+        }
+
+        // a string switches the storage to elements, removing it keeps it that way
+        ArrayElement array = Arrays.of(new StringElement(""));
+        array.addAll(((ArrayElement) element).getValue());
+        array.getValue().remove(0);
+        assertThat(array.getElementType()).isNull();
+        return array;
+    }
+
+    private static String outcome(Operation operation, AbstractElementType<?> left, AbstractElementType<?> right) {
+        try {
+            // the string shows the difference of 1 and 1.0 or 0.0 and -0.0 which equals does not
+            return operation.perform(left, right).toString();
+        } catch (VirtualMachineException | RuntimeException e) {
+            return e.getClass().getSimpleName() + ": " + e.getMessage();
+        }
+    }
+
+    @ParameterizedTest
+    @MethodSource("operations")
+    void sameAsGenericTest(String operation, AbstractElementType<?> left, AbstractElementType<?> right) {
+        assertThat(outcome(OPERATIONS.get(operation), left, right))
+                .isEqualTo(outcome(OPERATIONS.get(operation), generic(left), generic(right)));
+    }
+
+    @ParameterizedTest
+    @MethodSource("arrays")
+    void negationSameAsGenericTest(AbstractElementType<?> array) throws VirtualMachineException {
+        assertThat(Unarys.performNegation(array).toString())
+                .isEqualTo(Unarys.performNegation(generic(array)).toString());
+    }
+
+    @ParameterizedTest
+    @MethodSource("arrays")
+    void toIntSameAsGenericTest(AbstractElementType<?> array) {
+        ToIntFunction toInt = new ToIntFunction();
+        assertThat(toInt.call(List.of(array)).toString())
+                .isEqualTo(toInt.call(List.of(generic(array))).toString());
+    }
+
+    @ParameterizedTest
+    @MethodSource("arrays")
+    void toStringSameAsGenericTest(AbstractElementType<?> array) {
+        assertThat(PrimitiveArrays.toString((ArrayElement) array))
+                .isEqualTo(generic(array).toString());
+    }
+
+    @FunctionalInterface
+    private interface Operation {
+        AbstractElementType<?> perform(AbstractElementType<?> left, AbstractElementType<?> right) throws VirtualMachineException;
+    }
+}
@@ -0,0 +1,141 @@
+package com.diegokrupitza.bolang.vm.utils;
+
+import com.diegokrupitza.bolang.vm.VirtualMachineException;
+import com.diegokrupitza.bolang.vm.types.*;
+import lombok.SneakyThrows;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Every unboxed operation has to behave exactly like the boxed one
+ *
+ * @author Diego Krupitza
+ * @version 1.0
+ * @date 18.10.26
+ */
+class UnboxedInfixesTest {
+
+    private static final List<AbstractElementType<?>> VALUES = List.of(
+            new IntegerElement(0),
+            new IntegerElement(7),
+            new IntegerElement(-3),
+            new IntegerElement(Integer.MAX_VALUE),
+            new IntegerElement(Integer.MIN_VALUE),
+            new DoubleElement(0.0),
+            new DoubleElement(-0.0),
+            new DoubleElement(2.5),
+            new DoubleElement(7.0),
+            new DoubleElement(Double.NaN),
+            Booleans.TRUE,
+            Booleans.FALSE,
+            new StringElement("7"),
+            Arrays.of(new IntegerElement(1), new DoubleElement(2.0))
+    );
+
+    private static final Map<String, BoxedOperation> BOXED = Map.ofEntries(
+            Map.entry("+", Infixes::performAddition),
+            Map.entry("-", Infixes::performSubtraction),
+            Map.entry("*", Infixes::performMultiplication),
+            Map.entry("/", Infixes::performDivision),
+            Map.entry("==", Infixes::performEquals),
+            Map.entry("!=", Infixes::performNotEquals),
+            Map.entry(">=", Infixes::performGreaterEqual),
+            Map.entry(">", Infixes::performGreater),
+            Map.entry("<=", Infixes::performLessEqual),
+            Map.entry("<", Infixes::performLess),
+            Map.entry("&&", Infixes::performLogicAnd),
+            Map.entry("||", Infixes::performLogicOr)
+    );
+
+    private static final Map<String, UnboxedOperation> UNBOXED = Map.ofEntries(
+            Map.entry("+", UnboxedInfixes::performAddition),
+            Map.entry("-", UnboxedInfixes::performSubtraction),
+            Map.entry("*", UnboxedInfixes::performMultiplication),
+            Map.entry("/", UnboxedInfixes::performDivision),
+            Map.entry("==", UnboxedInfixes::performEquals),
+            Map.entry("!=", UnboxedInfixes::performNotEquals),
+            Map.entry(">=", UnboxedInfixes::performGreaterEqual),
+            Map.entry(">", UnboxedInfixes::performGreater),
+            Map.entry("<=", UnboxedInfixes::performLessEqual),
+            Map.entry("<", UnboxedInfixes::performLess),
+            Map.entry("&&", UnboxedInfixes::performLogicAnd),
+            Map.entry("||", UnboxedInfixes::performLogicOr)
+    );
+
+    private static Stream<Arguments> operations() {
+        return BOXED.keySet().stream()
+                .flatMap(operation -> VALUES.stream()
+                        .flatMap(left -> VALUES.stream()
+                                .map(right -> Arguments.of(operation, left, right))));
+    }
+
+    private static UnboxedValue unboxed(AbstractElementType<?> element) {
+        UnboxedValue value = new UnboxedValue();
+        value.setElement(element);
+        return value;
+    }
+
+    @SneakyThrows
+    @ParameterizedTest
+    @MethodSource("operations")
+    void sameAsBoxedTest(String operation, AbstractElementType<?> left, AbstractElementType<?> right) {
+        UnboxedValue result = unboxed(left);
+
+        AbstractElementType<?> expected;
+        try {
+            expected = BOXED.get(operation).perform(left, right);
+        } catch (VirtualMachineException | RuntimeException e) {
+            assertThatThrownBy(() -> UNBOXED.get(operation).perform(result, unboxed(right)))
+                    .isInstanceOf(e.getClass())
+                    .hasMessage(e.getMessage());
+            return;
+        }
+
+        UNBOXED.get(operation).perform(result, unboxed(right));
+        assertThat(result.box())
+                .isEqualTo(expected)
+                .hasSameClassAs(expected);
+        assertThat(result.box().getValue()).isEqualTo(expected.getValue());
+    }
+
+    private static Stream<AbstractElementType<?>> values() {
+        return VALUES.stream();
+    }
+
+    @ParameterizedTest
+    @MethodSource("values")
+    void negationSameAsBoxedTest(AbstractElementType<?> value) throws VirtualMachineException {
+        UnboxedValue result = unboxed(value);
+        UnboxedInfixes.performNegation(result);
+
+        AbstractElementType<?> expected = Unarys.performNegation(value);
+        assertThat(result.box())
+                .isEqualTo(expected)
+                .hasSameClassAs(expected);
+    }
+
+    @ParameterizedTest
+    @MethodSource("values")
+    void boxingKeepsElementTest(AbstractElementType<?> value) {
+        // nothing is created for a value that already is an element
+        assertThat(unboxed(value).box()).isSameAs(value);
+    }
+
+    @FunctionalInterface
+    private interface BoxedOperation {
+        AbstractElementType<?> perform(AbstractElementType<?> left, AbstractElementType<?> right) throws VirtualMachineException;
+    }
+
+    @FunctionalInterface
+    private interface UnboxedOperation {
+        void perform(UnboxedValue left, UnboxedValue right) throws VirtualMachineException;
+    }
+}
@@ -0,0 +1,251 @@
+package com.diegokrupitza.bolang.vm.utils;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * The element-wise arithmetic on primitive arrays with the incubating Vector API. Every loop processes as many items
+ * at once as the preferred vector of the CPU holds, the remaining items are done one by one. The results are the same
+ * as the ones of the scalar {@link ArrayKernels}, since every lane is calculated with the same IEEE operation.
+ * <p>
+ * This class needs Java 17 and is only compiled by the <code>vector</code> profile. It is loaded through
+ * {@link ArrayKernels#getInstance()}.
+ *
+ * @author Diego Krupitza
+ * @version 1.0
+ * @date 18.10.26
+ */
+public class VectorArrayKernels extends ArrayKernels {
+
+    private static final VectorSpecies<Integer> INTS = IntVector.SPECIES_PREFERRED;
+    private static final VectorSpecies<Double> DOUBLES = DoubleVector.SPECIES_PREFERRED;
+
+    public VectorArrayKernels() {
+        super();
+    }
+
+    @Override
+    public String getName() {
+        return "vector";
+    }
+
+    @Override
+    public void apply(Operation operation, int[] left, int[] right, int[] result, int from, int to) {
+        int i = from;
+        int bound = from + INTS.loopBound(to - from);
+        switch (operation) {
+            case ADDITION:
+                for (; i < bound; i += INTS.length()) {
+                    IntVector.fromArray(INTS, left, i).add(IntVector.fromArray(INTS, right, i)).intoArray(result, i);
+                }
+                for (; i < to; i++) {
+                    result[i] = left[i] + right[i];
+                }
+                break;
+            case SUBTRACTION:
+                for (; i < bound; i += INTS.length()) {
+                    IntVector.fromArray(INTS, left, i).sub(IntVector.fromArray(INTS, right, i)).intoArray(result, i);
+                }
+                for (; i < to; i++) {
+                    result[i] = left[i] - right[i];
+                }
+                break;
+            case MULTIPLICATION:
+                for (; i < bound; i += INTS.length()) {
+                    IntVector.fromArray(INTS, left, i).mul(IntVector.fromArray(INTS, right, i)).intoArray(result, i);
+                }
+                for (; i < to; i++) {
+                    result[i] = left[i] * right[i];
+                }
+                break;
+            default:
+                super.apply(operation, left, right, result, from, to);
+        }
+    }
+
+    @Override
+    public void apply(Operation operation, int[] left, int right, int[] result, int from, int to) {
+        int i = from;
+        int bound = from + INTS.loopBound(to - from);
+        switch (operation) {
+            case ADDITION:
+                for (; i < bound; i += INTS.length()) {
+                    IntVector.fromArray(INTS, left, i).add(right).intoArray(result, i);
+                }
+                for (; i < to; i++) {
+                    result[i] = left[i] + right;
+                }
+                break;
+            case SUBTRACTION:
+                for (; i < bound; i += INTS.length()) {
+                    IntVector.fromArray(INTS, left, i).sub(right).intoArray(result, i);
+                }
+                for (; i < to; i++) {
+                    result[i] = left[i] - right;
+                }
+                break;
+            case MULTIPLICATION:
+                for (; i < bound; i += INTS.length()) {
+                    IntVector.fromArray(INTS, left, i).mul(right).intoArray(result, i);
+                }
+                for (; i < to; i++) {
+                    result[i] = left[i] * right;
+                }
+                break;
+            default:
+                super.apply(operation, left, right, result, from, to);
+        }
+    }
+
+    @Override
+    public void apply(Operation operation, int left, int[] right, int[] result, int from, int to) {
+        if (operation != Operation.SUBTRACTION) {
+            // the other operations are commutative
+            apply(operation, right, left, result, from, to);
+            return;
+        }
+
+        int i = from;
+        int bound = from + INTS.loopBound(to - from);
+        IntVector broadcast = IntVector.broadcast(INTS, left);
+        for (; i < bound; i += INTS.length()) {
+            broadcast.sub(IntVector.fromArray(INTS, right, i)).intoArray(result, i);
+        }
+        for (; i < to; i++) {
+            result[i] = left - right[i];
+        }
+    }
+
+    @Override
+    public void apply(Operation operation, double[] left, double[] right, double[] result, int from, int to) {
+        int i = from;
+        int bound = from + DOUBLES.loopBound(to - from);
+        switch (operation) {
+            case ADDITION:
+                for (; i < bound; i += DOUBLES.length()) {
+                    DoubleVector.fromArray(DOUBLES, left, i).add(DoubleVector.fromArray(DOUBLES, right, i)).intoArray(result, i);
+                }
+                for (; i < to; i++) {
+                    result[i] = left[i] + right[i];
+                }
+                break;
+            case SUBTRACTION:
+                for (; i < bound; i += DOUBLES.length()) {
+                    DoubleVector.fromArray(DOUBLES, left, i).sub(DoubleVector.fromArray(DOUBLES, right, i)).intoArray(result, i);
+                }
+                for (; i < to; i++) {
+                    result[i] = left[i] - right[i];
+                }
+                break;
+            case MULTIPLICATION:
+                for (; i < bound; i += DOUBLES.length()) {
+                    DoubleVector.fromArray(DOUBLES, left, i).mul(DoubleVector.fromArray(DOUBLES, right, i)).intoArray(result, i);
+                }
+                for (; i < to; i++) {
+                    result[i] = left[i] * right[i];
+                }
+                break;
+            case DIVISION:
+                for (; i < bound; i += DOUBLES.length()) {
+                    DoubleVector.fromArray(DOUBLES, left, i).div(DoubleVector.fromArray(DOUBLES, right, i)).intoArray(result, i);
+                }
+                for (; i < to; i++) {
+                    result[i] = left[i] / right[i];
+                }
+                break;
+        }
+    }
+
+    @Override
+    public void apply(Operation operation, double[] left, double right, double[] result, int from, int to) {
+        int i = from;
+        int bound = from + DOUBLES.loopBound(to - from);
+        switch (operation) {
+            case ADDITION:
+                for (; i < bound; i += DOUBLES.length()) {
+                    DoubleVector.fromArray(DOUBLES, left, i).add(right).intoArray(result, i);
+                }
+                for (; i < to; i++) {
+                    result[i] = left[i] + right;
+                }
+                break;
+            case SUBTRACTION:
+                for (; i < bound; i += DOUBLES.length()) {
+                    DoubleVector.fromArray(DOUBLES, left, i).sub(right).intoArray(result, i);
+                }
+                for (; i < to; i++) {
+                    result[i] = left[i] - right;
+                }
+                break;
+            case MULTIPLICATION:
+                for (; i < bound; i += DOUBLES.length()) {
+                    DoubleVector.fromArray(DOUBLES, left, i).mul(right).intoArray(result, i);
+                }
+                for (; i < to; i++) {
+                    result[i] = left[i] * right;
+                }
+                break;
+            case DIVISION:
+                for (; i < bound; i += DOUBLES.length()) {
+                    DoubleVector.fromArray(DOUBLES, left, i).div(right).intoArray(result, i);
+                }
+                for (; i < to; i++) {
+                    result[i] = left[i] / right;
+                }
+                break;
+        }
+    }
+
+    @Override
+    public void apply(Operation operation, double left, double[] right, double[] result, int from, int to) {
+        int i = from;
+        int bound = from + DOUBLES.loopBound(to - from);
+        DoubleVector broadcast = DoubleVector.broadcast(DOUBLES, left);
+        switch (operation) {
+            case SUBTRACTION:
+                for (; i < bound; i += DOUBLES.length()) {
+                    broadcast.sub(DoubleVector.fromArray(DOUBLES, right, i)).intoArray(result, i);
+                }
+                for (; i < to; i++) {
+                    result[i] = left - right[i];
+                }
+                break;
+            case DIVISION:
+                for (; i < bound; i += DOUBLES.length()) {
+                    broadcast.div(DoubleVector.fromArray(DOUBLES, right, i)).intoArray(result, i);
+                }
+                for (; i < to; i++) {
+                    result[i] = left / right[i];
+                }
+                break;
+            default:
+                // the other operations are commutative
+                apply(operation, right, left, result, from, to);
+        }
+    }
+
+    @Override
+    public void negate(int[] values, int[] result, int from, int to) {
+        int i = from;
+        int bound = from + INTS.loopBound(to - from);
+        for (; i < bound; i += INTS.length()) {
+            IntVector.fromArray(INTS, values, i).neg().intoArray(result, i);
+        }
+        for (; i < to; i++) {
+            result[i] = -1 * values[i];
+        }
+    }
+
+    @Override
+    public void negate(double[] values, double[] result, int from, int to) {
+        int i = from;
+        int bound = from + DOUBLES.loopBound(to - from);
+        for (; i < bound; i += DOUBLES.length()) {
+            DoubleVector.fromArray(DOUBLES, values, i).mul(-1.0).intoArray(result, i);
+        }
+        for (; i < to; i++) {
+            result[i] = -1 * values[i];
+        }
+    }
+}